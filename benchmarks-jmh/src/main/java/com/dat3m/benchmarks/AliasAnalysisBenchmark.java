@@ -0,0 +1,55 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.analysis.BranchEquivalence;
+import com.dat3m.dartagnan.program.analysis.ExecutionAnalysis;
+import com.dat3m.dartagnan.program.analysis.ReachingDefinitionsAnalysis;
+import com.dat3m.dartagnan.program.analysis.alias.AliasAnalysis;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import org.openjdk.jmh.annotations.*;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.dat3m.dartagnan.verification.solving.ModelChecker.preprocessProgram;
+
+/*
+    Alias analysis of a processed program.
+    The default method is the full analysis, i.e. the inclusion-based pointer analysis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AliasAnalysisBenchmark {
+
+    @Param
+    private BenchmarkInput input;
+
+    private Program program;
+    private Context analysisContext;
+    private Configuration config;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final VerificationTask task = input.createTask(BenchmarkInput.createConfig());
+        config = task.getConfig();
+        program = task.getProgram();
+        preprocessProgram(task, config);
+        analysisContext = Context.create();
+        analysisContext.register(BranchEquivalence.class, BranchEquivalence.fromConfig(program, config));
+        analysisContext.register(ExecutionAnalysis.class,
+                ExecutionAnalysis.fromConfig(program, task.getProgressModel(), analysisContext, config));
+        analysisContext.register(ReachingDefinitionsAnalysis.class,
+                ReachingDefinitionsAnalysis.fromConfig(program, analysisContext, config));
+    }
+
+    @Benchmark
+    public AliasAnalysis analyse() throws InvalidConfigurationException {
+        return AliasAnalysis.fromConfig(program, analysisContext, config);
+    }
+}
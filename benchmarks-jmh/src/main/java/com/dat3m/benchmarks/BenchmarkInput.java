@@ -0,0 +1,80 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.GlobalSettings;
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.EnumSet;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.USE_INTEGERS;
+
+/*
+    Fixed verification tasks the benchmarks run on.
+    Paths are relative to DAT3M_HOME, which must point to the root of the repository.
+    Adding a constant adds it to all benchmarks; existing constants must not change, otherwise
+    results are not comparable across revisions anymore.
+ */
+public enum BenchmarkInput {
+
+    TICKETLOCK_ARM8("benchmarks/llvm/ticketlock.ll", "cat/aarch64.cat", Arch.ARM8, 2),
+    TREIBER_C11("benchmarks/llvm/treiber.ll", "cat/c11.cat", Arch.C11, 2),
+    MS_RISCV("benchmarks/llvm/ms.ll", "cat/riscv.cat", Arch.RISCV, 2),
+    IRIW_C11("litmus/C11/manual/IRIW-sc-sc-acq-sc-acq-sc.litmus", "cat/c11.cat", Arch.C11, 1),
+    IRIW_LKMM("litmus/LKMM/tree/IRIW+fencembonceonces+OnceOnce.litmus", "cat/linux-kernel.cat", Arch.LKMM, 1);
+
+    private final String programPath;
+    private final String memoryModelPath;
+    private final Arch target;
+    private final int bound;
+
+    BenchmarkInput(String programPath, String memoryModelPath, Arch target, int bound) {
+        this.programPath = programPath;
+        this.memoryModelPath = memoryModelPath;
+        this.target = target;
+        this.bound = bound;
+    }
+
+    // Options shared by all benchmarks.
+    // Data is encoded with integers, so that the encoding is supported by SMTInterpol.
+    public static Configuration createConfig() throws InvalidConfigurationException {
+        return Configuration.builder()
+                .setOption(USE_INTEGERS, "true")
+                .build();
+    }
+
+    // SMTInterpol is implemented in Java, hence the benchmarks do not depend on native solver libraries.
+    public static SolverContext createSolverContext() throws InvalidConfigurationException {
+        final Configuration config = Configuration.defaultConfiguration();
+        return SolverContextFactory.createSolverContext(config, BasicLogManager.create(config),
+                ShutdownNotifier.createDummy(), Solvers.SMTINTERPOL);
+    }
+
+    // Parses the input again, such that each task can be modified independently.
+    public VerificationTask createTask(Configuration config) throws Exception {
+        final Program program = new ProgramParser().parse(resolve(programPath));
+        final Wmm memoryModel = new ParserCat().parse(resolve(memoryModelPath));
+        return VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(target)
+                .withBound(bound)
+                .build(program, memoryModel, EnumSet.of(Property.PROGRAM_SPEC));
+    }
+
+    private static File resolve(String path) {
+        return Path.of(GlobalSettings.getHomeDirectory(), path).toFile();
+    }
+}
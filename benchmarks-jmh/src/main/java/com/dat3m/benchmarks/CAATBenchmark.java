@@ -0,0 +1,114 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.encoding.EncodingContext;
+import com.dat3m.dartagnan.encoding.ProgramEncoder;
+import com.dat3m.dartagnan.encoding.WmmEncoder;
+import com.dat3m.dartagnan.solver.caat.CAATSolver;
+import com.dat3m.dartagnan.solver.caat4wmm.ExecutionGraph;
+import com.dat3m.dartagnan.solver.caat4wmm.RefinementModel;
+import com.dat3m.dartagnan.solver.caat4wmm.Refiner;
+import com.dat3m.dartagnan.solver.caat4wmm.WMMSolver;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.model.ExecutionModel;
+import com.dat3m.dartagnan.wmm.Wmm;
+import com.dat3m.dartagnan.wmm.analysis.RelationAnalysis;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.java_smt.api.Model;
+import org.sosy_lab.java_smt.api.ProverEnvironment;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.dat3m.dartagnan.verification.solving.ModelChecker.*;
+import static com.dat3m.dartagnan.verification.solving.RefinementSolver.createRefinementModel;
+
+/*
+    Consistency checks of CAAT on recorded executions.
+    The executions are the models found by a refinement run, so they contain both inconsistent executions
+    (all but the last one) and, if the program has any, a consistent one.
+    Recording happens once per trial, the measured checks do not involve the SMT solver.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CAATBenchmark {
+
+    private static final int MAX_RECORDED_EXECUTIONS = 20;
+
+    @Param
+    private BenchmarkInput input;
+
+    private SolverContext solverContext;
+    private final List<Model> models = new ArrayList<>();
+    private final List<ExecutionModel> executions = new ArrayList<>();
+    private ExecutionGraph executionGraph;
+    private CAATSolver solver;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final VerificationTask task = input.createTask(BenchmarkInput.createConfig());
+        final Configuration config = task.getConfig();
+        final Wmm memoryModel = task.getMemoryModel();
+        memoryModel.configureAll(config);
+        preprocessProgram(task, config);
+        preprocessMemoryModel(task, config);
+        final Context analysisContext = Context.create();
+        performStaticProgramAnalyses(task, analysisContext, config);
+        final Context baselineContext = Context.createCopyFrom(analysisContext);
+        performStaticWmmAnalyses(task, analysisContext, config);
+
+        final RelationAnalysis ra = analysisContext.requires(RelationAnalysis.class);
+        final RefinementModel refinementModel = createRefinementModel(memoryModel, ra, config);
+        final VerificationTask baselineTask = VerificationTask.builder()
+                .withConfig(config)
+                .build(task.getProgram(), refinementModel.getBaseModel(), task.getProperty());
+        performStaticWmmAnalyses(baselineTask, baselineContext, config);
+
+        solverContext = BenchmarkInput.createSolverContext();
+        final EncodingContext context = EncodingContext.of(baselineTask, baselineContext, solverContext.getFormulaManager());
+        final WMMSolver wmmSolver = WMMSolver.withContext(refinementModel, context, analysisContext, config);
+        final Refiner refiner = new Refiner(refinementModel);
+        try (ProverEnvironment prover = solverContext.newProverEnvironment(ProverOptions.GENERATE_MODELS)) {
+            prover.addConstraint(ProgramEncoder.withContext(context).encodeFullProgram());
+            prover.addConstraint(WmmEncoder.withContext(context).encodeFullMemoryModel());
+            while (executions.size() < MAX_RECORDED_EXECUTIONS && !prover.isUnsat()) {
+                final Model model = prover.getModel();
+                models.add(model);
+                final ExecutionModel execution = ExecutionModel.withContext(context);
+                execution.initialize(model);
+                executions.add(execution);
+                final WMMSolver.Result result = wmmSolver.check(model);
+                if (result.getStatus() != CAATSolver.Status.INCONSISTENT) {
+                    break;
+                }
+                prover.addConstraint(refiner.refine(result.getCoreReasons(), context));
+            }
+        }
+
+        executionGraph = new ExecutionGraph(refinementModel, ra);
+        solver = CAATSolver.create();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeSolverContext() {
+        models.forEach(Model::close);
+        solverContext.close();
+    }
+
+    @Benchmark
+    public void check(Blackhole blackhole) {
+        for (ExecutionModel execution : executions) {
+            executionGraph.initializeFromModel(execution);
+            blackhole.consume(solver.check(executionGraph.getCAATModel()));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.GlobalSettings;
+import com.dat3m.dartagnan.exception.AbortErrorListener;
+import com.dat3m.dartagnan.parsers.LLVMIRLexer;
+import com.dat3m.dartagnan.parsers.LLVMIRParser;
+import com.dat3m.dartagnan.parsers.SpirvLexer;
+import com.dat3m.dartagnan.parsers.SpirvParser;
+import com.dat3m.dartagnan.parsers.program.TwoStageParsing;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Construction of the parse tree of the LLVM IR and SPIR-V front ends,
+    with full LL prediction (as before) and with SLL prediction falling back to LL (see TwoStageParsing).
+    The visitors building the program are not part of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(ParserBenchmark.class);
+
+    @Param({
+            "benchmarks/llvm/wsq.ll",
+            "benchmarks/llvm/cna.ll",
+            "benchmarks/llvm/linuxrwlock.ll",
+            "dartagnan/src/test/resources/spirv/vulkan/gpuverify/misc/fail/miscfail9.spv.dis"
+    })
+    private String input;
+
+    private String source;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        source = Files.readString(Path.of(GlobalSettings.getHomeDirectory(), input));
+    }
+
+    @Benchmark
+    public ParserRuleContext ll() {
+        final Parser parser = createParser();
+        parser.addErrorListener(new AbortErrorListener());
+        return parser instanceof LLVMIRParser llvm ? llvm.compilationUnit() : ((SpirvParser) parser).spv();
+    }
+
+    @Benchmark
+    public ParserRuleContext sllThenLl() {
+        final Parser parser = createParser();
+        return parser instanceof LLVMIRParser llvm ?
+                TwoStageParsing.parse(llvm, LLVMIRParser::compilationUnit, logger) :
+                TwoStageParsing.parse((SpirvParser) parser, SpirvParser::spv, logger);
+    }
+
+    private Parser createParser() {
+        if (input.endsWith(".ll")) {
+            return new LLVMIRParser(new CommonTokenStream(new LLVMIRLexer(CharStreams.fromString(source))));
+        }
+        return new SpirvParser(new CommonTokenStream(new SpirvLexer(CharStreams.fromString(source))));
+    }
+}
@@ -0,0 +1,40 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.processing.ProcessingManager;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    Program processing (compilation to the target, unrolling, simplifications, ...) of a freshly parsed program.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessingBenchmark {
+
+    @Param
+    private BenchmarkInput input;
+
+    private Program program;
+    private ProcessingManager processingManager;
+
+    // Processing modifies the program, so each invocation needs a new one.
+    @Setup(Level.Invocation)
+    public void setup() throws Exception {
+        final VerificationTask task = input.createTask(BenchmarkInput.createConfig());
+        program = task.getProgram();
+        processingManager = ProcessingManager.fromConfig(task.getConfig());
+    }
+
+    @Benchmark
+    public Program process() {
+        processingManager.run(program);
+        return program;
+    }
+}
@@ -0,0 +1,51 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.wmm.analysis.RelationAnalysis;
+import com.dat3m.dartagnan.wmm.analysis.WmmAnalysis;
+import org.openjdk.jmh.annotations.*;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.dat3m.dartagnan.verification.solving.ModelChecker.*;
+
+/*
+    Relation analysis of a processed program and memory model.
+    The default method is the native analysis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RelationAnalysisBenchmark {
+
+    @Param
+    private BenchmarkInput input;
+
+    private VerificationTask task;
+    private Context analysisContext;
+    private Configuration config;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        task = input.createTask(BenchmarkInput.createConfig());
+        config = task.getConfig();
+        task.getMemoryModel().configureAll(config);
+        preprocessProgram(task, config);
+        preprocessMemoryModel(task, config);
+        analysisContext = Context.create();
+        performStaticProgramAnalyses(task, analysisContext, config);
+        analysisContext.register(WmmAnalysis.class,
+                WmmAnalysis.fromConfig(task.getMemoryModel(), task.getProgram().getArch(), config));
+    }
+
+    @Benchmark
+    public RelationAnalysis analyse() throws InvalidConfigurationException {
+        return RelationAnalysis.fromConfig(task, analysisContext, config);
+    }
+}
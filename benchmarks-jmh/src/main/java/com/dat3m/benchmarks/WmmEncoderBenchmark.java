@@ -0,0 +1,63 @@
+package com.dat3m.benchmarks;
+
+import com.dat3m.dartagnan.encoding.EncodingContext;
+import com.dat3m.dartagnan.encoding.WmmEncoder;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import org.openjdk.jmh.annotations.*;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.dat3m.dartagnan.verification.solving.ModelChecker.*;
+
+/*
+    Encoding of the memory model for a processed and analysed task.
+    Each invocation encodes into a new solver context, so that no formula is cached from previous invocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WmmEncoderBenchmark {
+
+    @Param
+    private BenchmarkInput input;
+
+    private VerificationTask task;
+    private Context analysisContext;
+    private SolverContext solverContext;
+    private WmmEncoder encoder;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        task = input.createTask(BenchmarkInput.createConfig());
+        final Configuration config = task.getConfig();
+        task.getMemoryModel().configureAll(config);
+        preprocessProgram(task, config);
+        preprocessMemoryModel(task, config);
+        analysisContext = Context.create();
+        performStaticProgramAnalyses(task, analysisContext, config);
+        performStaticWmmAnalyses(task, analysisContext, config);
+    }
+
+    @Setup(Level.Invocation)
+    public void createEncoder() throws Exception {
+        solverContext = BenchmarkInput.createSolverContext();
+        encoder = WmmEncoder.withContext(EncodingContext.of(task, analysisContext, solverContext.getFormulaManager()));
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeSolverContext() {
+        solverContext.close();
+    }
+
+    @Benchmark
+    public BooleanFormula encode() {
+        return encoder.encodeFullMemoryModel();
+    }
+}
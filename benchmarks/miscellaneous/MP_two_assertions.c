@@ -0,0 +1,27 @@
+#include <pthread.h>
+#include <stdatomic.h>
+#include <assert.h>
+
+atomic_int flag;
+atomic_int data;
+
+void *producer(void *arg)
+{
+    atomic_store_explicit(&data, 42, memory_order_relaxed);
+    atomic_store_explicit(&flag, 1, memory_order_release);
+    return NULL;
+}
+
+int main()
+{
+    pthread_t producer_t;
+    pthread_create(&producer_t, NULL, producer, NULL);
+    int r = atomic_load_explicit(&flag, memory_order_acquire);
+    if (r == 1) {
+        // Cannot fail: the acquire load synchronizes with the release store.
+        assert(atomic_load_explicit(&data, memory_order_relaxed) == 42);
+    }
+    // Fails if the load reads the initial value.
+    assert(r == 1);
+    return 0;
+}
@@ -1,12 +1,15 @@
 package com.dat3m.dartagnan;
 
+import com.dat3m.dartagnan.configuration.Method;
 import com.dat3m.dartagnan.configuration.OptionNames;
 import com.dat3m.dartagnan.configuration.Property;
 import com.dat3m.dartagnan.encoding.EncodingContext;
 import com.dat3m.dartagnan.encoding.ProverWithTracker;
+import com.dat3m.dartagnan.encoding.SolverContexts;
 import com.dat3m.dartagnan.expression.ExpressionPrinter;
 import com.dat3m.dartagnan.parsers.cat.ParserCat;
 import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.parsers.program.utils.Compilation;
 import com.dat3m.dartagnan.parsers.witness.ParserWitness;
 import com.dat3m.dartagnan.program.Program;
 import com.dat3m.dartagnan.program.Program.SourceLanguage;
@@ -18,6 +21,7 @@ import com.dat3m.dartagnan.program.event.core.CondJump;
 import com.dat3m.dartagnan.program.event.core.ControlBarrier;
 import com.dat3m.dartagnan.program.event.core.Load;
 import com.dat3m.dartagnan.program.processing.LoopUnrolling;
+import com.dat3m.dartagnan.utils.Metrics;
 import com.dat3m.dartagnan.utils.Result;
 import com.dat3m.dartagnan.utils.Utils;
 import com.dat3m.dartagnan.utils.options.BaseOptions;
@@ -28,6 +32,7 @@ import com.dat3m.dartagnan.verification.model.ExecutionModelNext;
 import com.dat3m.dartagnan.verification.solving.AssumeSolver;
 import com.dat3m.dartagnan.verification.solving.DataRaceSolver;
 import com.dat3m.dartagnan.verification.solving.ModelChecker;
+import com.dat3m.dartagnan.verification.solving.PortfolioSolver;
 import com.dat3m.dartagnan.verification.solving.RefinementSolver;
 import com.dat3m.dartagnan.witness.WitnessType;
 import com.dat3m.dartagnan.witness.graphml.WitnessBuilder;
@@ -37,6 +42,7 @@ import com.dat3m.dartagnan.wmm.axiom.Axiom;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharSource;
+import com.google.common.primitives.Longs;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
@@ -47,9 +53,8 @@ import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.sosy_lab.common.ShutdownManager;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
-import org.sosy_lab.common.log.BasicLogManager;
-import org.sosy_lab.java_smt.SolverContextFactory;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.ProverEnvironment;
 import org.sosy_lab.java_smt.api.SolverContext;
@@ -63,6 +68,7 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static com.dat3m.dartagnan.GlobalSettings.getOrCreateOutputDirectory;
 import static com.dat3m.dartagnan.configuration.OptionInfo.collectOptions;
@@ -84,11 +90,17 @@ public class Dartagnan extends BaseOptions {
 
     private static final Set<String> supportedFormats = ImmutableSet.copyOf(ProgramParser.SUPPORTED_EXTENSIONS);
 
+    @Option(name = BOUNDS_ITERATIVE,
+            description = "Increases the bounds of the loops that were not fully unrolled and verifies again " +
+                    "until the result is conclusive. All iterations run in this process.",
+            secure = true)
+    private boolean iterativeBounds = false;
+
     private Dartagnan(Configuration config) throws InvalidConfigurationException {
         config.recursiveInject(this);
     }
 
-    private static Configuration loadConfiguration(String[] args) throws InvalidConfigurationException, IOException {
+    static Configuration loadConfiguration(String[] args) throws InvalidConfigurationException, IOException {
         final var preamble = new StringBuilder();
         final var options = new StringBuilder();
         for (String argument : args) {
@@ -129,13 +141,30 @@ public class Dartagnan extends BaseOptions {
                 .orElseThrow(() -> new IllegalArgumentException("Input program not given or format not recognized")));
         logger.info("Program path: {}", fileProgram);
 
+        // With iterative bounds, every iteration re-parses the program, so we compile it only once.
+        final File programSource = o.iterativeBounds && ProgramParser.needsClang(fileProgram) ?
+                Compilation.compileToLlvm(fileProgram, "", o.getCompilationCache()) : fileProgram;
+        if (o.iterativeBounds) {
+            // Iterations communicate the increased bounds via the bounds file.
+            if (!config.hasProperty(BOUNDS_SAVE_PATH)) {
+                final File boundsFile = new File(getOrCreateOutputDirectory(), "bounds.csv");
+                boundsFile.delete();
+                config = Configuration.builder().copyFrom(config)
+                        .setOption(BOUNDS_LOAD_PATH, boundsFile.getPath())
+                        .setOption(BOUNDS_SAVE_PATH, boundsFile.getPath())
+                        .build();
+            }
+        }
+
         File fileModel = new File(Arrays.stream(args).filter(a -> a.endsWith(".cat")).findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("CAT model not given or format not recognized")));
         logger.info("CAT file path: {}", fileModel);
 
 
         Wmm mcm = new ParserCat(Path.of(o.getCatIncludePath())).parse(fileModel);
-        Program p = new ProgramParser().parse(fileProgram);
+        // The solvers modify the memory model, so further iterations start from a copy of the original one.
+        final Wmm originalMcm = o.iterativeBounds ? mcm.copy() : null;
+        Program p = new ProgramParser(o.getCompilationCache()).parse(programSource);
         EnumSet<Property> properties = o.getProperty();
 
         WitnessGraph witness = new WitnessGraph();
@@ -176,44 +205,50 @@ public class Dartagnan extends BaseOptions {
             Configuration solverConfig = Configuration.builder()
                     .setOption(PHANTOM_REFERENCES, valueOf(o.usePhantomReferences()))
                     .build();
-            try (SolverContext ctx = SolverContextFactory.createSolverContext(
-                    solverConfig,
-                    BasicLogManager.create(solverConfig),
-                    sdm.getNotifier(),
-                    o.getSolver());
-                    ProverWithTracker prover = new ProverWithTracker(ctx,
-                        o.getDumpSmtLib() ? GlobalSettings.getOutputDirectory() + String.format("/%s.smt2", p.getName()) : "",
-                        ProverOptions.GENERATE_MODELS)) {
-                ModelChecker modelChecker;
-                if (properties.contains(DATARACEFREEDOM)) {
-                    if (properties.size() > 1) {
-                        System.out.println("Data race detection cannot be combined with other properties");
-                        System.exit(1);
-                    }
-                    modelChecker = DataRaceSolver.run(ctx, prover, task);
-                } else {
-                    // Property is either PROGRAM_SPEC, TERMINATION, or CAT_SPEC
-                    modelChecker = switch (o.getMethod()) {
-                        case EAGER -> AssumeSolver.run(ctx, prover, task);
-                        case LAZY -> RefinementSolver.run(ctx, prover, task);
-                    };
+            if (o.getMethod() == Method.PORTFOLIO && !properties.contains(DATARACEFREEDOM)) {
+                // Every strategy of the portfolio works on its own copy of the program and memory model.
+                final VerificationTaskBuilder taskBuilder = builder;
+                final PortfolioSolver.TaskFactory taskFactory = () -> taskBuilder.build(
+                        new ProgramParser(o.getCompilationCache()).parse(fileProgram),
+                        new ParserCat(Path.of(o.getCatIncludePath())).parse(fileModel),
+                        properties);
+                try (PortfolioSolver portfolio = PortfolioSolver.run(task, taskFactory, solverConfig, sdm.getNotifier())) {
+                    // Verification ended, we can interrupt the timeout Thread
+                    t.interrupt();
+                    printResult(o, portfolio.getTask(), portfolio.getProver(), portfolio.getModelChecker(), startTime);
                 }
-
-                // Verification ended, we can interrupt the timeout Thread
-                t.interrupt();
-
-                if (modelChecker.hasModel() && o.getWitnessType().generateGraphviz()) {
-                    generateExecutionGraphFile(task, prover, modelChecker, o.getWitnessType());
+            } else {
+                if (properties.contains(DATARACEFREEDOM) && properties.size() > 1) {
+                    System.out.println("Data race detection cannot be combined with other properties");
+                    System.exit(1);
                 }
-
-                long endTime = System.currentTimeMillis();
-                String summary = generateResultSummary(task, prover, modelChecker);
-                System.out.print(summary);
-                System.out.println("Total verification time: " + Utils.toTimeString(endTime - startTime));
-
-                // We only generate witnesses if we are not validating one.
-                if (o.getWitnessType().equals(GRAPHML) && !o.runValidator()) {
-                    generateWitnessIfAble(task, prover, modelChecker, summary);
+                try (SolverContext ctx = SolverContexts.create(solverConfig, sdm.getNotifier(), o.getSolver())) {
+                    final String smtDumpPath = o.getDumpSmtLib() ?
+                            GlobalSettings.getOutputDirectory() + String.format("/%s.smt2%s", p.getName(),
+                                    o.getCompressSmtLib() ? ".gz" : "") : "";
+                    boolean done = false;
+                    while (!done) {
+                        try (ProverWithTracker prover = new ProverWithTracker(ctx, smtDumpPath,
+                                ProverOptions.GENERATE_MODELS)) {
+                            final ModelChecker modelChecker = runModelChecker(o, ctx, prover, task);
+                            final List<Event> reachedBounds = o.iterativeBounds ?
+                                    getReachedBounds(task, prover, modelChecker) : List.of();
+                            if (reachedBounds.isEmpty()) {
+                                // Verification ended, we can interrupt the timeout Thread
+                                t.interrupt();
+
+                                printResult(o, task, prover, modelChecker, startTime);
+                                done = true;
+                            } else {
+                                logger.info("Increasing the bounds of {} loops", reachedBounds.size());
+                                increaseBoundAndDump(reachedBounds, task.getConfig());
+                            }
+                        }
+                        if (!done) {
+                            // Verify again with increased bounds, reusing the solver context.
+                            task = builder.build(new ProgramParser().parse(programSource), originalMcm.copy(), properties);
+                        }
+                    }
                 }
             }
         } catch (InterruptedException e) {
@@ -227,6 +262,80 @@ public class Dartagnan extends BaseOptions {
         }
     }
 
+    private static ModelChecker runModelChecker(Dartagnan o, SolverContext ctx, ProverWithTracker prover,
+                                                VerificationTask task) throws Exception {
+        if (task.getProperty().contains(DATARACEFREEDOM)) {
+            return DataRaceSolver.run(ctx, prover, task);
+        }
+        // Property is either PROGRAM_SPEC, TERMINATION, or CAT_SPEC
+        return switch (o.getMethod()) {
+            case EAGER -> AssumeSolver.run(ctx, prover, task);
+            case LAZY -> RefinementSolver.run(ctx, prover, task);
+            case ONLINE -> RefinementSolver.runOnline(ctx, prover, task);
+            case PORTFOLIO -> throw new IllegalStateException("Portfolio solving is handled separately.");
+        };
+    }
+
+    // Returns the loop bound events that are reachable in the model of an inconclusive verification.
+    private static List<Event> getReachedBounds(VerificationTask task, ProverEnvironment prover,
+                                                ModelChecker modelChecker) throws SolverException {
+        if (modelChecker.getResult() != UNKNOWN || !modelChecker.hasModel()
+                || task.getProgram().getFormat() == SourceLanguage.LITMUS) {
+            return List.of();
+        }
+        final EncodingContext encCtx = modelChecker.getEncodingContext();
+        final Model model = prover.getModel();
+        final List<Event> reachedBounds = new ArrayList<>();
+        for (Event ev : task.getProgram().getThreadEventsWithAllTags(Tag.BOUND)) {
+            if (TRUE.equals(model.evaluate(encCtx.execution(ev)))) {
+                reachedBounds.add(ev);
+            }
+        }
+        return reachedBounds;
+    }
+
+    private static void printResult(Dartagnan o, VerificationTask task, ProverWithTracker prover,
+                                    ModelChecker modelChecker, long startTime) throws Exception {
+        if (modelChecker.hasModel() && o.getWitnessType().generateGraphviz()) {
+            generateExecutionGraphFile(task, prover, modelChecker, o.getWitnessType());
+        }
+
+        long endTime = System.currentTimeMillis();
+        String summary = generateResultSummary(task, prover, modelChecker);
+        System.out.print(summary);
+        System.out.println("Total verification time: " + Utils.toTimeString(endTime - startTime));
+        if (o.getMetricsFormat() != Metrics.Format.NONE) {
+            writeMetrics(task, prover, endTime - startTime, o.getMetricsFormat());
+        }
+
+        // We only generate witnesses if we are not validating one.
+        if (o.getWitnessType().equals(GRAPHML) && !o.runValidator()) {
+            generateWitnessIfAble(task, prover, modelChecker, summary);
+        }
+    }
+
+    private static void writeMetrics(VerificationTask task, ProverWithTracker prover, long timeMillis, Metrics.Format format)
+            throws IOException {
+        final Metrics metrics = task.getMetrics();
+        final List<ProverWithTracker.Check> checks = prover.getChecks();
+        for (int i = 0; i < checks.size(); i++) {
+            final String name = "check " + (i + 1);
+            metrics.add(Metrics.Phase.SOLVING, name, Metrics.TIME, checks.get(i).time());
+            metrics.add(Metrics.Phase.SOLVING, name, "unsat", checks.get(i).isUnsat() ? 1 : 0);
+        }
+        // Only integral statistics of the solver, e.g. numbers of conflicts or decisions.
+        prover.getStatistics().forEach((key, value) -> {
+            final Long number = Longs.tryParse(value);
+            if (number != null) {
+                metrics.add(Metrics.Phase.SOLVING, "statistics", key, number);
+            }
+        });
+        metrics.add(Metrics.Phase.VERIFICATION, "total", Metrics.TIME, TimeUnit.MILLISECONDS.toNanos(timeMillis));
+        final File file = new File(getOrCreateOutputDirectory(), task.getProgram().getName() + "-metrics" + format.getExtension());
+        metrics.write(file, format);
+        logger.info("Metrics written to {}", file);
+    }
+
     public static File generateExecutionGraphFile(VerificationTask task, ProverEnvironment prover, ModelChecker modelChecker,
                                                   WitnessType witnessType)
             throws InvalidConfigurationException, SolverException, IOException {
@@ -352,12 +461,7 @@ public class Dartagnan extends BaseOptions {
                 }
             } else if (result == UNKNOWN && modelChecker.hasModel()) {
                 // We reached unrolling bounds.
-                final List<Event> reachedBounds = new ArrayList<>();
-                for (Event ev : p.getThreadEventsWithAllTags(Tag.BOUND)) {
-                    if (TRUE.equals(model.evaluate(encCtx.execution(ev)))) {
-                        reachedBounds.add(ev);
-                    }
-                }
+                final List<Event> reachedBounds = getReachedBounds(task, prover, modelChecker);
                 summary.append("=========== Not fully unrolled loops ============\n");
                 for (Event bound : reachedBounds) {
                     summary
@@ -373,6 +477,21 @@ public class Dartagnan extends BaseOptions {
                     logger.warn("Failed to save bounds file: {}", e.getLocalizedMessage());
                 }
             }
+            if (!modelChecker.getAssertionResults().isEmpty()) {
+                summary.append("============== Assertion results ================\n");
+                modelChecker.getAssertionResults().forEach((ass, assResult) -> {
+                    final String callStack = makeContextString(
+                            synContext.getContextInfo(ass).getContextOfType(CallContext.class), " -> ");
+                    summary
+                            .append("\tE").append(ass.getGlobalId())
+                            .append(":\t")
+                            .append(callStack.isEmpty() ? callStack : callStack + " -> ")
+                            .append(getSourceLocationString(ass))
+                            .append(": ").append(assResult)
+                            .append("\n");
+                });
+                summary.append("=================================================\n");
+            }
             summary.append(result).append("\n");
         } else {
             // Litmus-specific output format that matches with Herd7 (as good as it can)
@@ -0,0 +1,219 @@
+package com.dat3m.dartagnan;
+
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.encoding.ProverWithTracker;
+import com.dat3m.dartagnan.encoding.SolverContexts;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.utils.Utils;
+import com.dat3m.dartagnan.utils.options.BaseOptions;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.VerificationTask.VerificationTaskBuilder;
+import com.dat3m.dartagnan.verification.solving.AssumeSolver;
+import com.dat3m.dartagnan.verification.solving.DataRaceSolver;
+import com.dat3m.dartagnan.verification.solving.ModelChecker;
+import com.dat3m.dartagnan.verification.solving.RefinementSolver;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+import static com.dat3m.dartagnan.configuration.Property.DATARACEFREEDOM;
+import static com.dat3m.dartagnan.utils.GitInfo.initGitInfo;
+import static com.dat3m.dartagnan.utils.GitInfo.logGitInfo;
+import static java.lang.String.valueOf;
+
+/*
+    Verifies all litmus tests of a directory against a single memory model.
+    The model is parsed only once. Every task works on its own copy of it, which the solver processes and modifies.
+    Tasks run in parallel, each with its own solver context and timeout.
+    The results are written in the format of the *-expected.csv files used by the test suite.
+
+    Usage: DartagnanBatch <litmus directory> <model>.cat [--option=value ...]
+ */
+@Options
+public class DartagnanBatch extends BaseOptions {
+
+    private static final Logger logger = LogManager.getLogger(DartagnanBatch.class);
+
+    // =========================== Configurables ===========================
+
+    @Option(name = BATCH_THREADS,
+            description = "Number of tests verified in parallel (defaults to the number of available processors).",
+            secure = true)
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Option(name = BATCH_OUTPUT,
+            description = "CSV file to write the results to (defaults to <model>-results.csv in the output directory).",
+            secure = true)
+    private String outputPath = "";
+
+    // ======================================================================
+
+    private record Outcome(File file, Result result, String status, long time) {}
+
+    private DartagnanBatch(Configuration config) throws InvalidConfigurationException {
+        config.recursiveInject(this);
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        initGitInfo();
+        logGitInfo();
+
+        final Configuration config = Dartagnan.loadConfiguration(args);
+        final DartagnanBatch o = new DartagnanBatch(config);
+
+        final File directory = Arrays.stream(args).filter(a -> !a.startsWith("--")).map(File::new)
+                .filter(File::isDirectory)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Litmus directory not given or not found"));
+        logger.info("Litmus directory: {}", directory);
+
+        final File fileModel = new File(Arrays.stream(args).filter(a -> a.endsWith(".cat")).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("CAT model not given or format not recognized")));
+        logger.info("CAT file path: {}", fileModel);
+
+        final List<File> files;
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            files = paths.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(ProgramParser.EXTENSION_LITMUS))
+                    .sorted()
+                    .map(Path::toFile)
+                    .toList();
+        }
+        logger.info("Found {} litmus tests", files.size());
+
+        final Wmm mcm = new ParserCat(Path.of(o.getCatIncludePath())).parse(fileModel);
+
+        final String outputPath = o.outputPath.isEmpty() ?
+                GlobalSettings.getOrCreateOutputDirectory() + "/" +
+                        com.google.common.io.Files.getNameWithoutExtension(fileModel.getName()) + "-results.csv" :
+                o.outputPath;
+
+        final long startTime = System.currentTimeMillis();
+        final List<Outcome> outcomes = o.runAll(files, mcm, config);
+        o.writeResults(outcomes, outputPath);
+        final long endTime = System.currentTimeMillis();
+
+        final Map<String, Long> statusCount = new TreeMap<>();
+        outcomes.forEach(outcome -> statusCount.merge(outcome.status(), 1L, Long::sum));
+        System.out.println("Results: " + statusCount);
+        System.out.println("Results written to: " + outputPath);
+        System.out.println("Total verification time: " + Utils.toTimeString(endTime - startTime));
+    }
+
+    private List<Outcome> runAll(List<File> files, Wmm mcm, Configuration config) throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        // Shared timer that stops tasks running out of time.
+        final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Outcome>> futures = new ArrayList<>();
+            for (File file : files) {
+                futures.add(executor.submit(() -> runSingle(file, mcm, config, timer)));
+            }
+            final List<Outcome> outcomes = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    outcomes.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    logger.warn("Failed to verify {}: {}", files.get(i), e.getCause().getMessage());
+                    outcomes.add(new Outcome(files.get(i), Result.UNKNOWN, "ERROR", 0));
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+            timer.shutdownNow();
+        }
+    }
+
+    private Outcome runSingle(File file, Wmm mcm, Configuration config, ScheduledExecutorService timer) {
+        final long startTime = System.currentTimeMillis();
+        final ShutdownManager sdm = ShutdownManager.create();
+        final ScheduledFuture<?> timeout = hasTimeout() ?
+                timer.schedule(() -> sdm.requestShutdown("Timeout"), getTimeout(), TimeUnit.SECONDS) : null;
+        try {
+            final Program program = new ProgramParser(getCompilationCache()).parse(file);
+            final EnumSet<Property> properties = getProperty();
+            VerificationTaskBuilder builder = VerificationTask.builder()
+                    .withConfig(config)
+                    .withProgressModel(getProgressModel());
+            if (program.getArch() != null && !config.hasProperty(TARGET)) {
+                builder = builder.withTarget(program.getArch());
+            }
+            // The solvers modify the memory model, so every task gets its own copy.
+            final VerificationTask task = builder.build(program, mcm.copy(), properties);
+
+            final Configuration solverConfig = Configuration.builder()
+                    .setOption(PHANTOM_REFERENCES, valueOf(usePhantomReferences()))
+                    .build();
+            try (SolverContext ctx = SolverContexts.create(solverConfig, sdm.getNotifier(), getSolver());
+                 ProverWithTracker prover = new ProverWithTracker(ctx, "", ProverOptions.GENERATE_MODELS)) {
+                final ModelChecker modelChecker;
+                if (properties.contains(DATARACEFREEDOM)) {
+                    modelChecker = DataRaceSolver.run(ctx, prover, task);
+                } else {
+                    modelChecker = switch (getMethod()) {
+                        case EAGER -> AssumeSolver.run(ctx, prover, task);
+                        case LAZY -> RefinementSolver.run(ctx, prover, task);
+                        case ONLINE -> RefinementSolver.runOnline(ctx, prover, task);
+                        case PORTFOLIO -> throw new InvalidConfigurationException(
+                                "Portfolio solving is not supported in batch mode.");
+                    };
+                }
+                final Result result = modelChecker.getResult();
+                return new Outcome(file, result, result.name(), System.currentTimeMillis() - startTime);
+            }
+        } catch (InterruptedException e) {
+            return new Outcome(file, Result.UNKNOWN, "TIMEOUT", System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            logger.warn("Failed to verify {}: {}", file, e.getMessage());
+            return new Outcome(file, Result.UNKNOWN, "ERROR", System.currentTimeMillis() - startTime);
+        } finally {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    // Conclusive results use the format of the *-expected.csv files (1 = PASS, 0 = FAIL).
+    // Inconclusive results are written as comments, which are ignored when reading expected results.
+    private void writeResults(List<Outcome> outcomes, String outputPath) throws IOException {
+        final Path home = Path.of(GlobalSettings.getHomeDirectory()).toAbsolutePath().normalize();
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Path.of(outputPath)))) {
+            for (Outcome outcome : outcomes) {
+                final Path path = outcome.file().toPath().toAbsolutePath().normalize();
+                final String name = path.startsWith(home) ? home.relativize(path).toString() : path.toString();
+                switch (outcome.result()) {
+                    case PASS -> writer.println(name + ",1");
+                    case FAIL -> writer.println(name + ",0");
+                    case UNKNOWN -> writer.println("//" + name + "," + outcome.status());
+                }
+                logger.debug("{}: {} ({})", name, outcome.status(), Utils.toTimeString(outcome.time()));
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.dat3m.dartagnan.configuration;
+
+public enum AcyclicityEncoding implements OptionInterface {
+    // Chosen per strongly connected component by its size and density
+    AUTO,
+    // Integer clocks per event (difference logic)
+    IDL,
+    // Bitvector clocks per event, just wide enough to order the component
+    BV_CLOCKS,
+    // Pure SAT via transitive closure over a vertex elimination graph
+    VERTEX_ELIMINATION,
+    // Not encoded at all, left to the consistency check of the refinement
+    LAZY;
+
+    public static AcyclicityEncoding getDefault() {
+        return AUTO;
+    }
+}
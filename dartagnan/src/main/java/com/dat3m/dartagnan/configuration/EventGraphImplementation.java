@@ -0,0 +1,20 @@
+package com.dat3m.dartagnan.configuration;
+
+import java.util.Arrays;
+
+public enum EventGraphImplementation implements OptionInterface {
+    // MAP stores successor sets in hash maps, BITSET stores one bitset per source event.
+    MAP, BITSET;
+
+    public static EventGraphImplementation getDefault() {
+        return MAP;
+    }
+
+    // Used to decide the order shown by the selector in the UI
+    public static EventGraphImplementation[] orderedValues() {
+        EventGraphImplementation[] order = {MAP, BITSET};
+        // Be sure no element is missing
+        assert (Arrays.asList(order).containsAll(Arrays.asList(values())));
+        return order;
+    }
+}
@@ -3,7 +3,7 @@ package com.dat3m.dartagnan.configuration;
 import java.util.Arrays;
 
 public enum Method implements OptionInterface {
-    EAGER, LAZY;
+    EAGER, LAZY, ONLINE, PORTFOLIO;
 
     // Used for options in the console
     @Override
@@ -11,6 +11,8 @@ public enum Method implements OptionInterface {
         return switch (this) {
             case EAGER -> "eager";
             case LAZY -> "lazy";
+            case ONLINE -> "online";
+            case PORTFOLIO -> "portfolio";
         };
     }
 
@@ -20,6 +22,8 @@ public enum Method implements OptionInterface {
         return switch (this) {
             case EAGER -> "Eager analysis";
             case LAZY -> "Lazy analysis";
+            case ONLINE -> "Online analysis";
+            case PORTFOLIO -> "Portfolio";
         };
     }
 
@@ -28,10 +32,11 @@ public enum Method implements OptionInterface {
     }
 
     // Used to decide the order shown by the selector in the UI
+    // Portfolio solving is only supported in the console, hence it is not offered by the UI.
     public static Method[] orderedValues() {
-        Method[] order = { LAZY, EAGER };
+        Method[] order = { LAZY, EAGER, ONLINE };
         // Be sure no element is missing
-        assert (Arrays.asList(order).containsAll(Arrays.asList(values())));
+        assert (Arrays.stream(values()).filter(m -> m != PORTFOLIO).allMatch(Arrays.asList(order)::contains));
         return order;
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ public class OptionNames {
     public static final String BOUND = "bound";
     public static final String BOUNDS_LOAD_PATH = "bound.load";
     public static final String BOUNDS_SAVE_PATH = "bound.save";
+    public static final String BOUNDS_ITERATIVE = "bound.iterative";
     public static final String TARGET = "target";
     public static final String METHOD = "method";
     public static final String SOLVER = "solver";
@@ -15,7 +16,10 @@ public class OptionNames {
     public static final String COVERAGE = "coverage";
     public static final String WITNESS = "witness";
     public static final String SMTLIB2 = "smtlib2";
+    public static final String SMTLIB2_COMPRESS = "smtlib2.compress";
+    public static final String METRICS = "metrics";
     public static final String CAT_INCLUDE = "cat.include";
+    public static final String COMPILATION_CACHE = "compilation.cache";
 
     // Modeling Options
     public static final String PROGRESSMODEL = "modeling.progress";
@@ -39,6 +43,8 @@ public class OptionNames {
     public static final String BREAK_SYMMETRY_ON = "encoding.symmetry.breakOn";
     public static final String BREAK_SYMMETRY_BY_SYNC_DEGREE = "encoding.symmetry.orderBySyncDegree";
     public static final String IDL_TO_SAT = "encoding.wmm.idl2sat";
+    public static final String ACYCLICITY_ENCODING = "encoding.wmm.acyclicity";
+    public static final String CHECK_ASSERTIONS_INDIVIDUALLY = "encoding.property.individualAssertions";
 
     // Program Processing Options
     public static final String DETERMINISTIC_REORDERING = "program.processing.detReordering";
@@ -50,6 +56,7 @@ public class OptionNames {
     public static final String PROPAGATE_COPY_ASSIGNMENTS = "program.processing.propagateCopyAssignments";
     public static final String REMOVE_ASSERTION_OF_TYPE = "program.processing.skipAssertionsOfType";
     public static final String NONTERMINATION_INSTRUMENTATION = "program.processing.nonTermination";
+    public static final String HASH_CONSING = "program.processing.hashConsing";
 
     // Program Property Options
     public static final String REACHING_DEFINITIONS_METHOD = "program.analysis.reachingDefinitions";
@@ -66,11 +73,22 @@ public class OptionNames {
     public static final String WMM_LOCALLY_CONSISTENT = "wmm.analysis.assumeLocalConsistency";
     public static final String RELATION_ANALYSIS = "wmm.analysis.relationAnalysis";
     public static final String ENABLE_EXTENDED_RELATION_ANALYSIS = "wmm.analysis.extendedRelationAnalysis";
+    public static final String RELATION_ANALYSIS_GRAPHS = "wmm.analysis.relationAnalysisGraphs";
+    public static final String RELATION_ANALYSIS_PARALLELISM = "wmm.analysis.relationAnalysisParallelism";
 
     // Refinement Options
     public static final String BASELINE = "refinement.baseline";
     public static final String GRAPHVIZ_DEBUG_FILES = "refinement.generageGraphvizDebugFiles";
     public static final String SYMMETRIC_LEARNING = "refinement.symmetricLearning";
+    public static final String INCREMENTAL_CAAT = "refinement.incrementalCaat";
+    public static final String CLAUSE_STORE = "refinement.clauseStore";
+
+    // Portfolio Options
+    public static final String PORTFOLIO_STRATEGIES = "portfolio.strategies";
+
+    // Batch Options
+    public static final String BATCH_THREADS = "batch.threads";
+    public static final String BATCH_OUTPUT = "batch.output";
 
     // SMT solver Options
     public static final String PHANTOM_REFERENCES = "solver.z3.usePhantomReferences";
@@ -33,6 +33,7 @@ import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -80,6 +81,10 @@ public final class EncodingContext {
     private final Map<Event, Formula> results = new HashMap<>();
     private final Map<MemoryObject, Formula> objAddress = new HashMap<>();
     private final Map<MemoryObject, Formula> objSize = new HashMap<>();
+    // Encodings of expressions that do not depend on the event they are evaluated at (see ExpressionEncoder).
+    final Map<Expression, Formula> eventIndependentFormulas = new IdentityHashMap<>();
+    // Set if every model gets checked against the full memory model afterwards, so that axioms may be under-encoded.
+    private boolean consistencyIsRefined = false;
 
     private EncodingContext(VerificationTask t, Context a, FormulaManager m) {
         verificationTask = checkNotNull(t);
@@ -113,6 +118,14 @@ public final class EncodingContext {
         return useSATEncoding;
     }
 
+    public boolean isConsistencyRefined() {
+        return consistencyIsRefined;
+    }
+
+    public void markConsistencyAsRefined() {
+        consistencyIsRefined = true;
+    }
+
     public VerificationTask getTask() {
         return verificationTask;
     }
@@ -376,6 +389,12 @@ public final class EncodingContext {
         return formulaManager.getIntegerFormulaManager().makeVariable("co " + write.getGlobalId());
     }
 
+    // Bit of the binary position of a write in its coherence order, used by the SAT-based encoding.
+    public BooleanFormula memoryOrderBit(Event write, int bit) {
+        checkArgument(write.hasTag(WRITE), "Cannot get a clock-var for non-writes.");
+        return booleanFormulaManager.makeVariable("co " + write.getGlobalId() + "#" + bit);
+    }
+
     public BooleanFormula edgeVariable(String name, Event first, Event second) {
         return booleanFormulaManager.makeVariable(formulaManager.escape(name) + " " + first.getGlobalId() + " " + second.getGlobalId());
     }
@@ -7,6 +7,7 @@ import org.sosy_lab.java_smt.api.*;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 
 import java.math.BigInteger;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
 public class EncodingHelper {
@@ -151,13 +152,22 @@ public class EncodingHelper {
     // ======================================== Static utility ========================================
 
     public static Object evaluate(Formula f, Model model) {
+        return evaluate(f, model::evaluate);
+    }
+
+    public static TupleValue evaluate(TupleFormula tupleFormula, Model model) {
+        return evaluate(tupleFormula, model::evaluate);
+    }
+
+    // Evaluates tuples element-wise, all other formulas by 'evaluator'.
+    public static Object evaluate(Formula f, Function<Formula, Object> evaluator) {
         if (f instanceof TupleFormula tf) {
-            return evaluate(tf, model);
+            return evaluate(tf, evaluator);
         }
-        return model.evaluate(f);
+        return evaluator.apply(f);
     }
 
-    public static TupleValue evaluate(TupleFormula tupleFormula, Model model) {
-        return new TupleValue(tupleFormula.getElements().stream().map(v -> evaluate(v, model)).toList());
+    public static TupleValue evaluate(TupleFormula tupleFormula, Function<Formula, Object> evaluator) {
+        return new TupleValue(tupleFormula.getElements().stream().map(v -> evaluate(v, evaluator)).toList());
     }
 }
@@ -24,7 +24,9 @@ import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Arrays.asList;
@@ -37,6 +39,9 @@ class ExpressionEncoder implements ExpressionVisitor<Formula> {
     private final FormulaManager formulaManager;
     private final BooleanFormulaManager booleanFormulaManager;
     private final Event event;
+    // Encodings of the subexpressions that depend on the event, i.e., that contain registers or final values.
+    // All other encodings are shared between the encoders of the context.
+    private final Map<Expression, Formula> eventDependentFormulas = new IdentityHashMap<>();
 
     ExpressionEncoder(EncodingContext context, Event event) {
         this.context = context;
@@ -54,7 +59,7 @@ class ExpressionEncoder implements ExpressionVisitor<Formula> {
     }
 
     BooleanFormula encodeAsBoolean(Expression expression) {
-        Formula formula = expression.accept(this);
+        Formula formula = encode(expression);
         if (formula instanceof BooleanFormula bForm) {
             return bForm;
         }
@@ -70,7 +75,25 @@ class ExpressionEncoder implements ExpressionVisitor<Formula> {
     }
 
     Formula encode(Expression expression) {
-        return expression.accept(this);
+        Formula formula = eventDependentFormulas.get(expression);
+        if (formula == null) {
+            formula = context.eventIndependentFormulas.get(expression);
+        }
+        if (formula == null) {
+            formula = expression.accept(this);
+            if (dependsOnEvent(expression)) {
+                eventDependentFormulas.put(expression, formula);
+            } else {
+                context.eventIndependentFormulas.put(expression, formula);
+            }
+        }
+        return formula;
+    }
+
+    // Operands are encoded before the expression itself, so it suffices to look them up.
+    private boolean dependsOnEvent(Expression expression) {
+        return expression instanceof Register || expression instanceof FinalMemoryValue
+                || !expression.getOperands().stream().allMatch(context.eventIndependentFormulas::containsKey);
     }
 
     @Override
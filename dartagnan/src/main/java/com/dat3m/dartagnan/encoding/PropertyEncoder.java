@@ -7,6 +7,7 @@ import com.dat3m.dartagnan.program.Program;
 import com.dat3m.dartagnan.program.Thread;
 import com.dat3m.dartagnan.program.analysis.ExecutionAnalysis;
 import com.dat3m.dartagnan.program.analysis.alias.AliasAnalysis;
+import com.dat3m.dartagnan.program.analysis.alias.AliasBuckets;
 import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.program.event.MemoryEvent;
 import com.dat3m.dartagnan.program.event.Tag;
@@ -22,6 +23,8 @@ import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.BooleanFormulaManager;
 import org.sosy_lab.java_smt.api.Formula;
@@ -32,12 +35,14 @@ import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static com.dat3m.dartagnan.configuration.OptionNames.CHECK_ASSERTIONS_INDIVIDUALLY;
 import static com.dat3m.dartagnan.configuration.Property.*;
 import static com.dat3m.dartagnan.program.Program.SourceLanguage.LLVM;
 import static com.dat3m.dartagnan.program.Program.SpecificationType.ASSERT;
 import static com.dat3m.dartagnan.wmm.RelationNameRepository.CO;
 import static com.dat3m.dartagnan.encoding.EncodingContext.ConversionMode.LEFT_TO_RIGHT;
 
+@Options
 public class PropertyEncoder implements Encoder {
 
     private static final Logger logger = LogManager.getLogger(PropertyEncoder.class);
@@ -53,6 +58,12 @@ public class PropertyEncoder implements Encoder {
     // We may want to make this configurable or just keep the option fixed.
     private final boolean doWeakTracking = true;
 
+    @Option(name = CHECK_ASSERTIONS_INDIVIDUALLY,
+            description = "Checks each assertion of the program on its own instead of only finding some violation." +
+                    " All checks share a single encoding.",
+            secure = true)
+    private boolean checkAssertionsIndividually = false;
+
     /*
         We use trackable formulas to find out why a disjunctive formula was satisfied:
             - Consider Enc = (P or Q or R), where P, Q, and R are arbitrary formulas.
@@ -73,6 +84,14 @@ public class PropertyEncoder implements Encoder {
             this.trackingLiteral = trackingLit;
             this.trackedFormula = formula;
         }
+
+        public BooleanFormula getTrackingLiteral() {
+            return trackingLiteral;
+        }
+
+        public BooleanFormula getTrackedFormula() {
+            return trackedFormula;
+        }
     }
 
     // =====================================================================
@@ -89,7 +108,20 @@ public class PropertyEncoder implements Encoder {
     }
 
     public static PropertyEncoder withContext(EncodingContext context) throws InvalidConfigurationException {
-        return new PropertyEncoder(context);
+        PropertyEncoder encoder = new PropertyEncoder(context);
+        context.getTask().getConfig().inject(encoder);
+        return encoder;
+    }
+
+    // Assertions can only be checked individually if they are the only property to check.
+    public boolean checksAssertionsIndividually() {
+        final EnumSet<Property> properties = context.getTask().getProperty();
+        final boolean applicable = properties.equals(EnumSet.of(PROGRAM_SPEC)) && ASSERT.equals(program.getSpecificationType());
+        if (checkAssertionsIndividually && !applicable) {
+            logger.warn("Option {} only applies to the assertions of a program and is ignored for properties {}.",
+                    CHECK_ASSERTIONS_INDIVIDUALLY, properties);
+        }
+        return checkAssertionsIndividually && applicable;
     }
 
     public BooleanFormula encodeBoundEventExec() {
@@ -221,13 +253,14 @@ public class PropertyEncoder implements Encoder {
             // but the final value of a location should always match that of some coLast event.
             // lastCo(w) => (lastVal(w.address) = w.val)
             //           \/ (exists w2 : lastCo(w2) /\ lastVal(w.address) = w2.val))
+            final List<Store> stores = program.getThreadEvents(Store.class);
             for (Init init : program.getThreadEvents(Init.class)) {
                 BooleanFormula lastValueEnc = bmgr.makeFalse();
                 BooleanFormula lastStoreExistsEnc = bmgr.makeFalse();
                 int size = types.getMemorySizeInBits(init.getValue().getType());
                 Formula v2 = context.lastValue(init.getBase(), init.getOffset(), size);
                 BooleanFormula readFromInit = context.equal(context.value(init), v2);
-                for (Store w : program.getThreadEvents(Store.class)) {
+                for (Store w : stores) {
                     if (!alias.mayAlias(w, init)) {
                         continue;
                     }
@@ -277,6 +310,21 @@ public class PropertyEncoder implements Encoder {
         return new TrackableFormula(trackingLiteral, encoding);
     }
 
+    // Tracks the violation of each assertion on its own.
+    // Every violation also violates the program specification from encodeProperties.
+    public Map<Assert, TrackableFormula> encodeAssertionViolations() {
+        logger.info("Encoding assertion violations");
+        final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
+        final Map<Assert, TrackableFormula> violations = new LinkedHashMap<>();
+        for (Assert assertion : program.getThreadEvents(Assert.class)) {
+            final BooleanFormula violation = bmgr.and(context.execution(assertion),
+                    bmgr.not(context.encodeExpressionAsBooleanAt(assertion.getExpression(), assertion)));
+            final BooleanFormula trackingLiteral = bmgr.makeVariable("assertion_violated(" + assertion.getGlobalId() + ")");
+            violations.put(assertion, new TrackableFormula(trackingLiteral, violation));
+        }
+        return violations;
+    }
+
     private BooleanFormula encodeProgramTermination() {
         final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
         final BooleanFormula exitReached = bmgr.and(program.getThreads().stream()
@@ -354,41 +402,36 @@ public class PropertyEncoder implements Encoder {
             return mo == null || mo.value().equals(Tag.C11.NONATOMIC);
         });
 
+        final List<MemoryCoreEvent> racyEvents = new ArrayList<>();
+        for (Thread t : program.getThreads()) {
+            for (Event e : t.getEvents()) {
+                if (e.hasTag(Tag.MEMORY) && !e.hasTag(Tag.INIT) && canRace.test((MemoryCoreEvent) e)) {
+                    racyEvents.add((MemoryCoreEvent) e);
+                }
+            }
+        }
+        final AliasBuckets<MemoryCoreEvent> buckets = alias.getBuckets(racyEvents);
+
         BooleanFormula hasRace = bmgr.makeFalse();
-        for(Thread t1 : program.getThreads()) {
-            for(Thread t2 : program.getThreads()) {
-                if(t1 == t2) {
+        for (MemoryCoreEvent w : racyEvents) {
+            if (!w.hasTag(Tag.WRITE)) {
+                continue;
+            }
+            for (MemoryCoreEvent m : buckets.getCandidates(w)) {
+                if (m.getThread() == w.getThread() || (w.hasTag(Tag.RMW) && m.hasTag(Tag.RMW)) || !alias.mayAlias(m, w)) {
                     continue;
                 }
-                for (Event e1 : t1.getEvents()) {
-                    if (!e1.hasTag(Tag.WRITE) || e1.hasTag(Tag.INIT)) {
-                        continue;
-                    }
-                    MemoryCoreEvent w = (MemoryCoreEvent)e1;
-                    if (!canRace.test(w)) {
-                        continue;
-                    }
-                    for(Event e2 : t2.getEvents()) {
-                        if (!e2.hasTag(Tag.MEMORY) || e2.hasTag(Tag.INIT)) {
-                            continue;
-                        }
-                        MemoryCoreEvent m = (MemoryCoreEvent)e2;
-                        if((w.hasTag(Tag.RMW) && m.hasTag(Tag.RMW)) || !canRace.test(m) || !alias.mayAlias(m, w)) {
-                            continue;
-                        }
-
-                        final BooleanFormula isConflictingPair = bmgr.and(ctx.execution(m, w), ctx.sameAddress(m, w));
-                        final BooleanFormula isAdjacentInHb = bmgr.and(
-                                hbEncoder.encode(m, w), // In Hb
-                                imgr.equal( // Adjacent (We assume "w-hb->m" cause in a race the store can be assumed to be first)
-                                        ctx.clockVariable("hb", w),
-                                        imgr.add(ctx.clockVariable("hb", m), imgr.makeNumber(1))
-                                )
-                        );
-                        final BooleanFormula isRacingPair = bmgr.and(isConflictingPair, isAdjacentInHb);
-                        hasRace = bmgr.or(hasRace, isRacingPair);
-                    }
-                }
+
+                final BooleanFormula isConflictingPair = bmgr.and(ctx.execution(m, w), ctx.sameAddress(m, w));
+                final BooleanFormula isAdjacentInHb = bmgr.and(
+                        hbEncoder.encode(m, w), // In Hb
+                        imgr.equal( // Adjacent (We assume "w-hb->m" cause in a race the store can be assumed to be first)
+                                ctx.clockVariable("hb", w),
+                                imgr.add(ctx.clockVariable("hb", m), imgr.makeNumber(1))
+                        )
+                );
+                final BooleanFormula isRacingPair = bmgr.and(isConflictingPair, isAdjacentInHb);
+                hasRace = bmgr.or(hasRace, isRacingPair);
             }
         }
         return new TrackableFormula(bmgr.not(DATARACEFREEDOM.getSMTVariable(ctx)), hasRace);
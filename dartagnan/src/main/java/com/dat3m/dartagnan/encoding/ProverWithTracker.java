@@ -1,18 +1,21 @@
 package com.dat3m.dartagnan.encoding;
 
-import java.io.File;
-import java.io.FileWriter;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import org.sosy_lab.java_smt.api.*;
 import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
@@ -24,27 +27,36 @@ public class ProverWithTracker implements ProverEnvironment {
     private final FormulaManager fmgr;
     private final ProverEnvironment prover;
     private final String fileName;
-    private final Set<String> declarations;
+    private DeclarationFilter output;
+    private final List<Check> checks = new ArrayList<>();
 
+    // Satisfiability check with its solving time in nanoseconds.
+    public record Check(long time, boolean isUnsat) {}
+
+    // The encoding gets dumped to "fileName", which is gzip-compressed if the name ends with ".gz".
     public ProverWithTracker(SolverContext ctx, String fileName, ProverOptions... options) {
         this.fmgr = ctx.getFormulaManager();
         this.prover = ctx.newProverEnvironment(options);
         this.fileName = fileName;
-        this.declarations = new HashSet<>();
         init();
     }
 
     // An empty filename means there is no need to dump the encoding
     private boolean dump() {
-        return !fileName.isEmpty();
+        return output != null;
     }
 
     private void init() {
-        if(dump()) {
+        if(!fileName.isEmpty()) {
             try {
-                Files.deleteIfExists(Paths.get(fileName));
+                OutputStream stream = new FileOutputStream(fileName);
+                if (fileName.endsWith(".gz")) {
+                    stream = new GZIPOutputStream(stream, 1 << 16);
+                }
+                output = new DeclarationFilter(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16));
             } catch (IOException e) {
                 e.printStackTrace();
+                return;
             }
             StringBuilder description = new StringBuilder();
             LocalDate currentDate = LocalDate.now();
@@ -70,8 +82,13 @@ public class ProverWithTracker implements ProverEnvironment {
     @Override
     public void close() {
         if(dump()) {
-            removeDuplicatedDeclarations(fileName);
             write("(exit)\n");
+            try {
+                output.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            output = null;
         }
         prover.close();
     }
@@ -79,7 +96,7 @@ public class ProverWithTracker implements ProverEnvironment {
     @Override
     public Void addConstraint(BooleanFormula f) throws InterruptedException {
         if(dump()) {
-            write(fmgr.dumpFormula(f).toString());
+            writeFormula(f);
         }
         return prover.addConstraint(f);
     }
@@ -90,18 +107,19 @@ public class ProverWithTracker implements ProverEnvironment {
         if(dump()) {
             write("(push 1)\n");
             for(BooleanFormula f : fs) {
-                write(fmgr.dumpFormula(f).toString());
+                writeFormula(f);
             }
         }
 
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         boolean result = prover.isUnsatWithAssumptions(fs);
-        long end = System.currentTimeMillis();
+        long time = System.nanoTime() - start;
+        checks.add(new Check(time, result));
 
         if(dump()) {
             write("(set-info :status " + (result ? "unsat" : "sat") + ")\n");
             write("(check-sat)\n");
-            writeComment("Original solving time: " + (end - start) + " ms");
+            writeComment("Original solving time: " + time / 1_000_000 + " ms");
             write("(pop 1)\n");
         }
 
@@ -110,17 +128,23 @@ public class ProverWithTracker implements ProverEnvironment {
 
     @Override
     public boolean isUnsat() throws SolverException, InterruptedException {
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         boolean result = prover.isUnsat();
-        long end = System.currentTimeMillis();
+        long time = System.nanoTime() - start;
+        checks.add(new Check(time, result));
         if(dump()) {
             write("(set-info :status " + (result ? "unsat" : "sat") + ")\n");
             write("(check-sat)\n");
-            writeComment("Original solving time: " + (end - start) + " ms");
+            writeComment("Original solving time: " + time / 1_000_000 + " ms");
         }
         return result;
     }
 
+    // All satisfiability checks so far, in order.
+    public List<Check> getChecks() {
+        return List.copyOf(checks);
+    }
+
     @Override
     public ImmutableMap<String, String> getStatistics() {
         return prover.getStatistics();
@@ -147,6 +171,11 @@ public class ProverWithTracker implements ProverEnvironment {
         prover.pop();
     }
 
+    @Override
+    public boolean registerUserPropagator(UserPropagator propagator) {
+        return prover.registerUserPropagator(propagator);
+    }
+
     @Override
     public <R> R allSat(AllSatCallback<R> arg0, List<BooleanFormula> arg1) throws InterruptedException, SolverException {
         return prover.allSat(arg0, arg1);
@@ -170,31 +199,103 @@ public class ProverWithTracker implements ProverEnvironment {
 
     private void write(String content) {
         if (dump()) {
-            File file = new File(fileName);
-            try (FileWriter writer = new FileWriter(file, true);
-                    PrintWriter printer = new PrintWriter(writer)) {
-                printer.append(removeDuplicatedDeclarations(content));
-                printer.close();
+            try {
+                output.write(content);
+                output.terminateLine();
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
     }
 
+    // Streams the formula to the file, without building its textual representation as a whole.
+    private void writeFormula(BooleanFormula f) {
+        try {
+            fmgr.dumpFormula(f).appendTo(output);
+            output.terminateLine();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     public void writeComment(String content) {
         write("; " + content);
     }
 
-    // FIXME: This is only correct as long as no declarations are popped and then
-    // later redeclared (which is currently guarenteed by the way we use the solver)
-    private StringBuilder removeDuplicatedDeclarations(String content) {
-        StringBuilder builder = new StringBuilder();
-        for(String line : content.split("\n")) {
-            if(line.contains("declare-fun") && !declarations.add(line)) {
-                continue;
+    /*
+        Forwards SMT-LIB text line by line and drops declarations that were already written.
+        Only declarations are buffered (until their line ends), all other lines are forwarded directly.
+        FIXME: This is only correct as long as no declarations are popped and then
+         later redeclared (which is currently guaranteed by the way we use the solver)
+     */
+    private static final class DeclarationFilter extends Writer {
+
+        private static final String DECLARATION = "(declare-fun";
+
+        private final Writer out;
+        private final Set<String> declarations = new HashSet<>();
+        // Start of the current line, as long as it may be a declaration.
+        private final StringBuilder line = new StringBuilder();
+        private boolean buffering = true;
+
+        private DeclarationFilter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            final int end = offset + length;
+            int i = offset;
+            while (i < end) {
+                if (buffering) {
+                    final char c = buffer[i++];
+                    final int position = line.length();
+                    line.append(c);
+                    if (c == '\n') {
+                        writeBufferedLine();
+                    } else if (position < DECLARATION.length() && c != DECLARATION.charAt(position)) {
+                        out.append(line);
+                        line.setLength(0);
+                        buffering = false;
+                    }
+                } else {
+                    int lineEnd = i;
+                    while (lineEnd < end && buffer[lineEnd] != '\n') {
+                        lineEnd++;
+                    }
+                    buffering = lineEnd < end;
+                    final int next = buffering ? lineEnd + 1 : end;
+                    out.write(buffer, i, next - i);
+                    i = next;
+                }
+            }
+        }
+
+        // Ends the current line, unless it is empty.
+        private void terminateLine() throws IOException {
+            if (!buffering || !line.isEmpty()) {
+                write('\n');
             }
-            builder.append(line + "\n");
         }
-        return builder;
+
+        private void writeBufferedLine() throws IOException {
+            final String content = line.toString();
+            line.setLength(0);
+            if (!content.startsWith(DECLARATION) || declarations.add(content)) {
+                out.write(content);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.append(line);
+            line.setLength(0);
+            out.close();
+        }
     }
 }
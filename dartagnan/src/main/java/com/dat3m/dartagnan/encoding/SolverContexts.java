@@ -0,0 +1,25 @@
+package com.dat3m.dartagnan.encoding;
+
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.java_smt.SolverContextFactory;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+/*
+    Creates solver contexts for all callers that may run in parallel (portfolio, batch mode, concurrent tests).
+    The log manager of each context registers a JMX bean, and this registration is not thread-safe.
+    Hence, creation is serialized here, while the contexts themselves can be used concurrently.
+ */
+public final class SolverContexts {
+
+    private SolverContexts() {
+    }
+
+    public static synchronized SolverContext create(Configuration config, ShutdownNotifier notifier, Solvers solver)
+            throws InvalidConfigurationException {
+        return SolverContextFactory.createSolverContext(config, BasicLogManager.create(config), notifier, solver);
+    }
+}
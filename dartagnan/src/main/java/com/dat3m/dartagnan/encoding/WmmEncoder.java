@@ -9,6 +9,7 @@ import com.dat3m.dartagnan.program.event.core.Load;
 import com.dat3m.dartagnan.program.event.core.MemoryCoreEvent;
 import com.dat3m.dartagnan.program.event.core.NamedBarrier;
 import com.dat3m.dartagnan.program.event.core.RMWStoreExclusive;
+import com.dat3m.dartagnan.utils.Metrics;
 import com.dat3m.dartagnan.utils.Utils;
 import com.dat3m.dartagnan.utils.dependable.DependencyGraph;
 import com.dat3m.dartagnan.wmm.Constraint;
@@ -33,6 +34,7 @@ import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.java_smt.api.*;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.dat3m.dartagnan.configuration.OptionNames.*;
@@ -77,13 +79,15 @@ public class WmmEncoder implements Encoder {
     }
 
     public static WmmEncoder withContext(EncodingContext context) throws InvalidConfigurationException {
-        long t0 = System.currentTimeMillis();
+        long t0 = System.nanoTime();
         WmmEncoder encoder = new WmmEncoder(context);
         context.getTask().getConfig().inject(encoder);
+        final long time = System.nanoTime() - t0;
+        context.getTask().getMetrics().add(Metrics.Phase.ENCODING, "EncodeSets", Metrics.TIME, time);
         if (logger.isInfoEnabled()) {
             logger.info("{}: {}", ENABLE_ACTIVE_SETS, encoder.enableActiveSets);
             logger.info("{}: {}", MEMORY_IS_ZEROED, encoder.memoryIsZeroed);
-            logger.info("Finished active sets in {}", Utils.toTimeString(System.currentTimeMillis() - t0));
+            logger.info("Finished active sets in {}", Utils.toTimeString(TimeUnit.NANOSECONDS.toMillis(time)));
         }
         RelationAnalysis ra = context.getAnalysisContext().get(RelationAnalysis.class);
         if (logger.isInfoEnabled()) {
@@ -119,10 +123,15 @@ public class WmmEncoder implements Encoder {
                         Iterables.transform(memoryModel.getAxioms(), Axiom::getRelation) // axiom relations
                 )
         );
+        final Metrics metrics = context.getTask().getMetrics();
         RelationEncoder v = new RelationEncoder();
         for (Relation rel : depGraph.getNodeContents()) {
             logger.trace("Encoding relation '{}'", rel);
+            final int formulas = v.enc.size();
             rel.getDefinition().accept(v);
+            final EventGraph encodeSet = encodeSets.get(rel);
+            metrics.add(Metrics.Phase.ENCODING, rel.getNameOrTerm(), Metrics.ENCODE_SET_SIZE, encodeSet == null ? 0 : encodeSet.size());
+            metrics.add(Metrics.Phase.ENCODING, rel.getNameOrTerm(), Metrics.FORMULAS, v.enc.size() - formulas);
         }
         return v.bmgr.and(v.enc);
     }
@@ -133,11 +142,14 @@ public class WmmEncoder implements Encoder {
         Wmm memoryModel = context.getTask().getMemoryModel();
         final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
         RelationAnalysis ra = context.getAnalysisContext().get(RelationAnalysis.class);
+        final Metrics metrics = context.getTask().getMetrics();
         List<BooleanFormula> enc = new ArrayList<>();
         for (Axiom a : memoryModel.getAxioms()) {
             if (!a.isFlagged()) {
                 logger.trace("Encoding axiom '{}'", a);
-                enc.addAll(a.consistent(context));
+                final Collection<BooleanFormula> axiomEncoding = a.consistent(context);
+                metrics.add(Metrics.Phase.ENCODING, a.getNameOrTerm(), Metrics.FORMULAS, axiomEncoding.size());
+                enc.addAll(axiomEncoding);
             }
         }
         ra.getContradictions()
@@ -610,6 +622,7 @@ public class WmmEncoder implements Encoder {
         public Void visitCoherence(Coherence coDef) {
             final Relation co = coDef.getDefinedRelation();
             boolean idl = !context.useSATEncoding;
+            boolean coIsTotal = Arch.coIsTotal(program.getArch());
             List<MemoryCoreEvent> allWrites = program.getThreadEvents(MemoryCoreEvent.class).stream()
                     .filter(e -> e.hasTag(WRITE))
                     .sorted(Comparator.comparingInt(Event::getGlobalId))
@@ -617,7 +630,7 @@ public class WmmEncoder implements Encoder {
             EncodingContext.EdgeEncoder edge = context.edge(co);
             EventGraph maySet = ra.getKnowledge(co).getMaySet();
             EventGraph mustSet = ra.getKnowledge(co).getMustSet();
-            EventGraph transCo = idl ? ra.findTransitivelyImpliedCo(co) : null;
+            EventGraph transCo = ra.findTransitivelyImpliedCo(co);
             IntegerFormulaManager imgr = idl ? context.getFormulaManager().getIntegerFormulaManager() : null;
             if (idl) {
                 // ---- Encode clock conditions (init = 0, non-init > 0) ----
@@ -628,34 +641,48 @@ public class WmmEncoder implements Encoder {
                 }
             }
             // ---- Encode coherences ----
-            for (int i = 0; i < allWrites.size() - 1; i++) {
-                MemoryCoreEvent x = allWrites.get(i);
-                for (MemoryCoreEvent z : allWrites.subList(i + 1, allWrites.size())) {
-                    boolean forwardPossible = maySet.contains(x, z);
-                    boolean backwardPossible = maySet.contains(z, x);
-                    if (!forwardPossible && !backwardPossible) {
-                        continue;
-                    }
-                    BooleanFormula execPair = execution(x, z);
-                    BooleanFormula sameAddress = context.sameAddress(x, z);
-                    BooleanFormula pairingCond = bmgr.and(execPair, sameAddress);
-                    BooleanFormula coF = forwardPossible ? edge.encode(x, z) : bmgr.makeFalse();
-                    BooleanFormula coB = backwardPossible ? edge.encode(z, x) : bmgr.makeFalse();
-                    // Coherence is not total for some architectures
-                    if (Arch.coIsTotal(program.getArch())) {
-                        enc.add(bmgr.equivalence(pairingCond, bmgr.or(coF, coB)));
-                    } else {
-                        enc.add(bmgr.implication(bmgr.or(coF, coB), pairingCond));
-                    }
-                    if (idl) {
-                        enc.add(bmgr.implication(coF, x.hasTag(INIT) || transCo.contains(x, z) ? bmgr.makeTrue()
-                                : imgr.lessThan(context.memoryOrderClock(x), context.memoryOrderClock(z))));
-                        enc.add(bmgr.implication(coB, z.hasTag(INIT) || transCo.contains(z, x) ? bmgr.makeTrue()
-                                : imgr.lessThan(context.memoryOrderClock(z), context.memoryOrderClock(x))));
-                    } else {
+            // Writes from different partitions are never related, so each partition gets its own order.
+            for (List<MemoryCoreEvent> writes : partitionWrites(allWrites, maySet)) {
+                // The SAT-based encoding orders the writes of a partition by binary positions,
+                // which implies transitivity with O(n^2 log n) instead of O(n^3) clauses.
+                final int positionBits = Integer.SIZE - Integer.numberOfLeadingZeros(writes.size() - 1);
+                for (int i = 0; i < writes.size() - 1; i++) {
+                    MemoryCoreEvent x = writes.get(i);
+                    for (MemoryCoreEvent z : writes.subList(i + 1, writes.size())) {
+                        boolean forwardPossible = maySet.contains(x, z);
+                        boolean backwardPossible = maySet.contains(z, x);
+                        if (!forwardPossible && !backwardPossible) {
+                            continue;
+                        }
+                        BooleanFormula execPair = execution(x, z);
+                        BooleanFormula sameAddress = context.sameAddress(x, z);
+                        BooleanFormula pairingCond = bmgr.and(execPair, sameAddress);
+                        BooleanFormula coF = forwardPossible ? edge.encode(x, z) : bmgr.makeFalse();
+                        BooleanFormula coB = backwardPossible ? edge.encode(z, x) : bmgr.makeFalse();
+                        // Coherence is not total for some architectures
+                        if (coIsTotal) {
+                            enc.add(bmgr.equivalence(pairingCond, bmgr.or(coF, coB)));
+                        } else {
+                            enc.add(bmgr.implication(bmgr.or(coF, coB), pairingCond));
+                        }
+                        if (idl) {
+                            enc.add(bmgr.implication(coF, x.hasTag(INIT) || transCo.contains(x, z) ? bmgr.makeTrue()
+                                    : imgr.lessThan(context.memoryOrderClock(x), context.memoryOrderClock(z))));
+                            enc.add(bmgr.implication(coB, z.hasTag(INIT) || transCo.contains(z, x) ? bmgr.makeTrue()
+                                    : imgr.lessThan(context.memoryOrderClock(z), context.memoryOrderClock(x))));
+                            continue;
+                        }
                         enc.add(bmgr.or(bmgr.not(coF), bmgr.not(coB)));
-                        if (!mustSet.contains(x, z) && !mustSet.contains(z, x)) {
-                            for (MemoryEvent y : allWrites) {
+                        // Edges implied by transitivity need no positions, which requires totality
+                        if (forwardPossible && !(coIsTotal && transCo.contains(x, z))) {
+                            enc.add(bmgr.implication(coF, memoryOrderLessThan(x, z, positionBits)));
+                        }
+                        if (backwardPossible && !(coIsTotal && transCo.contains(z, x))) {
+                            enc.add(bmgr.implication(coB, memoryOrderLessThan(z, x, positionBits)));
+                        }
+                        // Without totality, the order of positions does not imply the missing edges
+                        if (!coIsTotal && !mustSet.contains(x, z) && !mustSet.contains(z, x)) {
+                            for (MemoryEvent y : writes) {
                                 if (forwardPossible && maySet.contains(x, y) && maySet.contains(y, z)) {
                                     enc.add(bmgr.implication(bmgr.and(edge.encode(x, y), edge.encode(y, z)), coF));
                                 }
@@ -670,6 +697,45 @@ public class WmmEncoder implements Encoder {
             return null;
         }
 
+        // Splits the writes into the connected components of the may-set of coherence.
+        // This refines the alias classes of the writes, as the may-set only relates writes that may alias.
+        private List<List<MemoryCoreEvent>> partitionWrites(List<MemoryCoreEvent> writes, EventGraph maySet) {
+            final Map<Event, Set<Event>> outMap = maySet.getOutMap();
+            final Map<Event, Set<Event>> inMap = maySet.getInMap();
+            final Set<Event> visited = new HashSet<>();
+            final List<List<MemoryCoreEvent>> partitions = new ArrayList<>();
+            for (MemoryCoreEvent write : writes) {
+                if (!visited.add(write)) {
+                    continue;
+                }
+                final List<MemoryCoreEvent> partition = new ArrayList<>();
+                final Deque<MemoryCoreEvent> stack = new ArrayDeque<>(List.of(write));
+                while (!stack.isEmpty()) {
+                    final MemoryCoreEvent w = stack.pop();
+                    partition.add(w);
+                    for (Event next : Iterables.concat(outMap.getOrDefault(w, Set.of()), inMap.getOrDefault(w, Set.of()))) {
+                        if (visited.add(next)) {
+                            stack.push((MemoryCoreEvent) next);
+                        }
+                    }
+                }
+                partition.sort(Comparator.comparingInt(Event::getGlobalId));
+                partitions.add(partition);
+            }
+            return partitions;
+        }
+
+        // Compares the binary positions of two writes, starting from the least significant bit.
+        private BooleanFormula memoryOrderLessThan(Event first, Event second, int bits) {
+            BooleanFormula lessThan = bmgr.makeFalse();
+            for (int i = 0; i < bits; i++) {
+                final BooleanFormula b1 = context.memoryOrderBit(first, i);
+                final BooleanFormula b2 = context.memoryOrderBit(second, i);
+                lessThan = bmgr.or(bmgr.and(bmgr.not(b1), b2), bmgr.and(bmgr.equivalence(b1, b2), lessThan));
+            }
+            return lessThan;
+        }
+
         @Override
         public Void visitSyncBarrier(SyncBar syncBar) {
             final Relation rel = syncBar.getDefinedRelation();
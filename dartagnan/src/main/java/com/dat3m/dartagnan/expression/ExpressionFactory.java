@@ -12,6 +12,8 @@ import com.dat3m.dartagnan.program.memory.ScopedPointer;
 import com.dat3m.dartagnan.program.memory.ScopedPointerVariable;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.collect.Iterables;
 
 import java.math.BigDecimal;
@@ -21,19 +23,40 @@ import java.util.List;
 
 public final class ExpressionFactory {
 
-    private static final ExpressionFactory instance = new ExpressionFactory();
+    private static final ExpressionFactory instance = new ExpressionFactory(false);
 
     private final TypeFactory types = TypeFactory.getInstance();
     private final BooleanType booleanType = types.getBooleanType();
     private final BoolLiteral falseConstant = new BoolLiteral(booleanType, false);
     private final BoolLiteral trueConstant = new BoolLiteral(booleanType, true);
 
-    private ExpressionFactory() {}
+    // If hash-consing, structurally equal expressions created by this factory are represented by the same object.
+    // The table does not keep expressions alive. It is null if this factory does not hash-cons.
+    private final Interner<Expression> interner;
+
+    private ExpressionFactory(boolean hashConsing) {
+        this.interner = hashConsing ? Interners.newWeakInterner() : null;
+    }
 
     public static ExpressionFactory getInstance() {
         return instance;
     }
 
+    // Creates a factory with its own hash-consing table.
+    // Its expressions can be mixed with the ones of other factories, but are only shared among each other.
+    public static ExpressionFactory newHashConsingInstance() {
+        return new ExpressionFactory(true);
+    }
+
+    public boolean isHashConsing() {
+        return interner != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Expression> T intern(T expression) {
+        return interner != null ? (T) interner.intern(expression) : expression;
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
     // Boolean
 
@@ -62,11 +85,11 @@ public final class ExpressionFactory {
     }
 
     public Expression makeBoolUnary(BoolUnaryOp operator, Expression operand) {
-        return new BoolUnaryExpr(operator, operand);
+        return intern(new BoolUnaryExpr(operator, operand));
     }
 
     public Expression makeBoolBinary(Expression leftOperand, BoolBinaryOp operator, Expression rightOperand) {
-        return new BoolBinaryExpr(leftOperand, operator, rightOperand);
+        return intern(new BoolBinaryExpr(leftOperand, operator, rightOperand));
     }
 
     public Expression makeBooleanCast(Expression operand) {
@@ -99,7 +122,7 @@ public final class ExpressionFactory {
     }
 
     public IntLiteral makeValue(BigInteger value, IntegerType type) {
-        return new IntLiteral(type, value);
+        return intern(new IntLiteral(type, value));
     }
 
     public Expression makeLT(Expression leftOperand, Expression rightOperand, boolean signed) {
@@ -171,15 +194,15 @@ public final class ExpressionFactory {
     }
 
     public Expression makeIntUnary(IntUnaryOp operator, Expression operand) {
-        return new IntUnaryExpr(operator, operand);
+        return intern(new IntUnaryExpr(operator, operand));
     }
 
     public Expression makeIntCmp(Expression leftOperand, IntCmpOp operator, Expression rightOperand) {
-        return new IntCmpExpr(types.getBooleanType(), leftOperand, operator, rightOperand);
+        return intern(new IntCmpExpr(types.getBooleanType(), leftOperand, operator, rightOperand));
     }
 
     public Expression makeIntBinary(Expression leftOperand, IntBinaryOp operator, Expression rightOperand) {
-        return new IntBinaryExpr(leftOperand, operator, rightOperand);
+        return intern(new IntBinaryExpr(leftOperand, operator, rightOperand));
     }
 
     public Expression makeIntegerCast(Expression operand, IntegerType targetType, boolean signed) {
@@ -188,9 +211,9 @@ public final class ExpressionFactory {
         if (sourceType instanceof BooleanType) {
             return makeITE(operand, makeOne(targetType), makeZero(targetType));
         } else if (sourceType instanceof IntegerType) {
-            return sourceType.equals(targetType) ? operand : new IntSizeCast(targetType, operand, signed);
+            return sourceType.equals(targetType) ? operand : intern(new IntSizeCast(targetType, operand, signed));
         } else if (sourceType instanceof FloatType) {
-            return new FloatToIntCast(targetType, operand, signed);
+            return intern(new FloatToIntCast(targetType, operand, signed));
         }
 
         throw new UnsupportedOperationException(String.format("Cannot cast %s to %s.", sourceType, targetType));
@@ -204,52 +227,52 @@ public final class ExpressionFactory {
     }
 
     public FloatLiteral makeValue(BigDecimal value, FloatType type) {
-        return new FloatLiteral(type, value, false, false);
+        return intern(new FloatLiteral(type, value, false, false));
     }
 
     public Expression makeFAdd(Expression x, Expression y) {
-        return new FloatBinaryExpr(x, FloatBinaryOp.FADD, y);
+        return intern(new FloatBinaryExpr(x, FloatBinaryOp.FADD, y));
     }
 
     public Expression makeFSub(Expression x, Expression y) {
-        return new FloatBinaryExpr(x, FloatBinaryOp.FSUB, y);
+        return intern(new FloatBinaryExpr(x, FloatBinaryOp.FSUB, y));
     }
 
     public Expression makeFMul(Expression x, Expression y) {
-        return new FloatBinaryExpr(x, FloatBinaryOp.FMUL, y);
+        return intern(new FloatBinaryExpr(x, FloatBinaryOp.FMUL, y));
     }
 
     public Expression makeFDiv(Expression x, Expression y) {
-        return new FloatBinaryExpr(x, FloatBinaryOp.FDIV, y);
+        return intern(new FloatBinaryExpr(x, FloatBinaryOp.FDIV, y));
     }
 
     public Expression makeFRem(Expression x, Expression y) {
-        return new FloatBinaryExpr(x, FloatBinaryOp.FREM, y);
+        return intern(new FloatBinaryExpr(x, FloatBinaryOp.FREM, y));
     }
 
     public Expression makeFNeg(Expression expr) {
-        return new FloatUnaryExpr(FloatUnaryOp.NEG, expr);
+        return intern(new FloatUnaryExpr(FloatUnaryOp.NEG, expr));
     }
 
     public Expression makeFloatUnary(FloatUnaryOp op, Expression expr) {
-        return new FloatUnaryExpr(op, expr);
+        return intern(new FloatUnaryExpr(op, expr));
     }
 
     public Expression makeFloatCmp(Expression x, FloatCmpOp op, Expression y) {
-        return new FloatCmpExpr(booleanType, x, op, y);
+        return intern(new FloatCmpExpr(booleanType, x, op, y));
     }
 
     public Expression makeFloatBinary(Expression x, FloatBinaryOp op, Expression y) {
-        return new FloatBinaryExpr(x, op, y);
+        return intern(new FloatBinaryExpr(x, op, y));
     }
 
     public Expression makeFloatCast(Expression operand, FloatType targetType, boolean signed) {
         final Type sourceType = operand.getType();
 
         if (sourceType instanceof FloatType) {
-            return sourceType.equals(targetType) ? operand : new FloatSizeCast(targetType, operand);
+            return sourceType.equals(targetType) ? operand : intern(new FloatSizeCast(targetType, operand));
         } else if (sourceType instanceof IntegerType) {
-            return new IntToFloatCast(targetType, operand, signed);
+            return intern(new IntToFloatCast(targetType, operand, signed));
         }
 
         throw new UnsupportedOperationException(String.format("Cannot cast %s to %s.", sourceType, targetType));
@@ -259,13 +282,13 @@ public final class ExpressionFactory {
     // Aggregates
 
     public Expression makeConstruct(Type type, List<? extends Expression> arguments) {
-        return new ConstructExpr(type, arguments);
+        return intern(new ConstructExpr(type, arguments));
     }
 
     public Expression makeArray(Type elementType, List<Expression> items, boolean fixedSize) {
         final ArrayType type = fixedSize ? types.getArrayType(elementType, items.size()) :
                 types.getArrayType(elementType);
-        return new ConstructExpr(type, items);
+        return intern(new ConstructExpr(type, items));
     }
 
     public Expression makeExtract(Expression object, int index) {
@@ -276,7 +299,7 @@ public final class ExpressionFactory {
         if (Iterables.isEmpty(indices)) {
             return object;
         }
-        return new ExtractExpr(object, indices);
+        return intern(new ExtractExpr(object, indices));
     }
 
     public Expression makeInsert(Expression aggregate, Expression value, int index) {
@@ -287,11 +310,11 @@ public final class ExpressionFactory {
         if (Iterables.isEmpty(indices)) {
             return aggregate;
         }
-        return new InsertExpr(aggregate, indices, value);
+        return intern(new InsertExpr(aggregate, indices, value));
     }
 
     public Expression makeAggregateCmp(Expression x, AggregateCmpOp op, Expression y) {
-        return new AggregateCmpExpr(booleanType, x, op, y);
+        return intern(new AggregateCmpExpr(booleanType, x, op, y));
     }
 
     // -----------------------------------------------------------------------------------------------------------------
@@ -301,7 +324,7 @@ public final class ExpressionFactory {
         //TODO getPointerType()
         Preconditions.checkArgument(base.getType().equals(types.getArchType()),
                 "Applying offsets to non-pointer expression.");
-        return new GEPExpr(indexingType, base, offsets);
+        return intern(new GEPExpr(indexingType, base, offsets));
     }
 
     public ScopedPointer makeScopedPointer(String id, String scopeId, Type type, Expression address) {
@@ -358,7 +381,7 @@ public final class ExpressionFactory {
     }
 
     public Expression makeITE(Expression condition, Expression ifTrue, Expression ifFalse) {
-        return new ITEExpr(condition, ifTrue, ifFalse);
+        return intern(new ITEExpr(condition, ifTrue, ifFalse));
     }
 
     public Expression makeEQ(Expression leftOperand, Expression rightOperand) {
@@ -34,7 +34,7 @@ public abstract class BinaryExpressionBase<TType extends Type, TKind extends Exp
     public TKind getKind() { return kind; }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(type, kind, left, right);
     }
 
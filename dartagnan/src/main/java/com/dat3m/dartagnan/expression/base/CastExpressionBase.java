@@ -38,7 +38,7 @@ public abstract class CastExpressionBase<TTargetType extends Type, TSourceType e
     public ExpressionKind.Other getKind() { return ExpressionKind.Other.CAST; }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(type, operand);
     }
 
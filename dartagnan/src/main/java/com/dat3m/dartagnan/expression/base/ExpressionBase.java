@@ -11,6 +11,8 @@ import java.util.Objects;
 public abstract class ExpressionBase<TType extends Type> implements Expression {
 
     protected final TType type;
+    // Expressions are immutable, so we compute their (recursive) hash code only once.
+    private int hashCode;
 
     protected ExpressionBase(TType type) {
         this.type = type;
@@ -26,6 +28,14 @@ public abstract class ExpressionBase<TType extends Type> implements Expression {
 
     @Override
     public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = hashCode = computeHashCode();
+        }
+        return hash;
+    }
+
+    protected int computeHashCode() {
         return Objects.hash(type, getKind(), getOperands());
     }
 
@@ -31,7 +31,7 @@ public abstract class UnaryExpressionBase<TType extends Type, TKind extends Expr
     public TKind getKind() { return kind; }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(type, kind, operand);
     }
 
@@ -19,7 +19,7 @@ public final class FloatBinaryExpr extends BinaryExpressionBase<FloatType, Float
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         final int leftHash = left.hashCode();
         final int rightHash = right.hashCode();
         return switch (kind) {
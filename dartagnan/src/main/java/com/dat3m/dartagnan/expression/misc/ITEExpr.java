@@ -55,7 +55,7 @@ public final class ITEExpr extends ExpressionBase<Type> {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return condition.hashCode() ^ trueCase.hashCode() + falseCase.hashCode();
     }
 
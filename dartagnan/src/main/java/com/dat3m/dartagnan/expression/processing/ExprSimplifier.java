@@ -3,6 +3,7 @@ package com.dat3m.dartagnan.expression.processing;
 
 import com.dat3m.dartagnan.expression.BinaryExpression;
 import com.dat3m.dartagnan.expression.Expression;
+import com.dat3m.dartagnan.expression.ExpressionFactory;
 import com.dat3m.dartagnan.expression.ExpressionKind;
 import com.dat3m.dartagnan.expression.aggregates.AggregateCmpExpr;
 import com.dat3m.dartagnan.expression.aggregates.AggregateCmpOp;
@@ -29,6 +30,11 @@ public class ExprSimplifier extends ExprTransformer {
         this.aggressive = aggressive;
     }
 
+    public ExprSimplifier(boolean aggressive, ExpressionFactory expressions) {
+        super(expressions);
+        this.aggressive = aggressive;
+    }
+
     // Tries to perform a general rewriting of a binary expression.
     // For now, it only rewrites "ITE(cond, x, y) op z" to "ITE(cond, x op z, y op z)".
     // Returns NULL, if no rewriting is applicable.
@@ -26,7 +26,16 @@ import java.util.ArrayList;
 public abstract class ExprTransformer implements ExpressionVisitor<Expression> {
 
     protected final TypeFactory types = TypeFactory.getInstance();
-    protected final ExpressionFactory expressions = ExpressionFactory.getInstance();
+    protected final ExpressionFactory expressions;
+
+    protected ExprTransformer() {
+        this(ExpressionFactory.getInstance());
+    }
+
+    // Creates the transformed expressions with the given factory, e.g. one that hash-conses.
+    protected ExprTransformer(ExpressionFactory expressions) {
+        this.expressions = expressions;
+    }
 
     @Override
     public Expression visitBoolBinaryExpression(BoolBinaryExpr expr) {
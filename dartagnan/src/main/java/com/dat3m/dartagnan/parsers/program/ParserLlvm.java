@@ -6,19 +6,25 @@ import com.dat3m.dartagnan.parsers.LLVMIRParser;
 import com.dat3m.dartagnan.parsers.program.visitors.VisitorLlvm;
 import com.dat3m.dartagnan.program.Program;
 import org.antlr.v4.runtime.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
 
 class ParserLlvm implements ParserInterface {
 
+    private static final Logger logger = LogManager.getLogger(ParserLlvm.class);
+
     @Override
     public Program parse(CharStream charStream) {
         LLVMIRLexer lexer = new LLVMIRLexer(charStream);
         lexer.addErrorListener(new AbortErrorListener());
-        lexer.addErrorListener(new DiagnosticErrorListener(true));
         CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+        tokenStream.fill();
+        TokenSource tokenSource = new ListTokenSource(removeUnreachableDefinitions(tokenStream.getTokens()));
 
-        LLVMIRParser parser = new LLVMIRParser(tokenStream);
-        parser.addErrorListener(new AbortErrorListener());
-        ParserRuleContext parserEntryPoint = parser.compilationUnit();
+        LLVMIRParser parser = new LLVMIRParser(new CommonTokenStream(tokenSource));
+        ParserRuleContext parserEntryPoint = TwoStageParsing.parse(parser, LLVMIRParser::compilationUnit, logger);
         VisitorLlvm visitor = new VisitorLlvm();
 
         parserEntryPoint.accept(visitor);
@@ -26,4 +32,107 @@ class ParserLlvm implements ParserInterface {
         // thus we don't set the architectures.
         return visitor.buildProgram();
     }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // Unreachable definitions
+
+    // Tokens [start, end) of a function definition, from 'define' to the closing brace of its body.
+    private record Definition(String name, int start, int end) {}
+
+    // Removes the definitions of functions that cannot be reached from the entry point, so that no parse tree
+    // gets built for their bodies.
+    // A definition is reachable if its name appears in a reachable definition (as a callee, as an argument,
+    // e.g. of pthread_create, or as any other value that may become a target of devirtualisation)
+    // or anywhere outside of definitions, e.g. in the initial value of a global.
+    // This is the same over-approximation as RemoveDeadFunctions, which would otherwise drop the removed functions.
+    // Without an entry point, or if the definitions cannot be delimited, all tokens are kept.
+    private static List<Token> removeUnreachableDefinitions(List<Token> tokens) {
+        final Map<String, Definition> definitions = new HashMap<>();
+        final Deque<String> workList = new ArrayDeque<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (isKeyword(tokens.get(i), "define")) {
+                final Definition definition = findDefinition(tokens, i);
+                if (definition == null) {
+                    return tokens;
+                }
+                definitions.put(definition.name(), definition);
+                i = definition.end() - 1;
+            } else if (tokens.get(i).getType() == LLVMIRLexer.GlobalIdent) {
+                workList.add(globalName(tokens.get(i)));
+            }
+        }
+        if (!definitions.containsKey(VisitorLlvm.DEFAULT_ENTRY_FUNCTION)) {
+            return tokens;
+        }
+
+        final Set<Definition> reachable = new HashSet<>();
+        workList.add(VisitorLlvm.DEFAULT_ENTRY_FUNCTION);
+        while (!workList.isEmpty()) {
+            final Definition definition = definitions.get(workList.pop());
+            if (definition == null || !reachable.add(definition)) {
+                continue;
+            }
+            for (int i = definition.start(); i < definition.end(); i++) {
+                if (tokens.get(i).getType() == LLVMIRLexer.GlobalIdent) {
+                    workList.push(globalName(tokens.get(i)));
+                }
+            }
+        }
+        if (reachable.size() == definitions.size()) {
+            return tokens;
+        }
+
+        final BitSet removed = new BitSet(tokens.size());
+        for (Definition definition : definitions.values()) {
+            if (!reachable.contains(definition)) {
+                removed.set(definition.start(), definition.end());
+                logger.debug("Skipped unreachable function definition: {}", definition.name());
+            }
+        }
+        final List<Token> result = new ArrayList<>(tokens.size() - removed.cardinality());
+        for (int i = removed.nextClearBit(0); i < tokens.size(); i = removed.nextClearBit(i + 1)) {
+            result.add(tokens.get(i));
+        }
+        return result;
+    }
+
+    // The name is the first global identifier of the header.
+    // The body is delimited by the first brace after the parameters.
+    // Returns null if the input ends before the body.
+    private static Definition findDefinition(List<Token> tokens, int start) {
+        int i = start;
+        while (i < tokens.size() && tokens.get(i).getType() != LLVMIRLexer.GlobalIdent) {
+            i++;
+        }
+        if (i == tokens.size()) {
+            return null;
+        }
+        final String name = globalName(tokens.get(i));
+        final int parameters = skipBrackets(tokens, i, "(", ")");
+        final int end = parameters < 0 ? -1 : skipBrackets(tokens, parameters, "{", "}");
+        return end < 0 ? null : new Definition(name, start, end);
+    }
+
+    // Position after the closing bracket that matches the first opening one at or after 'from', or -1.
+    private static int skipBrackets(List<Token> tokens, int from, String open, String close) {
+        int depth = 0;
+        for (int i = from; i < tokens.size(); i++) {
+            if (isKeyword(tokens.get(i), open)) {
+                depth++;
+            } else if (depth > 0 && isKeyword(tokens.get(i), close) && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isKeyword(Token token, String keyword) {
+        return token.getChannel() == Token.DEFAULT_CHANNEL && token.getText().equals(keyword);
+    }
+
+    // @f and @"f" name the same function.
+    private static String globalName(Token token) {
+        final String name = token.getText().substring(1);
+        return name.startsWith("\"") ? name.substring(1, name.length() - 1) : name;
+    }
 }
@@ -5,20 +5,21 @@ import com.dat3m.dartagnan.parsers.*;
 import com.dat3m.dartagnan.parsers.program.visitors.VisitorSpirv;
 import com.dat3m.dartagnan.program.Program;
 import org.antlr.v4.runtime.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public class ParserSpirv implements ParserInterface {
 
+    private static final Logger logger = LogManager.getLogger(ParserSpirv.class);
+
     @Override
     public Program parse(CharStream charStream) {
         SpirvLexer lexer = new SpirvLexer(charStream);
         lexer.addErrorListener(new AbortErrorListener());
-        lexer.addErrorListener(new DiagnosticErrorListener(true));
         CommonTokenStream tokenStream = new CommonTokenStream(lexer);
 
         SpirvParser parser = new SpirvParser(tokenStream);
-        parser.addErrorListener(new AbortErrorListener());
-        parser.addErrorListener(new DiagnosticErrorListener(true));
-        ParserRuleContext parserEntryPoint = parser.spv();
+        ParserRuleContext parserEntryPoint = TwoStageParsing.parse(parser, SpirvParser::spv, logger);
         VisitorSpirv visitor = new VisitorSpirv();
 
         return parserEntryPoint.accept(visitor);
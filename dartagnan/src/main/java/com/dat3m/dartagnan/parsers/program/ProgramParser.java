@@ -1,6 +1,7 @@
 package com.dat3m.dartagnan.parsers.program;
 
 import com.dat3m.dartagnan.exception.ParsingException;
+import com.dat3m.dartagnan.parsers.program.utils.CompilationCache;
 import com.dat3m.dartagnan.program.Program;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
@@ -8,8 +9,7 @@ import org.antlr.v4.runtime.CharStreams;
 import java.io.*;
 import java.util.List;
 
-import static com.dat3m.dartagnan.parsers.program.utils.Compilation.applyLlvmPasses;
-import static com.dat3m.dartagnan.parsers.program.utils.Compilation.compileWithClang;
+import static com.dat3m.dartagnan.parsers.program.utils.Compilation.compileToLlvm;
 
 public class ProgramParser {
 
@@ -30,10 +30,20 @@ public class ProgramParser {
     public static final List<String> SUPPORTED_EXTENSIONS = List.of(
             EXTENSION_C, EXTENSION_I, EXTENSION_LL, EXTENSION_LITMUS, EXTENSION_SPV_DIS);
 
+    private final CompilationCache cache;
+
+    public ProgramParser() {
+        this(null);
+    }
+
+    // Reuses compiled C programs from the cache, if it is not null.
+    public ProgramParser(CompilationCache cache) {
+        this.cache = cache;
+    }
+
     public Program parse(File file) throws Exception {
         if (needsClang(file)) {
-            file = compileWithClang(file, "");
-            file = applyLlvmPasses(file);
+            file = compileToLlvm(file, "", cache);
             return new ProgramParser().parse(file);
         }
 
@@ -47,7 +57,7 @@ public class ProgramParser {
         return program;
     }
 
-    private boolean needsClang(File f) {
+    public static boolean needsClang(File f) {
         return f.getPath().endsWith(EXTENSION_C) || f.getPath().endsWith(EXTENSION_I);
     }
 
@@ -62,8 +72,7 @@ public class ProgramParser {
                 try (FileWriter writer = new FileWriter(file)) {
                     writer.write(raw);
                 }
-                file = compileWithClang(file, cflags);
-                file = applyLlvmPasses(file);
+                file = compileToLlvm(file, cflags, cache);
                 Program p = new ProgramParser().parse(file);
                 file.delete();
                 return p;
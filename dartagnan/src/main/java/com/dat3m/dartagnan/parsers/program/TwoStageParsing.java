@@ -0,0 +1,43 @@
+package com.dat3m.dartagnan.parsers.program;
+
+import com.dat3m.dartagnan.exception.AbortErrorListener;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.apache.logging.log4j.Logger;
+
+import java.util.function.Function;
+
+/*
+    Runs a parser in two stages, as recommended for large inputs:
+    SLL prediction is much faster than full LL prediction and suffices for almost all inputs.
+    Only if it fails, the input gets parsed again with full LL prediction, which is exact.
+    If debug logging is enabled for the calling parser, the input is parsed directly in LL mode
+    with ambiguities reported by a DiagnosticErrorListener.
+ */
+public final class TwoStageParsing {
+
+    private TwoStageParsing() {}
+
+    public static <P extends Parser, C extends ParserRuleContext> C parse(P parser, Function<P, C> entryPoint, Logger logger) {
+        if (logger.isDebugEnabled()) {
+            parser.addErrorListener(new AbortErrorListener());
+            parser.addErrorListener(new DiagnosticErrorListener(true));
+            return entryPoint.apply(parser);
+        }
+
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        try {
+            return entryPoint.apply(parser);
+        } catch (ParseCancellationException e) {
+            logger.info("SLL parsing failed, falling back to LL parsing.");
+        }
+        parser.reset();
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        parser.addErrorListener(new AbortErrorListener());
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        return entryPoint.apply(parser);
+    }
+}
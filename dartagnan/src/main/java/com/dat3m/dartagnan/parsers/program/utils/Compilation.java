@@ -9,6 +9,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static com.dat3m.dartagnan.GlobalSettings.getOrCreateOutputDirectory;
 import static java.util.Arrays.asList;
@@ -17,14 +18,32 @@ public class Compilation {
 
     private static final Logger logger = LogManager.getLogger(Compilation.class);
 
+    public static File compileToLlvm(File file, String cflags) throws Exception {
+        return applyLlvmPasses(compileWithClang(file, cflags));
+    }
+
+    /*
+        Compiles the file with clang and applies the llvm passes, reusing the result of previous runs from the cache.
+        Besides the content of the file, the result depends on the compiler flags and the clang version.
+        Without a cache (null), this is the same as compileToLlvm(file, cflags).
+     */
+    public static File compileToLlvm(File file, String cflags, CompilationCache cache) throws Exception {
+        if (cache == null) {
+            return compileToLlvm(file, cflags);
+        }
+        final String settings = String.join("\n", getCflags(cflags), System.getenv().getOrDefault("OPTFLAGS", ""),
+                readCmdOutput(List.of("clang", "--version")));
+        return cache.getOrCompile(file, settings, new File(getOutputName(file, "-opt.ll")),
+                () -> compileToLlvm(file, cflags));
+    }
+
     public static File compileWithClang(File file, String cflags) throws Exception {
         final String outputFileName = getOutputName(file, ".ll");
 
         ArrayList<String> cmd = new ArrayList<>(
                 asList("clang", "-Xclang", "-disable-O0-optnone", "-S",
                         "-emit-llvm", "-g", "-gcolumn-info", "-o", outputFileName));
-        // We use cflags when using the UI and fallback top CFLAGS otherwise
-        cflags = cflags.isEmpty() ? System.getenv().getOrDefault("CFLAGS", "") : cflags;
+        cflags = getCflags(cflags);
         // Needed to handle more than one flag in CFLAGS
         Collections.addAll(cmd, cflags.split(" "));
         cmd.add(file.getAbsolutePath());
@@ -54,11 +73,25 @@ public class Compilation {
         return new File(outputFileName);
     }
 
+    // We use cflags when using the UI and fallback top CFLAGS otherwise
+    private static String getCflags(String cflags) {
+        return cflags.isEmpty() ? System.getenv().getOrDefault("CFLAGS", "") : cflags;
+    }
+
     private static String getOutputName(File file, String postfix) throws IOException {
         return getOrCreateOutputDirectory() + "/" +
                 file.getName().substring(0, file.getName().lastIndexOf('.')) + postfix;
     }
 
+    private static String readCmdOutput(List<String> cmd) throws Exception {
+        final Process proc = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        final String output = new String(proc.getInputStream().readAllBytes(), Charsets.UTF_8);
+        if (proc.waitFor() != 0) {
+            throw new IOException("'" + String.join("' '", cmd) + "': " + output);
+        }
+        return output;
+    }
+
     private static void runCmd(ArrayList<String> cmd) throws Exception {
         logger.debug(String.join(" ", cmd));
         ProcessBuilder processBuilder = new ProcessBuilder(cmd);
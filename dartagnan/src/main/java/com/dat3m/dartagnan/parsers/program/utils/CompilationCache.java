@@ -0,0 +1,62 @@
+package com.dat3m.dartagnan.parsers.program.utils;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.nio.file.StandardCopyOption;
+
+/*
+    Stores compiled programs in a directory, so that later runs on the same input reuse them.
+    Entries are keyed by the content of the input file and a description of the compilation settings.
+    NOTE: Changes to included headers are not detected, so the cache should only be used for
+    self-contained inputs (e.g. preprocessed .i files as in SV-COMP).
+ */
+public class CompilationCache {
+
+    private static final Logger logger = LogManager.getLogger(CompilationCache.class);
+
+    private final File directory;
+
+    public CompilationCache(File directory) {
+        this.directory = directory;
+    }
+
+    public interface Compiler {
+        File compile() throws Exception;
+    }
+
+    /*
+        Copies the cached compilation of the input to the output file.
+        If there is none, the compiler runs and its result gets stored.
+        The settings must describe everything besides the input that the result depends on (flags, versions, etc.).
+     */
+    public File getOrCompile(File input, String settings, File output, Compiler compiler) throws Exception {
+        final File cached = new File(directory, computeKey(input, settings) + ".ll");
+        if (cached.exists()) {
+            logger.info("Reusing cached compilation of {}", input);
+            Files.createParentDirs(output);
+            Files.copy(cached, output);
+            return output;
+        }
+
+        final File compiled = compiler.compile();
+        // Write to a temporary file first, so concurrent runs never see partial entries.
+        Files.createParentDirs(cached);
+        final File tmp = File.createTempFile("dat3m", ".ll", directory);
+        Files.copy(compiled, tmp);
+        java.nio.file.Files.move(tmp.toPath(), cached.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return compiled;
+    }
+
+    private static String computeKey(File input, String settings) throws Exception {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putBytes(Files.toByteArray(input));
+        hasher.putString(settings, Charsets.UTF_8);
+        return hasher.hash().toString();
+    }
+}
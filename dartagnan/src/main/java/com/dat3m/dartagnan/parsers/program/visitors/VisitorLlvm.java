@@ -43,7 +43,7 @@ import static com.google.common.base.Verify.verify;
 public class VisitorLlvm extends LLVMIRBaseVisitor<Expression> {
 
     private static final Logger logger = LogManager.getLogger(VisitorLlvm.class);
-    private static final String DEFAULT_ENTRY_FUNCTION = "main";
+    public static final String DEFAULT_ENTRY_FUNCTION = "main";
 
     // Global context
     private final Program program = new Program(new Memory(), Program.SourceLanguage.LLVM, null);
@@ -0,0 +1,44 @@
+package com.dat3m.dartagnan.program;
+
+import com.dat3m.dartagnan.program.event.Event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+    Caches a list of events and its sublists of events by class.
+    The cache is valid for a single version of its owner and gets cleared when asked for a different one.
+    Access is synchronized, because static analyses may read events concurrently.
+ */
+final class EventCache {
+
+    private long version = -1;
+    private List<Event> events;
+    private final Map<Class<?>, List<?>> eventsByClass = new HashMap<>();
+
+    synchronized List<Event> getEvents(long currentVersion, Supplier<List<Event>> collector) {
+        if (version != currentVersion || events == null) {
+            eventsByClass.clear();
+            events = List.copyOf(collector.get());
+            version = currentVersion;
+        }
+        return events;
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized <T extends Event> List<T> getEvents(long currentVersion, Supplier<List<Event>> collector, Class<T> cls) {
+        final List<Event> all = getEvents(currentVersion, collector);
+        return (List<T>) eventsByClass.computeIfAbsent(cls, c -> {
+            final List<T> result = new ArrayList<>();
+            for (Event e : all) {
+                if (cls.isInstance(e)) {
+                    result.add(cls.cast(e));
+                }
+            }
+            return List.copyOf(result);
+        });
+    }
+}
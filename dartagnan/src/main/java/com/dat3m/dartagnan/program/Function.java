@@ -8,6 +8,7 @@ import com.dat3m.dartagnan.expression.type.VoidType;
 import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.program.event.RegReader;
 import com.dat3m.dartagnan.program.event.RegWriter;
+import com.dat3m.dartagnan.program.event.TagSet;
 import com.dat3m.dartagnan.program.event.core.CondJump;
 import com.dat3m.dartagnan.program.event.core.Label;
 import com.dat3m.dartagnan.program.event.lang.llvm.LlvmCmpXchg;
@@ -17,6 +18,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class Function implements LeafExpression {
@@ -35,6 +37,10 @@ public class Function implements LeafExpression {
     protected Map<String, Register> registers = new HashMap<>();
     protected int dummyCount = 0;
 
+    // Incremented on every change to the events of this function.
+    private final AtomicLong version = new AtomicLong();
+    private final EventCache eventCache = new EventCache();
+
     public Function(String name, FunctionType type, List<String> parameterNames, int id, Event entry) {
         Preconditions.checkArgument(type.getParameterTypes().size() == parameterNames.size());
         Preconditions.checkArgument(entry == null || entry.getPredecessor() == null,
@@ -86,7 +92,27 @@ public class Function implements LeafExpression {
     public void setId(int id) { this.id = id; }
 
     public Program getProgram() { return this.program; }
-    public void setProgram(Program program) { this.program = program; }
+    public void setProgram(Program program) {
+        this.program = program;
+        markModified();
+    }
+
+    public long getVersion() { return version.get(); }
+
+    // Called by the events of this function whenever they get inserted, removed or reordered.
+    public void markModified() {
+        version.incrementAndGet();
+        if (program != null) {
+            program.markModified();
+        }
+    }
+
+    // Called by the events of this function whenever their tags change.
+    public void markTagsModified() {
+        if (program != null) {
+            program.markTagsModified();
+        }
+    }
 
     public boolean hasBody() { return entry != null; }
     public boolean hasReturnValue() { return !(functionType.getReturnType() instanceof VoidType); }
@@ -99,16 +125,23 @@ public class Function implements LeafExpression {
     public Event getExit() { return exit; }
 
     public List<Event> getEvents() {
-        return entry == null ? List.of() : entry.getSuccessors();
+        return new ArrayList<>(eventCache.getEvents(getVersion(), this::collectEvents));
     }
 
     public <T extends Event> List<T> getEvents(Class<T> cls) {
-        return getEvents().stream().filter(cls::isInstance).map(cls::cast).collect(Collectors.toList());
+        return new ArrayList<>(eventCache.getEvents(getVersion(), this::collectEvents, cls));
+    }
+
+    private List<Event> collectEvents() {
+        return entry == null ? List.of() : entry.getSuccessors();
     }
 
     public List<Event> getEventsWithAllTags(String... tags) {
-        final List<String> tagList = Arrays.asList(tags);
-        return getEvents().stream().filter(e -> e.getTags().containsAll(tagList)).collect(Collectors.toList());
+        final TagSet tagSet = TagSet.ofKnown(tags);
+        if (tagSet == null) {
+            return new ArrayList<>();
+        }
+        return getEvents().stream().filter(e -> e.getTags().containsAll(tagSet)).collect(Collectors.toList());
     }
 
     public Collection<Register> getRegisters() {
@@ -172,6 +205,7 @@ public class Function implements LeafExpression {
             cur = cur.getSuccessor();
         }
         exit = cur;
+        markModified();
     }
 
     public void updateEntry(Event event) {
@@ -181,6 +215,7 @@ public class Function implements LeafExpression {
             cur = cur.getPredecessor();
         }
         entry = cur;
+        markModified();
     }
 
     public void validate() {
@@ -9,11 +9,14 @@ import com.dat3m.dartagnan.expression.type.AggregateType;
 import com.dat3m.dartagnan.expression.type.ArrayType;
 import com.dat3m.dartagnan.expression.type.TypeOffset;
 import com.dat3m.dartagnan.program.event.Event;
+import com.dat3m.dartagnan.program.event.TagSet;
+import com.dat3m.dartagnan.program.filter.FilterIndex;
 import com.dat3m.dartagnan.program.memory.Memory;
 import com.dat3m.dartagnan.program.misc.NonDetValue;
 import com.google.common.base.Preconditions;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class Program {
@@ -39,6 +42,12 @@ public class Program {
     private final List<ExprTransformer> transformers = new ArrayList<>();
 
     private int nextConstantId = 0;
+    // Incremented on every change to the threads or functions of this program, or to their events.
+    private final AtomicLong version = new AtomicLong();
+    // Incremented whenever tags of the events of this program get added or removed.
+    private final AtomicLong tagVersion = new AtomicLong();
+    private final EventCache threadEventCache = new EventCache();
+    private final FilterIndex filterIndex = FilterIndex.of(this);
 
     public Program(Memory memory, SourceLanguage format, ThreadGrid grid) {
         this("", memory, format, grid);
@@ -126,11 +135,28 @@ public class Program {
     }
 
     public boolean removeFunction(Function func) {
+        markModified();
         return functions.remove(func);
     }
 
     public List<Thread> getThreads() {
-        return threads;
+        return Collections.unmodifiableList(threads);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    void markModified() {
+        version.incrementAndGet();
+    }
+
+    public long getTagVersion() {
+        return tagVersion.get();
+    }
+
+    void markTagsModified() {
+        tagVersion.incrementAndGet();
     }
 
     public List<Function> getFunctions() { return functions; }
@@ -186,22 +212,37 @@ public class Program {
         return Collections.unmodifiableCollection(constants);
     }
 
+    // The result is an unmodifiable snapshot, shared by all callers until the program changes.
     public List<Event> getThreadEvents() {
         Preconditions.checkState(!threads.isEmpty(), "The program has no threads yet.");
-        List<Event> events = new ArrayList<>();
+        return threadEventCache.getEvents(getVersion(), this::collectThreadEvents);
+    }
+
+    // The result is an unmodifiable snapshot, shared by all callers until the program changes.
+    public <T extends Event> List<T> getThreadEvents(Class<T> cls) {
+        Preconditions.checkState(!threads.isEmpty(), "The program has no threads yet.");
+        return threadEventCache.getEvents(getVersion(), this::collectThreadEvents, cls);
+    }
+
+    private List<Event> collectThreadEvents() {
+        final List<Event> events = new ArrayList<>();
         for (Function func : threads) {
             events.addAll(func.getEvents());
         }
         return events;
     }
 
-    public <T extends Event> List<T> getThreadEvents(Class<T> cls) {
-        return getThreadEvents().stream().filter(cls::isInstance).map(cls::cast).collect(Collectors.toList());
+    public List<Event> getThreadEventsWithAllTags(String... tags) {
+        final TagSet tagSet = TagSet.ofKnown(tags);
+        if (tagSet == null) {
+            return new ArrayList<>();
+        }
+        return getThreadEvents().stream().filter(e -> e.getTags().containsAll(tagSet)).collect(Collectors.toList());
     }
 
-    public List<Event> getThreadEventsWithAllTags(String... tags) {
-        final List<String> tagList = Arrays.asList(tags);
-        return getThreadEvents().stream().filter(e -> e.getTags().containsAll(tagList)).collect(Collectors.toList());
+    // Thread events satisfying filters, cached until the program changes.
+    public FilterIndex getFilterIndex() {
+        return filterIndex;
     }
 
     // Unrolling
@@ -11,6 +11,7 @@ import com.dat3m.dartagnan.program.event.core.Label;
 import com.dat3m.dartagnan.verification.Context;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
 import java.util.ArrayList;
@@ -106,10 +107,20 @@ class BackwardsReachingDefinitionsAnalysis implements ReachingDefinitionsAnalysi
         final ExecutionAnalysis exec = analysisContext.get(ExecutionAnalysis.class);
         final var analysis = new BackwardsReachingDefinitionsAnalysis();
         final Set<Register> finalRegisters = finalRegisters(program);
-        for (Function function : program.isUnrolled() ? program.getThreads() :
-                Iterables.concat(program.getThreads(), program.getFunctions())) {
-            analysis.initialize(function, finalRegisters);
-            analysis.run(function, finalRegisters);
+        final List<Function> functions = program.isUnrolled() ? List.copyOf(program.getThreads()) :
+                ImmutableList.copyOf(Iterables.concat(program.getThreads(), program.getFunctions()));
+        // Functions are analyzed independently of each other, so we can do so in parallel.
+        // Merging in program order keeps the result identical to a sequential analysis.
+        final List<BackwardsReachingDefinitionsAnalysis> partialAnalyses = functions.parallelStream()
+                .map(function -> {
+                    final var partialAnalysis = new BackwardsReachingDefinitionsAnalysis();
+                    partialAnalysis.initialize(function, finalRegisters);
+                    partialAnalysis.run(function, finalRegisters);
+                    return partialAnalysis;
+                }).toList();
+        for (BackwardsReachingDefinitionsAnalysis partialAnalysis : partialAnalyses) {
+            analysis.readerMap.putAll(partialAnalysis.readerMap);
+            analysis.writerMap.putAll(partialAnalysis.writerMap);
         }
         analysis.postProcess();
         if (exec != null && program.isUnrolled()) {
@@ -34,6 +34,18 @@ public interface AliasAnalysis {
 
     boolean mayAlias(MemoryCoreEvent a, MemoryCoreEvent b);
 
+    // Abstract locations that 'event' may access.
+    // Two events may only alias if their sets share a location.
+    // Returns null if the analysis cannot restrict the locations of 'event', i.e. it may alias with any event.
+    default Collection<?> getAccessedLocations(MemoryCoreEvent event) {
+        return null;
+    }
+
+    // Indexes 'events' by their accessed locations, so that aliasing events can be found without an all-pairs scan.
+    default <T extends MemoryCoreEvent> AliasBuckets<T> getBuckets(List<T> events) {
+        return new AliasBuckets<>(this, events);
+    }
+
     static AliasAnalysis fromConfig(Program program, Context analysisContext, Configuration config) throws InvalidConfigurationException {
         Config c = new Config(config);
         logger.info("Selected alias analysis: {}", c.method);
@@ -112,6 +124,12 @@ public interface AliasAnalysis {
             return a1.mayAlias(a, b) && a2.mayAlias(a, b);
         }
 
+        @Override
+        public Collection<?> getAccessedLocations(MemoryCoreEvent event) {
+            final Collection<?> locations = a1.getAccessedLocations(event);
+            return locations != null ? locations : a2.getAccessedLocations(event);
+        }
+
         @Override
         public Graphviz getGraphVisualization() {
             return a1.getGraphVisualization();
@@ -0,0 +1,85 @@
+package com.dat3m.dartagnan.program.analysis.alias;
+
+import com.dat3m.dartagnan.program.event.core.MemoryCoreEvent;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Index of memory events by the abstract locations they may access (see {@link AliasAnalysis#getAccessedLocations}).
+ * Events only may alias if they share a bucket, so this replaces all-pairs scans by scans over single buckets.
+ * Candidates are an over-approximation: Callers still have to check {@link AliasAnalysis#mayAlias} on them.
+ * Events with unknown locations are candidates for every event.
+ */
+public final class AliasBuckets<T extends MemoryCoreEvent> {
+
+    private final AliasAnalysis alias;
+    private final List<T> events;
+    // Locations of each indexed event, null if unknown.
+    private final List<Collection<?>> locations;
+    // Positions of the indexed events accessing a location.
+    private final Map<Object, BitSet> buckets = new HashMap<>();
+    // Positions of the indexed events with unknown locations.
+    private final BitSet unknown = new BitSet();
+
+    AliasBuckets(AliasAnalysis alias, List<T> events) {
+        this.alias = alias;
+        this.events = List.copyOf(events);
+        this.locations = new ArrayList<>(events.size());
+        for (int i = 0; i < this.events.size(); i++) {
+            final Collection<?> eventLocations = alias.getAccessedLocations(this.events.get(i));
+            locations.add(eventLocations);
+            if (eventLocations == null) {
+                unknown.set(i);
+                continue;
+            }
+            for (Object location : eventLocations) {
+                buckets.computeIfAbsent(location, k -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    public List<T> getEvents() {
+        return events;
+    }
+
+    // Indexed events that share a location with 'event', in index order.
+    public List<T> getCandidates(MemoryCoreEvent event) {
+        final Collection<?> eventLocations = alias.getAccessedLocations(event);
+        if (eventLocations == null) {
+            return events;
+        }
+        return candidates(eventLocations).stream().mapToObj(events::get).toList();
+    }
+
+    // Applies 'action' once to each unordered pair of indexed events (including pairs of an event with itself)
+    // that share a location. The first argument is the event that comes first in the index.
+    public void forEachCandidatePair(BiConsumer<? super T, ? super T> action) {
+        final int size = events.size();
+        for (int i = 0; i < size; i++) {
+            final T first = events.get(i);
+            final Collection<?> firstLocations = locations.get(i);
+            if (firstLocations == null) {
+                for (int j = i; j < size; j++) {
+                    action.accept(first, events.get(j));
+                }
+                continue;
+            }
+            final BitSet candidates = candidates(firstLocations);
+            for (int j = candidates.nextSetBit(i); j >= 0; j = candidates.nextSetBit(j + 1)) {
+                action.accept(first, events.get(j));
+            }
+        }
+    }
+
+    private BitSet candidates(Collection<?> eventLocations) {
+        final BitSet candidates = (BitSet) unknown.clone();
+        for (Object location : eventLocations) {
+            final BitSet bucket = buckets.get(location);
+            if (bucket != null) {
+                candidates.or(bucket);
+            }
+        }
+        return candidates;
+    }
+}
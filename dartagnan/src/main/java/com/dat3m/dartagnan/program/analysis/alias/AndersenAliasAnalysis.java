@@ -77,6 +77,11 @@ public class AndersenAliasAnalysis implements AliasAnalysis {
         return getMaxAddressSet(x).size() == 1 && getMaxAddressSet(x).containsAll(getMaxAddressSet(y));
     }
 
+    @Override
+    public Collection<?> getAccessedLocations(MemoryCoreEvent event) {
+        return getMaxAddressSet(event);
+    }
+
     private ImmutableSet<Location> getMaxAddressSet(MemoryEvent e) {
         return eventAddressSpaceMap.get(e);
     }
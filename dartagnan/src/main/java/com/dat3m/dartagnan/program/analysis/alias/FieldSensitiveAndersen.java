@@ -80,6 +80,11 @@ public class FieldSensitiveAndersen implements AliasAnalysis {
         return a.size() == 1 && a.containsAll(getMaxAddressSet(y));
     }
 
+    @Override
+    public Collection<?> getAccessedLocations(MemoryCoreEvent event) {
+        return getMaxAddressSet(event);
+    }
+
     private ImmutableSet<Location> getMaxAddressSet(MemoryEvent e) {
         return eventAddressSpaceMap.get(e);
     }
@@ -177,6 +177,21 @@ public class InclusionBasedPointerAnalysis implements AliasAnalysis {
                 isConstant(vx.modifier) && isConstant(vy.modifier);
     }
 
+    @Override
+    public Collection<?> getAccessedLocations(MemoryCoreEvent event) {
+        // Events only may alias, if their address variables include a common source variable.
+        final DerivedVariable v = addressVariables.get(event);
+        if (v == null) {
+            return null;
+        }
+        final List<Variable> sources = new ArrayList<>(v.base.includes.size() + 1);
+        sources.add(v.base);
+        for (final IncludeEdge edge : v.base.includes) {
+            sources.add(edge.source);
+        }
+        return sources;
+    }
+
     @Override
     public Graphviz getGraphVisualization() {
         return graphviz;
@@ -3,6 +3,10 @@ package com.dat3m.dartagnan.program.analysis.alias;
 import com.dat3m.dartagnan.program.event.core.MemoryCoreEvent;
 import com.dat3m.dartagnan.program.memory.VirtualMemoryObject;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public class VirtualAliasAnalysis implements AliasAnalysis {
     private final AliasAnalysis wrappedAnalysis;
 
@@ -23,6 +27,18 @@ public class VirtualAliasAnalysis implements AliasAnalysis {
         return samePhysicalAddress(e1, e2) || wrappedAnalysis.mustAlias(e1, e2);
     }
 
+    @Override
+    public Collection<?> getAccessedLocations(MemoryCoreEvent event) {
+        final Collection<?> locations = wrappedAnalysis.getAccessedLocations(event);
+        if (locations == null || !(event.getAddress() instanceof VirtualMemoryObject address)) {
+            return locations;
+        }
+        // Events with the same physical address share it as a location.
+        final List<Object> result = new ArrayList<>(locations);
+        result.add(address.getPhysicalAddress());
+        return result;
+    }
+
     // GPU memory models make use of virtual addresses.
     // This models same_location_r from the PTX Alloy model.
     // Checking address1 and address2 hold the same physical address
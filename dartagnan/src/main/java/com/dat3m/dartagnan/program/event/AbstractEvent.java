@@ -27,12 +27,12 @@ public abstract class AbstractEvent implements Event {
     private transient AbstractEvent predecessor;
 
     protected AbstractEvent() {
-        tags = new TagSet();
+        tags = new TagSet(this::markTagsModified);
     }
 
     protected AbstractEvent(AbstractEvent other) {
         copyAllMetadataFrom(other);
-        this.tags = other.tags.copy();
+        this.tags = other.tags.copy(this::markTagsModified);
     }
 
     @Override
@@ -49,7 +49,9 @@ public abstract class AbstractEvent implements Event {
     public Function getFunction() { return function; }
     @Override
     public void setFunction(Function function) {
+        markFunctionModified();
         this.function = Preconditions.checkNotNull(function);
+        markFunctionModified();
     }
 
     @Override
@@ -128,12 +130,18 @@ public abstract class AbstractEvent implements Event {
     @Override
     public Event getSuccessor() { return successor; }
     @Override
-    public void setSuccessor(Event ev) { successor = (AbstractEvent) ev; }
+    public void setSuccessor(Event ev) {
+        successor = (AbstractEvent) ev;
+        markFunctionModified();
+    }
 
     @Override
     public Event getPredecessor() { return predecessor; }
     @Override
-    public void setPredecessor(Event ev) { predecessor = (AbstractEvent) ev; }
+    public void setPredecessor(Event ev) {
+        predecessor = (AbstractEvent) ev;
+        markFunctionModified();
+    }
 
     @Override
     public final List<Event> getSuccessors() {
@@ -166,6 +174,7 @@ public abstract class AbstractEvent implements Event {
     public void detach() {
         Preconditions.checkState(function == null || function.getEntry() != function.getExit(),
                 "Cannot detach the only event %s of function %s", this, getFunction());
+        markFunctionModified();
         if (this.predecessor != null) {
             this.predecessor.successor = successor;
         }
@@ -254,6 +263,7 @@ public abstract class AbstractEvent implements Event {
         toBeInserted.function = func;
         toBeInserted.predecessor = pred;
         toBeInserted.successor = succ;
+        toBeInserted.markFunctionModified();
 
         if (pred != null) {
             pred.successor = toBeInserted;
@@ -271,6 +281,20 @@ public abstract class AbstractEvent implements Event {
 
     // ===============================================================================================
 
+    // Invalidates the cached events of the function (see Function.getVersion()).
+    private void markFunctionModified() {
+        if (function != null) {
+            function.markModified();
+        }
+    }
+
+    // Invalidates precomputed results over the tags of the program (see Program.getTagVersion()).
+    private void markTagsModified() {
+        if (function != null) {
+            function.markTagsModified();
+        }
+    }
+
     protected abstract String defaultString();
 
     @Override
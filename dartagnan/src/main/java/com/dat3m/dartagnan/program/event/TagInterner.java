@@ -0,0 +1,53 @@
+package com.dat3m.dartagnan.program.event;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    Global numbering of tags, such that sets of tags can be represented as bit vectors (see TagSet).
+    Ids are dense, start at 0 and never get reassigned.
+ */
+public final class TagInterner {
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final List<String> tags = new ArrayList<>();
+
+    private TagInterner() {}
+
+    public static int intern(String tag) {
+        Preconditions.checkNotNull(tag);
+        final Integer id = ids.get(tag);
+        return id != null ? id : register(tag);
+    }
+
+    // Returns -1 if the tag has never been interned, i.e. if no tag set can contain it.
+    public static int lookup(String tag) {
+        final Integer id = ids.get(tag);
+        return id != null ? id : -1;
+    }
+
+    public static int size() {
+        synchronized (tags) {
+            return tags.size();
+        }
+    }
+
+    public static String get(int id) {
+        synchronized (tags) {
+            return tags.get(id);
+        }
+    }
+
+    private static int register(String tag) {
+        synchronized (tags) {
+            return ids.computeIfAbsent(tag, t -> {
+                tags.add(t);
+                return tags.size() - 1;
+            });
+        }
+    }
+}
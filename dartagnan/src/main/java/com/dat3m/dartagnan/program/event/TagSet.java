@@ -3,36 +3,102 @@ package com.dat3m.dartagnan.program.event;
 import com.google.common.base.Preconditions;
 
 import java.util.*;
+import java.util.function.IntConsumer;
 
+/*
+    Set of tags, stored as a bit vector over the ids of the TagInterner.
+    Iteration follows the lexicographic order of the tags.
+    Tags get interned when they are added, queries never intern.
+ */
 public final class TagSet extends AbstractSet<String> {
 
-    private final List<String> sortedTags = new ArrayList<>();
+    private static final long[] EMPTY = new long[0];
+
+    // Notified about every change, e.g. to invalidate precomputed results over the tags of a program.
+    private final Runnable onModification;
+    private long[] words = EMPTY;
+    private int size;
+    // Computed on the first iteration after a change.
+    // Analyses may iterate concurrently, so a new array is only published once it is complete.
+    private volatile String[] sortedTags;
+
+    public TagSet() {
+        this(() -> {});
+    }
+
+    TagSet(Runnable onModification) {
+        this.onModification = onModification;
+    }
+
+    // Returns null if some tag has never been added to any set, as no set can contain all the tags then.
+    public static TagSet ofKnown(String... tags) {
+        final TagSet set = new TagSet();
+        for (String tag : tags) {
+            final int id = TagInterner.lookup(tag);
+            if (id < 0) {
+                return null;
+            }
+            set.addId(id);
+        }
+        return set;
+    }
 
     @Override
     public boolean add(String tag) {
         Preconditions.checkNotNull(tag);
-        final int index = Collections.binarySearch(sortedTags, tag);
-        if (index < 0) {
-            sortedTags.add(~index, tag);
+        if (addId(TagInterner.intern(tag))) {
+            markModified();
             return true;
         }
         return false;
     }
 
+    private boolean addId(int id) {
+        final int word = id >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, word + 1);
+        }
+        final long mask = 1L << id;
+        if ((words[word] & mask) != 0) {
+            return false;
+        }
+        words[word] |= mask;
+        size++;
+        return true;
+    }
+
     @Override
     public boolean contains(Object o) {
-        if (o instanceof String tag) {
-            return Collections.binarySearch(sortedTags, tag) >= 0;
+        return o instanceof String tag && contains(TagInterner.lookup(tag));
+    }
+
+    public boolean contains(int id) {
+        final int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof TagSet other) {
+            final long[] otherWords = other.words;
+            for (int i = 0; i < otherWords.length; i++) {
+                if ((otherWords[i] & ~(i < words.length ? words[i] : 0)) != 0) {
+                    return false;
+                }
+            }
+            return true;
         }
-        return false;
+        return super.containsAll(c);
     }
 
     @Override
     public boolean remove(Object o) {
         if (o instanceof String tag) {
-            final int index = Collections.binarySearch(sortedTags, tag);
-            if (index >= 0) {
-                sortedTags.remove(index);
+            final int id = TagInterner.lookup(tag);
+            if (contains(id)) {
+                words[id >>> 6] &= ~(1L << id);
+                size--;
+                markModified();
                 return true;
             }
         }
@@ -41,17 +107,75 @@ public final class TagSet extends AbstractSet<String> {
 
     @Override
     public Iterator<String> iterator() {
-        return sortedTags.listIterator();
+        final String[] tags = getSortedTags();
+        return new Iterator<>() {
+            private int next;
+            private String last;
+
+            @Override
+            public boolean hasNext() {
+                return next < tags.length;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return last = tags[next++];
+            }
+
+            @Override
+            public void remove() {
+                Preconditions.checkState(last != null);
+                TagSet.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private String[] getSortedTags() {
+        String[] tags = sortedTags;
+        if (tags == null) {
+            final String[] newTags = new String[size];
+            final int[] index = {0};
+            forEachId(id -> newTags[index[0]++] = TagInterner.get(id));
+            Arrays.sort(newTags);
+            sortedTags = tags = newTags;
+        }
+        return tags;
+    }
+
+    private void markModified() {
+        sortedTags = null;
+        onModification.run();
     }
 
     @Override
     public int size() {
-        return sortedTags.size();
+        return size;
+    }
+
+    // Visits the ids of the contained tags in ascending order.
+    public void forEachId(IntConsumer action) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
     }
 
     public TagSet copy() {
-        final TagSet copy = new TagSet();
-        copy.sortedTags.addAll(this.sortedTags);
+        return copy(() -> {});
+    }
+
+    TagSet copy(Runnable onModification) {
+        final TagSet copy = new TagSet(onModification);
+        copy.words = words.length == 0 ? EMPTY : words.clone();
+        copy.size = size;
+        copy.sortedTags = sortedTags;
         return copy;
     }
 }
@@ -2,8 +2,8 @@ package com.dat3m.dartagnan.program.filter;
 
 import com.dat3m.dartagnan.program.event.Event;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /*
 TODO: Filters are currently used in two distinct settings:
@@ -31,7 +31,7 @@ public abstract class Filter {
 
     // ================================= Factory =================================
 
-    protected static final Map<Filter, Filter> canonicalizer = new HashMap<>();
+    protected static final Map<Filter, Filter> canonicalizer = new ConcurrentHashMap<>();
 
     public static TagFilter byTag(String tag) {
         return (TagFilter) canonicalizer.computeIfAbsent(new TagFilter(tag), key -> key);
@@ -0,0 +1,118 @@
+package com.dat3m.dartagnan.program.filter;
+
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.event.Event;
+import com.dat3m.dartagnan.program.event.TagInterner;
+import com.dat3m.dartagnan.program.event.TagSet;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/*
+    Caches the thread events of a program that satisfy a filter, as bit vectors over the positions in
+    Program.getThreadEvents().
+    Tag filters are computed in a single pass over the tag sets of all events,
+    compound filters are combined word-wise from their operands.
+    The cache gets rebuilt whenever the events of the program (see Program.getVersion()) or their tags
+    (see Program.getTagVersion()) have been modified since its computation.
+ */
+public final class FilterIndex {
+
+    private final Program program;
+    private final Map<Filter, BitSet> cache = new HashMap<>();
+    private List<Event> events = List.of();
+    private BitSet[] eventsByTag = new BitSet[0];
+    private long programVersion = -1;
+    private long tagVersion = -1;
+
+    private FilterIndex(Program program) {
+        this.program = program;
+    }
+
+    public static FilterIndex of(Program program) {
+        return new FilterIndex(program);
+    }
+
+    // Thread events of the program, in the order used by the bit vectors.
+    public synchronized List<Event> getEvents() {
+        update();
+        return events;
+    }
+
+    // Positions of the thread events that satisfy the filter. The result must not be modified.
+    public synchronized BitSet get(Filter filter) {
+        update();
+        return compute(filter);
+    }
+
+    // Thread events that satisfy the filter, in program order.
+    public synchronized List<Event> apply(Filter filter) {
+        update();
+        final BitSet bits = compute(filter);
+        final List<Event> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(events.get(i));
+        }
+        return result;
+    }
+
+    private BitSet compute(Filter filter) {
+        final BitSet cached = cache.get(filter);
+        if (cached != null) {
+            return cached;
+        }
+        final BitSet bits;
+        if (filter instanceof TagFilter tagFilter) {
+            final int id = tagFilter.getTagId();
+            bits = id >= 0 && id < eventsByTag.length && eventsByTag[id] != null ? eventsByTag[id] : new BitSet();
+        } else if (filter instanceof UnionFilter union) {
+            bits = (BitSet) compute(union.getFilter1()).clone();
+            bits.or(compute(union.getFilter2()));
+        } else if (filter instanceof IntersectionFilter inter) {
+            bits = (BitSet) compute(inter.getFilter1()).clone();
+            bits.and(compute(inter.getFilter2()));
+        } else if (filter instanceof DifferenceFilter diff) {
+            bits = (BitSet) compute(diff.getFilter1()).clone();
+            bits.andNot(compute(diff.getFilter2()));
+        } else {
+            bits = new BitSet(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                if (filter.apply(events.get(i))) {
+                    bits.set(i);
+                }
+            }
+        }
+        cache.put(filter, bits);
+        return bits;
+    }
+
+    private void update() {
+        final long currentProgramVersion = program.getVersion();
+        final long currentTagVersion = program.getTagVersion();
+        if (currentProgramVersion == programVersion && currentTagVersion == tagVersion) {
+            return;
+        }
+        programVersion = currentProgramVersion;
+        tagVersion = currentTagVersion;
+        cache.clear();
+        events = List.copyOf(program.getThreadEvents());
+        eventsByTag = new BitSet[TagInterner.size()];
+        for (int i = 0; i < events.size(); i++) {
+            final int position = i;
+            final IntConsumer index = id -> {
+                if (id >= eventsByTag.length) {
+                    eventsByTag = Arrays.copyOf(eventsByTag, id + 1);
+                }
+                if (eventsByTag[id] == null) {
+                    eventsByTag[id] = new BitSet(events.size());
+                }
+                eventsByTag[id].set(position);
+            };
+            if (events.get(i).getTags() instanceof TagSet tags) {
+                tags.forEachId(index);
+            } else {
+                events.get(i).getTags().forEach(tag -> index.accept(TagInterner.intern(tag)));
+            }
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package com.dat3m.dartagnan.program.filter;
 
 import com.dat3m.dartagnan.program.event.Event;
+import com.dat3m.dartagnan.program.event.TagInterner;
+import com.dat3m.dartagnan.program.event.TagSet;
 
 public class TagFilter extends Filter {
 
     private final String tag;
+    // Resolved once some event has the tag.
+    private int tagId = -1;
 
     TagFilter(String tag){
         this.tag = tag;
     }
 
+    // Returns -1 as long as no event has the tag.
+    public int getTagId() {
+        if (tagId < 0) {
+            tagId = TagInterner.lookup(tag);
+        }
+        return tagId;
+    }
+
     @Override
     public boolean apply(Event event){
-        return event.hasTag(tag);
+        return event.getTags() instanceof TagSet tags ? tags.contains(getTagId()) : event.hasTag(tag);
     }
 
     @Override
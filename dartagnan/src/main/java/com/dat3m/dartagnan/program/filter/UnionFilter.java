@@ -12,6 +12,14 @@ public class UnionFilter extends Filter {
         this.filter2 = filter2;
     }
 
+    public Filter getFilter1() {
+        return filter1;
+    }
+
+    public Filter getFilter2() {
+        return filter2;
+    }
+
     @Override
     public boolean apply(Event event){
         return filter1.apply(event) || filter2.apply(event);
@@ -22,6 +22,7 @@ import static com.dat3m.dartagnan.configuration.OptionNames.PRINT_PROGRAM_BEFORE
 import static com.dat3m.dartagnan.configuration.OptionNames.REDUCE_SYMMETRY;
 import com.dat3m.dartagnan.program.Program;
 import com.dat3m.dartagnan.program.processing.compilation.Compilation;
+import com.dat3m.dartagnan.utils.Metrics;
 import com.dat3m.dartagnan.utils.printer.Printer;
 
 @Options
@@ -90,11 +91,11 @@ public class ProcessingManager implements ProgramProcessor {
         final FunctionProcessor removeDeadJumps = RemoveDeadCondJumps.fromConfig(config);
         programProcessors.addAll(Arrays.asList(
                 printBeforeProcessing ? DebugPrint.withHeader("Before processing", Printer.Mode.ALL) : null,
-                intrinsics.markIntrinsicsPass(),
+                named("MarkIntrinsics", intrinsics.markIntrinsicsPass()),
                 GEPToAddition.newInstance(),
                 NaiveDevirtualisation.newInstance(),
                 Inlining.fromConfig(config),
-                ProgramProcessor.fromFunctionProcessor(
+                named("EarlySimplification", ProgramProcessor.fromFunctionProcessor(
                         FunctionProcessor.chain(
                                 intrinsics.earlyInliningPass(),
                                 UnreachableCodeElimination.fromConfig(config),
@@ -102,55 +103,55 @@ public class ProcessingManager implements ProgramProcessor {
                                 BranchReordering.fromConfig(config),
                                 Simplifier.fromConfig(config)
                         ), Target.ALL, true
-                ),
-                ProgramProcessor.fromFunctionProcessor(NormalizeLoops.newInstance(), Target.ALL, true),
+                )),
+                named("NormalizeLoops", ProgramProcessor.fromFunctionProcessor(NormalizeLoops.newInstance(), Target.ALL, true)),
                 RemoveDeadFunctions.newInstance(),
                 printAfterSimplification ? DebugPrint.withHeader("After simplification", Printer.Mode.ALL) : null,
                 Compilation.fromConfig(config), // We keep compilation global for now
                 LoopFormVerification.fromConfig(config),
                 printAfterCompilation ? DebugPrint.withHeader("After compilation", Printer.Mode.ALL) : null,
-                ProgramProcessor.fromFunctionProcessor(MemToReg.fromConfig(config), Target.FUNCTIONS, true),
-                ProgramProcessor.fromFunctionProcessor(sccp, Target.FUNCTIONS, false),
+                named("MemToReg", ProgramProcessor.fromFunctionProcessor(MemToReg.fromConfig(config), Target.FUNCTIONS, true)),
+                named("ConstantPropagation", ProgramProcessor.fromFunctionProcessor(sccp, Target.FUNCTIONS, false)),
                 dynamicSpinLoopDetection ? DynamicSpinLoopDetection.fromConfig(config) : null,
-                ProgramProcessor.fromFunctionProcessor(NaiveLoopBoundAnnotation.fromConfig(config), Target.FUNCTIONS, true),
+                named("NaiveLoopBoundAnnotation", ProgramProcessor.fromFunctionProcessor(NaiveLoopBoundAnnotation.fromConfig(config), Target.FUNCTIONS, true)),
                 LoopUnrolling.fromConfig(config), // We keep unrolling global for now
                 printAfterUnrolling ? DebugPrint.withHeader("After loop unrolling", Printer.Mode.ALL) : null,
-                ProgramProcessor.fromFunctionProcessor(
+                named("FunctionSimplification", ProgramProcessor.fromFunctionProcessor(
                         FunctionProcessor.chain(
                                 ResolveLLVMObjectSizeCalls.fromConfig(config),
                                 sccp,
                                 dce,
                                 removeDeadJumps
                         ), Target.FUNCTIONS, true
-                ),
+                )),
                 ThreadCreation.fromConfig(config),
                 ResolveNonDetChoices.newInstance(),
                 reduceSymmetry ? SymmetryReduction.fromConfig(config) : null,
-                intrinsics.lateInliningPass(),
-                ProgramProcessor.fromFunctionProcessor(
+                named("LateInlining", intrinsics.lateInliningPass()),
+                named("ThreadMemToReg", ProgramProcessor.fromFunctionProcessor(
                         FunctionProcessor.chain(
                                 RemoveDeadNullChecks.newInstance(),
                                 MemToReg.fromConfig(config)
                         ), Target.THREADS, true
-                ),
-                ProgramProcessor.fromFunctionProcessor(
+                )),
+                named("ThreadSimplification", ProgramProcessor.fromFunctionProcessor(
                         FunctionProcessor.chain(
                                 performAssignmentInlining ? AssignmentInlining.newInstance() : null,
                                 sccp,
                                 dce,
                                 removeDeadJumps
                         ), Target.THREADS, true
-                ),
+                )),
                 RemoveUnusedMemory.newInstance(),
                 MemoryAllocation.fromConfig(config),
                 NonterminationDetection.fromConfig(config),
                 // --- Statistics + verification ---
                 IdReassignment.newInstance(), // Normalize used Ids (remove any gaps)
                 printAfterProcessing ? DebugPrint.withHeader("After processing", Printer.Mode.THREADS) : null,
-                ProgramProcessor.fromFunctionProcessor(
+                named("CoreCodeVerification", ProgramProcessor.fromFunctionProcessor(
                         CoreCodeVerification.fromConfig(config),
                         Target.THREADS, false
-                ),
+                )),
                 LogThreadStatistics.newInstance()
         ));
         programProcessors.removeIf(Objects::isNull);
@@ -165,4 +166,24 @@ public class ProcessingManager implements ProgramProcessor {
         programProcessors.forEach(p -> p.run(program));
     }
 
+    // Runs all passes and records their time and allocation.
+    public void run(Program program, Metrics metrics) {
+        for (ProgramProcessor processor : programProcessors) {
+            final String name = processor instanceof NamedProcessor named ? named.name() : processor.getClass().getSimpleName();
+            metrics.measure(Metrics.Phase.PROCESSING, name, () -> processor.run(program));
+        }
+    }
+
+    // Passes defined by lambdas have no meaningful class names.
+    private static ProgramProcessor named(String name, ProgramProcessor processor) {
+        return processor == null ? null : new NamedProcessor(name, processor);
+    }
+
+    private record NamedProcessor(String name, ProgramProcessor processor) implements ProgramProcessor {
+        @Override
+        public void run(Program program) {
+            processor.run(program);
+        }
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.dat3m.dartagnan.program.processing;
 
 import com.dat3m.dartagnan.expression.Expression;
+import com.dat3m.dartagnan.expression.ExpressionFactory;
 import com.dat3m.dartagnan.expression.booleans.BoolLiteral;
 import com.dat3m.dartagnan.expression.integers.IntLiteral;
 import com.dat3m.dartagnan.expression.processing.ExprSimplifier;
@@ -28,6 +29,7 @@ import java.util.*;
 import java.util.function.Predicate;
 
 import static com.dat3m.dartagnan.configuration.OptionNames.CONSTANT_PROPAGATION;
+import static com.dat3m.dartagnan.configuration.OptionNames.HASH_CONSING;
 import static com.dat3m.dartagnan.configuration.OptionNames.PROPAGATE_COPY_ASSIGNMENTS;
 
 /*
@@ -45,6 +47,15 @@ public class SparseConditionalConstantPropagation implements FunctionProcessor {
             secure = true)
     private boolean propagateCopyAssignments = true;
 
+    @Option(name = HASH_CONSING,
+            description = "Represents structurally equal expressions created by constant propagation by the same object. " +
+                    "Reduces memory usage and encoding time of programs with much duplicated code, e.g., after unrolling.",
+            secure = true)
+    private boolean hashConsing = false;
+
+    // Used for all functions, so that unrolled iterations and threads share their equal expressions.
+    private ExpressionFactory expressions = ExpressionFactory.getInstance();
+
     // ====================================================================================
 
     private SparseConditionalConstantPropagation() {
@@ -58,6 +69,9 @@ public class SparseConditionalConstantPropagation implements FunctionProcessor {
             throws InvalidConfigurationException {
         SparseConditionalConstantPropagation instance = newInstance();
         config.inject(instance);
+        if (instance.hashConsing) {
+            instance.expressions = ExpressionFactory.newHashConsingInstance();
+        }
         return instance;
     }
 
@@ -85,7 +99,7 @@ public class SparseConditionalConstantPropagation implements FunctionProcessor {
                 .stream().filter(info -> !info.isUnrolled())
                 .map(info -> info.iterations().get(0)).toList();
 
-        final ConstantPropagator propagator = new ConstantPropagator();
+        final ConstantPropagator propagator = new ConstantPropagator(expressions);
         for (Event cur : func.getEvents()) {
 
             if (cur instanceof Label && inflowMap.containsKey(cur)) {
@@ -196,8 +210,8 @@ public class SparseConditionalConstantPropagation implements FunctionProcessor {
 
         private Map<Register, Expression> propagationMap;
 
-        ConstantPropagator() {
-            super(false);
+        ConstantPropagator(ExpressionFactory expressions) {
+            super(false, expressions);
         }
 
         @Override
@@ -3,7 +3,9 @@ package com.dat3m.dartagnan.solver.caat;
 import com.dat3m.dartagnan.solver.caat.constraints.Constraint;
 import com.dat3m.dartagnan.solver.caat.domain.Domain;
 import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
+import com.dat3m.dartagnan.solver.caat.predicates.Derivable;
 import com.dat3m.dartagnan.solver.caat.predicates.PredicateHierarchy;
+import com.dat3m.dartagnan.utils.dependable.DependencyGraph;
 import com.google.common.base.Preconditions;
 
 import java.util.*;
@@ -16,6 +18,15 @@ public class CAATModel {
     private final Set<Constraint> constraints;
     private final PredicateHierarchy hierarchy;
 
+    // ---- Incremental updates ----
+    // The constraints that (transitively) depend on each predicate.
+    private final Map<CAATPredicate, Set<Constraint>> dependentConstraints;
+    // The constraints that need to get checked because the predicates they depend on have changed
+    // (or because they were violated on the last check).
+    private final Set<Constraint> constraintsToCheck = new HashSet<>();
+    private boolean isPopulated = false;
+    private int currentTime = 0;
+
     // ======================================== Construction ==============================================
 
     private CAATModel(PredicateHierarchy hierarchy, Set<Constraint> constraints) {
@@ -28,6 +39,24 @@ public class CAATModel {
         for (Constraint c : this.constraints) {
             hierarchy.addListener(c.getConstrainedPredicate(), c);
         }
+        this.dependentConstraints = computeDependentConstraints();
+    }
+
+    private Map<CAATPredicate, Set<Constraint>> computeDependentConstraints() {
+        final DependencyGraph<CAATPredicate> depGraph = hierarchy.getDependencyGraph();
+        final Map<CAATPredicate, Set<Constraint>> dependents = new HashMap<>();
+        depGraph.getNodeContents().forEach(p -> dependents.put(p, new HashSet<>()));
+        for (Constraint c : constraints) {
+            final Deque<DependencyGraph<CAATPredicate>.Node> workList = new ArrayDeque<>();
+            workList.add(depGraph.get(c.getConstrainedPredicate()));
+            while (!workList.isEmpty()) {
+                final DependencyGraph<CAATPredicate>.Node node = workList.removeFirst();
+                if (dependents.get(node.getContent()).add(c)) {
+                    workList.addAll(node.getDependencies());
+                }
+            }
+        }
+        return dependents;
     }
 
     public static CAATModel from(Collection<? extends CAATPredicate> predicates, Collection< ? extends Constraint> constraints) {
@@ -55,10 +84,102 @@ public class CAATModel {
 
     public void initializeToDomain(Domain<?> domain) {
         this.hierarchy.initializeToDomain(domain);
+        isPopulated = false;
+        currentTime = 0;
     }
 
     public void populate() {
         this.hierarchy.populate();
+        isPopulated = true;
+        constraintsToCheck.addAll(constraints);
+    }
+
+    public boolean isPopulated() { return isPopulated; }
+
+    // ======================================== Incremental update ==============================================
+
+    /*
+        Changes the content of (dynamic) base predicates to <newContents> without repopulating the whole model.
+        All values that are no longer present get removed by backtracking to the time before the earliest of them
+        was added. Afterward, all values that are missing (because they are new or got removed by backtracking)
+        get added and propagated at new times: values that got backtracked are re-added in the order of their
+        previous times and new values are added last. This way, values that change frequently tend to
+        get higher times, so that future updates need to backtrack less.
+
+        Returns false, if some value to be removed is present since population (time 0).
+        In this case, the model is left unchanged and needs to get repopulated instead.
+
+        NOTE: The base predicates in <newContents> must accept propagated values and
+        must be monotone contributors to all derived predicates (e.g., they may not appear on the RHS of differences).
+     */
+    public boolean update(Map<? extends CAATPredicate, ? extends Set<? extends Derivable>> newContents) {
+        Preconditions.checkState(isPopulated, "The model needs to get populated before it can get updated.");
+
+        // (1) Find the earliest time at which a value that is no longer present got added.
+        int backtrackTime = Integer.MAX_VALUE;
+        for (Map.Entry<? extends CAATPredicate, ? extends Set<? extends Derivable>> entry : newContents.entrySet()) {
+            final Set<? extends Derivable> content = entry.getValue();
+            for (Derivable value : entry.getKey().values()) {
+                if (!content.contains(value)) {
+                    backtrackTime = Math.min(backtrackTime, value.getTime());
+                }
+            }
+        }
+        if (backtrackTime == 0) {
+            return false;
+        }
+
+        // (2) Backtrack, but remember the times of the values that are still present.
+        final Map<CAATPredicate, Map<Derivable, Integer>> previousTimes = new HashMap<>();
+        final Set<CAATPredicate> changedPredicates = new HashSet<>();
+        if (backtrackTime != Integer.MAX_VALUE) {
+            for (CAATPredicate pred : newContents.keySet()) {
+                final Map<Derivable, Integer> times = new HashMap<>();
+                for (Derivable value : pred.values()) {
+                    if (value.getTime() >= backtrackTime) {
+                        times.put(value, value.getTime());
+                    }
+                }
+                if (!times.isEmpty()) {
+                    previousTimes.put(pred, times);
+                    changedPredicates.add(pred);
+                }
+            }
+            backtrackTo(backtrackTime - 1);
+        }
+
+        // (3) Group the missing values into layers by their previous time (new values come last).
+        final SortedMap<Integer, Map<CAATPredicate, List<Derivable>>> layers = new TreeMap<>();
+        for (Map.Entry<? extends CAATPredicate, ? extends Set<? extends Derivable>> entry : newContents.entrySet()) {
+            final CAATPredicate pred = entry.getKey();
+            final Map<Derivable, Integer> times = previousTimes.getOrDefault(pred, Map.of());
+            for (Derivable value : entry.getValue()) {
+                if (!pred.contains(value)) {
+                    final int layer = times.getOrDefault(value, Integer.MAX_VALUE);
+                    layers.computeIfAbsent(layer, k -> new HashMap<>())
+                            .computeIfAbsent(pred, k -> new ArrayList<>()).add(value);
+                    changedPredicates.add(pred);
+                }
+            }
+        }
+
+        // (4) Add and propagate the layers with increasing time.
+        for (Map<CAATPredicate, List<Derivable>> layer : layers.values()) {
+            final int time = ++currentTime;
+            for (Map.Entry<CAATPredicate, List<Derivable>> entry : layer.entrySet()) {
+                final List<Derivable> values = new ArrayList<>(entry.getValue().size());
+                entry.getValue().forEach(v -> values.add(v.with(time, 0)));
+                hierarchy.addAndPropagate(entry.getKey(), values);
+            }
+        }
+
+        changedPredicates.forEach(p -> constraintsToCheck.addAll(dependentConstraints.get(p)));
+        return true;
+    }
+
+    public void backtrackTo(int time) {
+        this.hierarchy.backtrackTo(time);
+        currentTime = Math.min(currentTime, time);
     }
 
     // ======================================== Consistency ==============================================
@@ -67,6 +188,16 @@ public class CAATModel {
         return constraints.stream().filter(Constraint::checkForViolations).collect(Collectors.toList());
     }
 
+    // Like <getViolatedConstraints> but only checks the constraints that may have changed since the last call.
+    public List<Constraint> getViolatedConstraintsIncrementally() {
+        final List<Constraint> violated = constraintsToCheck.stream()
+                .filter(Constraint::checkForViolations).collect(Collectors.toList());
+        constraintsToCheck.clear();
+        // Violated constraints are checked again next time, even if they are not affected by future updates.
+        constraintsToCheck.addAll(violated);
+        return violated;
+    }
+
     public boolean checkInconsistency() {
         return constraints.stream().anyMatch(Constraint::checkForViolations);
     }
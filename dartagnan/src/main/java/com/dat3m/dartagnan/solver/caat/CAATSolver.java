@@ -3,6 +3,8 @@ package com.dat3m.dartagnan.solver.caat;
 
 import com.dat3m.dartagnan.solver.caat.constraints.Constraint;
 import com.dat3m.dartagnan.solver.caat.misc.PathAlgorithm;
+import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
+import com.dat3m.dartagnan.solver.caat.predicates.Derivable;
 import com.dat3m.dartagnan.solver.caat.reasoning.CAATLiteral;
 import com.dat3m.dartagnan.solver.caat.reasoning.Reasoner;
 import com.dat3m.dartagnan.utils.logic.Conjunction;
@@ -10,6 +12,8 @@ import com.dat3m.dartagnan.utils.logic.DNF;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.dat3m.dartagnan.solver.caat.CAATSolver.Status.CONSISTENT;
 import static com.dat3m.dartagnan.solver.caat.CAATSolver.Status.INCONSISTENT;
@@ -80,6 +84,54 @@ public class CAATSolver {
         return result;
     }
 
+    /*
+        <check> with incremental updates assumes the following:
+            - The CAATModel <model> has been initialized to some domain (<model.initializeToDomain>)
+            - The base predicates in <baseContents> are dynamic, i.e., their content is only
+              given via <baseContents> and not by population (see <CAATModel.update>).
+
+        <check> will:
+            - Populate the derived predicates in <model>, if the model was (re)initialized since the last call
+            - Update the dynamic base predicates to <baseContents> and propagate the changes
+            - Check consistency of those constraints of <model> that were affected by the changes
+            - If applicable, compute base reasons of consistency violations
+            - Return results about the computation
+     */
+    public Result check(CAATModel model, Map<? extends CAATPredicate, ? extends Set<? extends Derivable>> baseContents) {
+        Result result = new Result();
+        stats = result.getStatistics();
+
+        PathAlgorithm.ensureCapacity(model.getDomain().size());
+        // ============== Populate/Update predicates ===============
+        long curTime = System.currentTimeMillis();
+        stats.wasIncremental = model.isPopulated() && model.update(baseContents);
+        if (!stats.wasIncremental) {
+            if (model.isPopulated()) {
+                // Some values that were present from the start got removed, so we need to start from scratch.
+                model.initializeToDomain(model.getDomain());
+            }
+            model.populate();
+            model.update(baseContents);
+        }
+        stats.populationTime = System.currentTimeMillis() - curTime;
+
+        // ============== Check for inconsistencies ===============
+        curTime = System.currentTimeMillis();
+        List<Constraint> violatedConstraints = model.getViolatedConstraintsIncrementally();
+        Status status = violatedConstraints.isEmpty() ? CONSISTENT : INCONSISTENT;
+        result.setStatus(status);
+        stats.consistencyCheckTime = System.currentTimeMillis() - curTime;
+
+        if (status == INCONSISTENT) {
+            // ============== Compute reasons ===============
+            curTime = System.currentTimeMillis();
+            result.setBaseReasons(computeInconsistencyReasons(violatedConstraints));
+            stats.reasonComputationTime += (System.currentTimeMillis() - curTime);
+        }
+
+        return result;
+    }
+
     // ======================================== Reason computation ==============================================
 
     private DNF<CAATLiteral> computeInconsistencyReasons(List<Constraint> violatedConstraints) {
@@ -130,12 +182,14 @@ public class CAATSolver {
         long reasonComputationTime;
         int numComputedReasons;
         int numComputedReducedReasons;
+        boolean wasIncremental;
 
         public long getPopulationTime() { return populationTime; }
         public long getReasonComputationTime() { return reasonComputationTime; }
         public long getConsistencyCheckTime() { return consistencyCheckTime; }
         public int getNumComputedReasons() { return numComputedReasons; }
         public int getNumComputedReducedReasons() { return numComputedReducedReasons; }
+        public boolean wasIncremental() { return wasIncremental; }
 
         public String toString() {
             StringBuilder str = new StringBuilder();
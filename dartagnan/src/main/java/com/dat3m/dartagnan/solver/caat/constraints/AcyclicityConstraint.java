@@ -19,8 +19,9 @@ public class AcyclicityConstraint extends AbstractConstraint {
 
     private final RelationGraph constrainedGraph;
 
-    private static final ObjectPool<DenseIntegerSet> SET_COLLECTION_POOL =
-            new ObjectPool<>(DenseIntegerSet::new, 10);
+    // Per-constraint scratch state, so that independent solvers can run concurrently.
+    private final ObjectPool<DenseIntegerSet> sccPool = new ObjectPool<>(DenseIntegerSet::new, 10);
+    private final ArrayList<Integer> tempList = new ArrayList<>();
 
 
     private final List<DenseIntegerSet> violatingSccs = new ArrayList<>();
@@ -129,7 +130,11 @@ public class AcyclicityConstraint extends AbstractConstraint {
 
     @Override
     public void onBacktrack(CAATPredicate predicate, int time) {
-        cleanUp();
+        // The violating SCCs may have lost edges, so we need to recompute them.
+        // However, we keep the marked nodes: every cycle that remains after backtracking
+        // still goes through an edge that was added since the last successful check.
+        violatingSccs.forEach(sccPool::returnToPool);
+        violatingSccs.clear();
     }
 
     @Override
@@ -151,7 +156,7 @@ public class AcyclicityConstraint extends AbstractConstraint {
     }
 
     private void cleanUp() {
-        violatingSccs.forEach(SET_COLLECTION_POOL::returnToPool);
+        violatingSccs.forEach(sccPool::returnToPool);
         violatingSccs.clear();
         markedNodes.clear();
     }
@@ -176,9 +181,8 @@ public class AcyclicityConstraint extends AbstractConstraint {
         }
     }
 
-    // The TEMP_LIST is used to temporary hold the nodes in an SCC.
+    // The <tempList> is used to temporary hold the nodes in an SCC.
     // The SCC will only actually get created if it is violating! (selfloop or size > 1)
-    private static final ArrayList<Integer> TEMP_LIST = new ArrayList<>();
     private void strongConnect(Node v) {
         v.index = index;
         v.lowlink = index;
@@ -206,17 +210,17 @@ public class AcyclicityConstraint extends AbstractConstraint {
             do {
                 w = stack.pop();
                 w.isOnStack = false;
-                TEMP_LIST.add(w.id);
+                tempList.add(w.id);
             } while (w != v);
 
-            if (v.hasSelfLoop || TEMP_LIST.size() > 1) {
-                DenseIntegerSet scc = SET_COLLECTION_POOL.get();
+            if (v.hasSelfLoop || tempList.size() > 1) {
+                DenseIntegerSet scc = sccPool.get();
                 scc.ensureCapacity(domain.size());
                 scc.clear();
-                scc.addAll(TEMP_LIST);
+                scc.addAll(tempList);
                 violatingSccs.add(scc);
             }
-            TEMP_LIST.clear();
+            tempList.clear();
         }
     }
 
@@ -0,0 +1,161 @@
+package com.dat3m.dartagnan.solver.caat.misc;
+
+
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+
+import java.util.Arrays;
+
+/*
+    A map from (id1, id2) pairs to the canonical edge between them.
+    Keys are packed into a single long and stored in an open-addressing table with linear probing,
+    so neither lookups nor insertions allocate, and lookups can be done by ids without creating an edge.
+    The canonical edge carries the time and derivation length of the pair.
+ */
+public final class EdgeHashMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Edge[] values;
+    private int mask;
+    private int size;
+
+    public EdgeHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public EdgeHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Edge get(int id1, int id2) {
+        final long key = pack(id1, id2);
+        final long[] keys = this.keys;
+        final Edge[] values = this.values;
+        int i = indexFor(key);
+        Edge value;
+        while ((value = values[i]) != null) {
+            if (keys[i] == key) {
+                return value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean contains(int id1, int id2) {
+        return get(id1, id2) != null;
+    }
+
+    // Returns the edge already associated with the ids of <edge>, or null if <edge> was added.
+    public Edge putIfAbsent(Edge edge) {
+        final long key = pack(edge.getFirst(), edge.getSecond());
+        int i = indexFor(key);
+        Edge value;
+        while ((value = values[i]) != null) {
+            if (keys[i] == key) {
+                return value;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = edge;
+        if (++size > (mask + 1) >> 1) {
+            resize((mask + 1) << 1);
+        }
+        return null;
+    }
+
+    public Edge remove(int id1, int id2) {
+        final long key = pack(id1, id2);
+        int i = indexFor(key);
+        Edge value;
+        while ((value = values[i]) != null) {
+            if (keys[i] == key) {
+                deleteAt(i);
+                return value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------
+
+    private static long pack(int id1, int id2) {
+        return ((long) id1 << 32) | (id2 & 0xFFFFFFFFL);
+    }
+
+    private int indexFor(long key) {
+        // Finalizer of MurmurHash3: consecutive ids must not end up in consecutive slots
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        final int minCapacity = Math.max(MIN_CAPACITY, expectedSize << 1);
+        return Integer.highestOneBit(minCapacity - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Edge[capacity];
+        mask = capacity - 1;
+    }
+
+    private void resize(int capacity) {
+        final long[] oldKeys = keys;
+        final Edge[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = indexFor(oldKeys[j]);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    // Backward-shift deletion: moves later entries of the probe sequence into the gap,
+    // so that no tombstones are needed and lookups stay short after backtracking.
+    private void deleteAt(int gap) {
+        final long[] keys = this.keys;
+        final Edge[] values = this.values;
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null) {
+                break;
+            }
+            final int home = indexFor(keys[i]);
+            // Move entry i into the gap unless its home slot lies cyclically in (gap, i]
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = null;
+        size--;
+    }
+}
@@ -9,21 +9,33 @@ import java.util.function.Predicate;
 
 public class PathAlgorithm {
 
-    //TODO: We need custom data datastructures that work with primitive integers
-    private final static Queue<Integer> queue1 = new ArrayDeque<>();
-    private final static Queue<Integer> queue2 = new ArrayDeque<>();
+    /*
+        The search uses scratch space proportional to the domain size.
+        Each thread gets its own workspace so that multiple solvers can search concurrently.
+     */
+    private static final class Workspace {
+        // Every node enters a queue at most once, except for the initial node which may enter twice.
+        // Hence, the queues are plain arrays of the parent maps' size.
+        private int[] queue1 = new int[0];
+        private int[] queue2 = new int[0];
+
+        private Edge[] parentMap1 = new Edge[0];
+        private Edge[] parentMap2 = new Edge[0];
+    }
 
-    private static Edge[] parentMap1 = new Edge[0];
-    private static Edge[] parentMap2 = new Edge[0];
+    private static final ThreadLocal<Workspace> workspace = ThreadLocal.withInitial(Workspace::new);
 
     public static void ensureCapacity(int capacity) {
-        if (capacity <= parentMap1.length) {
+        final Workspace ws = workspace.get();
+        if (capacity <= ws.parentMap1.length) {
             return;
         }
 
         final int newCapacity = capacity + 20;
-        parentMap1 = Arrays.copyOf(parentMap1, newCapacity);
-        parentMap2 = Arrays.copyOf(parentMap2, newCapacity);
+        ws.parentMap1 = Arrays.copyOf(ws.parentMap1, newCapacity);
+        ws.parentMap2 = Arrays.copyOf(ws.parentMap2, newCapacity);
+        ws.queue1 = new int[newCapacity + 1];
+        ws.queue2 = new int[newCapacity + 1];
     }
 
 
@@ -33,24 +45,31 @@ public class PathAlgorithm {
      */
     public static List<Edge> findShortestPath(RelationGraph graph, int start, int end,
                                               Predicate<Edge> filter) {
-        queue1.clear();
-        queue2.clear();
+        final Workspace ws = workspace.get();
+        final int[] queue1 = ws.queue1;
+        final int[] queue2 = ws.queue2;
+        final Edge[] parentMap1 = ws.parentMap1;
+        final Edge[] parentMap2 = ws.parentMap2;
+        int head1 = 0;
+        int tail1 = 0;
+        int head2 = 0;
+        int tail2 = 0;
 
         Arrays.fill(parentMap1, null);
         System.arraycopy(parentMap1, 0, parentMap2, 0, Math.min(parentMap1.length, parentMap2.length));
 
-        queue1.add(start);
-        queue2.add(end);
+        queue1[tail1++] = start;
+        queue2[tail2++] = end;
         boolean found = false;
         boolean doForwardBFS = true;
         int cur = -1;
 
-        while (!found && (!queue1.isEmpty() || !queue2.isEmpty())) {
+        while (!found && (head1 < tail1 || head2 < tail2)) {
             if (doForwardBFS) {
                 // Forward BFS
-                int curSize = queue1.size();
+                int curSize = tail1 - head1;
                 while (curSize-- > 0 && !found) {
-                    for (Edge next : graph.outEdges(queue1.poll())) {
+                    for (Edge next : graph.outEdges(queue1[head1++])) {
                         if (!filter.test(next)) {
                             continue;
                         }
@@ -63,16 +82,16 @@ public class PathAlgorithm {
                             break;
                         } else if (parentMap1[cur] == null) {
                             parentMap1[cur] = next;
-                            queue1.add(cur);
+                            queue1[tail1++] = cur;
                         }
                     }
                 }
                 doForwardBFS = false;
             } else {
                 // Backward BFS
-                int curSize = queue2.size();
+                int curSize = tail2 - head2;
                 while (curSize-- > 0 && !found) {
-                    for (Edge next : graph.inEdges(queue2.poll())) {
+                    for (Edge next : graph.inEdges(queue2[head2++])) {
                         if (!filter.test(next)) {
                             continue;
                         }
@@ -84,7 +103,7 @@ public class PathAlgorithm {
                             break;
                         } else if (parentMap2[cur] == null) {
                             parentMap2[cur] = next;
-                            queue2.add(cur);
+                            queue2[tail2++] = cur;
                         }
                     }
                 }
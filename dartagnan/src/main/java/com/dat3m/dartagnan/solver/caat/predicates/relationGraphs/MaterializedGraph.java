@@ -34,6 +34,11 @@ public abstract class MaterializedGraph extends AbstractPredicate implements Rel
         return simpleGraph.containsById(a, b);
     }
 
+    @Override
+    public Edge getById(int a, int b) {
+        return simpleGraph.getById(a, b);
+    }
+
     @Override
     public boolean contains(Edge edge) {
         return simpleGraph.contains(edge);
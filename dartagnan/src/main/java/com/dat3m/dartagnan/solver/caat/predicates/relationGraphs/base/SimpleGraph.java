@@ -2,6 +2,7 @@ package com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.base;
 
 import com.dat3m.dartagnan.solver.caat.domain.Domain;
 import com.dat3m.dartagnan.solver.caat.misc.EdgeDirection;
+import com.dat3m.dartagnan.solver.caat.misc.EdgeHashMap;
 import com.dat3m.dartagnan.solver.caat.misc.EdgeList;
 import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
 import com.dat3m.dartagnan.solver.caat.predicates.Derivable;
@@ -15,6 +16,7 @@ import java.util.stream.Stream;
 /*
     This is a simple graph that allows adding edges directly.
     It is mostly used as an internal implementation for many relationgraphs.
+    Edges are indexed by their packed ids (see EdgeHashMap), so lookups by id do not allocate.
  */
 public final class SimpleGraph extends AbstractBaseGraph {
     private DataItem[] outgoing = new DataItem[0];
@@ -22,7 +24,7 @@ public final class SimpleGraph extends AbstractBaseGraph {
     private int maxTime = 0;
     private int numEvents = 0;
 
-    private final HashMap<Edge, Edge> edgeMap = new HashMap<>(100);
+    private final EdgeHashMap edgeMap = new EdgeHashMap(100);
 
     @Override
     public List<RelationGraph> getDependencies() {
@@ -82,7 +84,17 @@ public final class SimpleGraph extends AbstractBaseGraph {
     }
 
     public Edge get(Edge edge) {
-        return edgeMap.get(edge);
+        return edgeMap.get(edge.getFirst(), edge.getSecond());
+    }
+
+    @Override
+    public Edge getById(int id1, int id2) {
+        return edgeMap.get(id1, id2);
+    }
+
+    @Override
+    public boolean containsById(int id1, int id2) {
+        return edgeMap.contains(id1, id2);
     }
 
     @Override
@@ -97,11 +109,11 @@ public final class SimpleGraph extends AbstractBaseGraph {
     }
 
     public boolean contains(Edge e) {
-        return edgeMap.containsKey(e);
+        return edgeMap.contains(e.getFirst(), e.getSecond());
     }
 
     public boolean add(Edge e) {
-        if (edgeMap.putIfAbsent(e, e) != null) {
+        if (edgeMap.putIfAbsent(e) != null) {
             return false;
         }
         int firstId = e.getFirst();
@@ -235,14 +247,14 @@ public final class SimpleGraph extends AbstractBaseGraph {
             // should be sorted by timestamp (since edges with higher timestamp get added later)
             if (maxTime > time) {
                 final List<Edge> edgeList = this.edgeList;
-                final Map<Edge, Edge> edgeMap = SimpleGraph.this.edgeMap;
+                final EdgeHashMap edgeMap = SimpleGraph.this.edgeMap;
                 int i = edgeList.size();
                 while (--i >= 0) {
                     Edge e = edgeList.get(i);
                     if (e.getTime() > time) {
                         edgeList.remove(i);
                         if (deleteFromMap) {
-                            edgeMap.remove(e);
+                            edgeMap.remove(e.getFirst(), e.getSecond());
                         }
                     } else {
                         maxTime = e.getTime();
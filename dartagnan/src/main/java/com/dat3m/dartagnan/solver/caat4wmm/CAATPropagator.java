@@ -0,0 +1,371 @@
+package com.dat3m.dartagnan.solver.caat4wmm;
+
+import com.dat3m.dartagnan.encoding.EncodingContext;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.analysis.alias.AliasAnalysis;
+import com.dat3m.dartagnan.program.event.Event;
+import com.dat3m.dartagnan.program.event.Tag;
+import com.dat3m.dartagnan.program.event.core.CondJump;
+import com.dat3m.dartagnan.program.event.core.MemoryCoreEvent;
+import com.dat3m.dartagnan.solver.caat.CAATSolver;
+import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.CoreLiteral;
+import com.dat3m.dartagnan.utils.logic.Conjunction;
+import com.dat3m.dartagnan.utils.logic.DNF;
+import com.dat3m.dartagnan.verification.Context;
+import com.dat3m.dartagnan.wmm.Relation;
+import com.dat3m.dartagnan.wmm.analysis.RelationAnalysis;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.api.*;
+import org.sosy_lab.java_smt.basicimpl.AbstractUserPropagator;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static com.dat3m.dartagnan.wmm.RelationNameRepository.CO;
+import static com.dat3m.dartagnan.wmm.RelationNameRepository.RF;
+
+/*
+    Runs CAAT inside the search of the SMT solver, using the user-propagator interface of the solver.
+    The propagator tracks the values of all formulas the execution of the baseline encoding depends on
+    (execution, jumps, aliasing and the edges of rf, co and the cut relations).
+    Whenever the solver found a full assignment, the execution gets checked against the memory model and
+    the core reasons of inconsistencies are raised as conflicts, so the solver backtracks instead of
+    returning a model that the refinement loop would have to refute.
+    Addresses and coherence clocks are not tracked: They are reconstructed from the aliasing and co literals.
+ */
+public class CAATPropagator extends AbstractUserPropagator {
+
+    private static final Logger logger = LogManager.getLogger(CAATPropagator.class);
+
+    private final EncodingContext context;
+    private final BooleanFormulaManager bmgr;
+    private final WMMSolver solver;
+    private final Refiner refiner;
+
+    private final Set<BooleanFormula> registered = new LinkedHashSet<>();
+    // Addresses are identified with the classes of memory events that alias according to the aliasing literals.
+    private final List<MemoryCoreEvent> memoryEvents;
+    private final Map<MemoryCoreEvent, Integer> memoryEventIds = new HashMap<>();
+    private final List<PairLiteral> aliasLiterals = new ArrayList<>();
+    private final List<PairLiteral> coLiterals = new ArrayList<>();
+
+    // Current values of the registered formulas, undone on backtracking.
+    private final Map<BooleanFormula, Boolean> assignment = new HashMap<>();
+    private final List<BooleanFormula> trail = new ArrayList<>();
+    private final Deque<Integer> levels = new ArrayDeque<>();
+    // Addresses and clocks of the execution that is currently checked.
+    private final Map<Formula, BigInteger> numerals = new HashMap<>();
+
+    private int numFinalChecks;
+    private int numConflicts;
+
+    // The solver does not keep conflicts across backtracking, so reasons found earlier get raised again
+    // as soon as they hold, without waiting for the next final check.
+    // Each reason watches one of its literals that is not satisfied and only gets inspected once it becomes so.
+    // Backtracking never satisfies literals, so watches need not be restored on pop.
+    private final Set<Conjunction<CoreLiteral>> knownReasons = new HashSet<>();
+    private final Map<BooleanFormula, List<Reason>> watches = new HashMap<>();
+    private final Set<Conjunction<CoreLiteral>> unreducedReasons = new HashSet<>();
+
+    private record PairLiteral(MemoryCoreEvent first, MemoryCoreEvent second, BooleanFormula formula) {}
+
+    // A reason as the registered formulas and the values under which it holds.
+    private static final class Reason {
+        private final BooleanFormula[] formulas;
+        private final boolean[] values;
+        private int watch;
+
+        private Reason(BooleanFormula[] formulas, boolean[] values) {
+            this.formulas = formulas;
+            this.values = values;
+        }
+    }
+
+    public CAATPropagator(RefinementModel refinementModel, EncodingContext context, Context analysisContext,
+            Configuration config) throws InvalidConfigurationException {
+        this.context = context;
+        this.bmgr = context.getBooleanFormulaManager();
+        this.solver = WMMSolver.withContext(refinementModel, context, analysisContext, config);
+        this.refiner = new Refiner(refinementModel);
+        this.memoryEvents = context.getTask().getProgram().getThreadEvents(MemoryCoreEvent.class);
+        for (int i = 0; i < memoryEvents.size(); i++) {
+            memoryEventIds.put(memoryEvents.get(i), i);
+        }
+        collectFormulas(refinementModel);
+    }
+
+    // Registers the propagator with the prover.
+    // Returns false if the solver does not support user propagators, leaving the prover unchanged.
+    public boolean registerWith(ProverEnvironment prover) {
+        if (!prover.registerUserPropagator(this)) {
+            return false;
+        }
+        registered.forEach(this::registerExpression);
+        logger.info("Registered {} formulas for online CAAT solving.", registered.size());
+        return true;
+    }
+
+    public int getNumFinalChecks() { return numFinalChecks; }
+    public int getNumConflicts() { return numConflicts; }
+    public DNF<CoreLiteral> getUnreducedReasons() { return new DNF<>(unreducedReasons); }
+
+    // ================================================================================================================
+    // Solver callbacks
+
+    @Override
+    public void initializeWithBackend(PropagatorBackend backend) {
+        super.initializeWithBackend(backend);
+        backend.notifyOnKnownValue();
+        backend.notifyOnFinalCheck();
+    }
+
+    @Override
+    public void onPush() {
+        levels.push(trail.size());
+    }
+
+    @Override
+    public void onPop(int numLevels) {
+        int size = trail.size();
+        for (int i = 0; i < numLevels; i++) {
+            size = levels.pop();
+        }
+        final List<BooleanFormula> undone = trail.subList(size, trail.size());
+        undone.forEach(assignment::remove);
+        undone.clear();
+    }
+
+    @Override
+    public void onKnownValue(BooleanFormula formula, boolean value) {
+        if (assignment.put(formula, value) != null) {
+            return;
+        }
+        trail.add(formula);
+        final List<Reason> watching = watches.get(formula);
+        if (watching == null) {
+            return;
+        }
+        final Iterator<Reason> iterator = watching.iterator();
+        while (iterator.hasNext()) {
+            final Reason reason = iterator.next();
+            if (reason.values[reason.watch] != value) {
+                continue;
+            }
+            final int unsatisfied = findUnsatisfied(reason);
+            if (unsatisfied < 0) {
+                numConflicts++;
+                getBackend().propagateConflict(reason.formulas);
+                return;
+            }
+            reason.watch = unsatisfied;
+            iterator.remove();
+            watches.computeIfAbsent(reason.formulas[unsatisfied], k -> new ArrayList<>()).add(reason);
+        }
+    }
+
+    @Override
+    public void onFinalCheck() {
+        numFinalChecks++;
+        computeNumerals();
+        final WMMSolver.Result result = solver.check(this::evaluate);
+        if (result.getStatus() != CAATSolver.Status.INCONSISTENT) {
+            return;
+        }
+        unreducedReasons.addAll(result.getUnreducedReasons().getCubes());
+        for (Conjunction<CoreLiteral> cube : result.getCoreReasons().getCubes()) {
+            final Reason reason = toReason(cube);
+            if (reason == null || findUnsatisfied(reason) >= 0) {
+                continue;
+            }
+            if (knownReasons.add(cube) && reason.formulas.length > 0) {
+                // The conflict undoes the literal assigned last, so it is the one to watch.
+                reason.watch = lastAssigned(reason);
+                watches.computeIfAbsent(reason.formulas[reason.watch], k -> new ArrayList<>()).add(reason);
+            }
+            numConflicts++;
+            getBackend().propagateConflict(reason.formulas);
+        }
+    }
+
+    // ================================================================================================================
+    // Internals
+
+    private void collectFormulas(RefinementModel refinementModel) {
+        final Program program = context.getTask().getProgram();
+        final Context analysisContext = context.getAnalysisContext();
+        final AliasAnalysis alias = analysisContext.requires(AliasAnalysis.class);
+        final RelationAnalysis ra = analysisContext.requires(RelationAnalysis.class);
+
+        for (Event e : program.getThreadEvents()) {
+            register(context.execution(e));
+            if (e instanceof CondJump jump) {
+                register(context.jumpTaken(jump));
+            }
+        }
+        alias.getBuckets(memoryEvents).forEachCandidatePair((e1, e2) -> {
+            if (e1 != e2 && alias.mayAlias(e1, e2)) {
+                final BooleanFormula sameAddress = context.sameAddress(e1, e2);
+                aliasLiterals.add(new PairLiteral(e1, e2, sameAddress));
+                register(sameAddress);
+            }
+        });
+
+        final Relation rf = context.getTask().getMemoryModel().getRelation(RF);
+        final Relation co = context.getTask().getMemoryModel().getRelation(CO);
+        registerEdges(rf, ra);
+        final EncodingContext.EdgeEncoder coEdge = context.edge(co);
+        ra.getKnowledge(co).getMaySet().apply((w1, w2) -> {
+            final BooleanFormula edge = coEdge.encode(w1, w2);
+            coLiterals.add(new PairLiteral((MemoryCoreEvent) w1, (MemoryCoreEvent) w2, edge));
+            register(edge);
+        });
+        for (Relation cut : solver.getExecutionGraph().getCutRelations()) {
+            registerEdges(refinementModel.translateToBase(cut), ra);
+        }
+    }
+
+    private void registerEdges(Relation relation, RelationAnalysis ra) {
+        final EncodingContext.EdgeEncoder edge = context.edge(relation);
+        ra.getKnowledge(relation).getMaySet().apply((e1, e2) -> register(edge.encode(e1, e2)));
+    }
+
+    private void register(BooleanFormula formula) {
+        if (!bmgr.isTrue(formula) && !bmgr.isFalse(formula)) {
+            registered.add(formula);
+        }
+    }
+
+    private Object evaluate(Formula formula) {
+        if (formula instanceof BooleanFormula booleanFormula) {
+            return value(booleanFormula);
+        }
+        return numerals.get(formula);
+    }
+
+    // Null if the formula is neither constant nor assigned.
+    private Boolean value(BooleanFormula formula) {
+        final Boolean value = assignment.get(formula);
+        if (value != null) {
+            return value;
+        }
+        return bmgr.isTrue(formula) ? Boolean.TRUE : bmgr.isFalse(formula) ? Boolean.FALSE : null;
+    }
+
+    // Gives each memory event the id of its equivalence class under aliasing as address
+    // and, for the IDL-based encoding, each write the length of the longest co-path to it as clock.
+    private void computeNumerals() {
+        numerals.clear();
+        final int[] parent = new int[memoryEvents.size()];
+        final Map<Formula, Integer> addressOwners = new HashMap<>();
+        for (int i = 0; i < parent.length; i++) {
+            final Integer owner = addressOwners.putIfAbsent(context.address(memoryEvents.get(i)), i);
+            parent[i] = owner == null ? i : owner;
+        }
+        for (PairLiteral literal : aliasLiterals) {
+            if (Boolean.TRUE.equals(value(literal.formula()))) {
+                final int root1 = find(parent, memoryEventIds.get(literal.first()));
+                final int root2 = find(parent, memoryEventIds.get(literal.second()));
+                parent[Math.max(root1, root2)] = Math.min(root1, root2);
+            }
+        }
+        for (int i = 0; i < parent.length; i++) {
+            numerals.put(context.address(memoryEvents.get(i)), BigInteger.valueOf(find(parent, i)));
+        }
+        if (!context.usesSATEncoding()) {
+            computeClocks();
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private void computeClocks() {
+        final Map<MemoryCoreEvent, List<MemoryCoreEvent>> predecessors = new HashMap<>();
+        for (PairLiteral literal : coLiterals) {
+            if (Boolean.TRUE.equals(value(literal.formula()))) {
+                predecessors.computeIfAbsent(literal.second(), k -> new ArrayList<>()).add(literal.first());
+            }
+        }
+        final Map<MemoryCoreEvent, Integer> clocks = new HashMap<>();
+        for (MemoryCoreEvent w : memoryEvents) {
+            if (w.hasTag(Tag.WRITE)) {
+                numerals.put(context.memoryOrderClock(w), BigInteger.valueOf(clock(w, predecessors, clocks)));
+            }
+        }
+    }
+
+    private int clock(MemoryCoreEvent write, Map<MemoryCoreEvent, List<MemoryCoreEvent>> predecessors,
+            Map<MemoryCoreEvent, Integer> clocks) {
+        if (write.hasTag(Tag.INIT)) {
+            return 0;
+        }
+        final Integer known = clocks.get(write);
+        if (known != null) {
+            return known;
+        }
+        // Co is acyclic in every assignment that satisfies the encoding, this only guards against looping.
+        clocks.put(write, 1);
+        int clock = 1;
+        for (MemoryCoreEvent predecessor : predecessors.getOrDefault(write, List.of())) {
+            clock = Math.max(clock, clock(predecessor, predecessors, clocks) + 1);
+        }
+        clocks.put(write, clock);
+        return clock;
+    }
+
+    // Null if the reason contains a literal that is never true (e.g. reasons transferred by symmetry can).
+    private Reason toReason(Conjunction<CoreLiteral> cube) {
+        final List<BooleanFormula> formulas = new ArrayList<>(cube.getSize());
+        final List<Boolean> values = new ArrayList<>(cube.getSize());
+        for (CoreLiteral literal : cube.getLiterals()) {
+            final BooleanFormula atom = refiner.encodeAtom(literal, context);
+            if (bmgr.isTrue(atom) || bmgr.isFalse(atom)) {
+                if (bmgr.isTrue(atom) != literal.isPositive()) {
+                    return null;
+                }
+            } else if (registered.contains(atom)) {
+                formulas.add(atom);
+                values.add(literal.isPositive());
+            } else {
+                return null;
+            }
+        }
+        final boolean[] polarities = new boolean[values.size()];
+        for (int i = 0; i < polarities.length; i++) {
+            polarities[i] = values.get(i);
+        }
+        return new Reason(formulas.toArray(new BooleanFormula[0]), polarities);
+    }
+
+    // Index of a literal of the reason that is not satisfied, or -1 if the reason holds.
+    private int findUnsatisfied(Reason reason) {
+        for (int i = 0; i < reason.formulas.length; i++) {
+            final Boolean value = assignment.get(reason.formulas[i]);
+            if (value == null || value != reason.values[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lastAssigned(Reason reason) {
+        int last = 0;
+        int lastPosition = -1;
+        for (int i = 0; i < reason.formulas.length; i++) {
+            final int position = trail.lastIndexOf(reason.formulas[i]);
+            if (position > lastPosition) {
+                last = i;
+                lastPosition = position;
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,212 @@
+package com.dat3m.dartagnan.solver.caat4wmm;
+
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.Thread;
+import com.dat3m.dartagnan.program.analysis.SyntacticContextAnalysis;
+import com.dat3m.dartagnan.program.event.Event;
+import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.CoreLiteral;
+import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.CoreReasoner;
+import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.ExecLiteral;
+import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.RelLiteral;
+import com.dat3m.dartagnan.utils.logic.Conjunction;
+import com.dat3m.dartagnan.utils.logic.DNF;
+import com.dat3m.dartagnan.wmm.Relation;
+import com.dat3m.dartagnan.wmm.Wmm;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+    Persists the inconsistency reasons found by the refinement procedure, so that later runs on the same
+    (or a slightly edited) program can pre-assert them instead of discovering them again.
+
+    Reasons are only valid for the program and memory model they were found for.
+        - There is one file per program name and memory model.
+        - Events are identified by their source location and syntactic context (thread, calls, loop iterations).
+        - Reduced reasons rely on knowledge about the whole program (e.g. must-alias information),
+          which an edit of any thread can invalidate. Therefore, the store keeps unreduced reasons,
+          which only mention relations between their events, and reduces them against the knowledge
+          about the current program when loading.
+        - Unreduced reasons still rely on the unary predicates of their events (e.g. tags),
+          which are not part of the reason itself. Therefore, each stored event also records a fingerprint of its thread,
+          and a reason is only reused if all threads it mentions are unchanged.
+ */
+public class ClauseStore {
+
+    private static final Logger logger = LogManager.getLogger(ClauseStore.class);
+
+    private static final String HEADER = "# Dartagnan refinement clauses, version 2";
+    private static final String EVENT = "E";
+    private static final String CLAUSE = "C";
+    private static final String SEPARATOR = "\t";
+
+    private final Path file;
+    private final Map<Event, String> eventKeys = new HashMap<>();
+    private final Map<String, Event> keyedEvents = new HashMap<>();
+    private final Map<Thread, String> fingerprints = new HashMap<>();
+    private final Map<String, Relation> relations = new HashMap<>();
+    private final Set<Conjunction<CoreLiteral>> reasons = new LinkedHashSet<>();
+    private final int loadedReasons;
+
+    private ClauseStore(Path file, Program program, Wmm memoryModel) throws IOException {
+        this.file = file;
+        final SyntacticContextAnalysis synContext = SyntacticContextAnalysis.newInstance(program);
+        for (Thread thread : program.getThreads()) {
+            fingerprints.put(thread, computeFingerprint(thread));
+            final Map<String, Integer> occurrences = new HashMap<>();
+            for (Event e : thread.getEvents()) {
+                final String location = synContext.getSourceLocationWithContext(e, false);
+                final String key = location + "#" + occurrences.merge(location, 1, Integer::sum);
+                eventKeys.put(e, key);
+                keyedEvents.put(key, e);
+            }
+        }
+        for (Relation r : memoryModel.getRelations()) {
+            relations.putIfAbsent(r.getNameOrTerm(), r);
+        }
+        if (Files.exists(file)) {
+            read();
+        }
+        loadedReasons = reasons.size();
+    }
+
+    /**
+     * Loads the reasons stored for a program and memory model.
+     * @param directory Directory of the store, it gets created when saving if it does not exist.
+     * @param program Processed program whose events the reasons refer to.
+     * @param memoryModel Memory model whose relations the reasons refer to.
+     */
+    public static ClauseStore load(Path directory, Program program, Wmm memoryModel) throws IOException {
+        final String modelHash = Hashing.sha256().hashString(program.getArch() + "\n" + memoryModel, UTF_8)
+                .toString().substring(0, 16);
+        final String name = program.getName().replaceAll("[^A-Za-z0-9._-]", "_");
+        final ClauseStore store = new ClauseStore(directory.resolve(name + "-" + modelHash + ".clauses"), program, memoryModel);
+        logger.info("Loaded {} stored refinement reasons from {}", store.loadedReasons, store.file);
+        return store;
+    }
+
+    // Reasons that still apply to the program, reduced by the reasoner of the current run.
+    public DNF<CoreLiteral> getReasons(CoreReasoner reasoner) {
+        return new DNF<>(reasoner.reduceUnreducedCoreReasons(reasons));
+    }
+
+    // Expects unreduced reasons (see CoreReasoner).
+    public void add(DNF<CoreLiteral> newReasons) {
+        reasons.addAll(newReasons.getCubes());
+    }
+
+    // Replaces the stored reasons by the ones that apply to this program, including the newly added ones.
+    public void save() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        final Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "dat3m", ".clauses");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            final Map<Event, Integer> ids = new HashMap<>();
+            for (Conjunction<CoreLiteral> reason : reasons) {
+                final StringJoiner clause = new StringJoiner(SEPARATOR, CLAUSE + SEPARATOR, "");
+                for (CoreLiteral literal : reason.getLiterals()) {
+                    final String sign = literal.isPositive() ? "+" : "-";
+                    if (literal instanceof ExecLiteral lit) {
+                        clause.add(sign + "exec:" + getId(lit.getEvent(), ids, writer));
+                    } else if (literal instanceof RelLiteral lit) {
+                        clause.add(sign + "rel:" + getId(lit.getSource(), ids, writer) + ":" + getId(lit.getTarget(), ids, writer)
+                                + ":" + lit.getRelation().getNameOrTerm());
+                    } else {
+                        throw new IllegalArgumentException("CoreLiteral " + literal + " is not supported");
+                    }
+                }
+                writer.write(clause.toString());
+                writer.newLine();
+            }
+        }
+        // Concurrent runs never see partially written files.
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        logger.info("Saved {} refinement reasons ({} new) to {}", reasons.size(), reasons.size() - loadedReasons, file);
+    }
+
+    private int getId(Event e, Map<Event, Integer> ids, BufferedWriter writer) throws IOException {
+        Integer id = ids.get(e);
+        if (id == null) {
+            id = ids.size();
+            ids.put(e, id);
+            writer.write(String.join(SEPARATOR, EVENT, String.valueOf(id), fingerprints.get(e.getThread()), eventKeys.get(e)));
+            writer.newLine();
+        }
+        return id;
+    }
+
+    private void read() throws IOException {
+        final List<String> lines = Files.readAllLines(file, UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+            logger.warn("Ignoring refinement reasons in {} of unknown format", file);
+            return;
+        }
+        // Events of the stored reasons, null if they changed or do not exist anymore.
+        final List<Event> events = new ArrayList<>();
+        int skipped = 0;
+        for (String line : lines.subList(1, lines.size())) {
+            final String[] fields = line.split(SEPARATOR);
+            if (fields[0].equals(EVENT) && fields.length == 4) {
+                final Event e = keyedEvents.get(fields[3]);
+                events.add(e != null && fingerprints.get(e.getThread()).equals(fields[2]) ? e : null);
+            } else if (fields[0].equals(CLAUSE)) {
+                final List<CoreLiteral> literals = new ArrayList<>();
+                for (String literal : Arrays.asList(fields).subList(1, fields.length)) {
+                    final CoreLiteral lit = parseLiteral(literal, events);
+                    if (lit == null) {
+                        break;
+                    }
+                    literals.add(lit);
+                }
+                if (literals.size() == fields.length - 1) {
+                    reasons.add(new Conjunction<>(literals));
+                } else {
+                    skipped++;
+                }
+            }
+        }
+        if (skipped > 0) {
+            logger.info("Dropped {} stored refinement reasons that do not apply anymore", skipped);
+        }
+    }
+
+    private CoreLiteral parseLiteral(String literal, List<Event> events) {
+        final boolean isPositive = literal.charAt(0) == '+';
+        final String[] parts = literal.substring(1).split(":", 4);
+        final Event first = events.get(Integer.parseInt(parts[1]));
+        final Event second = parts.length > 2 ? events.get(Integer.parseInt(parts[2])) : null;
+        if (first == null || parts.length > 2 && second == null) {
+            return null;
+        }
+        return switch (parts[0]) {
+            case "exec" -> new ExecLiteral(first, isPositive);
+            case "rel" -> relations.containsKey(parts[3]) ? new RelLiteral(relations.get(parts[3]), first, second, isPositive) : null;
+            default -> null;
+        };
+    }
+
+    private static String computeFingerprint(Thread thread) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(thread.getName(), UTF_8);
+        if (thread.hasScope()) {
+            hasher.putString(thread.getScopeHierarchy().toString(), UTF_8);
+        }
+        for (Event e : thread.getEvents()) {
+            hasher.putString(e.getClass().getName(), UTF_8)
+                    .putString(e.toString(), UTF_8)
+                    .putString(new TreeSet<>(e.getTags()).toString(), UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+}
@@ -1,17 +1,21 @@
 package com.dat3m.dartagnan.solver.caat4wmm;
 
+import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.program.filter.Filter;
 import com.dat3m.dartagnan.solver.caat.CAATModel;
 import com.dat3m.dartagnan.solver.caat.constraints.AcyclicityConstraint;
 import com.dat3m.dartagnan.solver.caat.constraints.Constraint;
 import com.dat3m.dartagnan.solver.caat.constraints.EmptinessConstraint;
 import com.dat3m.dartagnan.solver.caat.constraints.IrreflexivityConstraint;
+import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.RelationGraph;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.base.EmptyGraph;
 import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.derived.*;
 import com.dat3m.dartagnan.solver.caat.predicates.sets.SetPredicate;
 import com.dat3m.dartagnan.solver.caat4wmm.basePredicates.*;
 import com.dat3m.dartagnan.utils.dependable.DependencyGraph;
+import com.dat3m.dartagnan.verification.model.EventData;
 import com.dat3m.dartagnan.verification.model.ExecutionModel;
 import com.dat3m.dartagnan.wmm.Relation;
 import com.dat3m.dartagnan.wmm.Wmm;
@@ -24,10 +28,7 @@ import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.Maps;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 public class ExecutionGraph {
@@ -44,17 +45,28 @@ public class ExecutionGraph {
     private final BiMap<Filter, SetPredicate> filterSetMap;
     private final BiMap<Axiom, Constraint> constraintMap;
     private final Set<Relation> cutRelations;
+    // In incremental mode, model-dependent base graphs are wrapped into IncrementalWMMGraphs.
+    private final boolean incremental;
+    private final List<IncrementalWMMGraph> incrementalGraphs;
 
     private CAATModel caatModel;
     private EventDomain domain;
+    // The events of the current domain (only tracked in incremental mode).
+    private final List<Event> domainEvents = new ArrayList<>();
 
     // =================================================
 
     // ============= Construction & Init ===============
 
     public ExecutionGraph(RefinementModel refinementModel, RelationAnalysis ra) {
+        this(refinementModel, ra, false);
+    }
+
+    public ExecutionGraph(RefinementModel refinementModel, RelationAnalysis ra, boolean incremental) {
         this.refinementModel = refinementModel;
         this.ra = ra;
+        this.incremental = incremental;
+        incrementalGraphs = new ArrayList<>();
         relationGraphMap = HashBiMap.create();
         filterSetMap = HashBiMap.create();
         constraintMap = HashBiMap.create();
@@ -65,11 +77,78 @@ public class ExecutionGraph {
 
         checkNoUnsupportedRelations(refinementModel);
         constructMappings();
+        if (incremental) {
+            markStaticIncrementalGraphs();
+        }
     }
 
     public void initializeFromModel(ExecutionModel executionModel) {
         domain = new EventDomain(executionModel);
         caatModel.initializeToDomain(domain);
+        domainEvents.clear();
+        if (incremental) {
+            executionModel.getEventList().forEach(e -> domainEvents.add(e.getEvent()));
+        }
+    }
+
+    /*
+        Incremental alternative to <initializeFromModel>: The domain gets reinitialized only if the
+        executed events differ from the previous model.
+        Returns the edges that the model induces on the dynamic base graphs,
+        which can be passed to <CAATSolver.check> to update the CAATModel incrementally.
+     */
+    public Map<CAATPredicate, Set<Edge>> updateFromModel(ExecutionModel executionModel) {
+        Preconditions.checkState(incremental, "The execution graph was not created for incremental updates.");
+        if (domain == null || !hasSameEvents(executionModel)) {
+            initializeFromModel(executionModel);
+        }
+
+        final Map<CAATPredicate, Set<Edge>> dynamicContents = new HashMap<>();
+        boolean staticContentChanged = false;
+        for (IncrementalWMMGraph graph : incrementalGraphs) {
+            final boolean changed = graph.updateModelContent();
+            if (graph.isStatic()) {
+                staticContentChanged |= changed;
+            } else {
+                dynamicContents.put(graph, graph.getModelContent());
+            }
+        }
+        if (staticContentChanged && caatModel.isPopulated()) {
+            // Graphs on the RHS of differences cannot change incrementally, so we need to repopulate.
+            caatModel.initializeToDomain(domain);
+        }
+        return dynamicContents;
+    }
+
+    private boolean hasSameEvents(ExecutionModel executionModel) {
+        final List<EventData> events = executionModel.getEventList();
+        if (events.size() != domainEvents.size()) {
+            return false;
+        }
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i).getEvent() != domainEvents.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Marks all incremental graphs that (transitively) appear on the RHS of a difference as static.
+    private void markStaticIncrementalGraphs() {
+        final Set<CAATPredicate> negated = new HashSet<>();
+        final Deque<CAATPredicate> workList = new ArrayDeque<>();
+        for (CAATPredicate pred : caatModel.getPredicates()) {
+            if (pred instanceof DifferenceGraph diff) {
+                workList.add(diff.getSecond());
+            }
+        }
+        while (!workList.isEmpty()) {
+            final CAATPredicate pred = workList.removeFirst();
+            if (negated.add(pred)) {
+                workList.addAll(pred.getDependencies());
+            }
+        }
+        incrementalGraphs.forEach(g -> g.setStatic(negated.contains(g)));
     }
 
     // --------------------------------------------------
@@ -221,15 +300,15 @@ public class ExecutionGraph {
         final List<Relation> dependencies = rel.getDependencies();
 
         if (cutRelations.contains(rel)) {
-            graph = new DynamicDefaultWMMGraph(refinementModel.translateToBase(rel));
+            graph = makeDynamic(new DynamicDefaultWMMGraph(refinementModel.translateToBase(rel)));
         } else if (relClass == ReadFrom.class) {
-            graph = new ReadFromGraph();
+            graph = makeDynamic(new ReadFromGraph());
         } else if (relClass == SameLocation.class) {
-            graph = new LocationGraph();
+            graph = makeDynamic(new LocationGraph());
         } else if (relClass == ProgramOrder.class) {
             graph = new ProgramOrderGraph();
         } else if (relClass == Coherence.class) {
-            graph = new CoherenceGraph();
+            graph = makeDynamic(new CoherenceGraph());
         } else if (relClass == RangeIdentity.class || relClass == DomainIdentity.class) {
             RelationGraph g = getOrCreateGraphFromRelation(dependencies.get(0));
             ProjectionIdentityGraph.Dimension dim = relClass == RangeIdentity.class ?
@@ -277,6 +356,16 @@ public class ExecutionGraph {
         return graph;
     }
 
+    // Base graphs whose content depends on more than the executed events get wrapped in incremental mode.
+    private RelationGraph makeDynamic(AbstractWMMGraph graph) {
+        if (!incremental) {
+            return graph;
+        }
+        final IncrementalWMMGraph incrementalGraph = new IncrementalWMMGraph(graph);
+        incrementalGraphs.add(incrementalGraph);
+        return incrementalGraph;
+    }
+
     private SetPredicate getOrCreateSetFromFilter(Filter filter) {
         if (filterSetMap.containsKey(filter)) {
             return filterSetMap.get(filter);
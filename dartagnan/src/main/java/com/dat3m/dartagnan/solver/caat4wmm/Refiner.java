@@ -47,7 +47,12 @@ public class Refiner {
     }
 
     private BooleanFormula encode(CoreLiteral literal, EncodingContext encoder) {
-        final BooleanFormulaManager bmgr = encoder.getBooleanFormulaManager();
+        final BooleanFormula enc = encodeAtom(literal, encoder);
+        return literal.isNegative() ? encoder.getBooleanFormulaManager().not(enc) : enc;
+    }
+
+    // Encodes the literal regardless of its polarity.
+    BooleanFormula encodeAtom(CoreLiteral literal, EncodingContext encoder) {
         final BooleanFormula enc;
         if (literal instanceof ExecLiteral lit) {
             enc = encoder.execution(lit.getEvent());
@@ -59,8 +64,7 @@ public class Refiner {
         } else {
             throw new IllegalArgumentException("CoreLiteral " + literal + " is not supported");
         }
-
-        return literal.isNegative() ? bmgr.not(enc) : enc;
+        return enc;
     }
 
 }
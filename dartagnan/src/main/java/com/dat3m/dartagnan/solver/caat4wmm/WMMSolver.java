@@ -3,6 +3,8 @@ package com.dat3m.dartagnan.solver.caat4wmm;
 
 import com.dat3m.dartagnan.encoding.EncodingContext;
 import com.dat3m.dartagnan.solver.caat.CAATSolver;
+import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
 import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.CoreLiteral;
 import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.CoreReasoner;
 import com.dat3m.dartagnan.utils.logic.Conjunction;
@@ -12,23 +14,40 @@ import com.dat3m.dartagnan.verification.model.ExecutionModel;
 import com.dat3m.dartagnan.wmm.analysis.RelationAnalysis;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.java_smt.api.Formula;
 import org.sosy_lab.java_smt.api.Model;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.INCREMENTAL_CAAT;
 
 /*
     This is our domain-specific bridging component that specializes the CAATSolver to the WMM setting.
 */
+@Options
 public class WMMSolver {
 
+    @Option(name = INCREMENTAL_CAAT,
+            description = "Checks consistency incrementally across refinement iterations:" +
+                    " instead of rebuilding the execution graph for each model, only the changes of rf/co/loc and" +
+                    " cut relations relative to the previous model get applied and only affected axioms get rechecked.",
+            secure = true)
+    private boolean incremental = false;
+
     private final ExecutionGraph executionGraph;
     private final ExecutionModel executionModel;
     private final CAATSolver solver;
     private final CoreReasoner reasoner;
 
-    private WMMSolver(RefinementModel refinementModel, Context analysisContext, ExecutionModel m) {
+    private WMMSolver(RefinementModel refinementModel, Context analysisContext, ExecutionModel m, Configuration config)
+            throws InvalidConfigurationException {
+        config.inject(this);
         final RelationAnalysis ra = analysisContext.requires(RelationAnalysis.class);
-        this.executionGraph = new ExecutionGraph(refinementModel, ra);
+        this.executionGraph = new ExecutionGraph(refinementModel, ra, incremental);
         this.executionModel = m;
         this.reasoner = new CoreReasoner(analysisContext, executionGraph);
         this.solver = CAATSolver.create();
@@ -36,7 +55,7 @@ public class WMMSolver {
 
     public static WMMSolver withContext(RefinementModel refinementModel, EncodingContext context,
             Context analysisContext, Configuration config) throws InvalidConfigurationException {
-        final var solver = new WMMSolver(refinementModel, analysisContext, ExecutionModel.withContext(context));
+        final var solver = new WMMSolver(refinementModel, analysisContext, ExecutionModel.withContext(context), config);
         config.inject(solver.reasoner);
         return solver;
     }
@@ -49,15 +68,35 @@ public class WMMSolver {
         return executionGraph;
     }
 
+    public CoreReasoner getReasoner() {
+        return reasoner;
+    }
+
     public Result check(Model model) {
+        return check(() -> executionModel.initialize(model));
+    }
+
+    // Checks the execution given by the values of 'evaluator', e.g. a partial assignment during solving.
+    public Result check(Function<Formula, Object> evaluator) {
+        return check(() -> executionModel.initialize(evaluator, true));
+    }
+
+    private Result check(Runnable extraction) {
         // ============ Extract ExecutionModel ==============
         long curTime = System.currentTimeMillis();
-        executionModel.initialize(model);
-        executionGraph.initializeFromModel(executionModel);
+        extraction.run();
+        Map<CAATPredicate, Set<Edge>> dynamicContents = null;
+        if (incremental) {
+            dynamicContents = executionGraph.updateFromModel(executionModel);
+        } else {
+            executionGraph.initializeFromModel(executionModel);
+        }
         long extractTime = System.currentTimeMillis() - curTime;
 
         // ============== Run the CAATSolver ==============
-        CAATSolver.Result caatResult = solver.check(executionGraph.getCAATModel());
+        CAATSolver.Result caatResult = incremental ?
+                solver.check(executionGraph.getCAATModel(), dynamicContents) :
+                solver.check(executionGraph.getCAATModel());
         Result result = Result.fromCAATResult(caatResult);
         Statistics stats = result.stats;
         stats.modelExtractionTime = extractTime;
@@ -69,6 +108,7 @@ public class WMMSolver {
             Set<Conjunction<CoreLiteral>> coreReasons = reasoner.toCoreReasons(caatResult.getBaseReasons());
             stats.numComputedCoreReasons = coreReasons.size();
             result.coreReasons = new DNF<>(coreReasons);
+            result.unreducedReasons = new DNF<>(reasoner.toUnreducedCoreReasons(caatResult.getBaseReasons()));
             stats.numComputedReducedCoreReasons = result.coreReasons.getNumberOfCubes();
             stats.coreReasonComputationTime = System.currentTimeMillis() - curTime;
         }
@@ -82,15 +122,19 @@ public class WMMSolver {
     public static class Result {
         private CAATSolver.Status status;
         private DNF<CoreLiteral> coreReasons;
+        private DNF<CoreLiteral> unreducedReasons;
         private Statistics stats;
 
         public CAATSolver.Status getStatus() { return status; }
         public DNF<CoreLiteral> getCoreReasons() { return coreReasons; }
+        // The reasons before applying knowledge about the program, see CoreReasoner.
+        public DNF<CoreLiteral> getUnreducedReasons() { return unreducedReasons; }
         public Statistics getStatistics() { return stats; }
 
         Result() {
             status = CAATSolver.Status.INCONCLUSIVE;
             coreReasons = DNF.FALSE();
+            unreducedReasons = DNF.FALSE();
         }
 
         static Result fromCAATResult(CAATSolver.Result caatResult) {
@@ -128,9 +172,11 @@ public class WMMSolver {
         public int getNumComputedReducedBaseReasons() { return caatStats.getNumComputedReducedReasons(); }
         public int getNumComputedCoreReasons() { return numComputedCoreReasons; }
         public int getNumComputedReducedCoreReasons() { return numComputedReducedCoreReasons; }
+        public boolean wasIncremental() { return caatStats.wasIncremental(); }
 
         public String toString() {
             StringBuilder str = new StringBuilder();
+            str.append("Incremental check: ").append(wasIncremental()).append("\n");
             str.append("Model extraction time(ms): ").append(getModelExtractionTime()).append("\n");
             str.append("Population time(ms): ").append(getPopulationTime()).append("\n");
             str.append("Consistency check time(ms): ").append(getConsistencyCheckTime()).append("\n");
@@ -0,0 +1,67 @@
+package com.dat3m.dartagnan.solver.caat4wmm.basePredicates;
+
+import com.dat3m.dartagnan.solver.caat.predicates.CAATPredicate;
+import com.dat3m.dartagnan.solver.caat.predicates.Derivable;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+    An IncrementalWMMGraph wraps a model-dependent base graph (e.g. rf, co, loc or a cut relation) for incremental
+    consistency checking.
+    The wrapped graph computes the edges induced by the current model, while this graph only holds the edges
+    that got added to it via propagation (with their times).
+    This allows to apply the difference between consecutive models as edge insertions and deletions
+    (see CAATModel.update) rather than repopulating the whole model.
+
+    NOTE: Graphs that contribute negatively to other predicates (i.e. appear on the RHS of differences)
+    cannot get updated incrementally. Those graphs are marked as static and get populated like any other base graph.
+ */
+public class IncrementalWMMGraph extends MaterializedWMMGraph {
+
+    private final AbstractWMMGraph inner;
+    private boolean isStatic = false;
+    private Set<Edge> modelContent = Set.of();
+
+    public IncrementalWMMGraph(AbstractWMMGraph inner) {
+        this.inner = inner;
+    }
+
+    public AbstractWMMGraph getInner() { return inner; }
+
+    public boolean isStatic() { return isStatic; }
+    public void setStatic(boolean isStatic) { this.isStatic = isStatic; }
+
+    public Set<Edge> getModelContent() { return modelContent; }
+
+    // Recomputes the edges induced by the current model.
+    // Returns true if they differ from the previously computed edges.
+    public boolean updateModelContent() {
+        inner.initializeToDomain(domain);
+        inner.repopulate();
+        final Set<Edge> newContent = inner.edgeStream().map(e -> e.with(0, 0)).collect(Collectors.toSet());
+        final boolean changed = !newContent.equals(modelContent);
+        modelContent = newContent;
+        return changed;
+    }
+
+    @Override
+    public void repopulate() {
+        if (isStatic) {
+            modelContent.forEach(simpleGraph::add);
+        }
+    }
+
+    @Override
+    public Collection<Edge> forwardPropagate(CAATPredicate changedSource, Collection<? extends Derivable> added) {
+        return changedSource == null ? simpleGraph.forwardPropagate(null, added) : super.forwardPropagate(changedSource, added);
+    }
+
+    @Override
+    public void setName(String name) {
+        super.setName(name);
+        inner.setName(name);
+    }
+}
@@ -31,6 +31,11 @@ public abstract class MaterializedWMMGraph extends AbstractWMMGraph {
         return simpleGraph.containsById(a, b);
     }
 
+    @Override
+    public Edge getById(int a, int b) {
+        return simpleGraph.getById(a, b);
+    }
+
     @Override
     public boolean contains(Edge edge) {
         return simpleGraph.contains(edge);
@@ -100,15 +100,50 @@ public class CoreReasoner {
     }
 
     public Set<Conjunction<CoreLiteral>> toCoreReasons(Conjunction<CAATLiteral> baseReason) {
-        final EventDomain domain = executionGraph.getDomain();
-
-        // We compute the orbit of <baseReason> under the symmetry group of the program's threads.
-        // We use a standard worklist algorithm to do so.
         // NOTE: We compute the orbit of an "unreduced" core reason, because
         // reductions we can apply to a core reason may not be sound for its symmetric counterparts.
+        final Set<List<CoreLiteral>> orbit = computeOrbit(toUnreducedCoreReason(baseReason, executionGraph.getDomain()));
+
+        // Now we can reduce all computed (symmetric) reasons.
+        return orbit.stream().map(this::reduce).filter(Objects::nonNull).map(Conjunction::new).collect(Collectors.toSet());
+    }
+
+    // Unreduced core reasons of the productive base reasons, i.e., those whose core reasons are not FALSE.
+    // Unlike reduced reasons, they do not depend on the knowledge about the program,
+    // so they stay valid for other programs containing the same events (see ClauseStore).
+    public Set<Conjunction<CoreLiteral>> toUnreducedCoreReasons(DNF<CAATLiteral> baseReasons) {
+        final Set<Conjunction<CoreLiteral>> unreducedReasons = new HashSet<>();
+        for (Conjunction<CAATLiteral> baseReason : baseReasons.getCubes()) {
+            final List<CoreLiteral> unreduced = toUnreducedCoreReason(baseReason, executionGraph.getDomain());
+            if (reduce(unreduced) != null) {
+                unreducedReasons.add(new Conjunction<>(unreduced));
+            }
+        }
+        return unreducedReasons;
+    }
+
+    // Reduces unreduced core reasons that were computed for another (possibly edited) version of the program,
+    // using the knowledge about the current program.
+    // Reasons whose literals cannot be reduced for the current program are dropped.
+    public Set<Conjunction<CoreLiteral>> reduceUnreducedCoreReasons(Collection<Conjunction<CoreLiteral>> unreducedReasons) {
+        final Set<Conjunction<CoreLiteral>> coreReasons = new HashSet<>();
+        for (Conjunction<CoreLiteral> unreduced : unreducedReasons) {
+            for (List<CoreLiteral> reason : computeOrbit(new ArrayList<>(unreduced.getLiterals()))) {
+                final List<CoreLiteral> reduced = reason.stream().allMatch(this::isReducible) ? reduce(reason) : null;
+                if (reduced != null) {
+                    coreReasons.add(new Conjunction<>(reduced));
+                }
+            }
+        }
+        return coreReasons;
+    }
+
+    // We compute the orbit of <reason> under the symmetry group of the program's threads.
+    // We use a standard worklist algorithm to do so.
+    private Set<List<CoreLiteral>> computeOrbit(List<CoreLiteral> unreducedReason) {
         final Set<List<CoreLiteral>> orbit = new HashSet<>();
         final Deque<List<CoreLiteral>> workqueue = new ArrayDeque<>();
-        workqueue.add(toUnreducedCoreReason(baseReason, domain));
+        workqueue.add(unreducedReason);
         while (!workqueue.isEmpty()) {
             final List<CoreLiteral> reason = workqueue.removeFirst();
             for (Function<Event, Event> generator : symmGenerators) {
@@ -118,9 +153,7 @@ public class CoreReasoner {
                 }
             }
         }
-
-        // Now we can reduce all computed (symmetric) reasons.
-        return orbit.stream().map(this::reduce).filter(Objects::nonNull).map(Conjunction::new).collect(Collectors.toSet());
+        return orbit;
     }
 
     private Conjunction<CoreLiteral> toCoreReasonNoSymmetry(Conjunction<CAATLiteral> baseReason) {
@@ -208,6 +241,22 @@ public class CoreReasoner {
         return simplified;
     }
 
+    // Checks whether <reduce> supports the literal, i.e., it does not throw.
+    private boolean isReducible(CoreLiteral lit) {
+        if (!(lit instanceof RelLiteral relLiteral)) {
+            return lit instanceof ExecLiteral;
+        }
+        final Event e1 = relLiteral.getSource();
+        final Event e2 = relLiteral.getTarget();
+        final Relation rel = relLiteral.getRelation();
+        final RelationAnalysis.Knowledge k = ra.getKnowledge(rel);
+        if (lit.isPositive() && k.getMustSet().contains(e1, e2) || !k.getMaySet().contains(e1, e2)) {
+            return true;
+        }
+        final String name = rel.getName().orElse(null);
+        return RF.equals(name) || CO.equals(name) || LOC.equals(name) || executionGraph.getCutRelations().contains(rel);
+    }
+
     private void removeDominatedLiterals(List<CoreLiteral> reason) {
         reason.removeIf( lit -> {
             if (!(lit instanceof ExecLiteral execLit) || lit.isNegative()) {
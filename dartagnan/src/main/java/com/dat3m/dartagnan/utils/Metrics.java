@@ -0,0 +1,157 @@
+package com.dat3m.dartagnan.utils;
+
+import com.dat3m.dartagnan.configuration.OptionInterface;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+    Performance measurements of a single verification task, e.g. time and allocation of each processing pass
+    and static analysis, sizes of the encoding, solver times and refinement iterations.
+    The measurements can be written to a file in order to aggregate them over many runs.
+    Measurements may be recorded concurrently (see AnalysisScheduler).
+ */
+public class Metrics {
+
+    public enum Phase {
+        PROCESSING, ANALYSIS, ENCODING, SOLVING, REFINEMENT, VERIFICATION;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase();
+        }
+    }
+
+    public enum Format implements OptionInterface {
+        NONE, JSON, CSV;
+
+        public static Format getDefault() {
+            return NONE;
+        }
+
+        public String getExtension() {
+            return "." + asStringOption();
+        }
+    }
+
+    public record Entry(Phase phase, String name, String metric, long value) {}
+
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    // Wall time in nanoseconds.
+    // All times use this metric, the name of an entry tells what was measured (e.g. "iteration 1 smt").
+    public static final String TIME = "time_ns";
+    // Bytes allocated by the measuring thread (-1 if the JVM does not support this).
+    public static final String ALLOCATION = "allocated_bytes";
+    // Number of edges of a relation that get encoded.
+    public static final String ENCODE_SET_SIZE = "encode_set_size";
+    // Number of top-level formulas of an encoded relation or axiom.
+    public static final String FORMULAS = "formulas";
+
+    private static final com.sun.management.ThreadMXBean threads = getThreadBean();
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    public void add(Phase phase, String name, String metric, long value) {
+        synchronized (entries) {
+            entries.add(new Entry(phase, name, metric, value));
+        }
+    }
+
+    /**
+     * Records time and allocation of an action.
+     * Allocations are only measured in the calling thread, the ones of threads spawned by the action are missing.
+     */
+    public <E extends Exception> void measure(Phase phase, String name, Action<E> action) throws E {
+        final long allocation = getAllocatedBytes();
+        final long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            add(phase, name, TIME, System.nanoTime() - start);
+            add(phase, name, ALLOCATION, allocation < 0 ? -1 : getAllocatedBytes() - allocation);
+        }
+    }
+
+    public List<Entry> getEntries() {
+        synchronized (entries) {
+            return List.copyOf(entries);
+        }
+    }
+
+    public void write(File file, Format format) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), UTF_8)) {
+            switch (format) {
+                case JSON -> writeJson(writer);
+                case CSV -> writeCsv(writer);
+                case NONE -> throw new IllegalArgumentException("No format to write metrics");
+            }
+        }
+    }
+
+    private void writeCsv(Writer writer) throws IOException {
+        final CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT);
+        printer.printRecord("phase", "name", "metric", "value");
+        for (Entry entry : getEntries()) {
+            printer.printRecord(entry.phase(), entry.name(), entry.metric(), entry.value());
+        }
+        printer.flush();
+    }
+
+    private void writeJson(Writer writer) throws IOException {
+        writer.write("[");
+        String separator = "\n";
+        for (Entry entry : getEntries()) {
+            writer.write(separator);
+            writer.write(String.format("  {\"phase\": %s, \"name\": %s, \"metric\": %s, \"value\": %d}",
+                    toJsonString(entry.phase().toString()), toJsonString(entry.name()),
+                    toJsonString(entry.metric()), entry.value()));
+            separator = ",\n";
+        }
+        writer.write("\n]\n");
+    }
+
+    private static String toJsonString(String string) {
+        final StringBuilder builder = new StringBuilder("\"");
+        for (char c : string.toCharArray()) {
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static long getAllocatedBytes() {
+        return threads == null ? -1 : threads.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+}
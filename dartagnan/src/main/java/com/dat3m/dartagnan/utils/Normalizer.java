@@ -1,10 +1,12 @@
 package com.dat3m.dartagnan.utils;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Normalizer {
 
-    private final HashMap<Object, Object> map = new HashMap<>();
+    // Concurrent, because normalizers are shared between verification tasks running in parallel.
+    private final Map<Object, Object> map = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unchecked")
     public <T> T normalize(T obj) {
@@ -4,11 +4,14 @@ import com.dat3m.dartagnan.GlobalSettings;
 import com.dat3m.dartagnan.configuration.Method;
 import com.dat3m.dartagnan.configuration.ProgressModel;
 import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.parsers.program.utils.CompilationCache;
+import com.dat3m.dartagnan.utils.Metrics;
 import com.dat3m.dartagnan.witness.WitnessType;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 
+import java.io.File;
 import java.util.EnumSet;
 
 import static com.dat3m.dartagnan.configuration.OptionNames.*;
@@ -109,6 +112,25 @@ public abstract class BaseOptions {
         return smtlib;
     }
 
+    @Option(
+            name = SMTLIB2_COMPRESS,
+            description = "Compress the dumped SMTLIB2 file with gzip.")
+    private boolean compressSmtlib = false;
+
+    public boolean getCompressSmtLib() {
+        return compressSmtlib;
+    }
+
+    @Option(
+            name = METRICS,
+            description = "Format of the file with performance metrics of each phase to generate in the output directory: none (default), json, csv.",
+            toUppercase = true)
+    private Metrics.Format metricsFormat = Metrics.Format.getDefault();
+
+    public Metrics.Format getMetricsFormat() {
+        return metricsFormat;
+    }
+
     @Option(
             name = CAT_INCLUDE,
             description = "The directory used to resolve cat include statements. Defaults to $DAT3M_HOME/cat."
@@ -118,4 +140,16 @@ public abstract class BaseOptions {
     public String getCatIncludePath() {
         return catIncludePath;
     }
+
+    @Option(
+            name = COMPILATION_CACHE,
+            description = "Directory in which C programs compiled with clang and opt are stored, so that later runs " +
+                    "on the same input skip the compilation. Inputs that need no compilation (e.g. .ll) are not cached."
+    )
+    private String compilationCache = "";
+
+    // Returns null if no cache directory is given.
+    public CompilationCache getCompilationCache() {
+        return compilationCache.isEmpty() ? null : new CompilationCache(new File(compilationCache));
+    }
 }
\ No newline at end of file
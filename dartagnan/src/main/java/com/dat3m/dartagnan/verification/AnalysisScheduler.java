@@ -0,0 +1,91 @@
+package com.dat3m.dartagnan.verification;
+
+import com.dat3m.dartagnan.utils.Metrics;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/*
+    Runs static analyses as soon as the analyses they depend on are registered in the context.
+    Analyses without mutual dependencies run in parallel on the common fork-join pool.
+    The scheduled analyses must not modify the program.
+    The time and allocation of each analysis get recorded in the metrics.
+ */
+public class AnalysisScheduler {
+
+    @FunctionalInterface
+    public interface Analysis<T> {
+        T run() throws InvalidConfigurationException;
+    }
+
+    private final Context context;
+    private final Metrics metrics;
+    private final Map<Class<?>, CompletableFuture<Void>> scheduled = new HashMap<>();
+    private final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+    private AnalysisScheduler(Context context, Metrics metrics) {
+        this.context = context;
+        this.metrics = metrics;
+    }
+
+    public static AnalysisScheduler forContext(Context context, Metrics metrics) {
+        return new AnalysisScheduler(context, metrics);
+    }
+
+    /**
+     * Schedules an analysis whose result gets registered in the context.
+     * @param c Class under which the result is registered.
+     * @param analysis Computes the result.
+     * @param dependencies Classes of previously-scheduled analyses that {@code analysis} requires from the context.
+     */
+    public <T> AnalysisScheduler schedule(Class<T> c, Analysis<? extends T> analysis, Class<?>... dependencies) {
+        checkArgument(!scheduled.containsKey(c), "Analysis %s has already been scheduled.", c.getSimpleName());
+        final CompletableFuture<Void> task = after(dependencies).thenRunAsync(() -> {
+            try {
+                metrics.measure(Metrics.Phase.ANALYSIS, c.getSimpleName(), () -> context.register(c, analysis.run()));
+            } catch (InvalidConfigurationException e) {
+                throw new CompletionException(e);
+            }
+        }, ForkJoinPool.commonPool());
+        scheduled.put(c, task);
+        tasks.add(task);
+        return this;
+    }
+
+    /**
+     * Waits until all scheduled analyses are finished.
+     * @exception InvalidConfigurationException Some analysis was misconfigured.
+     */
+    public void run() throws InvalidConfigurationException {
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof InvalidConfigurationException ex) {
+                throw ex;
+            } else if (cause instanceof RuntimeException ex) {
+                throw ex;
+            } else if (cause instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Void> after(Class<?>... dependencies) {
+        final CompletableFuture<?>[] futures = new CompletableFuture[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            futures[i] = scheduled.get(dependencies[i]);
+            checkArgument(futures[i] != null, "Dependency %s has not been scheduled.", dependencies[i].getSimpleName());
+        }
+        return CompletableFuture.allOf(futures);
+    }
+}
@@ -4,11 +4,14 @@ import com.dat3m.dartagnan.exception.UnsatisfiedRequirementException;
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.MutableClassToInstanceMap;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 public class Context {
     private final ClassToInstanceMap<Object> metaDataMap;
 
     private Context() {
-        metaDataMap = MutableClassToInstanceMap.create();
+        // Analyses may get registered concurrently (see AnalysisScheduler).
+        metaDataMap = MutableClassToInstanceMap.create(new ConcurrentHashMap<>());
     }
 
     public static Context create() {
@@ -35,7 +38,7 @@ public class Context {
         return metaDataMap.remove(c) == null;
     }
 
-    public <T> boolean register(Class<T> c, T instance) {
+    public synchronized <T> boolean register(Class<T> c, T instance) {
         if (has(c)) {
             return false;
         }
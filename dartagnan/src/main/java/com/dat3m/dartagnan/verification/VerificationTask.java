@@ -4,6 +4,7 @@ import com.dat3m.dartagnan.configuration.Arch;
 import com.dat3m.dartagnan.configuration.ProgressModel;
 import com.dat3m.dartagnan.configuration.Property;
 import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.utils.Metrics;
 import com.dat3m.dartagnan.witness.graphml.WitnessGraph;
 import com.dat3m.dartagnan.wmm.Wmm;
 import org.sosy_lab.common.configuration.Configuration;
@@ -28,9 +29,10 @@ public class VerificationTask {
     private final EnumSet<Property> property;
     private final WitnessGraph witness;
     private final Configuration config;
+    private final Metrics metrics;
 
     protected VerificationTask(Program program, Wmm memoryModel, ProgressModel progressModel,
-                               EnumSet<Property> property, WitnessGraph witness, Configuration config)
+                               EnumSet<Property> property, WitnessGraph witness, Configuration config, Metrics metrics)
     throws InvalidConfigurationException {
         this.program = checkNotNull(program);
         this.memoryModel = checkNotNull(memoryModel);
@@ -38,6 +40,7 @@ public class VerificationTask {
         this.property = checkNotNull(property);
         this.witness = checkNotNull(witness);
         this.config = checkNotNull(config);
+        this.metrics = metrics == null ? new Metrics() : metrics;
     }
 
     public static VerificationTaskBuilder builder() {
@@ -50,6 +53,7 @@ public class VerificationTask {
     public Configuration getConfig() { return this.config; }
     public WitnessGraph getWitness() { return witness; }
     public EnumSet<Property> getProperty() { return property; }
+    public Metrics getMetrics() { return metrics; }
 
 
     // ==================== Builder =====================
@@ -58,6 +62,7 @@ public class VerificationTask {
         protected WitnessGraph witness = new WitnessGraph();
         protected ConfigurationBuilder config = Configuration.builder();
         protected ProgressModel progressModel = ProgressModel.getDefault();
+        protected Metrics metrics;
 
         protected VerificationTaskBuilder() { }
 
@@ -88,13 +93,22 @@ public class VerificationTask {
             return this;
         }
 
+        // Tasks derived from another task can share its metrics. By default, each task gets its own.
+        public VerificationTaskBuilder withMetrics(Metrics metrics) {
+            this.metrics = checkNotNull(metrics, "Metrics may not be null.");
+            return this;
+        }
+
         public VerificationTaskBuilder withConfig(Configuration config) {
             this.config.copyFrom(config);
             return this;
         }
 
         public VerificationTask build(Program program, Wmm memoryModel, EnumSet<Property> property) throws InvalidConfigurationException {
-            return new VerificationTask(program, memoryModel, progressModel, property, witness, config.build());
+            final Configuration taskConfig = config.build();
+            // Building invalidates the configuration builder, so we keep a fresh copy for building further tasks.
+            config = Configuration.builder().copyFrom(taskConfig);
+            return new VerificationTask(program, memoryModel, progressModel, property, witness, taskConfig, metrics);
         }
     }
 }
\ No newline at end of file
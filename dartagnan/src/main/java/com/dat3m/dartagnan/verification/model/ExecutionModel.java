@@ -28,6 +28,7 @@ import org.sosy_lab.java_smt.api.Model;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.dat3m.dartagnan.wmm.RelationNameRepository.CO;
@@ -35,7 +36,8 @@ import static com.dat3m.dartagnan.wmm.RelationNameRepository.RF;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /*
-The ExecutionModel wraps a Model and extracts data from it in a more workable manner.
+The ExecutionModel wraps a Model (or any other source of formula values) and extracts data from it
+in a more workable manner.
  */
 
 //TODO: Add the capability to remove unnecessary init events from a model
@@ -45,9 +47,13 @@ public class ExecutionModel {
     private static final Logger logger = LogManager.getLogger(ExecutionModel.class);
 
     private final EncodingContext encodingContext;
+    // The encoding is fixed, so the formulas of taken jumps are built once rather than in every extraction.
+    private final Map<CondJump, BooleanFormula> jumpTakenFormulas = new HashMap<>();
 
     // ============= Model specific  =============
     private Model model;
+    // Answers the formula evaluations, null for formulas without a value.
+    private Function<Formula, Object> evaluator;
     private Filter eventFilter;
     private boolean extractCoherences;
 
@@ -152,6 +158,7 @@ public class ExecutionModel {
     }
 
     // Model specific data
+    // Null if the execution was initialized from an evaluator rather than a model.
     public Model getModel() {
         return model;
     }
@@ -223,11 +230,24 @@ public class ExecutionModel {
     }
 
     public void initialize(Model model, Filter eventFilter, boolean extractCoherences) {
+        initialize(model, new ModelValues(model), eventFilter, extractCoherences);
+    }
+
+    // Extracts the execution from the values answered by 'evaluator' instead of a model,
+    // e.g. from a partial assignment of the solver.
+    // Memory objects whose address has no value are left out of the memory layout.
+    public void initialize(Function<Formula, Object> evaluator, boolean extractCoherences) {
+        initialize(null, evaluator, Filter.byTag(Tag.VISIBLE), extractCoherences);
+    }
+
+    private void initialize(Model model, Function<Formula, Object> evaluator, Filter eventFilter,
+            boolean extractCoherences) {
         // We populate here, instead of on construction,
         // to reuse allocated data structures (since these data structures already adapted
         // their capacity in previous iterations, and thus we should have less overhead in future populations)
         // However, for all intents and purposes, this serves as a constructor.
         this.model = model;
+        this.evaluator = evaluator;
         this.eventFilter = eventFilter;
         this.extractCoherences = extractCoherences;
         extractEventsFromModel();
@@ -289,7 +309,7 @@ public class ExecutionModel {
                 }
                 // =========================
 
-                if (e instanceof CondJump jump && isTrue(encodingContext.jumpTaken(jump))) {
+                if (e instanceof CondJump jump && isTrue(jumpTaken(jump))) {
                     e = jump.getLabel();
                 } else {
                     e = e.getSuccessor();
@@ -332,7 +352,7 @@ public class ExecutionModel {
         data.setWasExecuted(true);
         if (data.isMemoryEvent()) {
             // ===== Memory Events =====
-            Object addressObject = checkNotNull(model.evaluate(encodingContext.address((MemoryEvent) e)));
+            Object addressObject = checkNotNull(evaluate(encodingContext.address((MemoryEvent) e)));
             BigInteger address = new BigInteger(addressObject.toString());
             data.setAccessedAddress(address);
             if (!addressReadsMap.containsKey(address)) {
@@ -342,7 +362,7 @@ public class ExecutionModel {
 
             if (data.isRead() || data.isWrite()) {
                 Formula valueFormula = encodingContext.value((MemoryCoreEvent)e);
-                data.setValue(EncodingHelper.evaluate(valueFormula, model));
+                data.setValue(EncodingHelper.evaluate(valueFormula, evaluator));
             }
 
             if (data.isRead()) {
@@ -367,7 +387,7 @@ public class ExecutionModel {
         } else if (data.isJump()) {
             // ===== Jumps =====
             // We override the meaning of execution here. A jump is executed IFF its condition was true.
-            data.setWasExecuted(isTrue(encodingContext.jumpTaken((CondJump) e)));
+            data.setWasExecuted(isTrue(jumpTaken((CondJump) e)));
         } else {
             //TODO: Maybe add some other events (e.g. assertions)
             // But for now all non-visible events are simply registered without
@@ -487,10 +507,10 @@ public class ExecutionModel {
         memoryLayoutMap.clear();
         for (MemoryObject obj : getProgram().getMemory().getObjects()) {
             final boolean isAllocated = obj.isStaticallyAllocated() || isTrue(encodingContext.execution(obj.getAllocationSite()));
-            if (isAllocated) {
-                final ValueModel address = new ValueModel(model.evaluate(encodingContext.address(obj)));
-                final BigInteger size = (BigInteger) model.evaluate(encodingContext.size(obj));
-                memoryLayoutMap.put(obj, new MemoryObjectModel(obj, address, size));
+            final Object address = isAllocated ? evaluate(encodingContext.address(obj)) : null;
+            if (address != null) {
+                final BigInteger size = (BigInteger) evaluate(encodingContext.size(obj));
+                memoryLayoutMap.put(obj, new MemoryObjectModel(obj, new ValueModel(address), size));
             }
         }
     }
@@ -540,7 +560,7 @@ public class ExecutionModel {
                 // --- Extracting co from IDL-based encoding using clock variables ---
                 Map<EventData, BigInteger> writeClockMap = new HashMap<>(writes.size() * 4 / 3, 0.75f);
                 for (EventData w : writes) {
-                    writeClockMap.put(w, model.evaluate(encodingContext.memoryOrderClock(w.getEvent())));
+                    writeClockMap.put(w, (BigInteger) evaluate(encodingContext.memoryOrderClock(w.getEvent())));
                 }
                 coSortedWrites = writes.stream().sorted(Comparator.comparing(writeClockMap::get)).collect(Collectors.toList());
             }
@@ -555,7 +575,15 @@ public class ExecutionModel {
 
     }
 
-    private boolean isTrue(BooleanFormula formula) {
-        return Boolean.TRUE.equals(model.evaluate(formula));
+    public Object evaluate(Formula formula) {
+        return evaluator.apply(formula);
+    }
+
+    private BooleanFormula jumpTaken(CondJump jump) {
+        return jumpTakenFormulas.computeIfAbsent(jump, encodingContext::jumpTaken);
+    }
+
+    public boolean isTrue(BooleanFormula formula) {
+        return Boolean.TRUE.equals(evaluator.apply(formula));
     }
 }
\ No newline at end of file
@@ -43,7 +43,7 @@ public class ExecutionModelManager {
 
     private ExecutionModelNext executionModel;
     private EncodingContext context;
-    private Model model;
+    private ModelValues modelValues;
     private Wmm wmm;
     private EventDomainNext domain;
 
@@ -59,7 +59,7 @@ public class ExecutionModelManager {
         executionModel = new ExecutionModelNext();
 
         this.context = context;
-        this.model = model;
+        this.modelValues = new ModelValues(model);
         this.wmm = context.getTask().getMemoryModel();
         this.domain = new EventDomainNext(executionModel);
 
@@ -72,7 +72,7 @@ public class ExecutionModelManager {
         extractRelations();
 
         this.context = null;
-        this.model = null;
+        this.modelValues = null;
         this.wmm = null;
         this.domain = null;
 
@@ -266,11 +266,11 @@ public class ExecutionModelManager {
     }
 
     private boolean isTrue(BooleanFormula formula) {
-        return Boolean.TRUE.equals(model.evaluate(formula));
+        return Boolean.TRUE.equals(modelValues.apply(formula));
     }
 
     private Object evaluateByModel(Formula formula) {
-        return EncodingHelper.evaluate(formula, model);
+        return EncodingHelper.evaluate(formula, modelValues);
     }
 
 
@@ -0,0 +1,34 @@
+package com.dat3m.dartagnan.verification.model;
+
+import org.sosy_lab.java_smt.api.Formula;
+import org.sosy_lab.java_smt.api.Model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// Answers formula evaluations from a table of the values of one model.
+// Extraction queries the same formulas many times (e.g. the execution variables of events),
+// but each formula is evaluated by the solver only once.
+// The table is filled on demand: Pulling the whole assignment upfront (Model.asList) is more expensive,
+// since models contain far more variables (e.g. of relation edges) than the extraction ever queries.
+public class ModelValues implements Function<Formula, Object> {
+
+    private final Model model;
+    private final Map<Formula, Object> values = new HashMap<>();
+
+    public ModelValues(Model model) {
+        this.model = model;
+    }
+
+    @Override
+    public Object apply(Formula formula) {
+        // Formulas without a value are remembered as null.
+        if (values.containsKey(formula)) {
+            return values.get(formula);
+        }
+        final Object value = model.evaluate(formula);
+        values.put(formula, value);
+        return value;
+    }
+}
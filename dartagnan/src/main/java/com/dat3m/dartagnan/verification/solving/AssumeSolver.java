@@ -2,10 +2,14 @@ package com.dat3m.dartagnan.verification.solving;
 
 import com.dat3m.dartagnan.configuration.Property;
 import com.dat3m.dartagnan.encoding.*;
+import com.dat3m.dartagnan.encoding.PropertyEncoder.TrackableFormula;
+import com.dat3m.dartagnan.program.event.core.Assert;
+import com.dat3m.dartagnan.utils.Metrics;
 import com.dat3m.dartagnan.utils.Result;
 import com.dat3m.dartagnan.verification.Context;
 import com.dat3m.dartagnan.verification.VerificationTask;
 import com.dat3m.dartagnan.wmm.Wmm;
+import com.google.common.collect.Collections2;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.sosy_lab.common.configuration.Configuration;
@@ -15,6 +19,8 @@ import org.sosy_lab.java_smt.api.BooleanFormulaManager;
 import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverException;
 
+import java.util.Map;
+
 import static com.dat3m.dartagnan.utils.Result.FAIL;
 import static com.dat3m.dartagnan.utils.Result.PASS;
 import static java.util.Collections.singletonList;
@@ -58,16 +64,17 @@ public class AssumeSolver extends ModelChecker {
         SymmetryEncoder symmetryEncoder = SymmetryEncoder.withContext(context);
 
         logger.info("Starting encoding using " + ctx.getVersion());
+        final Metrics metrics = task.getMetrics();
         prover.writeComment("Program encoding");
-        prover.addConstraint(programEncoder.encodeFullProgram());
+        metrics.measure(Metrics.Phase.ENCODING, "Program", () -> prover.addConstraint(programEncoder.encodeFullProgram()));
         prover.writeComment("Memory model encoding");
-        prover.addConstraint(wmmEncoder.encodeFullMemoryModel());
+        metrics.measure(Metrics.Phase.ENCODING, "MemoryModel", () -> prover.addConstraint(wmmEncoder.encodeFullMemoryModel()));
         // For validation this contains information.
         // For verification graph.encode() just returns ctx.mkTrue()
         prover.writeComment("Witness encoding");
         prover.addConstraint(task.getWitness().encode(context));
         prover.writeComment("Symmetry breaking encoding");
-        prover.addConstraint(symmetryEncoder.encodeFullSymmetryBreaking());
+        metrics.measure(Metrics.Phase.ENCODING, "SymmetryBreaking", () -> prover.addConstraint(symmetryEncoder.encodeFullSymmetryBreaking()));
 
         BooleanFormulaManager bmgr = ctx.getFormulaManager().getBooleanFormulaManager();
         BooleanFormula assumptionLiteral = bmgr.makeVariable("DAT3M_spec_assumption");
@@ -76,15 +83,31 @@ public class AssumeSolver extends ModelChecker {
         prover.writeComment("Property encoding");
         prover.addConstraint(assumedSpec);
 
-        logger.info("Starting first solver.check()");
-        if (prover.isUnsatWithAssumptions(singletonList(assumptionLiteral))) {
+        if (propertyEncoder.checksAssertionsIndividually()) {
+            prover.writeComment("Assertion encoding");
+            Map<Assert, TrackableFormula> violations = propertyEncoder.encodeAssertionViolations();
+            prover.addConstraint(bmgr.and(Collections2.transform(violations.values(),
+                    v -> bmgr.implication(v.getTrackingLiteral(), v.getTrackedFormula()))));
+            BooleanFormula boundLiteral = bmgr.makeVariable("DAT3M_bound_assumption");
             prover.writeComment("Bound encoding");
-            prover.addConstraint(propertyEncoder.encodeBoundEventExec());
-            logger.info("Starting second solver.check()");
-            res = prover.isUnsat() ? PASS : Result.UNKNOWN;
+            prover.addConstraint(bmgr.implication(boundLiteral, propertyEncoder.encodeBoundEventExec()));
+            logger.info("Checking {} assertions individually", violations.size());
+            checkAssertions(prover, violations, singletonList(assumptionLiteral), boundLiteral, prover::isUnsatWithAssumptions);
+            if (res == FAIL) {
+                // The prover was left with the model of the first found violation.
+                saveFlaggedPairsOutput(memoryModel, wmmEncoder, prover, context, task.getProgram());
+            }
         } else {
-            res = FAIL;
-            saveFlaggedPairsOutput(memoryModel, wmmEncoder, prover, context, task.getProgram());
+            logger.info("Starting first solver.check()");
+            if (prover.isUnsatWithAssumptions(singletonList(assumptionLiteral))) {
+                prover.writeComment("Bound encoding");
+                prover.addConstraint(propertyEncoder.encodeBoundEventExec());
+                logger.info("Starting second solver.check()");
+                res = prover.isUnsat() ? PASS : Result.UNKNOWN;
+            } else {
+                res = FAIL;
+                saveFlaggedPairsOutput(memoryModel, wmmEncoder, prover, context, task.getProgram());
+            }
         }
 
         if (logger.isDebugEnabled()) {
@@ -2,6 +2,7 @@ package com.dat3m.dartagnan.verification.solving;
 
 import com.dat3m.dartagnan.configuration.Property;
 import com.dat3m.dartagnan.encoding.*;
+import com.dat3m.dartagnan.utils.Metrics;
 import com.dat3m.dartagnan.verification.Context;
 import com.dat3m.dartagnan.verification.VerificationTask;
 import com.dat3m.dartagnan.wmm.Wmm;
@@ -59,12 +60,13 @@ public class DataRaceSolver extends ModelChecker {
         SymmetryEncoder symmetryEncoder = SymmetryEncoder.withContext(context);
 
         logger.info("Starting encoding using " + ctx.getVersion());
+        final Metrics metrics = task.getMetrics();
         prover.writeComment("Program encoding");
-        prover.addConstraint(programEncoder.encodeFullProgram());
+        metrics.measure(Metrics.Phase.ENCODING, "Program", () -> prover.addConstraint(programEncoder.encodeFullProgram()));
         prover.writeComment("Memory model encoding");
-        prover.addConstraint(wmmEncoder.encodeFullMemoryModel());
+        metrics.measure(Metrics.Phase.ENCODING, "MemoryModel", () -> prover.addConstraint(wmmEncoder.encodeFullMemoryModel()));
         prover.writeComment("Symmetry breaking encoding");
-        prover.addConstraint(symmetryEncoder.encodeFullSymmetryBreaking());
+        metrics.measure(Metrics.Phase.ENCODING, "SymmetryBreaking", () -> prover.addConstraint(symmetryEncoder.encodeFullSymmetryBreaking()));
         prover.push();
         prover.writeComment("Property encoding");
         prover.addConstraint(propertyEncoder.encodeProperties(EnumSet.of(Property.DATARACEFREEDOM)));
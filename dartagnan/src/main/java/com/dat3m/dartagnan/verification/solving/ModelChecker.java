@@ -2,15 +2,18 @@ package com.dat3m.dartagnan.verification.solving;
 
 import com.dat3m.dartagnan.configuration.Property;
 import com.dat3m.dartagnan.encoding.EncodingContext;
+import com.dat3m.dartagnan.encoding.PropertyEncoder.TrackableFormula;
 import com.dat3m.dartagnan.encoding.WmmEncoder;
 import com.dat3m.dartagnan.exception.UnsatisfiedRequirementException;
 import com.dat3m.dartagnan.program.Program;
-import com.dat3m.dartagnan.program.Thread;
 import com.dat3m.dartagnan.program.analysis.*;
 import com.dat3m.dartagnan.program.analysis.alias.AliasAnalysis;
 import com.dat3m.dartagnan.program.event.Event;
+import com.dat3m.dartagnan.program.event.core.Assert;
 import com.dat3m.dartagnan.program.processing.ProcessingManager;
+import com.dat3m.dartagnan.utils.Metrics;
 import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.verification.AnalysisScheduler;
 import com.dat3m.dartagnan.verification.Context;
 import com.dat3m.dartagnan.verification.VerificationTask;
 import com.dat3m.dartagnan.wmm.Wmm;
@@ -20,22 +23,25 @@ import com.dat3m.dartagnan.wmm.axiom.Axiom;
 import com.dat3m.dartagnan.wmm.processing.WmmProcessingManager;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.Model;
 import org.sosy_lab.java_smt.api.ProverEnvironment;
 import org.sosy_lab.java_smt.api.SolverException;
 
-import java.util.Optional;
+import java.util.*;
 
 import static com.dat3m.dartagnan.configuration.Property.CAT_SPEC;
 import static com.dat3m.dartagnan.program.analysis.SyntacticContextAnalysis.*;
 import static com.dat3m.dartagnan.utils.Result.*;
 import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
 
 public abstract class ModelChecker {
 
     protected Result res = Result.UNKNOWN;
     protected EncodingContext context;
     private String flaggedPairsOutput = "";
+    private final Map<Assert, Result> assertionResults = new LinkedHashMap<>();
 
     public final Result getResult() {
         return res;
@@ -46,6 +52,10 @@ public abstract class ModelChecker {
     public final String getFlaggedPairsOutput() {
         return flaggedPairsOutput;
     }
+    // Empty, unless the assertions were checked individually.
+    public final Map<Assert, Result> getAssertionResults() {
+        return Collections.unmodifiableMap(assertionResults);
+    }
 
     public boolean hasModel() {
         final Property.Type propType = Property.getCombinedType(context.getTask().getProperty(), context.getTask());
@@ -63,11 +73,12 @@ public abstract class ModelChecker {
      */
     public static void preprocessProgram(VerificationTask task, Configuration config) throws InvalidConfigurationException {
         Program program = task.getProgram();
-        ProcessingManager.fromConfig(config).run(program);
+        ProcessingManager.fromConfig(config).run(program, task.getMetrics());
     }
     public static void preprocessMemoryModel(VerificationTask task, Configuration config) throws InvalidConfigurationException{
         final Wmm memoryModel = task.getMemoryModel();
-        WmmProcessingManager.fromConfig(config).run(memoryModel);
+        task.getMetrics().measure(Metrics.Phase.PROCESSING, "WmmProcessingManager",
+                () -> WmmProcessingManager.fromConfig(config).run(memoryModel));
     }
 
     /**
@@ -81,18 +92,24 @@ public abstract class ModelChecker {
      */
     public static void performStaticProgramAnalyses(VerificationTask task, Context analysisContext, Configuration config) throws InvalidConfigurationException {
         Program program = task.getProgram();
-        analysisContext.register(BranchEquivalence.class, BranchEquivalence.fromConfig(program, config));
-        analysisContext.register(ExecutionAnalysis.class, ExecutionAnalysis.fromConfig(program, task.getProgressModel(), analysisContext, config));
-        analysisContext.register(ReachingDefinitionsAnalysis.class, ReachingDefinitionsAnalysis.fromConfig(program, analysisContext, config));
-        analysisContext.register(AliasAnalysis.class, AliasAnalysis.fromConfig(program, analysisContext, config));
-        analysisContext.register(ThreadSymmetry.class, ThreadSymmetry.fromConfig(program, config));
-        for(Thread thread : program.getThreads()) {
-            for(Event e : thread.getEvents()) {
-                // Some events perform static analyses by themselves (e.g. Svcomp's EndAtomic)
-                // which may rely on previous "global" analyses
-                e.runLocalAnalysis(program, analysisContext);
-            }
-        }
+        AnalysisScheduler.forContext(analysisContext, task.getMetrics())
+                .schedule(BranchEquivalence.class, () -> BranchEquivalence.fromConfig(program, config))
+                .schedule(ExecutionAnalysis.class, () -> ExecutionAnalysis.fromConfig(program, task.getProgressModel(), analysisContext, config),
+                        BranchEquivalence.class)
+                .schedule(ReachingDefinitionsAnalysis.class, () -> ReachingDefinitionsAnalysis.fromConfig(program, analysisContext, config),
+                        ExecutionAnalysis.class)
+                .schedule(AliasAnalysis.class, () -> AliasAnalysis.fromConfig(program, analysisContext, config),
+                        ReachingDefinitionsAnalysis.class)
+                .schedule(ThreadSymmetry.class, () -> ThreadSymmetry.fromConfig(program, config))
+                .run();
+        // Some events perform static analyses by themselves (e.g. Svcomp's EndAtomic)
+        // which may rely on previous "global" analyses. They only affect events of their own thread.
+        task.getMetrics().measure(Metrics.Phase.ANALYSIS, "LocalAnalyses", () ->
+                program.getThreads().parallelStream().forEach(thread -> {
+                    for(Event e : thread.getEvents()) {
+                        e.runLocalAnalysis(program, analysisContext);
+                    }
+                }));
     }
 
     /**
@@ -105,8 +122,11 @@ public abstract class ModelChecker {
      * @exception UnsatisfiedRequirementException Some static analysis is missing.
      */
     public static void performStaticWmmAnalyses(VerificationTask task, Context analysisContext, Configuration config) throws InvalidConfigurationException {
-        analysisContext.register(WmmAnalysis.class, WmmAnalysis.fromConfig(task.getMemoryModel(), task.getProgram().getArch(), config));
-        analysisContext.register(RelationAnalysis.class, RelationAnalysis.fromConfig(task, analysisContext, config));
+        final Metrics metrics = task.getMetrics();
+        metrics.measure(Metrics.Phase.ANALYSIS, "WmmAnalysis", () -> analysisContext.register(WmmAnalysis.class,
+                WmmAnalysis.fromConfig(task.getMemoryModel(), task.getProgram().getArch(), config)));
+        metrics.measure(Metrics.Phase.ANALYSIS, "RelationAnalysis", () -> analysisContext.register(RelationAnalysis.class,
+                RelationAnalysis.fromConfig(task, analysisContext, config)));
     }
 
     protected void saveFlaggedPairsOutput(Wmm wmm, WmmEncoder encoder, ProverEnvironment prover, EncodingContext ctx, Program program) throws SolverException {
@@ -141,4 +161,55 @@ public abstract class ModelChecker {
         }
     }
 
+    @FunctionalInterface
+    protected interface SatCheck {
+        boolean isUnsat(List<BooleanFormula> assumptions) throws SolverException, InterruptedException;
+    }
+
+    /*
+        Checks each assertion on its own by assuming its tracking literal together with "assumptions".
+        All queries go to the same prover, so whatever it learned (or got refined with) is shared between them.
+        Assertions that are violated by some found model are not queried again.
+        The bounds are checked (assuming "boundLiteral") unless every assertion has a violation.
+        Afterwards, the prover holds a model of a violation if there is one, otherwise of the reached bounds.
+     */
+    protected void checkAssertions(ProverEnvironment prover, Map<Assert, TrackableFormula> violations,
+            List<BooleanFormula> assumptions, BooleanFormula boundLiteral, SatCheck check)
+            throws SolverException, InterruptedException {
+        List<BooleanFormula> violationQuery = null;
+        boolean holdsViolation = false;
+        for (Map.Entry<Assert, TrackableFormula> entry : violations.entrySet()) {
+            if (assertionResults.containsKey(entry.getKey())) {
+                continue;
+            }
+            final List<BooleanFormula> query = new ArrayList<>(assumptions);
+            query.add(entry.getValue().getTrackingLiteral());
+            holdsViolation = !check.isUnsat(query);
+            if (!holdsViolation) {
+                assertionResults.put(entry.getKey(), PASS);
+                continue;
+            }
+            violationQuery = violationQuery == null ? query : violationQuery;
+            assertionResults.put(entry.getKey(), FAIL);
+            final Model model = prover.getModel();
+            for (Map.Entry<Assert, TrackableFormula> other : violations.entrySet()) {
+                if (!assertionResults.containsKey(other.getKey())
+                        && TRUE.equals(model.evaluate(other.getValue().getTrackedFormula()))) {
+                    assertionResults.put(other.getKey(), FAIL);
+                }
+            }
+        }
+        boolean reachedBounds = false;
+        if (violationQuery == null || assertionResults.containsValue(PASS)) {
+            reachedBounds = !check.isUnsat(List.of(boundLiteral));
+            holdsViolation = false;
+            if (reachedBounds) {
+                assertionResults.replaceAll((assertion, result) -> result == PASS ? UNKNOWN : result);
+            }
+        }
+        if (violationQuery != null && !holdsViolation) {
+            check.isUnsat(violationQuery);
+        }
+        res = violationQuery != null ? FAIL : reachedBounds ? UNKNOWN : PASS;
+    }
 }
@@ -0,0 +1,233 @@
+package com.dat3m.dartagnan.verification.solving;
+
+import com.dat3m.dartagnan.configuration.Method;
+import com.dat3m.dartagnan.encoding.ProverWithTracker;
+import com.dat3m.dartagnan.encoding.SolverContexts;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sosy_lab.common.ShutdownManager;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.PORTFOLIO_STRATEGIES;
+
+/*
+    Runs several (solver, method) strategies in parallel, each on its own copy of the verification task
+    and with its own solver context.
+    The first strategy to produce a conclusive result (PASS or FAIL) wins and all other strategies get cancelled.
+    If no strategy is conclusive, the first strategy that finished without error is reported.
+ */
+@Options
+public class PortfolioSolver implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(PortfolioSolver.class);
+
+    @FunctionalInterface
+    public interface TaskFactory {
+        // Each call has to produce an independent task (fresh program and memory model),
+        // because the solvers modify the task during preprocessing.
+        VerificationTask create() throws Exception;
+    }
+
+    public record Strategy(Solvers solver, Method method) {
+        @Override
+        public String toString() {
+            return solver.toString().toLowerCase() + ":" + method.asStringOption();
+        }
+    }
+
+    // =========================== Configurables ===========================
+
+    @Option(name = PORTFOLIO_STRATEGIES,
+            description = "Comma-separated list of solver:method pairs to run in parallel (e.g. z3:lazy,yices2:eager).",
+            secure = true)
+    private String strategiesString = "z3:lazy,z3:eager";
+
+    // ======================================================================
+
+    private final List<Strategy> strategies;
+    private final List<Run> runs = new ArrayList<>();
+    private Run winner;
+
+    private PortfolioSolver(Configuration config) throws InvalidConfigurationException {
+        config.inject(this);
+        strategies = parseStrategies(strategiesString);
+    }
+
+    public Strategy getStrategy() { return winner.strategy; }
+    public VerificationTask getTask() { return winner.task; }
+    public ProverWithTracker getProver() { return winner.prover; }
+    public ModelChecker getModelChecker() { return winner.modelChecker; }
+    public Result getResult() { return winner.modelChecker.getResult(); }
+
+    /**
+     * Runs all configured strategies in parallel and waits for the winning one.
+     * The winner's solver context stays open until this portfolio gets closed.
+     * @param task Task used by the first strategy.
+     * @param taskFactory Produces the tasks for all other strategies.
+     * @param solverConfig Configuration used to create the solver contexts.
+     * @param notifier Shutdown requests to this notifier cancel all strategies.
+     */
+    public static PortfolioSolver run(VerificationTask task, TaskFactory taskFactory, Configuration solverConfig,
+                                      ShutdownNotifier notifier) throws Exception {
+        final PortfolioSolver portfolio = new PortfolioSolver(task.getConfig());
+        portfolio.runInternal(task, taskFactory, solverConfig, notifier);
+        return portfolio;
+    }
+
+    private void runInternal(VerificationTask task, TaskFactory taskFactory, Configuration solverConfig,
+                             ShutdownNotifier notifier) throws Exception {
+        // Parsing is not thread-safe, so we create all tasks upfront.
+        for (Strategy strategy : strategies) {
+            final VerificationTask runTask = runs.isEmpty() ? task : taskFactory.create();
+            runs.add(new Run(strategy, runTask, ShutdownManager.createWithParent(notifier)));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(runs.size(), r -> {
+            final Thread thread = new Thread(r, "portfolio");
+            // Cancelled strategies might take a while to notice the shutdown request.
+            // They should not keep the JVM alive.
+            thread.setDaemon(true);
+            return thread;
+        });
+        final CompletionService<Run> completionService = new ExecutorCompletionService<>(executor);
+        for (Run run : runs) {
+            completionService.submit(() -> run.execute(solverConfig));
+        }
+        executor.shutdown();
+
+        Run fallback = null;
+        Exception error = null;
+        try {
+            for (int i = 0; i < runs.size() && winner == null; i++) {
+                final Run run = completionService.take().get();
+                if (run.error != null) {
+                    logger.warn("Strategy {} failed: {}", run.strategy, run.error.getMessage());
+                    // Timeouts take precedence over other errors.
+                    error = (error == null || run.error instanceof InterruptedException) ? run.error : error;
+                } else if (run.modelChecker.getResult() != Result.UNKNOWN) {
+                    winner = run;
+                } else if (fallback == null) {
+                    fallback = run;
+                }
+            }
+            if (winner == null) {
+                winner = fallback;
+            }
+        } finally {
+            runs.stream().filter(run -> run != winner).forEach(Run::cancel);
+        }
+
+        if (winner == null) {
+            throw error;
+        }
+        logger.info("Portfolio finished with strategy {}", winner.strategy);
+    }
+
+    @Override
+    public void close() {
+        if (winner != null) {
+            winner.close();
+        }
+    }
+
+    private static List<Strategy> parseStrategies(String strategiesString) throws InvalidConfigurationException {
+        final List<Strategy> strategies = new ArrayList<>();
+        for (String entry : strategiesString.split(",")) {
+            final String[] pair = entry.trim().split(":");
+            if (pair.length != 2) {
+                throw new InvalidConfigurationException("Invalid portfolio strategy '" + entry + "'. Expected solver:method.");
+            }
+            final Strategy strategy;
+            try {
+                strategy = new Strategy(Solvers.valueOf(pair[0].trim().toUpperCase()),
+                        Method.valueOf(pair[1].trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidConfigurationException("Invalid portfolio strategy '" + entry + "'.", e);
+            }
+            if (strategy.method() == Method.PORTFOLIO) {
+                throw new InvalidConfigurationException("Portfolio strategies cannot be nested.");
+            }
+            strategies.add(strategy);
+        }
+        return strategies;
+    }
+
+    // ======================================================================
+
+    private static class Run {
+
+        private final Strategy strategy;
+        private final VerificationTask task;
+        private final ShutdownManager shutdownManager;
+
+        private SolverContext context;
+        private ProverWithTracker prover;
+        private ModelChecker modelChecker;
+        private Exception error;
+
+        private boolean isDone;
+        private boolean isCancelled;
+
+        private Run(Strategy strategy, VerificationTask task, ShutdownManager shutdownManager) {
+            this.strategy = strategy;
+            this.task = task;
+            this.shutdownManager = shutdownManager;
+        }
+
+        private Run execute(Configuration solverConfig) {
+            try {
+                context = SolverContexts.create(solverConfig, shutdownManager.getNotifier(), strategy.solver());
+                prover = new ProverWithTracker(context, "", ProverOptions.GENERATE_MODELS);
+                modelChecker = switch (strategy.method()) {
+                    case EAGER -> AssumeSolver.run(context, prover, task);
+                    case LAZY -> RefinementSolver.run(context, prover, task);
+                    case ONLINE -> RefinementSolver.runOnline(context, prover, task);
+                    case PORTFOLIO -> throw new IllegalStateException("Portfolio strategies cannot be nested.");
+                };
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                synchronized (this) {
+                    isDone = true;
+                    if (isCancelled || error != null) {
+                        close();
+                    }
+                }
+            }
+            return this;
+        }
+
+        // Cancelled runs release their resources as soon as they are done.
+        private synchronized void cancel() {
+            isCancelled = true;
+            shutdownManager.requestShutdown("Portfolio strategy cancelled");
+            if (isDone) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (prover != null) {
+                prover.close();
+                prover = null;
+            }
+            if (context != null) {
+                context.close();
+                context = null;
+            }
+        }
+    }
+}
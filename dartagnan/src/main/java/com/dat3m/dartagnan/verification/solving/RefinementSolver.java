@@ -3,6 +3,7 @@ package com.dat3m.dartagnan.verification.solving;
 import com.dat3m.dartagnan.configuration.Baseline;
 import com.dat3m.dartagnan.configuration.Property;
 import com.dat3m.dartagnan.encoding.*;
+import com.dat3m.dartagnan.encoding.PropertyEncoder.TrackableFormula;
 import com.dat3m.dartagnan.program.Program;
 import com.dat3m.dartagnan.program.Thread;
 import com.dat3m.dartagnan.program.analysis.BranchEquivalence;
@@ -12,16 +13,20 @@ import com.dat3m.dartagnan.program.analysis.alias.AliasAnalysis;
 import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.program.event.MemoryEvent;
 import com.dat3m.dartagnan.program.event.Tag;
+import com.dat3m.dartagnan.program.event.core.Assert;
 import com.dat3m.dartagnan.program.event.core.MemoryCoreEvent;
 import com.dat3m.dartagnan.program.event.metadata.OriginalId;
 import com.dat3m.dartagnan.program.event.metadata.SourceLocation;
 import com.dat3m.dartagnan.program.filter.Filter;
 import com.dat3m.dartagnan.solver.caat.CAATSolver;
+import com.dat3m.dartagnan.solver.caat4wmm.CAATPropagator;
+import com.dat3m.dartagnan.solver.caat4wmm.ClauseStore;
 import com.dat3m.dartagnan.solver.caat4wmm.RefinementModel;
 import com.dat3m.dartagnan.solver.caat4wmm.Refiner;
 import com.dat3m.dartagnan.solver.caat4wmm.WMMSolver;
 import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.CoreLiteral;
 import com.dat3m.dartagnan.solver.caat4wmm.coreReasoning.RelLiteral;
+import com.dat3m.dartagnan.utils.Metrics;
 import com.dat3m.dartagnan.utils.equivalence.EquivalenceClass;
 import com.dat3m.dartagnan.utils.logic.Conjunction;
 import com.dat3m.dartagnan.utils.logic.DNF;
@@ -42,6 +47,7 @@ import com.dat3m.dartagnan.wmm.axiom.Axiom;
 import com.dat3m.dartagnan.wmm.axiom.Emptiness;
 import com.dat3m.dartagnan.wmm.definition.*;
 import com.dat3m.dartagnan.wmm.utils.Cut;
+import com.google.common.collect.Collections2;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
@@ -52,7 +58,9 @@ import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.java_smt.api.*;
 
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.*;
 import java.util.function.BiPredicate;
@@ -66,6 +74,7 @@ import static com.dat3m.dartagnan.utils.Result.*;
 import static com.dat3m.dartagnan.utils.Utils.toTimeString;
 import static com.dat3m.dartagnan.witness.graphviz.ExecutionGraphVisualizer.generateGraphvizFile;
 import static com.dat3m.dartagnan.wmm.RelationNameRepository.*;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 ;
 
@@ -90,6 +99,10 @@ public class RefinementSolver extends ModelChecker {
     private static final String POLOC = "po-loc";
 
     private EncodingContext contextWithFullWmm;
+    // Over all refinement runs, e.g. when checking assertions individually.
+    private int numIterations = 0;
+    // Whether CAAT also runs inside the search of the solver (see CAATPropagator).
+    private boolean online;
 
     // ================================================================================================================
     // Configuration
@@ -111,6 +124,12 @@ public class RefinementSolver extends ModelChecker {
                     " It is very expensive and should only be used for debugging purposes.")
     private boolean generateGraphvizDebugFiles = false;
 
+    @Option(name=CLAUSE_STORE,
+            description="Directory where refinement clauses get stored, so that later runs on the same program" +
+                    " and memory model can reuse them instead of discovering them again.",
+            secure=true)
+    private String clauseStorePath = "";
+
     // ================================================================================================================
     // Data classes
 
@@ -120,6 +139,7 @@ public class RefinementSolver extends ModelChecker {
 
     private record RefinementIteration(
             SMTStatus smtStatus,
+            // Times in nanoseconds
             long nativeSmtTime,
             long caatTime,
             long refineTime,
@@ -129,6 +149,7 @@ public class RefinementSolver extends ModelChecker {
             // The following are only for statistics keeping
             WMMSolver.Statistics caatStats,
             DNF<CoreLiteral> inconsistencyReasons,
+            DNF<CoreLiteral> unreducedReasons,
             List<Event> observedEvents
     ) {
         public boolean isInconclusive() { return smtStatus == SMTStatus.SAT && caatStatus == INCONSISTENT; }
@@ -183,7 +204,20 @@ public class RefinementSolver extends ModelChecker {
     //TODO (2): Add possibility for Refinement to handle CAT-properties (it ignores them for now).
     public static RefinementSolver run(SolverContext ctx, ProverWithTracker prover, VerificationTask task)
             throws InterruptedException, SolverException, InvalidConfigurationException {
+        return run(ctx, prover, task, false);
+    }
+
+    // Like run, but inconsistencies get already refuted during solving if the solver supports user propagators.
+    // The refinement loop remains in place for models that reach it nonetheless.
+    public static RefinementSolver runOnline(SolverContext ctx, ProverWithTracker prover, VerificationTask task)
+            throws InterruptedException, SolverException, InvalidConfigurationException {
+        return run(ctx, prover, task, true);
+    }
+
+    private static RefinementSolver run(SolverContext ctx, ProverWithTracker prover, VerificationTask task,
+            boolean online) throws InterruptedException, SolverException, InvalidConfigurationException {
         RefinementSolver solver = new RefinementSolver();
+        solver.online = online;
         task.getConfig().inject(solver);
         logger.info("{}: {}", BASELINE, solver.baselines);
         solver.runInternal(ctx, prover, task);
@@ -218,22 +252,22 @@ public class RefinementSolver extends ModelChecker {
         contextWithFullWmm = EncodingContext.of(task, analysisContext, ctx.getFormulaManager());
 
         //  ------- Generate refinement model -------
-        final RefinementModel refinementModel = generateRefinementModel(memoryModel);
+        final RefinementModel refinementModel = createRefinementModel(memoryModel, baselines,
+                analysisContext.requires(RelationAnalysis.class), config);
         final Wmm baselineModel = refinementModel.getBaseModel();
-        addBiases(baselineModel, baselines);
-        baselineModel.configureAll(config); // Configure after cutting!
-        refinementModel.transferKnowledgeFromOriginal(analysisContext.requires(RelationAnalysis.class));
-        refinementModel.forceEncodeBoundary();
 
         final VerificationTask baselineTask = VerificationTask.builder()
                 .withConfig(task.getConfig())
                 .withProgressModel(task.getProgressModel())
+                .withMetrics(task.getMetrics())
                 .build(program, baselineModel, task.getProperty());
         performStaticWmmAnalyses(baselineTask, baselineContext, config);
 
         // ------------------------ Encoding ------------------------
 
         context = EncodingContext.of(baselineTask, baselineContext, ctx.getFormulaManager());
+        // Every model of the baseline encoding gets checked against the full memory model by CAAT
+        context.markConsistencyAsRefined();
         final ProgramEncoder programEncoder = ProgramEncoder.withContext(context);
         final PropertyEncoder propertyEncoder = PropertyEncoder.withContext(context);
         // We use the original memory model for symmetry breaking because we need axioms
@@ -247,80 +281,134 @@ public class RefinementSolver extends ModelChecker {
         final Property.Type propertyType = Property.getCombinedType(task.getProperty(), task);
 
         logger.info("Starting encoding using {}", ctx.getVersion());
+        final Metrics metrics = task.getMetrics();
         prover.writeComment("Program encoding");
-        prover.addConstraint(programEncoder.encodeFullProgram());
+        metrics.measure(Metrics.Phase.ENCODING, "Program", () -> prover.addConstraint(programEncoder.encodeFullProgram()));
         prover.writeComment("Memory model (baseline) encoding");
-        prover.addConstraint(baselineEncoder.encodeFullMemoryModel());
+        metrics.measure(Metrics.Phase.ENCODING, "MemoryModel", () -> prover.addConstraint(baselineEncoder.encodeFullMemoryModel()));
         prover.writeComment("Symmetry breaking encoding");
-        prover.addConstraint(symmetryEncoder.encodeFullSymmetryBreaking());
-
-        // ------------------------ Solving ------------------------
-        logger.info("Refinement procedure started.");
-
-        logger.info("Checking target property.");
-        prover.push();
-        prover.writeComment("Property encoding");
-        prover.addConstraint(propertyEncoder.encodeProperties(task.getProperty()));
+        metrics.measure(Metrics.Phase.ENCODING, "SymmetryBreaking", () -> prover.addConstraint(symmetryEncoder.encodeFullSymmetryBreaking()));
 
-        final RefinementTrace propertyTrace = runRefinement(task, prover, solver, refiner);
-        SMTStatus smtStatus = propertyTrace.getFinalResult();
-
-        if (smtStatus == SMTStatus.UNKNOWN) {
-            // Refinement got no result (should not be able to happen), so we cannot proceed further.
-            logger.warn("Refinement procedure was inconclusive. Trying to find reason of inconclusiveness.");
-            analyzeInconclusiveness(task, analysisContext, solver.getExecution());
-            throw new RuntimeException("Terminated verification due to inconclusiveness (bug?).");
+        final ClauseStore clauseStore = loadClauseStore(program, memoryModel);
+        if (clauseStore != null) {
+            prover.writeComment("Stored refinement encoding");
+            prover.addConstraint(refiner.refine(clauseStore.getReasons(solver.getReasoner()), context));
         }
 
-        if (logger.isInfoEnabled()) {
-            final String message = switch (smtStatus) {
-                case SAT -> propertyType == Property.Type.SAFETY ? "Specification violation found."
-                        : "Specification witness found.";
-                case UNSAT -> propertyType == Property.Type.SAFETY ? "Bounded specification proven."
-                        : "Bounded specification falsified.";
-                // Cannot be reached due to the above checks.
-                default -> throw new RuntimeException("unreachable");
-            };
-            logger.info(message);
+        CAATPropagator propagator = null;
+        if (online) {
+            propagator = new CAATPropagator(refinementModel, context, analysisContext, config);
+            if (!propagator.registerWith(prover)) {
+                logger.warn("{} does not support user propagators, falling back to offline refinement.",
+                        ctx.getSolverName());
+                propagator = null;
+            }
         }
 
-        RefinementTrace combinedTrace = propertyTrace;
+        // ------------------------ Solving ------------------------
+        logger.info("Refinement procedure started.");
 
+        RefinementTrace combinedTrace;
         long boundCheckTime = 0;
-        if (smtStatus == SMTStatus.UNSAT) {
-            // Do bound check
-            logger.info("Checking unrolling bounds.");
-            final long lastTime = System.currentTimeMillis();
-            prover.pop();
+        if (propertyEncoder.checksAssertionsIndividually()) {
+            // Nothing gets popped, so the refinement clauses found for one check are kept for all later ones.
+            final BooleanFormula specLiteral = bmgr.makeVariable("DAT3M_spec_assumption");
+            final BooleanFormula boundLiteral = bmgr.makeVariable("DAT3M_bound_assumption");
+            final Map<Assert, TrackableFormula> violations = propertyEncoder.encodeAssertionViolations();
+            prover.writeComment("Property encoding");
+            prover.addConstraint(bmgr.implication(specLiteral, propertyEncoder.encodeProperties(task.getProperty())));
+            prover.writeComment("Assertion encoding");
+            prover.addConstraint(bmgr.and(Collections2.transform(violations.values(),
+                    v -> bmgr.implication(v.getTrackingLiteral(), v.getTrackedFormula()))));
             prover.writeComment("Bound encoding");
-            prover.addConstraint(propertyEncoder.encodeBoundEventExec());
-            // Add back the refinement clauses we already found, hoping that this improves the performance.
-            prover.writeComment("Refinement encoding");
-            prover.addConstraint(bmgr.and(propertyTrace.getRefinementFormulas()));
-            final RefinementTrace boundTrace = runRefinement(task, prover, solver, refiner);
-            boundCheckTime = System.currentTimeMillis() - lastTime;
-
-            smtStatus = boundTrace.getFinalResult();
-            combinedTrace = combinedTrace.concat(boundTrace);
-            res = smtStatus == SMTStatus.UNSAT ? PASS : UNKNOWN;
+            prover.addConstraint(bmgr.implication(boundLiteral, propertyEncoder.encodeBoundEventExec()));
+
+            logger.info("Checking {} assertions individually.", violations.size());
+            final List<RefinementTrace> traces = new ArrayList<>();
+            checkAssertions(prover, violations, List.of(specLiteral), boundLiteral, assumptions -> {
+                final RefinementTrace trace = runRefinement(task, prover, solver, refiner, assumptions);
+                traces.add(trace);
+                if (trace.getFinalResult() == SMTStatus.UNKNOWN) {
+                    logger.warn("Refinement procedure was inconclusive. Trying to find reason of inconclusiveness.");
+                    analyzeInconclusiveness(task, analysisContext, solver.getExecution());
+                    throw new RuntimeException("Terminated verification due to inconclusiveness (bug?).");
+                }
+                return trace.getFinalResult() == SMTStatus.UNSAT;
+            });
+            combinedTrace = traces.stream().reduce(RefinementTrace::concat).orElseThrow();
+            if (res == FAIL) {
+                // The prover was left with the model of the first found violation.
+                saveFlaggedPairsOutput(baselineModel, baselineEncoder, prover, context, task.getProgram());
+            }
+        } else {
+            logger.info("Checking target property.");
+            prover.push();
+            prover.writeComment("Property encoding");
+            prover.addConstraint(propertyEncoder.encodeProperties(task.getProperty()));
+
+            final RefinementTrace propertyTrace = runRefinement(task, prover, solver, refiner, List.of());
+            SMTStatus smtStatus = propertyTrace.getFinalResult();
+
+            if (smtStatus == SMTStatus.UNKNOWN) {
+                // Refinement got no result (should not be able to happen), so we cannot proceed further.
+                logger.warn("Refinement procedure was inconclusive. Trying to find reason of inconclusiveness.");
+                analyzeInconclusiveness(task, analysisContext, solver.getExecution());
+                throw new RuntimeException("Terminated verification due to inconclusiveness (bug?).");
+            }
 
             if (logger.isInfoEnabled()) {
                 final String message = switch (smtStatus) {
-                    case UNKNOWN -> "Bound check was inconclusive (bug?)";
-                    case SAT -> "Bounds are reachable: Unbounded specification unknown.";
-                    case UNSAT -> "Bounds are unreachable: Unbounded specification proven.";
+                    case SAT -> propertyType == Property.Type.SAFETY ? "Specification violation found."
+                            : "Specification witness found.";
+                    case UNSAT -> propertyType == Property.Type.SAFETY ? "Bounded specification proven."
+                            : "Bounded specification falsified.";
+                    // Cannot be reached due to the above checks.
+                    default -> throw new RuntimeException("unreachable");
                 };
                 logger.info(message);
             }
-        } else {
-            res = FAIL;
-            saveFlaggedPairsOutput(baselineModel, baselineEncoder, prover, context, task.getProgram());
+
+            combinedTrace = propertyTrace;
+
+            if (smtStatus == SMTStatus.UNSAT) {
+                // Do bound check
+                logger.info("Checking unrolling bounds.");
+                final long lastTime = System.currentTimeMillis();
+                prover.pop();
+                prover.writeComment("Bound encoding");
+                prover.addConstraint(propertyEncoder.encodeBoundEventExec());
+                // Add back the refinement clauses we already found, hoping that this improves the performance.
+                prover.writeComment("Refinement encoding");
+                prover.addConstraint(bmgr.and(propertyTrace.getRefinementFormulas()));
+                final RefinementTrace boundTrace = runRefinement(task, prover, solver, refiner, List.of());
+                boundCheckTime = System.currentTimeMillis() - lastTime;
+
+                smtStatus = boundTrace.getFinalResult();
+                combinedTrace = combinedTrace.concat(boundTrace);
+                res = smtStatus == SMTStatus.UNSAT ? PASS : UNKNOWN;
+
+                if (logger.isInfoEnabled()) {
+                    final String message = switch (smtStatus) {
+                        case UNKNOWN -> "Bound check was inconclusive (bug?)";
+                        case SAT -> "Bounds are reachable: Unbounded specification unknown.";
+                        case UNSAT -> "Bounds are unreachable: Unbounded specification proven.";
+                    };
+                    logger.info(message);
+                }
+            } else {
+                res = FAIL;
+                saveFlaggedPairsOutput(baselineModel, baselineEncoder, prover, context, task.getProgram());
+            }
         }
 
         // -------------------------- Report statistics summary --------------------------
 
         if (logger.isInfoEnabled()) {
             logger.info(generateSummary(combinedTrace, boundCheckTime));
+            if (propagator != null) {
+                logger.info("Online CAAT: {} final checks, {} conflicts",
+                        propagator.getNumFinalChecks(), propagator.getNumConflicts());
+            }
         }
 
         if (logger.isDebugEnabled()) {
@@ -335,12 +423,37 @@ public class RefinementSolver extends ModelChecker {
             System.out.println(generateCoverageReport(combinedTrace.getObservedEvents(), program, analysisContext));
         }
 
+        if (clauseStore != null) {
+            combinedTrace.iterations().stream().map(RefinementIteration::unreducedReasons)
+                    .filter(Objects::nonNull).forEach(clauseStore::add);
+            if (propagator != null) {
+                clauseStore.add(propagator.getUnreducedReasons());
+            }
+            try {
+                clauseStore.save();
+            } catch (IOException e) {
+                logger.warn("Failed to save refinement clauses: {}", e.getLocalizedMessage());
+            }
+        }
+
         // For Safety specs, we have SAT=FAIL, but for reachability specs, we have
         // SAT=PASS
         res = propertyType == Property.Type.SAFETY ? res : res.invert();
         logger.info("Verification finished with result " + res);
     }
 
+    private ClauseStore loadClauseStore(Program program, Wmm memoryModel) {
+        if (clauseStorePath.isEmpty()) {
+            return null;
+        }
+        try {
+            return ClauseStore.load(Path.of(clauseStorePath), program, memoryModel);
+        } catch (IOException e) {
+            logger.warn("Failed to load refinement clauses: {}", e.getLocalizedMessage());
+            return null;
+        }
+    }
+
     private void analyzeInconclusiveness(VerificationTask task, Context analysisContext, ExecutionModel model) {
         final AliasAnalysis alias = analysisContext.get(AliasAnalysis.class);
         if (alias == null) {
@@ -387,15 +500,17 @@ public class RefinementSolver extends ModelChecker {
     // Refinement core algorithm
 
     // TODO: We could expose the following method(s) to allow for more general application of refinement.
-    private RefinementTrace runRefinement(VerificationTask task, ProverWithTracker prover, WMMSolver solver, Refiner refiner)
+    private RefinementTrace runRefinement(VerificationTask task, ProverWithTracker prover, WMMSolver solver, Refiner refiner,
+            List<BooleanFormula> assumptions)
             throws SolverException, InterruptedException {
 
         final List<RefinementIteration> trace = new ArrayList<>();
         boolean isFinalIteration = false;
         while (!isFinalIteration) {
 
-            final RefinementIteration iteration = doRefinementIteration(prover, solver, refiner);
+            final RefinementIteration iteration = doRefinementIteration(prover, solver, refiner, assumptions);
             trace.add(iteration);
+            addMetrics(task.getMetrics(), iteration);
             isFinalIteration = !checkProgress(trace) || iteration.isConclusive();
 
             // ------------------------- Debugging/Logging -------------------------
@@ -419,7 +534,7 @@ public class RefinementSolver extends ModelChecker {
                 debugMessage.append("\n").append(String.format("""
                         ===== Solver iteration: %d =====
                         Native solving time(ms): %s
-                        """, trace.size(), iteration.nativeSmtTime));
+                        """, trace.size(), NANOSECONDS.toMillis(iteration.nativeSmtTime)));
                 if (!isFinalIteration) {
                     debugMessage.append(iteration.caatStats);
                 }
@@ -439,6 +554,19 @@ public class RefinementSolver extends ModelChecker {
         return new RefinementTrace(trace);
     }
 
+    private void addMetrics(Metrics metrics, RefinementIteration iteration) {
+        final String name = "iteration " + ++numIterations;
+        metrics.add(Metrics.Phase.REFINEMENT, name + " smt", Metrics.TIME, iteration.nativeSmtTime);
+        metrics.add(Metrics.Phase.REFINEMENT, name + " caat", Metrics.TIME, iteration.caatTime);
+        metrics.add(Metrics.Phase.REFINEMENT, name + " refine", Metrics.TIME, iteration.refineTime);
+        if (iteration.caatStats != null) {
+            metrics.add(Metrics.Phase.REFINEMENT, name, "model_size", iteration.caatStats.getModelSize());
+        }
+        if (iteration.inconsistencyReasons != null) {
+            metrics.add(Metrics.Phase.REFINEMENT, name, "reasons", iteration.inconsistencyReasons.getNumberOfCubes());
+        }
+    }
+
     private boolean checkProgress(List<RefinementIteration> trace) {
         if (trace.size() < 2 || trace.get(trace.size() - 1).isConclusive()) {
             return true;
@@ -448,7 +576,8 @@ public class RefinementSolver extends ModelChecker {
         return !last.inconsistencyReasons.equals(prev.inconsistencyReasons);
     }
 
-    private RefinementIteration doRefinementIteration(ProverWithTracker prover, WMMSolver solver, Refiner refiner)
+    private RefinementIteration doRefinementIteration(ProverWithTracker prover, WMMSolver solver, Refiner refiner,
+            List<BooleanFormula> assumptions)
             throws SolverException, InterruptedException {
 
         long nativeTime = 0;
@@ -458,16 +587,18 @@ public class RefinementSolver extends ModelChecker {
         BooleanFormula refinementFormula = null;
         WMMSolver.Statistics caatStats = null;
         DNF<CoreLiteral> inconsistencyReasons = null;
+        DNF<CoreLiteral> unreducedReasons = null;
         List<Event> observedEvents = null;
 
         // ------------ Native SMT solving ------------
-        long lastTime = System.currentTimeMillis();
-        final SMTStatus smtStatus = prover.isUnsat() ? SMTStatus.UNSAT : SMTStatus.SAT;
-        nativeTime = (System.currentTimeMillis() - lastTime);
+        long lastTime = System.nanoTime();
+        final boolean isUnsat = assumptions.isEmpty() ? prover.isUnsat() : prover.isUnsatWithAssumptions(assumptions);
+        final SMTStatus smtStatus = isUnsat ? SMTStatus.UNSAT : SMTStatus.SAT;
+        nativeTime = (System.nanoTime() - lastTime);
 
         if (smtStatus == SMTStatus.SAT) {
             // ------------ CAAT solving ------------
-            lastTime = System.currentTimeMillis();
+            lastTime = System.nanoTime();
             final WMMSolver.Result solverResult;
             try (Model model = prover.getModel()) {
                 solverResult = solver.check(model);
@@ -475,7 +606,7 @@ public class RefinementSolver extends ModelChecker {
                 logger.error(e);
                 throw e;
             }
-            caatTime = (System.currentTimeMillis() - lastTime);
+            caatTime = (System.nanoTime() - lastTime);
 
             observedEvents = new ArrayList<>(Lists.transform(solver.getExecution().getEventList(), EventData::getEvent));
             caatStatus = solverResult.getStatus();
@@ -483,17 +614,18 @@ public class RefinementSolver extends ModelChecker {
             if (caatStatus == INCONSISTENT) {
                 // ------------ Refining ------------
                 inconsistencyReasons = solverResult.getCoreReasons();
-                lastTime = System.currentTimeMillis();
+                unreducedReasons = solverResult.getUnreducedReasons();
+                lastTime = System.nanoTime();
                 refinementFormula = refiner.refine(inconsistencyReasons, context);
                 prover.writeComment("Refinement encoding");
                 prover.addConstraint(refinementFormula);
-                refineTime = (System.currentTimeMillis() - lastTime);
+                refineTime = (System.nanoTime() - lastTime);
             }
         }
 
         return new RefinementIteration(
                 smtStatus, nativeTime, caatTime, refineTime, caatStatus,
-                refinementFormula, caatStats, inconsistencyReasons, observedEvents
+                refinementFormula, caatStats, inconsistencyReasons, unreducedReasons, observedEvents
         );
     }
 
@@ -510,6 +642,27 @@ public class RefinementSolver extends ModelChecker {
                 || def instanceof SyncFence || def instanceof SyncBar || def instanceof SameVirtualLocation;
     }
 
+    /*
+        Creates the refinement model of an analysed memory model, with a base model that is configured
+        and ready to be encoded.
+        The base model contains the parts of the memory model that CAAT does not check.
+     */
+    public static RefinementModel createRefinementModel(Wmm memoryModel, RelationAnalysis ra, Configuration config)
+            throws InvalidConfigurationException {
+        return createRefinementModel(memoryModel, EnumSet.noneOf(Baseline.class), ra, config);
+    }
+
+    private static RefinementModel createRefinementModel(Wmm memoryModel, EnumSet<Baseline> baselines,
+            RelationAnalysis ra, Configuration config) throws InvalidConfigurationException {
+        final RefinementModel refinementModel = generateRefinementModel(memoryModel);
+        final Wmm baselineModel = refinementModel.getBaseModel();
+        addBiases(baselineModel, baselines);
+        baselineModel.configureAll(config); // Configure after cutting!
+        refinementModel.transferKnowledgeFromOriginal(ra);
+        refinementModel.forceEncodeBoundary();
+        return refinementModel;
+    }
+
     private static RefinementModel generateRefinementModel(Wmm original) {
         // We cut (i) negated axioms, (ii) negated relations (if derived),
         // and (iii) some special relations because they are derived from internal relations (like data/addr/ctrl)
@@ -758,9 +911,9 @@ public class RefinementSolver extends ModelChecker {
     private static CharSequence generateSummary(RefinementTrace trace, long boundCheckTime) {
         final List<WMMSolver.Statistics> statList = trace.iterations.stream()
                 .filter(iter -> iter.caatStats != null).map(RefinementIteration::caatStats).toList();
-        final long totalNativeSolvingTime = trace.getNativeSmtTime();
-        final long totalCaatTime = trace.getCaatTime();
-        final long totalRefiningTime = trace.getRefiningTime();
+        final long totalNativeSolvingTime = NANOSECONDS.toMillis(trace.getNativeSmtTime());
+        final long totalCaatTime = NANOSECONDS.toMillis(trace.getCaatTime());
+        final long totalRefiningTime = NANOSECONDS.toMillis(trace.getRefiningTime());
 
         long totalModelExtractTime = 0;
         long totalPopulationTime = 0;
@@ -769,6 +922,7 @@ public class RefinementSolver extends ModelChecker {
         long totalNumReasons = 0;
         long totalNumReducedReasons = 0;
         long totalModelSize = 0;
+        long numIncrementalChecks = 0;
         long minModelSize = Long.MAX_VALUE;
         long maxModelSize = Long.MIN_VALUE;
 
@@ -779,6 +933,7 @@ public class RefinementSolver extends ModelChecker {
             totalReasonComputationTime += stats.getBaseReasonComputationTime() + stats.getCoreReasonComputationTime();
             totalNumReasons += stats.getNumComputedCoreReasons();
             totalNumReducedReasons += stats.getNumComputedReducedCoreReasons();
+            numIncrementalChecks += stats.wasIncremental() ? 1 : 0;
 
             totalModelSize += stats.getModelSize();
             minModelSize = Math.min(stats.getModelSize(), minModelSize);
@@ -793,6 +948,7 @@ public class RefinementSolver extends ModelChecker {
                 .append("Total CAAT solving time: ").append(toTimeString(totalCaatTime)).append("\n")
                 .append("   -- Model extraction time: ").append(toTimeString(totalModelExtractTime)).append("\n")
                 .append("   -- Population time: ").append(toTimeString(totalPopulationTime)).append("\n")
+                .append("   -- #Incremental checks: ").append(numIncrementalChecks).append("\n")
                 .append("   -- Consistency check time: ").append(toTimeString(totalConsistencyCheckTime)).append("\n")
                 .append("   -- Reason computation time: ").append(toTimeString(totalReasonComputationTime)).append("\n")
                 .append("   -- Refining time: ").append(toTimeString(totalRefiningTime)).append("\n")
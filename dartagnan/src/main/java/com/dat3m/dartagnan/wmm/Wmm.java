@@ -1,9 +1,11 @@
 package com.dat3m.dartagnan.wmm;
 
+import com.dat3m.dartagnan.configuration.AcyclicityEncoding;
 import com.dat3m.dartagnan.program.event.Tag;
 import com.dat3m.dartagnan.program.filter.Filter;
 import com.dat3m.dartagnan.wmm.axiom.Axiom;
 import com.dat3m.dartagnan.wmm.definition.*;
+import com.dat3m.dartagnan.wmm.utils.ConstraintCopier;
 import com.google.common.collect.ImmutableSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -16,6 +18,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.dat3m.dartagnan.configuration.OptionNames.ACYCLICITY_ENCODING;
 import static com.dat3m.dartagnan.configuration.OptionNames.ENABLE_ACTIVE_SETS;
 import static com.dat3m.dartagnan.configuration.OptionNames.REDUCE_ACYCLICITY_ENCODE_SETS;
 import static com.dat3m.dartagnan.wmm.RelationNameRepository.*;
@@ -32,7 +35,16 @@ public class Wmm {
                 secure = true)
         private boolean reduceAcyclicityEncoding = true;
 
+        @Option(name = ACYCLICITY_ENCODING,
+                description = "Encoding of acyclicity axioms, chosen per strongly connected component of their encode set:" +
+                        " auto (by size and density), idl, bv_clocks, vertex_elimination (pure SAT)" +
+                        " or lazy (only checked by the refinement, falls back to auto for other methods).",
+                secure = true)
+        private AcyclicityEncoding acyclicityEncoding = AcyclicityEncoding.getDefault();
+
         public boolean isReduceAcyclicityEncoding() { return reduceAcyclicityEncoding; }
+
+        public AcyclicityEncoding getAcyclicityEncoding() { return acyclicityEncoding; }
     }
 
     private static final Logger logger = LogManager.getLogger(Wmm.class);
@@ -48,7 +60,13 @@ public class Wmm {
     private final Config config = new Config();
 
     public Wmm() {
-        ANARCHIC_CORE_RELATIONS.forEach(this::getOrCreatePredefinedRelation);
+        this(true);
+    }
+
+    private Wmm(boolean withCoreRelations) {
+        if (withCoreRelations) {
+            ANARCHIC_CORE_RELATIONS.forEach(this::getOrCreatePredefinedRelation);
+        }
     }
 
     public Config getConfig() { return this.config; }
@@ -168,6 +186,36 @@ public class Wmm {
 
     // ========================================== Utility Methods ========================================
 
+    /**
+     * Creates a structurally identical memory model that shares no relations or constraints with this one.
+     * Copies can be processed and solved independently, e.g., by different threads.
+     * @return Copy of this memory model.
+     */
+    public Wmm copy() {
+        final Wmm copy = new Wmm(false);
+        final Map<Relation, Relation> relationMap = new HashMap<>();
+        for (Relation relation : relations) {
+            final Relation relationCopy = new Relation(copy);
+            relationCopy.names.addAll(relation.names);
+            if (relation.isRecursive()) {
+                relationCopy.setRecursive();
+            }
+            copy.relations.add(relationCopy);
+            relationMap.put(relation, relationCopy);
+        }
+        final ConstraintCopier copier = new ConstraintCopier(relationMap);
+        for (Relation relation : relations) {
+            if (!(relation.definition instanceof Definition.Undefined)) {
+                copy.addDefinition((Definition) relation.definition.accept(copier));
+            }
+        }
+        for (Constraint constraint : constraints) {
+            copy.addConstraint(constraint.accept(copier));
+        }
+        copy.filters.putAll(filters);
+        return copy;
+    }
+
     public void configureAll(Configuration config) throws InvalidConfigurationException {
         config.inject(this.config);
         for (Axiom ax : getAxioms()) {
@@ -175,6 +223,7 @@ public class Wmm {
         }
 
         logger.info("{}: {}", REDUCE_ACYCLICITY_ENCODE_SETS, this.config.isReduceAcyclicityEncoding());
+        logger.info("{}: {}", ACYCLICITY_ENCODING, this.config.getAcyclicityEncoding());
     }
 
     private Relation makePredefinedRelation(String name) {
@@ -8,7 +8,6 @@ import com.dat3m.dartagnan.utils.dependable.DependencyGraph;
 import com.dat3m.dartagnan.verification.Context;
 import com.dat3m.dartagnan.verification.VerificationTask;
 import com.dat3m.dartagnan.wmm.*;
-import com.dat3m.dartagnan.wmm.utils.graph.mutable.MapEventGraph;
 import com.dat3m.dartagnan.wmm.utils.graph.mutable.MutableEventGraph;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
@@ -20,7 +19,7 @@ import static java.util.stream.Collectors.toSet;
 
 public class CoarseRelationAnalysis extends NativeRelationAnalysis {
 
-    private CoarseRelationAnalysis(VerificationTask t, Context context, Configuration config) {
+    private CoarseRelationAnalysis(VerificationTask t, Context context, Configuration config) throws InvalidConfigurationException {
         super(t, context, config);
     }
 
@@ -43,11 +42,8 @@ public class CoarseRelationAnalysis extends NativeRelationAnalysis {
     }
 
     @Override
-    protected void processSCC(Propagator propagator, Set<DependencyGraph<Relation>.Node> scc, Map<Relation, List<Delta>> qGlobal, Map<Relation, List<Definition>> dependents) {
-        if (scc.stream().map(DependencyGraph.Node::getContent).noneMatch(Relation::isInternal)) {
-            return;
-        }
-        super.processSCC(propagator, scc, qGlobal, dependents);
+    protected boolean skipSCC(Set<DependencyGraph<Relation>.Node> scc) {
+        return scc.stream().map(DependencyGraph.Node::getContent).noneMatch(Relation::isInternal);
     }
 
     @Override
@@ -68,16 +64,16 @@ public class CoarseRelationAnalysis extends NativeRelationAnalysis {
         final MutableKnowledge defaultKnowledge;
 
         EmptyInitializer() {
-            MutableEventGraph may = new MapEventGraph();
+            MutableEventGraph may = newGraph();
             Set<Event> events = program.getThreadEvents().stream().filter(e -> e.hasTag(VISIBLE)).collect(toSet());
             events.forEach(x -> may.addRange(x, events));
-            defaultKnowledge = new MutableKnowledge(may, new MapEventGraph());
+            defaultKnowledge = new MutableKnowledge(may, newGraph());
         }
 
         @Override
         public MutableKnowledge visitDefinition(Definition def) {
             return !def.getDefinedRelation().isInternal() ? defaultKnowledge
-                    : new MutableKnowledge(new MapEventGraph(), new MapEventGraph());
+                    : new MutableKnowledge(newGraph(), newGraph());
         }
     }
 }
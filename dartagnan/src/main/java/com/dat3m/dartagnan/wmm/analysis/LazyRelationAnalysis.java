@@ -8,6 +8,7 @@ import com.dat3m.dartagnan.program.Thread;
 import com.dat3m.dartagnan.program.analysis.ExecutionAnalysis;
 import com.dat3m.dartagnan.program.analysis.ReachingDefinitionsAnalysis;
 import com.dat3m.dartagnan.program.analysis.alias.AliasAnalysis;
+import com.dat3m.dartagnan.program.analysis.alias.AliasBuckets;
 import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.program.event.RegReader;
 import com.dat3m.dartagnan.program.event.Tag;
@@ -28,6 +29,7 @@ import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -47,7 +49,7 @@ public class LazyRelationAnalysis extends NativeRelationAnalysis {
     private final LazyInitializer lazyInitializer;
     private final Initializer nativeInitializer;
 
-    private LazyRelationAnalysis(VerificationTask task, Context context, Configuration config) {
+    private LazyRelationAnalysis(VerificationTask task, Context context, Configuration config) throws InvalidConfigurationException {
         super(task, context, config);
         // TODO: Support for recursive relations
         if (task.getMemoryModel().getRelations().stream().anyMatch(Relation::isRecursive)) {
@@ -59,7 +61,7 @@ public class LazyRelationAnalysis extends NativeRelationAnalysis {
         this.nativeInitializer = super.getInitializer();
     }
 
-    public static LazyRelationAnalysis fromConfig(VerificationTask task, Context context, Configuration config) {
+    public static LazyRelationAnalysis fromConfig(VerificationTask task, Context context, Configuration config) throws InvalidConfigurationException {
         return new LazyRelationAnalysis(task, context, config);
     }
 
@@ -137,8 +139,8 @@ public class LazyRelationAnalysis extends NativeRelationAnalysis {
             Filter domainFilter = definition.getFirstFilter();
             Filter rangeFilter = definition.getSecondFilter();
             long start = System.currentTimeMillis();
-            Set<Event> domain = program.getThreadEvents().stream().filter(domainFilter::apply).collect(toSet());
-            Set<Event> range = program.getThreadEvents().stream().filter(rangeFilter::apply).collect(toSet());
+            Set<Event> domain = new HashSet<>(program.getFilterIndex().apply(domainFilter));
+            Set<Event> range = new HashSet<>(program.getFilterIndex().apply(rangeFilter));
             EventGraph must = new LazyEventGraph(domain, range, (e1, e2) -> !exec.areMutuallyExclusive(e1, e2));
             time(definition, start, System.currentTimeMillis());
             return new RelationAnalysis.Knowledge(must, must);
@@ -148,8 +150,7 @@ public class LazyRelationAnalysis extends NativeRelationAnalysis {
         public RelationAnalysis.Knowledge visitSetIdentity(SetIdentity definition) {
             Filter filter = definition.getFilter();
             long start = System.currentTimeMillis();
-            Map<Event, Set<Event>> data = program.getThreadEvents().stream()
-                    .filter(filter::apply)
+            Map<Event, Set<Event>> data = program.getFilterIndex().apply(filter).stream()
                     .collect(Collectors.toMap(e -> e, ImmutableSet::of));
             EventGraph must = new ImmutableMapEventGraph(data);
             time(definition, start, System.currentTimeMillis());
@@ -307,23 +308,19 @@ public class LazyRelationAnalysis extends NativeRelationAnalysis {
         @Override
         public RelationAnalysis.Knowledge visitSameLocation(SameLocation definition) {
             long start = System.currentTimeMillis();
-            List<MemoryCoreEvent> memoryEvents = program.getThreadEvents(MemoryCoreEvent.class);
+            AliasBuckets<MemoryCoreEvent> memoryEvents = alias.getBuckets(program.getThreadEvents(MemoryCoreEvent.class));
             Map<Event, Set<Event>> mayData = new HashMap<>();
             Map<Event, Set<Event>> mustData = new HashMap<>();
-            for (int i = 0; i < memoryEvents.size(); i++) {
-                MemoryCoreEvent e1 = memoryEvents.get(i);
-                for (int j = i; j < memoryEvents.size(); j++) {
-                    MemoryCoreEvent e2 = memoryEvents.get(j);
-                    if (!exec.areMutuallyExclusive(e1, e2) && alias.mayAlias(e1, e2)) {
-                        mayData.computeIfAbsent(e1, x -> new HashSet<>()).add(e2);
-                        mayData.computeIfAbsent(e2, x -> new HashSet<>()).add(e1);
-                        if (alias.mustAlias(e1, e2)) {
-                            mustData.computeIfAbsent(e1, x -> new HashSet<>()).add(e2);
-                            mustData.computeIfAbsent(e2, x -> new HashSet<>()).add(e1);
-                        }
+            memoryEvents.forEachCandidatePair((e1, e2) -> {
+                if (!exec.areMutuallyExclusive(e1, e2) && alias.mayAlias(e1, e2)) {
+                    mayData.computeIfAbsent(e1, x -> new HashSet<>()).add(e2);
+                    mayData.computeIfAbsent(e2, x -> new HashSet<>()).add(e1);
+                    if (alias.mustAlias(e1, e2)) {
+                        mustData.computeIfAbsent(e1, x -> new HashSet<>()).add(e2);
+                        mustData.computeIfAbsent(e2, x -> new HashSet<>()).add(e1);
                     }
                 }
-            }
+            });
             // Cannot be a LazyEventGraph because AliasAnalysis is not thread safe
             EventGraph may = new ImmutableMapEventGraph(mayData);
             EventGraph must = new ImmutableMapEventGraph(mustData);
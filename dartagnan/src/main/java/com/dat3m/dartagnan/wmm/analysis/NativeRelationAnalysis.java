@@ -1,5 +1,6 @@
 package com.dat3m.dartagnan.wmm.analysis;
 
+import com.dat3m.dartagnan.configuration.EventGraphImplementation;
 import com.dat3m.dartagnan.expression.integers.IntLiteral;
 import com.dat3m.dartagnan.program.Program;
 import com.dat3m.dartagnan.program.Register;
@@ -9,6 +10,7 @@ import com.dat3m.dartagnan.program.analysis.BranchEquivalence;
 import com.dat3m.dartagnan.program.analysis.ExecutionAnalysis;
 import com.dat3m.dartagnan.program.analysis.ReachingDefinitionsAnalysis;
 import com.dat3m.dartagnan.program.analysis.alias.AliasAnalysis;
+import com.dat3m.dartagnan.program.analysis.alias.AliasBuckets;
 import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.program.event.MemoryEvent;
 import com.dat3m.dartagnan.program.event.RegReader;
@@ -29,17 +31,28 @@ import com.dat3m.dartagnan.wmm.axiom.Irreflexivity;
 import com.dat3m.dartagnan.wmm.definition.*;
 import com.dat3m.dartagnan.wmm.utils.Tuple;
 import com.dat3m.dartagnan.wmm.utils.graph.EventGraph;
+import com.dat3m.dartagnan.wmm.utils.graph.mutable.BitSetEventGraph;
+import com.dat3m.dartagnan.wmm.utils.graph.mutable.EventIndex;
 import com.dat3m.dartagnan.wmm.utils.graph.mutable.MapEventGraph;
 import com.dat3m.dartagnan.wmm.utils.graph.mutable.MutableEventGraph;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.dat3m.dartagnan.configuration.OptionNames.RELATION_ANALYSIS_GRAPHS;
+import static com.dat3m.dartagnan.configuration.OptionNames.RELATION_ANALYSIS_PARALLELISM;
 import static com.dat3m.dartagnan.program.Register.UsageType.*;
 import static com.dat3m.dartagnan.program.event.Tag.*;
 import static com.google.common.base.Preconditions.checkArgument;
@@ -50,10 +63,30 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static java.util.stream.IntStream.iterate;
 
+@Options
 public class NativeRelationAnalysis implements RelationAnalysis {
 
     private static final Logger logger = LogManager.getLogger(NativeRelationAnalysis.class);
 
+    // =========================== Configurables ===========================
+
+    @Option(name = RELATION_ANALYSIS_GRAPHS,
+            description = "Data structure used for the may and must sets of the relation analysis: " +
+                    "map (default) or bitset (more compact on large programs).",
+            secure = true,
+            toUppercase = true)
+    private EventGraphImplementation graphImplementation = EventGraphImplementation.getDefault();
+
+    @Option(name = RELATION_ANALYSIS_PARALLELISM,
+            description = "Number of threads of the relation analysis. " +
+                    "Strata of the memory model that do not depend on each other get analysed in parallel. " +
+                    "Default is 1 (sequential).",
+            secure = true)
+    @IntegerOption(min = 1)
+    private int parallelism = 1;
+
+    // ======================================================================
+
     protected final VerificationTask task;
     protected final Context analysisContext;
     protected final ExecutionAnalysis exec;
@@ -61,15 +94,22 @@ public class NativeRelationAnalysis implements RelationAnalysis {
     protected final AliasAnalysis alias;
     protected final WmmAnalysis wmmAnalysis;
     protected final Map<Relation, MutableKnowledge> knowledgeMap = new HashMap<>();
-    protected final MutableEventGraph mutex = new MapEventGraph();
+    protected final MutableEventGraph mutex;
 
-    protected NativeRelationAnalysis(VerificationTask t, Context context, Configuration config) {
+    // Only present if the analysis works with bitset-based graphs.
+    private final EventIndex eventIndex;
+
+    protected NativeRelationAnalysis(VerificationTask t, Context context, Configuration config) throws InvalidConfigurationException {
+        config.inject(this, NativeRelationAnalysis.class);
         task = checkNotNull(t);
         analysisContext = context;
         exec = context.requires(ExecutionAnalysis.class);
         definitions = context.requires(ReachingDefinitionsAnalysis.class);
         alias = context.requires(AliasAnalysis.class);
         wmmAnalysis = context.requires(WmmAnalysis.class);
+        eventIndex = graphImplementation == EventGraphImplementation.BITSET ?
+                EventIndex.of(task.getProgram().getThreadEvents()) : null;
+        mutex = newGraph();
     }
 
     /**
@@ -106,8 +146,8 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         Propagator p = new Propagator();
         Initializer init = getInitializer();
         for (Relation r : relations) {
-            MutableEventGraph may = new MapEventGraph();
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph may = newGraph();
+            MutableEventGraph must = newGraph();
             if (r.getDependencies().isEmpty()) {
                 final Knowledge k = r.getDefinition().accept(init);
                 may.addAll(k.getMaySet());
@@ -133,7 +173,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
     @Override
     public EventGraph findTransitivelyImpliedCo(Relation co) {
         final Knowledge k = getKnowledge(co);
-        MutableEventGraph transCo = new MapEventGraph();
+        MutableEventGraph transCo = newGraph();
         Map<Event, Set<Event>> mustIn = k.getMustSet().getInMap();
         Map<Event, Set<Event>> mustOut = k.getMustSet().getOutMap();
         k.getMaySet().apply((e1, e2) -> {
@@ -174,12 +214,21 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             }
         }
         // ------------------------------------------------
-        final Propagator propagator = new Propagator();
-        DependencyGraph.from(memoryModel.getRelations()).getSCCs().forEach(scc -> processSCC(propagator, scc, qGlobal, dependents));
+        final List<Set<DependencyGraph<Relation>.Node>> sccs = DependencyGraph.from(memoryModel.getRelations()).getSCCs();
+        if (parallelism > 1) {
+            processSCCsInParallel(sccs, qGlobal, dependents);
+        } else {
+            final Propagator propagator = new Propagator();
+            sccs.forEach(scc -> processSCC(propagator, scc, qGlobal, dependents));
+        }
         checkAfterRun(qGlobal);
         logger.trace("End");
     }
 
+    protected MutableEventGraph newGraph() {
+        return eventIndex != null ? new BitSetEventGraph(eventIndex) : new MapEventGraph();
+    }
+
     protected MutableKnowledge getMutableKnowledge(Relation relation) {
         return knowledgeMap.get(relation);
     }
@@ -188,9 +237,22 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         verify(qGlobal.isEmpty(), "knowledge buildup propagated downwards");
     }
 
+    protected boolean skipSCC(Set<DependencyGraph<Relation>.Node> scc) {
+        return false;
+    }
+
     protected void processSCC(Propagator propagator, Set<DependencyGraph<Relation>.Node> scc, Map<Relation, List<Delta>> qGlobal, Map<Relation, List<Definition>> dependents) {
+        if (skipSCC(scc)) {
+            return;
+        }
         logger.trace("Regular analysis for component {}", scc);
-        Set<Relation> stratum = scc.stream().map(DependencyGraph.Node::getContent).collect(toSet());
+        final Set<Relation> stratum = scc.stream().map(DependencyGraph.Node::getContent).collect(toSet());
+        final Map<Relation, List<Delta>> qLocal = takeLocalQueue(stratum, qGlobal);
+        processStratum(propagator, stratum, qLocal, dependents,
+                (relation, delta) -> propagateOutwards(propagator, relation, delta, stratum, qGlobal, dependents));
+    }
+
+    private Map<Relation, List<Delta>> takeLocalQueue(Set<Relation> stratum, Map<Relation, List<Delta>> qGlobal) {
         // the algorithm has deterministic order, only if all components are deterministically-ordered
         Map<Relation, List<Delta>> qLocal = new LinkedHashMap<>();
         // move from global queue
@@ -200,6 +262,13 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                 qLocal.put(r, d);
             }
         }
+        return qLocal;
+    }
+
+    // Computes the fixed point of a stratum.
+    // Each effective update of a relation is passed to 'outwards' to get propagated to the later strata.
+    private void processStratum(Propagator propagator, Set<Relation> stratum, Map<Relation, List<Delta>> qLocal,
+            Map<Relation, List<Definition>> dependents, BiConsumer<Relation, Delta> outwards) {
         // repeat until convergence
         while (!qLocal.isEmpty()) {
             Relation relation = qLocal.keySet().iterator().next();
@@ -234,14 +303,110 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             propagator.setMay(delta.may);
             propagator.setMust(delta.must);
             for (Definition c : dependents.getOrDefault(relation, List.of())) {
-                logger.trace("Regular propagation from '{}' to '{}'", relation, c);
                 Relation r = c.getDefinedRelation();
-                Delta d = c.accept(propagator);
-                (stratum.contains(r) ? qLocal : qGlobal)
-                        .computeIfAbsent(r, k -> new ArrayList<>())
-                        .add(d);
+                if (stratum.contains(r)) {
+                    logger.trace("Regular propagation from '{}' to '{}'", relation, c);
+                    qLocal.computeIfAbsent(r, k -> new ArrayList<>()).add(c.accept(propagator));
+                }
+            }
+            outwards.accept(relation, delta);
+        }
+    }
+
+    private void propagateOutwards(Propagator propagator, Relation relation, Delta delta, Set<Relation> stratum,
+            Map<Relation, List<Delta>> qGlobal, Map<Relation, List<Definition>> dependents) {
+        propagator.setSource(relation);
+        propagator.setMay(delta.may);
+        propagator.setMust(delta.must);
+        for (Definition c : dependents.getOrDefault(relation, List.of())) {
+            Relation r = c.getDefinedRelation();
+            if (!stratum.contains(r)) {
+                logger.trace("Regular propagation from '{}' to '{}'", relation, c);
+                qGlobal.computeIfAbsent(r, k -> new ArrayList<>()).add(c.accept(propagator));
+            }
+        }
+    }
+
+    // Strata are processed in waves, such that the strata of a wave only depend on the ones of earlier waves.
+    // Workers of a wave only access the knowledge of their own stratum and of earlier waves,
+    // since the definitions of later strata may also read the knowledge of other strata in the same wave.
+    // Hence, updates of later strata are computed once the whole wave has finished.
+    // Those updates are merged in the sequential order, so the queues do not depend on the scheduling.
+    // The knowledge is a least fixed point of monotone updates (see the fix for issue 523 for differences),
+    // so it equals the one of the sequential analysis.
+    private void processSCCsInParallel(List<Set<DependencyGraph<Relation>.Node>> sccs,
+            Map<Relation, List<Delta>> qGlobal, Map<Relation, List<Definition>> dependents) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (List<Set<DependencyGraph<Relation>.Node>> wave : computeWaves(sccs)) {
+                final List<Set<Relation>> strata = new ArrayList<>();
+                final List<Callable<List<Map.Entry<Relation, Delta>>>> workers = new ArrayList<>();
+                for (Set<DependencyGraph<Relation>.Node> scc : wave) {
+                    if (skipSCC(scc)) {
+                        continue;
+                    }
+                    logger.trace("Regular analysis for component {}", scc);
+                    final Set<Relation> stratum = scc.stream().map(DependencyGraph.Node::getContent).collect(toSet());
+                    final Map<Relation, List<Delta>> qLocal = takeLocalQueue(stratum, qGlobal);
+                    strata.add(stratum);
+                    workers.add(() -> {
+                        final List<Map.Entry<Relation, Delta>> updates = new ArrayList<>();
+                        processStratum(new Propagator(), stratum, qLocal, dependents,
+                                (relation, delta) -> updates.add(Map.entry(relation, delta)));
+                        return updates;
+                    });
+                }
+                final List<List<Map.Entry<Relation, Delta>>> updates = invokeAll(pool, workers);
+                final List<Callable<Map<Relation, List<Delta>>>> propagations = new ArrayList<>();
+                for (int i = 0; i < strata.size(); i++) {
+                    final Set<Relation> stratum = strata.get(i);
+                    final List<Map.Entry<Relation, Delta>> stratumUpdates = updates.get(i);
+                    propagations.add(() -> {
+                        final Propagator propagator = new Propagator();
+                        final Map<Relation, List<Delta>> queue = new LinkedHashMap<>();
+                        for (Map.Entry<Relation, Delta> update : stratumUpdates) {
+                            propagateOutwards(propagator, update.getKey(), update.getValue(), stratum, queue, dependents);
+                        }
+                        return queue;
+                    });
+                }
+                for (Map<Relation, List<Delta>> queue : invokeAll(pool, propagations)) {
+                    queue.forEach((r, deltas) -> qGlobal.computeIfAbsent(r, k -> new ArrayList<>()).addAll(deltas));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Groups the topologically-sorted components by the length of the longest dependency chain leading to them.
+    private static List<List<Set<DependencyGraph<Relation>.Node>>> computeWaves(List<Set<DependencyGraph<Relation>.Node>> sccs) {
+        final Map<DependencyGraph<Relation>.Node, Integer> level = new HashMap<>();
+        final List<List<Set<DependencyGraph<Relation>.Node>>> waves = new ArrayList<>();
+        for (Set<DependencyGraph<Relation>.Node> scc : sccs) {
+            int l = 0;
+            for (DependencyGraph<Relation>.Node node : scc) {
+                for (DependencyGraph<Relation>.Node dependency : node.getDependencies()) {
+                    if (!scc.contains(dependency)) {
+                        l = Math.max(l, level.get(dependency) + 1);
+                    }
+                }
             }
+            for (DependencyGraph<Relation>.Node node : scc) {
+                level.put(node, l);
+            }
+            if (l == waves.size()) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(l).add(scc);
         }
+        return waves;
+    }
+
+    private static <T> List<T> invokeAll(ForkJoinPool pool, List<Callable<T>> tasks) {
+        final List<ForkJoinTask<T>> submitted = tasks.stream().map(pool::submit).toList();
+        // join() rethrows the exceptions of the workers
+        return submitted.stream().map(ForkJoinTask::join).toList();
     }
 
     @Override
@@ -298,13 +463,13 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         return new Initializer();
     }
 
-    private static Delta joinSet(MutableKnowledge k, List<Delta> l) {
+    private Delta joinSet(MutableKnowledge k, List<Delta> l) {
         verify(!l.isEmpty(), "empty update");
         MutableEventGraph may = k.getMaySet();
         MutableEventGraph must = k.getMustSet();
         // NOTE optimization due to initial deltas carrying references to knowledge sets
-        MutableEventGraph maySet = may.isEmpty() || l.get(0).may == may ? may : new MapEventGraph();
-        MutableEventGraph mustSet = must.isEmpty() || l.get(0).must == must ? must : new MapEventGraph();
+        MutableEventGraph maySet = may.isEmpty() || l.get(0).may == may ? may : newGraph();
+        MutableEventGraph mustSet = must.isEmpty() || l.get(0).must == must ? must : newGraph();
         for (Delta d : l) {
             d.may.apply((e1, e2) -> {
                 if (may.add(e1, e2)) {
@@ -320,18 +485,18 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         return new Delta(maySet, mustSet);
     }
 
-    private static ExtendedDelta join(MutableKnowledge k, List<ExtendedDelta> l) {
+    private ExtendedDelta join(MutableKnowledge k, List<ExtendedDelta> l) {
         verify(!l.isEmpty(), "empty update in extended analysis");
         MutableEventGraph may = k.getMaySet();
         MutableEventGraph must = k.getMustSet();
-        MutableEventGraph disableSet = new MapEventGraph();
-        MutableEventGraph enableSet = new MapEventGraph();
+        MutableEventGraph disableSet = newGraph();
+        MutableEventGraph enableSet = newGraph();
         l.stream().map(d -> d.disabled).map(MapEventGraph::from).forEach(e -> e.filter(may::remove).apply(disableSet::add));
         l.stream().map(d -> d.enabled).map(MapEventGraph::from).forEach(e -> e.filter(must::remove).apply(enableSet::add));
         return new ExtendedDelta(disableSet, enableSet);
     }
 
-    private static final class InitialKnowledgeCloser implements Constraint.Visitor<Map<Relation, ExtendedDelta>> {
+    private final class InitialKnowledgeCloser implements Constraint.Visitor<Map<Relation, ExtendedDelta>> {
         private final Map<Relation, MutableKnowledge> knowledgeMap;
         private final Context analysisContext;
 
@@ -350,7 +515,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         @Override
         public Map<Relation, ExtendedDelta> visitEmptiness(Emptiness axiom) {
             Relation rel = axiom.getRelation();
-            return Map.of(rel, new ExtendedDelta(knowledgeMap.get(rel).getMaySet(), new MapEventGraph()));
+            return Map.of(rel, new ExtendedDelta(knowledgeMap.get(rel).getMaySet(), newGraph()));
         }
 
         @Override
@@ -358,7 +523,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             Relation rel = axiom.getRelation();
             MutableKnowledge k = knowledgeMap.get(rel);
             MutableEventGraph d = k.getMaySet().filter(Tuple::isLoop);
-            return Map.of(rel, new ExtendedDelta(d, new MapEventGraph()));
+            return Map.of(rel, new ExtendedDelta(d, newGraph()));
         }
 
         @Override
@@ -369,13 +534,13 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             MutableKnowledge knowledge = knowledgeMap.get(rel);
             EventGraph may = knowledge.getMaySet();
             EventGraph must = knowledge.getMustSet();
-            MutableEventGraph newDisabled = new MapEventGraph();
+            MutableEventGraph newDisabled = newGraph();
             may.filter((e1, e2) -> Tuple.isLoop(e1, e2) || must.contains(e2, e1)).apply(newDisabled::add);
             Map<Event, List<Event>> mustOut = new HashMap<>();
             must.filter((e1, e2) -> !Tuple.isLoop(e1, e2)).apply((e1, e2) -> mustOut.computeIfAbsent(e1, x -> new ArrayList<>()).add(e2));
             EventGraph current = knowledge.getMustSet();
             do {
-                MutableEventGraph next = new MapEventGraph();
+                MutableEventGraph next = newGraph();
                 current.filter(Tuple::isLoop).apply((x, y) -> {
                     boolean implied = exec.isImplied(x, y);
                     mustOut.getOrDefault(y, List.of()).stream()
@@ -388,7 +553,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             } while (!current.isEmpty());
             newDisabled.retainAll(knowledge.getMaySet());
             logger.debug("disabled {} edges in {}ms", newDisabled.size(), System.currentTimeMillis() - t0);
-            return Map.of(rel, new ExtendedDelta(newDisabled, new MapEventGraph()));
+            return Map.of(rel, new ExtendedDelta(newDisabled, newGraph()));
         }
 
         @Override
@@ -404,7 +569,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         }
     }
 
-    private static final class IncrementalKnowledgeCloser implements Constraint.Visitor<Map<Relation, ExtendedDelta>> {
+    private final class IncrementalKnowledgeCloser implements Constraint.Visitor<Map<Relation, ExtendedDelta>> {
         private final Relation changed;
         private final EventGraph disabled;
         private final EventGraph enabled;
@@ -438,7 +603,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             ExecutionAnalysis exec = analysisContext.get(ExecutionAnalysis.class);
             MutableKnowledge knowledge = knowledgeMap.get(rel);
             EventGraph may = knowledge.getMaySet();
-            MutableEventGraph newDisabled = new MapEventGraph();
+            MutableEventGraph newDisabled = newGraph();
             enabled.filter((e1, e2) -> may.contains(e2, e1)).apply((e1, e2) -> newDisabled.add(e2, e1));
             Map<Event, List<Event>> mustIn = new HashMap<>();
             Map<Event, List<Event>> mustOut = new HashMap<>();
@@ -449,7 +614,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
 
             EventGraph current = enabled;
             do {
-                MutableEventGraph next = new MapEventGraph();
+                MutableEventGraph next = newGraph();
                 current.filter((x, y) -> !Tuple.isLoop(x, y)).apply((x, y) -> {
                     boolean implies = exec.isImplied(x, y);
                     boolean implied = exec.isImplied(y, x);
@@ -468,7 +633,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             } while (!current.isEmpty());
             newDisabled.retainAll(knowledge.getMaySet());
             logger.debug("Disabled {} edges in {}ms", newDisabled.size(), System.currentTimeMillis() - t0);
-            return Map.of(rel, new ExtendedDelta(newDisabled, new MapEventGraph()));
+            return Map.of(rel, new ExtendedDelta(newDisabled, newGraph()));
         }
     }
 
@@ -478,14 +643,14 @@ public class NativeRelationAnalysis implements RelationAnalysis {
 
         @Override
         public MutableKnowledge visitDefinition(Definition def) {
-            return new MutableKnowledge(new MapEventGraph(), new MapEventGraph());
+            return new MutableKnowledge(newGraph(), newGraph());
         }
 
         @Override
         public MutableKnowledge visitFree(Free def) {
             final List<Event> visibleEvents = program.getThreadEventsWithAllTags(VISIBLE);
-            MutableEventGraph must = new MapEventGraph();
-            MutableEventGraph may = new MapEventGraph();
+            MutableEventGraph must = newGraph();
+            MutableEventGraph may = newGraph();
 
             for (Event e1 : visibleEvents) {
                 for (Event e2 : visibleEvents) {
@@ -500,29 +665,29 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         public MutableKnowledge visitProduct(CartesianProduct prod) {
             final Filter domain = prod.getFirstFilter();
             final Filter range = prod.getSecondFilter();
-            MutableEventGraph must = new MapEventGraph();
-            List<Event> l1 = program.getThreadEvents().stream().filter(domain::apply).toList();
-            List<Event> l2 = program.getThreadEvents().stream().filter(range::apply).toList();
+            MutableEventGraph must = newGraph();
+            List<Event> l1 = program.getFilterIndex().apply(domain);
+            List<Event> l2 = program.getFilterIndex().apply(range);
             for (Event e1 : l1) {
                 Set<Event> rangeEvents = l2.stream()
                         .filter(e2 -> !exec.areMutuallyExclusive(e1, e2))
                         .collect(toSet());
                 must.addRange(e1, rangeEvents);
             }
-            return new MutableKnowledge(must, MapEventGraph.from(must));
+            return new MutableKnowledge(must, MutableEventGraph.from(must));
         }
 
         @Override
         public MutableKnowledge visitSetIdentity(SetIdentity id) {
             final Filter set = id.getFilter();
-            MutableEventGraph must = new MapEventGraph();
-            program.getThreadEvents().stream().filter(set::apply).forEach(e -> must.add(e, e));
-            return new MutableKnowledge(must, MapEventGraph.from(must));
+            MutableEventGraph must = newGraph();
+            program.getFilterIndex().apply(set).forEach(e -> must.add(e, e));
+            return new MutableKnowledge(must, MutableEventGraph.from(must));
         }
 
         @Override
         public MutableKnowledge visitExternal(External ext) {
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             List<Thread> threads = program.getThreads();
             for (int i = 0; i < threads.size(); i++) {
                 Thread t1 = threads.get(i);
@@ -538,12 +703,12 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                     }
                 }
             }
-            return new MutableKnowledge(must, MapEventGraph.from(must));
+            return new MutableKnowledge(must, MutableEventGraph.from(must));
         }
 
         @Override
         public MutableKnowledge visitInternal(Internal internal) {
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             for (Thread t : program.getThreads()) {
                 List<Event> events = visibleEvents(t);
                 for (Event e1 : events) {
@@ -553,15 +718,16 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                     must.addRange(e1, rangeEvents);
                 }
             }
-            return new MutableKnowledge(must, MapEventGraph.from(must));
+            return new MutableKnowledge(must, MutableEventGraph.from(must));
         }
 
         @Override
         public MutableKnowledge visitProgramOrder(ProgramOrder po) {
             final Filter type = po.getFilter();
-            MutableEventGraph must = new MapEventGraph();
-            for (Thread t : program.getThreads()) {
-                List<Event> events = t.getEvents().stream().filter(type::apply).toList();
+            MutableEventGraph must = newGraph();
+            final Map<Thread, List<Event>> eventsByThread = program.getFilterIndex().apply(type).stream()
+                    .collect(Collectors.groupingBy(Event::getThread));
+            for (List<Event> events : eventsByThread.values()) {
                 for (int i = 0; i < events.size(); i++) {
                     Event e1 = events.get(i);
                     for (int j = i + 1; j < events.size(); j++) {
@@ -572,14 +738,14 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                     }
                 }
             }
-            return new MutableKnowledge(must, MapEventGraph.from(must));
+            return new MutableKnowledge(must, MutableEventGraph.from(must));
         }
 
         @Override
         public MutableKnowledge visitControlDependency(DirectControlDependency ctrlDep) {
             //TODO: We can restrict the codomain to visible events as the only usage of this Relation is in
             // ctrl := idd^+;ctrlDirect & (R*V)
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             for (Thread thread : program.getThreads()) {
                 for (CondJump jump : thread.getEvents(CondJump.class)) {
                     if (jump.isGoto() || jump.isDead()) {
@@ -603,7 +769,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                     }
                 }
             }
-            return new MutableKnowledge(must, MapEventGraph.from(must));
+            return new MutableKnowledge(must, MutableEventGraph.from(must));
         }
 
         @Override
@@ -619,20 +785,20 @@ public class NativeRelationAnalysis implements RelationAnalysis {
 
         @Override
         public MutableKnowledge visitCASDependency(CASDependency casDep) {
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             for (Event e : program.getThreadEvents()) {
                 if (e.hasTag(IMM.CASDEPORIGIN)) {
                     // The target of a CASDep is always the successor of the origin
                     must.add(e, e.getSuccessor());
                 }
             }
-            return new MutableKnowledge(must, MapEventGraph.from(must));
+            return new MutableKnowledge(must, MutableEventGraph.from(must));
         }
 
         @Override
         public MutableKnowledge visitLinuxCriticalSections(LinuxCriticalSections rscs) {
-            MutableEventGraph may = new MapEventGraph();
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph may = newGraph();
+            MutableEventGraph must = newGraph();
             //assume locks and unlocks are distinct
             Map<Event, Set<Event>> mayMap = new HashMap<>();
             Map<Event, Set<Event>> mustMap = new HashMap<>();
@@ -674,7 +840,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         public MutableKnowledge visitReadModifyWrites(ReadModifyWrites rmw) {
             //NOTE: Changes to the semantics of this method may need to be reflected in RMWGraph for Refinement!
             // ----- Compute must set -----
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             // RMWLoad -> RMWStore
             for (RMWStore store : program.getThreadEvents(RMWStore.class)) {
                 must.add(store.getLoadEvent(), store);
@@ -693,7 +859,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                 }
             }
             // ----- Compute may set -----
-            MutableEventGraph may = MapEventGraph.from(must);
+            MutableEventGraph may = MutableEventGraph.from(must);
             // LoadExcl -> StoreExcl
             for (Thread thread : program.getThreads()) {
                 List<Event> events = thread.getEvents().stream().filter(e -> e.hasTag(EXCL)).toList();
@@ -731,21 +897,23 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         public MutableKnowledge visitCoherence(Coherence co) {
             logger.trace("Computing knowledge about memory order");
             List<Store> allWrites = program.getThreadEvents(Store.class);
-            List<Store> nonInitWrites = program.getThreadEvents(Store.class);
+            List<Store> nonInitWrites = new ArrayList<>(allWrites);
             nonInitWrites.removeIf(Init.class::isInstance);
-            MutableEventGraph may = new MapEventGraph();
-            for (Store w1 : program.getThreadEvents(Store.class)) {
+            AliasBuckets<Store> allWriteBuckets = alias.getBuckets(allWrites);
+            AliasBuckets<Store> nonInitWriteBuckets = alias.getBuckets(nonInitWrites);
+            MutableEventGraph may = newGraph();
+            for (Store w1 : allWrites) {
                 // It is possible to have multiple initial writes
                 // to the same memory location via different virtual memory aliases
-                List<Store> writes = w1 instanceof Init ? allWrites : nonInitWrites;
-                for (Store w2 : writes) {
+                AliasBuckets<Store> writes = w1 instanceof Init ? allWriteBuckets : nonInitWriteBuckets;
+                for (Store w2 : writes.getCandidates(w1)) {
                     if (w1.getGlobalId() != w2.getGlobalId() && !exec.areMutuallyExclusive(w1, w2)
                             && alias.mayAlias(w1, w2)) {
                         may.add(w1, w2);
                     }
                 }
             }
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             may.apply((e1, e2) -> {
                 MemoryCoreEvent w1 = (MemoryCoreEvent) e1;
                 MemoryCoreEvent w2 = (MemoryCoreEvent) e2;
@@ -777,11 +945,11 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         public MutableKnowledge visitReadFrom(ReadFrom rf) {
             logger.trace("Computing knowledge about read-from");
             final BranchEquivalence eq = analysisContext.requires(BranchEquivalence.class);
-            MutableEventGraph may = new MapEventGraph();
-            MutableEventGraph must = new MapEventGraph();
-            List<Load> loadEvents = program.getThreadEvents(Load.class);
+            MutableEventGraph may = newGraph();
+            MutableEventGraph must = newGraph();
+            AliasBuckets<Load> loadEvents = alias.getBuckets(program.getThreadEvents(Load.class));
             for (Store e1 : program.getThreadEvents(Store.class)) {
-                for (Load e2 : loadEvents) {
+                for (Load e2 : loadEvents.getCandidates(e1)) {
                     if (alias.mayAlias(e1, e2) && !exec.areMutuallyExclusive(e1, e2)) {
                         may.add(e1, e2);
                     }
@@ -805,7 +973,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                 // Remove future reads
                 may.removeIf(Tuple::isBackward);
                 // Remove past reads
-                MutableEventGraph deletedEdges = new MapEventGraph();
+                MutableEventGraph deletedEdges = newGraph();
                 Map<Event, List<Event>> writesByRead = new HashMap<>();
                 may.apply((e1, e2) -> writesByRead.computeIfAbsent(e2, x -> new ArrayList<>()).add(e1));
                 for (Load read : program.getThreadEvents(Load.class)) {
@@ -891,16 +1059,16 @@ public class NativeRelationAnalysis implements RelationAnalysis {
 
         @Override
         public MutableKnowledge visitSameLocation(SameLocation loc) {
-            MutableEventGraph may = new MapEventGraph();
-            List<MemoryCoreEvent> events = program.getThreadEvents(MemoryCoreEvent.class);
-            for (MemoryCoreEvent e1 : events) {
-                for (MemoryCoreEvent e2 : events) {
+            MutableEventGraph may = newGraph();
+            AliasBuckets<MemoryCoreEvent> events = alias.getBuckets(program.getThreadEvents(MemoryCoreEvent.class));
+            for (MemoryCoreEvent e1 : events.getEvents()) {
+                for (MemoryCoreEvent e2 : events.getCandidates(e1)) {
                     if (alias.mayAlias(e1, e2) && !exec.areMutuallyExclusive(e1, e2)) {
                         may.add(e1, e2);
                     }
                 }
             }
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             may.apply((e1, e2) -> {
                 if (alias.mustAlias((MemoryCoreEvent) e1, (MemoryCoreEvent) e2)) {
                     must.add(e1, e2);
@@ -910,8 +1078,8 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         }
 
         private MutableKnowledge computeInternalDependencies(Set<UsageType> usageTypes) {
-            MutableEventGraph may = new MapEventGraph();
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph may = newGraph();
+            MutableEventGraph must = newGraph();
 
             for (RegReader regReader : program.getThreadEvents(RegReader.class)) {
                 final ReachingDefinitionsAnalysis.Writers state = definitions.getWriters(regReader);
@@ -947,7 +1115,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         @Override
         public MutableKnowledge visitSameScope(SameScope sc) {
             final String specificScope = sc.getSpecificScope();
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             List<Event> events = program.getThreadEvents().stream()
                     .filter(e -> e.hasTag(VISIBLE) && e.getThread().hasScope())
                     .toList();
@@ -972,12 +1140,12 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                     }
                 }
             }
-            return new MutableKnowledge(must, MapEventGraph.from(must));
+            return new MutableKnowledge(must, MutableEventGraph.from(must));
         }
 
         @Override
         public MutableKnowledge visitSyncBarrier(SyncBar syncBar) {
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             List<ControlBarrier> barriers = program.getThreadEvents(ControlBarrier.class).stream()
                     .filter(e -> !(e instanceof NamedBarrier))
                     .toList();
@@ -987,7 +1155,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                     .filter(e2 -> !e2.hasTag(PTX.ARRIVE))
                     .forEach(e2 -> must.add(e1, e2)));
 
-            MutableEventGraph may = MapEventGraph.from(must);
+            MutableEventGraph may = MutableEventGraph.from(must);
             List<NamedBarrier> namedBarriers = program.getThreadEvents(NamedBarrier.class);
             namedBarriers.forEach(e1 -> namedBarriers.stream()
                     .filter(e2 -> e1.getInstanceId().equals(e2.getInstanceId()))
@@ -1008,8 +1176,8 @@ public class NativeRelationAnalysis implements RelationAnalysis {
 
         @Override
         public MutableKnowledge visitSyncFence(SyncFence syncFence) {
-            MutableEventGraph may = new MapEventGraph();
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph may = newGraph();
+            MutableEventGraph must = newGraph();
             List<Event> fenceEventsSC = program.getThreadEventsWithAllTags(VISIBLE, FENCE, Tag.PTX.SC);
             for (Event e1 : fenceEventsSC) {
                 for (Event e2 : fenceEventsSC) {
@@ -1023,8 +1191,8 @@ public class NativeRelationAnalysis implements RelationAnalysis {
 
         @Override
         public MutableKnowledge visitSameVirtualLocation(SameVirtualLocation vloc) {
-            MutableEventGraph must = new MapEventGraph();
-            MutableEventGraph may = new MapEventGraph();
+            MutableEventGraph must = newGraph();
+            MutableEventGraph may = newGraph();
             Map<MemoryCoreEvent, VirtualMemoryObject> map = computeViltualAddressMap();
             map.forEach((e1, a1) -> map.forEach((e2, a2) -> {
                 if (a1.equals(a2) && !exec.areMutuallyExclusive(e1, e2)) {
@@ -1060,7 +1228,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
 
         @Override
         public MutableKnowledge visitSyncWith(SyncWith syncWith) {
-            MutableEventGraph must = new MapEventGraph();
+            MutableEventGraph must = newGraph();
             List<Event> events = new ArrayList<>(program.getThreadEventsWithAllTags(VISIBLE));
             events.removeIf(Init.class::isInstance);
             for (Event e1 : events) {
@@ -1075,7 +1243,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                     }
                 }
             }
-            return new MutableKnowledge(must, MapEventGraph.from(must));
+            return new MutableKnowledge(must, MutableEventGraph.from(must));
         }
     }
 
@@ -1096,11 +1264,11 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             Map<Relation, ExtendedDelta> map = new HashMap<>();
             if (origin.equals(rel)) {
                 for (Relation o : operands) {
-                    map.put(o, new ExtendedDelta(disabled, new MapEventGraph()));
+                    map.put(o, new ExtendedDelta(disabled, newGraph()));
                 }
             }
             if (operands.contains(origin)) {
-                MutableEventGraph d = new MapEventGraph();
+                MutableEventGraph d = newGraph();
                 disabled.apply((e1, e2) -> {
                     if (operands.stream().noneMatch(o -> knowledgeMap.get(o).getMaySet().contains(e1, e2))) {
                         d.add(e1, e2);
@@ -1152,7 +1320,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             if (origin.equals(r2)) {
                 MutableKnowledge k1 = knowledgeMap.get(r1);
                 map.put(r0, new ExtendedDelta(MutableEventGraph.intersection(enabled, k1.getMaySet()), MutableEventGraph.intersection(disabled, k1.getMustSet())));
-                map.put(r1, new ExtendedDelta(MutableEventGraph.difference(disabled, knowledgeMap.get(r0).getMaySet()), new MapEventGraph()));
+                map.put(r1, new ExtendedDelta(MutableEventGraph.difference(disabled, knowledgeMap.get(r0).getMaySet()), newGraph()));
             }
             return map;
         }
@@ -1162,10 +1330,10 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             final Relation r0 = comp.getDefinedRelation();
             final Relation r1 = comp.getLeftOperand();
             final Relation r2 = comp.getRightOperand();
-            MutableEventGraph d0 = new MapEventGraph();
-            MutableEventGraph e0 = new MapEventGraph();
-            MutableEventGraph d1 = new MapEventGraph();
-            MutableEventGraph d2 = new MapEventGraph();
+            MutableEventGraph d0 = newGraph();
+            MutableEventGraph e0 = newGraph();
+            MutableEventGraph d1 = newGraph();
+            MutableEventGraph d2 = newGraph();
             MutableKnowledge k0 = knowledgeMap.get(r0);
             MutableKnowledge k1 = knowledgeMap.get(r1);
             MutableKnowledge k2 = knowledgeMap.get(r2);
@@ -1206,8 +1374,8 @@ public class NativeRelationAnalysis implements RelationAnalysis {
 
             Map<Relation, ExtendedDelta> map = new HashMap<>();
             map.put(r0, new ExtendedDelta(d0, e0));
-            map.computeIfAbsent(r1, k -> new ExtendedDelta(d1, new MapEventGraph())).disabled.addAll(d1);
-            map.computeIfAbsent(r2, k -> new ExtendedDelta(d2, new MapEventGraph())).disabled.addAll(d2);
+            map.computeIfAbsent(r1, k -> new ExtendedDelta(d1, newGraph())).disabled.addAll(d1);
+            map.computeIfAbsent(r2, k -> new ExtendedDelta(d2, newGraph())).disabled.addAll(d2);
             return map;
         }
 
@@ -1231,7 +1399,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                 EventGraph mayOut1,
                 EventGraph mayOut2
         ) {
-            MutableEventGraph result = new MapEventGraph();
+            MutableEventGraph result = newGraph();
             for (Event e1 : disOut1.getDomain()) {
                 for (Event e : disOut1.getRange(e1)) {
                     Set<Event> e2Set = new HashSet<>(mayOut2.getRange(e));
@@ -1257,8 +1425,8 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                 EventGraph mustOut2,
                 EventGraph mayOut0
         ) {
-            MutableEventGraph enOut0 = new MapEventGraph();
-            MutableEventGraph disOut2 = new MapEventGraph();
+            MutableEventGraph enOut0 = newGraph();
+            MutableEventGraph disOut2 = newGraph();
             for (Event e1 : enOut1.getDomain()) {
                 for (Event e : enOut1.getRange(e1)) {
                     Set<Event> e2Set = new HashSet<>(mayOut2.getRange(e));
@@ -1286,7 +1454,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             final Relation r0 = inv.getDefinedRelation();
             final Relation r1 = inv.getOperand();
             if (origin.equals(r0)) {
-                return Map.of(r1, new ExtendedDelta(disabled.inverse(), new MapEventGraph()));
+                return Map.of(r1, new ExtendedDelta(disabled.inverse(), newGraph()));
             }
             if (origin.equals(r1)) {
                 return Map.of(r0, new ExtendedDelta(disabled.inverse(), enabled.inverse()));
@@ -1298,9 +1466,9 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         public Map<Relation, ExtendedDelta> visitTransitiveClosure(TransitiveClosure trans) {
             final Relation r0 = trans.getDefinedRelation();
             final Relation r1 = trans.getOperand();
-            MutableEventGraph d0 = new MapEventGraph();
-            MutableEventGraph e0 = new MapEventGraph();
-            MutableEventGraph d1 = new MapEventGraph();
+            MutableEventGraph d0 = newGraph();
+            MutableEventGraph e0 = newGraph();
+            MutableEventGraph d1 = newGraph();
             MutableKnowledge k0 = knowledgeMap.get(r0);
             MutableKnowledge k1 = knowledgeMap.get(r1);
             if (origin.equals(r1)) {
@@ -1382,7 +1550,7 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             }
             return Map.of(
                     r0, new ExtendedDelta(d0, e0),
-                    r1, new ExtendedDelta(d1, new MapEventGraph()));
+                    r1, new ExtendedDelta(d1, newGraph()));
         }
 
         @Override
@@ -1391,13 +1559,13 @@ public class NativeRelationAnalysis implements RelationAnalysis {
                 return Map.of();
             }
             //TODO use transitivity
-            MutableEventGraph e = new MapEventGraph();
+            MutableEventGraph e = newGraph();
             disabled.apply((x, y) -> {
                 if (alias.mustAlias((MemoryCoreEvent) x, (MemoryCoreEvent) y)) {
                     e.add(y, x);
                 }
             });
-            return Map.of(coDef.getDefinedRelation(), new ExtendedDelta(new MapEventGraph(), e));
+            return Map.of(coDef.getDefinedRelation(), new ExtendedDelta(newGraph(), e));
         }
     }
 
@@ -1430,12 +1598,8 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             if (deltas.size() == 1) {
                 return deltas.get(0);
             }
-            MutableEventGraph mayDelta = new MapEventGraph();
-            MutableEventGraph mustDelta = new MapEventGraph();
-            for (Delta d : deltas) {
-                mayDelta.addAll(d.may);
-                mustDelta.addAll(d.must);
-            }
+            MutableEventGraph mayDelta = MutableEventGraph.union(deltas.stream().map(d -> d.may).toArray(EventGraph[]::new));
+            MutableEventGraph mustDelta = MutableEventGraph.union(deltas.stream().map(d -> d.must).toArray(EventGraph[]::new));
             return new Delta(mayDelta, mustDelta);
         }
     }
@@ -1520,8 +1684,8 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         public Delta visitComposition(Composition comp) {
             final Relation r1 = comp.getLeftOperand();
             final Relation r2 = comp.getRightOperand();
-            MutableEventGraph maySet = new MapEventGraph();
-            MutableEventGraph mustSet = new MapEventGraph();
+            MutableEventGraph maySet = newGraph();
+            MutableEventGraph mustSet = newGraph();
             if (r1.equals(source)) {
                 computeComposition(maySet, may, getKnowledge(r2).getMaySet(), true);
                 computeComposition(mustSet, must, getKnowledge(r2).getMustSet(), false);
@@ -1534,6 +1698,11 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         }
 
         private void computeComposition(MutableEventGraph result, EventGraph left, EventGraph right, final boolean isMay) {
+            if (isMay && left instanceof BitSetEventGraph bLeft && right instanceof BitSetEventGraph bRight
+                    && result instanceof BitSetEventGraph && bLeft.getIndex() == bRight.getIndex()) {
+                computeMayComposition(result, bLeft, bRight);
+                return;
+            }
             for (Event e1 : left.getDomain()) {
                 Set<Event> update = new HashSet<>();
                 for (Event e : left.getRange(e1)) {
@@ -1549,12 +1718,29 @@ public class NativeRelationAnalysis implements RelationAnalysis {
             }
         }
 
+        // Row-wise variant of the may-composition for bitset-based graphs.
+        private void computeMayComposition(MutableEventGraph result, BitSetEventGraph left, BitSetEventGraph right) {
+            final EventIndex index = left.getIndex();
+            for (Event e1 : left.getDomain()) {
+                final BitSet row = left.composeRow(e1.getGlobalId(), right);
+                if (row == null) {
+                    continue;
+                }
+                for (int i = row.nextSetBit(0); i >= 0; i = row.nextSetBit(i + 1)) {
+                    final Event e2 = index.get(i);
+                    if (!exec.areMutuallyExclusive(e1, e2)) {
+                        result.add(e1, e2);
+                    }
+                }
+            }
+        }
+
         @Override
         public Delta visitDomainIdentity(DomainIdentity domId) {
             if (domId.getOperand().equals(source)) {
-                MutableEventGraph maySet = new MapEventGraph();
+                MutableEventGraph maySet = newGraph();
                 may.getDomain().forEach(e -> maySet.add(e, e));
-                MutableEventGraph mustSet = new MapEventGraph();
+                MutableEventGraph mustSet = newGraph();
                 must.apply((e1, e2) -> {
                     if (exec.isImplied(e1, e2)) {
                         mustSet.add(e1, e1);
@@ -1568,9 +1754,9 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         @Override
         public Delta visitRangeIdentity(RangeIdentity rangeId) {
             if (rangeId.getOperand().equals(source)) {
-                MutableEventGraph maySet = new MapEventGraph();
+                MutableEventGraph maySet = newGraph();
                 may.getRange().forEach(e -> maySet.add(e, e));
-                MutableEventGraph mustSet = new MapEventGraph();
+                MutableEventGraph mustSet = newGraph();
                 must.apply((e1, e2) -> {
                     if (exec.isImplied(e2, e1)) {
                         mustSet.add(e2, e2);
@@ -1601,13 +1787,13 @@ public class NativeRelationAnalysis implements RelationAnalysis {
         }
 
         private MutableEventGraph computeTransitiveClosure(EventGraph oldOuter, MutableEventGraph inner, boolean isMay) {
-            MutableEventGraph outer = MapEventGraph.from(oldOuter);
+            MutableEventGraph outer = MutableEventGraph.from(oldOuter);
             MutableEventGraph update = inner.filter(outer::add);
-            MutableEventGraph updateComposition = new MapEventGraph();
+            MutableEventGraph updateComposition = newGraph();
             computeComposition(updateComposition, inner, oldOuter, isMay);
             update.addAll(updateComposition.filter(outer::add));
             while (!update.isEmpty()) {
-                MutableEventGraph t = new MapEventGraph();
+                MutableEventGraph t = newGraph();
                 computeComposition(t, inner, update, isMay);
                 update = t.filter(outer::add);
             }
@@ -1,5 +1,6 @@
 package com.dat3m.dartagnan.wmm.axiom;
 
+import com.dat3m.dartagnan.configuration.AcyclicityEncoding;
 import com.dat3m.dartagnan.encoding.EncodingContext;
 import com.dat3m.dartagnan.program.analysis.ExecutionAnalysis;
 import com.dat3m.dartagnan.program.event.Event;
@@ -14,6 +15,7 @@ import com.dat3m.dartagnan.wmm.utils.Tuple;
 import com.dat3m.dartagnan.wmm.utils.graph.mutable.MutableEventGraph;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.sosy_lab.java_smt.api.BitvectorFormulaManager;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.BooleanFormulaManager;
 import org.sosy_lab.java_smt.api.FormulaManager;
@@ -25,6 +27,10 @@ public class Acyclicity extends Axiom {
 
     private static final Logger logger = LogManager.getLogger(Acyclicity.class);
 
+    // Bounds for components that get a vertex elimination encoding if no encoding is forced.
+    private static final int MAX_ELIMINATION_NODES = 16;
+    private static final double MAX_ELIMINATION_DENSITY = 0.5;
+
     public Acyclicity(Relation rel, boolean negated, boolean flag) {
         super(rel, negated, flag);
     }
@@ -203,11 +209,89 @@ public class Acyclicity extends Axiom {
         ExecutionAnalysis exec = context.getAnalysisContext().get(ExecutionAnalysis.class);
         RelationAnalysis ra = context.getAnalysisContext().get(RelationAnalysis.class);
         EventGraph toBeEncoded = getEncodeGraph(exec, ra);
-        return negated ?
-                inconsistentSAT(toBeEncoded, context) : // There is no IDL-based encoding for inconsistency
-                context.usesSATEncoding() ?
-                        consistentSAT(toBeEncoded, context) :
-                        consistentIDL(toBeEncoded, context);
+        if (negated) {
+            return inconsistentSAT(toBeEncoded, context); // There is no IDL-based encoding for inconsistency
+        }
+        final AcyclicityEncoding uniformEncoding = getUniformEncoding(context);
+        if (uniformEncoding != AcyclicityEncoding.AUTO) {
+            return encode(uniformEncoding, toBeEncoded, context);
+        }
+        // Every cycle lies within a single SCC, so each SCC can be encoded on its own.
+        final Map<AcyclicityEncoding, MutableEventGraph> byEncoding = new EnumMap<>(AcyclicityEncoding.class);
+        final Map<AcyclicityEncoding, Integer> componentCounts = new EnumMap<>(AcyclicityEncoding.class);
+        for (EventGraph component : getComponents(toBeEncoded)) {
+            final AcyclicityEncoding encoding = chooseEncoding(component);
+            byEncoding.computeIfAbsent(encoding, k -> new MapEventGraph()).addAll(component);
+            componentCounts.merge(encoding, 1, Integer::sum);
+        }
+        logger.debug("Components of {} by encoding: {}", this, componentCounts);
+        final List<BooleanFormula> enc = new ArrayList<>();
+        byEncoding.forEach((encoding, edges) -> enc.addAll(encode(encoding, edges, context)));
+        return enc;
+    }
+
+    private List<BooleanFormula> encode(AcyclicityEncoding encoding, EventGraph toBeEncoded, EncodingContext context) {
+        return switch (encoding) {
+            case IDL -> consistentIDL(toBeEncoded, context);
+            case BV_CLOCKS -> consistentBV(toBeEncoded, context);
+            case VERTEX_ELIMINATION -> consistentSAT(toBeEncoded, context);
+            case LAZY -> List.of();
+            case AUTO -> throw new IllegalArgumentException("Cannot encode without a concrete acyclicity encoding.");
+        };
+    }
+
+    // Splits the edges into the strongly connected components they form; edges between components are dropped.
+    private static List<EventGraph> getComponents(EventGraph edges) {
+        final Map<Event, Set<Event>> succMap = edges.getOutMap();
+        final DependencyGraph<Event> depGraph = DependencyGraph.from(succMap.keySet(), succMap);
+        final List<EventGraph> components = new ArrayList<>();
+        for (Set<DependencyGraph<Event>.Node> scc : depGraph.getSCCs()) {
+            final MutableEventGraph component = new MapEventGraph();
+            for (DependencyGraph<Event>.Node node : scc) {
+                final Event e1 = node.getContent();
+                for (Event e2 : succMap.getOrDefault(e1, Set.of())) {
+                    if (scc.contains(depGraph.get(e2))) {
+                        component.add(e1, e2);
+                    }
+                }
+            }
+            if (!component.isEmpty()) {
+                components.add(component);
+            }
+        }
+        return components;
+    }
+
+    // Returns the encoding to use for the whole encode set, or AUTO if it should be chosen per component.
+    private AcyclicityEncoding getUniformEncoding(EncodingContext context) {
+        final AcyclicityEncoding forced = getMemoryModel().getConfig().getAcyclicityEncoding();
+        if (forced == AcyclicityEncoding.LAZY) {
+            // Flagged axioms are not checked by the refinement
+            return context.isConsistencyRefined() && !flag ? forced : getUniformEncodingByContext(context);
+        }
+        return forced != AcyclicityEncoding.AUTO ? forced : getUniformEncodingByContext(context);
+    }
+
+    private AcyclicityEncoding getUniformEncodingByContext(EncodingContext context) {
+        if (context.usesSATEncoding()) {
+            return AcyclicityEncoding.VERTEX_ELIMINATION;
+        }
+        if (rel.hasName("hb")) {
+            // The data race encoding refers to the clocks of hb (see PropertyEncoder).
+            return AcyclicityEncoding.IDL;
+        }
+        return AcyclicityEncoding.AUTO;
+    }
+
+    private static AcyclicityEncoding chooseEncoding(EventGraph component) {
+        final int nodes = component.getDomain().size();
+        final int edges = component.size();
+        // Vertex elimination is cubic in the worst case,
+        // but being pure SAT it is cheaper than IDL on small sparse components.
+        if (nodes <= 2 || (nodes <= MAX_ELIMINATION_NODES && edges <= MAX_ELIMINATION_DENSITY * nodes * (nodes - 1))) {
+            return AcyclicityEncoding.VERTEX_ELIMINATION;
+        }
+        return AcyclicityEncoding.IDL;
     }
 
     private List<BooleanFormula> inconsistentSAT(EventGraph toBeEncoded, EncodingContext context) {
@@ -257,6 +341,26 @@ public class Acyclicity extends Axiom {
         return enc;
     }
 
+    private List<BooleanFormula> consistentBV(EventGraph toBeEncoded, EncodingContext context) {
+        final BooleanFormulaManager bmgr = context.getBooleanFormulaManager();
+        final BitvectorFormulaManager bvmgr = context.getFormulaManager().getBitvectorFormulaManager();
+        final String clockVarName = context.getFormulaManager().escape(rel.getNameOrTerm()) + " bv ";
+        // Clocks only need to be distinct within a component, so their width depends on the largest one.
+        final int maxComponentSize = getComponents(toBeEncoded).stream()
+                .mapToInt(c -> c.getDomain().size()).max().orElse(1);
+        final int width = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxComponentSize - 1));
+        List<BooleanFormula> enc = new ArrayList<>();
+        final EncodingContext.EdgeEncoder edge = context.edge(rel);
+        toBeEncoded.apply((e1, e2) ->
+            enc.add(bmgr.implication(edge.encode(e1, e2),
+                    bvmgr.lessThan(
+                            bvmgr.makeVariable(width, clockVarName + e1.getGlobalId()),
+                            bvmgr.makeVariable(width, clockVarName + e2.getGlobalId()),
+                            false)))
+        );
+        return enc;
+    }
+
     private List<BooleanFormula> consistentSAT(EventGraph toBeEncoded, EncodingContext context) {
         // We use a vertex-elimination graph based encoding.
         final FormulaManager fmgr = context.getFormulaManager();
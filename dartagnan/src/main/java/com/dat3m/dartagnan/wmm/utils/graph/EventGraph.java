@@ -4,7 +4,9 @@ import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.wmm.utils.graph.immutable.ImmutableEventGraph;
 import com.dat3m.dartagnan.wmm.utils.graph.immutable.ImmutableMapEventGraph;
 import com.dat3m.dartagnan.wmm.utils.graph.immutable.LazyEventGraph;
+import com.dat3m.dartagnan.wmm.utils.graph.mutable.BitSetEventGraph;
 import com.dat3m.dartagnan.wmm.utils.graph.mutable.MapEventGraph;
+import com.dat3m.dartagnan.wmm.utils.graph.mutable.MutableEventGraph;
 
 import java.util.Arrays;
 import java.util.Map;
@@ -48,6 +50,9 @@ public interface EventGraph {
         if (Arrays.stream(operands).anyMatch(LazyEventGraph.class::isInstance)) {
             return LazyEventGraph.union(operands);
         }
+        if (Arrays.stream(operands).allMatch(BitSetEventGraph.class::isInstance)) {
+            return MutableEventGraph.union(operands);
+        }
         if (Arrays.stream(operands).anyMatch(MapEventGraph.class::isInstance)) {
             return MapEventGraph.union(operands);
         }
@@ -61,6 +66,9 @@ public interface EventGraph {
         if (Arrays.stream(operands).allMatch(LazyEventGraph.class::isInstance)) {
             return LazyEventGraph.intersection(operands);
         }
+        if (Arrays.stream(operands).allMatch(BitSetEventGraph.class::isInstance)) {
+            return MutableEventGraph.intersection(operands);
+        }
         if (Arrays.stream(operands).anyMatch(MapEventGraph.class::isInstance)) {
             return MapEventGraph.intersection(operands);
         }
@@ -74,6 +82,9 @@ public interface EventGraph {
         if (minuend instanceof LazyEventGraph) {
             return LazyEventGraph.difference(minuend, subtrahend);
         }
+        if (minuend instanceof BitSetEventGraph) {
+            return MutableEventGraph.difference(minuend, subtrahend);
+        }
         if (minuend instanceof MapEventGraph || subtrahend instanceof MapEventGraph) {
             return MapEventGraph.difference(minuend, subtrahend);
         }
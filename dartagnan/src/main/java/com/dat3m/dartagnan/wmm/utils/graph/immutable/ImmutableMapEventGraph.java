@@ -2,7 +2,7 @@ package com.dat3m.dartagnan.wmm.utils.graph.immutable;
 
 import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.wmm.utils.graph.EventGraph;
-import com.dat3m.dartagnan.wmm.utils.graph.mutable.MapEventGraph;
+import com.dat3m.dartagnan.wmm.utils.graph.mutable.MutableEventGraph;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
@@ -145,7 +145,7 @@ public class ImmutableMapEventGraph implements ImmutableEventGraph {
         if (other instanceof ImmutableMapEventGraph iOther) {
             return iOther;
         }
-        if (other instanceof LazyEventGraph || other instanceof MapEventGraph) {
+        if (other instanceof LazyEventGraph || other instanceof MutableEventGraph) {
             return new ImmutableMapEventGraph(other.getOutMap());
         }
         throw new IllegalArgumentException("Unexpected type of event graph " + other.getClass().getSimpleName());
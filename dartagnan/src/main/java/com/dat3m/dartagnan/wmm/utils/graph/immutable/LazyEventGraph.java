@@ -2,7 +2,7 @@ package com.dat3m.dartagnan.wmm.utils.graph.immutable;
 
 import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.wmm.utils.graph.EventGraph;
-import com.dat3m.dartagnan.wmm.utils.graph.mutable.MapEventGraph;
+import com.dat3m.dartagnan.wmm.utils.graph.mutable.MutableEventGraph;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
@@ -168,7 +168,7 @@ public class LazyEventGraph implements ImmutableEventGraph {
         if (other instanceof ImmutableMapEventGraph) {
             return new LazyEventGraph(other.getDomain(), other.getRange(), other::contains);
         }
-        if (other instanceof MapEventGraph) {
+        if (other instanceof MutableEventGraph) {
             return LazyEventGraph.from(ImmutableMapEventGraph.from(other));
         }
         throw new IllegalArgumentException("Unexpected type of event graph " + other.getClass().getSimpleName());
@@ -0,0 +1,431 @@
+package com.dat3m.dartagnan.wmm.utils.graph.mutable;
+
+import com.dat3m.dartagnan.program.event.Event;
+import com.dat3m.dartagnan.wmm.utils.graph.EventGraph;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/*
+    Stores one bitset of successors per source event, where events are numbered by an EventIndex.
+    Rows are allocated on demand, so sparse graphs (e.g. deltas) stay small.
+    Operations between graphs over the same index work on whole rows at once.
+ */
+public class BitSetEventGraph implements MutableEventGraph {
+
+    private static final BitSet[] NO_ROWS = new BitSet[0];
+
+    private final EventIndex index;
+    // Invariant: Every row is either null or non-empty.
+    private BitSet[] rows = NO_ROWS;
+
+    public BitSetEventGraph(EventIndex index) {
+        this.index = index;
+    }
+
+    public EventIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (BitSet row : rows) {
+            if (row != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (BitSet row : rows) {
+            if (row != null) {
+                size += row.cardinality();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean contains(Event e1, Event e2) {
+        final BitSet row = getRow(e1);
+        return row != null && index.contains(e2) && row.get(e2.getGlobalId());
+    }
+
+    @Override
+    public boolean add(Event e1, Event e2) {
+        final int target = index.indexOf(e2);
+        final BitSet row = getOrCreateRow(index.indexOf(e1));
+        if (row.get(target)) {
+            return false;
+        }
+        row.set(target);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Event e1, Event e2) {
+        final BitSet row = getRow(e1);
+        if (row == null || !index.contains(e2) || !row.get(e2.getGlobalId())) {
+            return false;
+        }
+        row.clear(e2.getGlobalId());
+        clearIfEmpty(e1.getGlobalId());
+        return true;
+    }
+
+    @Override
+    public boolean addAll(EventGraph other) {
+        if (!isCompatible(other)) {
+            boolean modified = false;
+            for (Map.Entry<Event, Set<Event>> entry : other.getOutMap().entrySet()) {
+                modified |= addRange(entry.getKey(), entry.getValue());
+            }
+            return modified;
+        }
+        final BitSet[] otherRows = ((BitSetEventGraph) other).rows;
+        boolean modified = false;
+        for (int i = 0; i < otherRows.length; i++) {
+            if (otherRows[i] != null) {
+                final BitSet row = getOrCreateRow(i);
+                final int oldSize = row.cardinality();
+                row.or(otherRows[i]);
+                modified |= row.cardinality() != oldSize;
+            }
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean removeAll(EventGraph other) {
+        if (!isCompatible(other)) {
+            return removeIf(other::contains);
+        }
+        final BitSet[] otherRows = ((BitSetEventGraph) other).rows;
+        boolean modified = false;
+        for (int i = 0; i < Math.min(rows.length, otherRows.length); i++) {
+            if (rows[i] != null && otherRows[i] != null) {
+                final int oldSize = rows[i].cardinality();
+                rows[i].andNot(otherRows[i]);
+                modified |= rows[i].cardinality() != oldSize;
+                clearIfEmpty(i);
+            }
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean retainAll(EventGraph other) {
+        if (!isCompatible(other)) {
+            return removeIf((e1, e2) -> !other.contains(e1, e2));
+        }
+        final BitSet[] otherRows = ((BitSetEventGraph) other).rows;
+        boolean modified = false;
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] != null) {
+                final int oldSize = rows[i].cardinality();
+                if (i < otherRows.length && otherRows[i] != null) {
+                    rows[i].and(otherRows[i]);
+                } else {
+                    rows[i].clear();
+                }
+                modified |= rows[i].cardinality() != oldSize;
+                clearIfEmpty(i);
+            }
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean addRange(Event e, Set<Event> range) {
+        if (range.isEmpty()) {
+            return false;
+        }
+        final BitSet row = getOrCreateRow(index.indexOf(e));
+        final int oldSize = row.cardinality();
+        if (range instanceof RowView view && view.getIndex() == index) {
+            row.or(view.getBits());
+        } else {
+            range.forEach(e2 -> row.set(index.indexOf(e2)));
+        }
+        return row.cardinality() != oldSize;
+    }
+
+    @Override
+    public boolean removeIf(BiPredicate<Event, Event> f) {
+        boolean modified = false;
+        for (int i = 0; i < rows.length; i++) {
+            final BitSet row = rows[i];
+            if (row != null) {
+                final Event e1 = index.get(i);
+                for (int j = row.nextSetBit(0); j >= 0; j = row.nextSetBit(j + 1)) {
+                    if (f.test(e1, index.get(j))) {
+                        row.clear(j);
+                        modified = true;
+                    }
+                }
+                clearIfEmpty(i);
+            }
+        }
+        return modified;
+    }
+
+    @Override
+    public BitSetEventGraph inverse() {
+        final BitSetEventGraph inverse = new BitSetEventGraph(index);
+        for (int i = 0; i < rows.length; i++) {
+            final BitSet row = rows[i];
+            if (row != null) {
+                for (int j = row.nextSetBit(0); j >= 0; j = row.nextSetBit(j + 1)) {
+                    inverse.getOrCreateRow(j).set(i);
+                }
+            }
+        }
+        return inverse;
+    }
+
+    @Override
+    public BitSetEventGraph filter(BiPredicate<Event, Event> f) {
+        final BitSetEventGraph filtered = new BitSetEventGraph(index);
+        apply((e1, e2) -> {
+            if (f.test(e1, e2)) {
+                filtered.getOrCreateRow(e1.getGlobalId()).set(e2.getGlobalId());
+            }
+        });
+        return filtered;
+    }
+
+    @Override
+    public Map<Event, Set<Event>> getOutMap() {
+        final Map<Event, Set<Event>> outMap = new LinkedHashMap<>();
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] != null) {
+                outMap.put(index.get(i), new RowView(index, rows[i]));
+            }
+        }
+        return Collections.unmodifiableMap(outMap);
+    }
+
+    @Override
+    public Map<Event, Set<Event>> getInMap() {
+        return inverse().getOutMap();
+    }
+
+    @Override
+    public Set<Event> getDomain() {
+        final BitSet domain = new BitSet(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] != null) {
+                domain.set(i);
+            }
+        }
+        return new RowView(index, domain);
+    }
+
+    @Override
+    public Set<Event> getRange() {
+        final BitSet range = new BitSet(index.size());
+        for (BitSet row : rows) {
+            if (row != null) {
+                range.or(row);
+            }
+        }
+        return new RowView(index, range);
+    }
+
+    @Override
+    public Set<Event> getRange(Event e) {
+        final BitSet row = getRow(e);
+        return row == null ? Set.of() : new RowView(index, row);
+    }
+
+    @Override
+    public void apply(BiConsumer<Event, Event> f) {
+        for (int i = 0; i < rows.length; i++) {
+            final BitSet row = rows[i];
+            if (row != null) {
+                final Event e1 = index.get(i);
+                for (int j = row.nextSetBit(0); j >= 0; j = row.nextSetBit(j + 1)) {
+                    f.accept(e1, index.get(j));
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof EventGraph eg))
+            return false;
+        if (!isCompatible(eg))
+            return getOutMap().equals(eg.getOutMap());
+        final BitSet[] otherRows = ((BitSetEventGraph) eg).rows;
+        for (int i = 0; i < Math.max(rows.length, otherRows.length); i++) {
+            final BitSet row = i < rows.length ? rows[i] : null;
+            final BitSet otherRow = i < otherRows.length ? otherRows[i] : null;
+            if (!Objects.equals(row, otherRow)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        throw new UnsupportedOperationException(BitSetEventGraph.class.getSimpleName()
+                + " should not be used as a key");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        apply((e1, e2) -> sb.append("(")
+                .append(e1.getGlobalId())
+                .append(",")
+                .append(e2.getGlobalId())
+                .append(")"));
+        return sb.append("]").toString();
+    }
+
+    // ================================ Kernels ================================
+
+    public static BitSetEventGraph from(EventIndex index, EventGraph other) {
+        final BitSetEventGraph newInstance = new BitSetEventGraph(index);
+        newInstance.addAll(other);
+        return newInstance;
+    }
+
+    public static BitSetEventGraph union(EventIndex index, EventGraph... operands) {
+        final BitSetEventGraph result = new BitSetEventGraph(index);
+        for (EventGraph operand : operands) {
+            result.addAll(operand);
+        }
+        return result;
+    }
+
+    public static BitSetEventGraph intersection(EventIndex index, EventGraph... operands) {
+        if (operands.length == 0 || Arrays.stream(operands).anyMatch(EventGraph::isEmpty)) {
+            return new BitSetEventGraph(index);
+        }
+        final BitSetEventGraph result = from(index, operands[0]);
+        for (int i = 1; i < operands.length; i++) {
+            result.retainAll(operands[i]);
+        }
+        return result;
+    }
+
+    public static BitSetEventGraph difference(EventIndex index, EventGraph minuend, EventGraph subtrahend) {
+        final BitSetEventGraph result = from(index, minuend);
+        result.removeAll(subtrahend);
+        return result;
+    }
+
+    /*
+        Returns the successors of the i-th event in the composition of this graph with the right operand,
+        or null if there are none.
+     */
+    public BitSet composeRow(int i, BitSetEventGraph right) {
+        if (i >= rows.length || rows[i] == null) {
+            return null;
+        }
+        BitSet result = null;
+        final BitSet row = rows[i];
+        for (int j = row.nextSetBit(0); j >= 0 && j < right.rows.length; j = row.nextSetBit(j + 1)) {
+            if (right.rows[j] != null) {
+                if (result == null) {
+                    result = new BitSet(index.size());
+                }
+                result.or(right.rows[j]);
+            }
+        }
+        return result;
+    }
+
+    // ================================ Internals ================================
+
+    private boolean isCompatible(EventGraph other) {
+        return other instanceof BitSetEventGraph bOther && bOther.index == index;
+    }
+
+    private BitSet getRow(Event e) {
+        final int id = e.getGlobalId();
+        return id >= 0 && id < rows.length && index.contains(e) ? rows[id] : null;
+    }
+
+    private BitSet getOrCreateRow(int i) {
+        if (i >= rows.length) {
+            rows = Arrays.copyOf(rows, Math.min(index.size(), Math.max(i + 1, 2 * rows.length)));
+        }
+        if (rows[i] == null) {
+            rows[i] = new BitSet();
+        }
+        return rows[i];
+    }
+
+    private void clearIfEmpty(int i) {
+        if (rows[i].isEmpty()) {
+            rows[i] = null;
+        }
+    }
+
+    // Read-only view on a set of events given as bitset.
+    public static final class RowView extends AbstractSet<Event> {
+
+        private final EventIndex index;
+        private final BitSet bits;
+
+        private RowView(EventIndex index, BitSet bits) {
+            this.index = index;
+            this.bits = bits;
+        }
+
+        EventIndex getIndex() {
+            return index;
+        }
+
+        BitSet getBits() {
+            return bits;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Event e && index.contains(e) && bits.get(e.getGlobalId());
+        }
+
+        @Override
+        public int size() {
+            return bits.cardinality();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return bits.isEmpty();
+        }
+
+        @Override
+        public Iterator<Event> iterator() {
+            return new Iterator<>() {
+                private int next = bits.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public Event next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    final Event e = index.get(next);
+                    next = bits.nextSetBit(next + 1);
+                    return e;
+                }
+            };
+        }
+    }
+}
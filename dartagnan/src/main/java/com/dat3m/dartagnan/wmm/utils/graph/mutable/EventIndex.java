@@ -0,0 +1,50 @@
+package com.dat3m.dartagnan.wmm.utils.graph.mutable;
+
+import com.dat3m.dartagnan.program.event.Event;
+
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/*
+    Dense numbering of a fixed set of events, based on their global ids.
+    Graphs over the same index can be combined row-wise without any lookups.
+ */
+public final class EventIndex {
+
+    private final Event[] events;
+
+    private EventIndex(Event[] events) {
+        this.events = events;
+    }
+
+    public static EventIndex of(Collection<? extends Event> events) {
+        final int maxId = events.stream().mapToInt(Event::getGlobalId).max().orElse(-1);
+        final Event[] array = new Event[maxId + 1];
+        for (Event e : events) {
+            checkArgument(e.getGlobalId() >= 0, "Event %s has no global id.", e);
+            checkArgument(array[e.getGlobalId()] == null, "Duplicate global id %s.", e.getGlobalId());
+            array[e.getGlobalId()] = e;
+        }
+        return new EventIndex(array);
+    }
+
+    public int size() {
+        return events.length;
+    }
+
+    public Event get(int index) {
+        return events[index];
+    }
+
+    public int indexOf(Event e) {
+        final int id = e.getGlobalId();
+        checkArgument(contains(e), "Event %s is not indexed.", e);
+        return id;
+    }
+
+    public boolean contains(Event e) {
+        final int id = e.getGlobalId();
+        return id >= 0 && id < events.length && events[id] == e;
+    }
+}
@@ -3,6 +3,7 @@ package com.dat3m.dartagnan.wmm.utils.graph.mutable;
 import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.wmm.utils.graph.EventGraph;
 
+import java.util.Arrays;
 import java.util.Set;
 import java.util.function.BiPredicate;
 
@@ -28,19 +29,34 @@ public interface MutableEventGraph extends EventGraph {
 
     boolean removeIf(BiPredicate<Event, Event> f);
 
+    // The results are bitset-based, if the (relevant) operands are bitset-based.
+
     static MutableEventGraph from(EventGraph other) {
+        if (other instanceof BitSetEventGraph bOther) {
+            return BitSetEventGraph.from(bOther.getIndex(), other);
+        }
         return MapEventGraph.from(other);
     }
 
     static MutableEventGraph union(EventGraph... operands) {
+        operands = Arrays.stream(operands).filter(o -> !o.isEmpty()).toArray(EventGraph[]::new);
+        if (operands.length > 0 && operands[0] instanceof BitSetEventGraph bFirst) {
+            return BitSetEventGraph.union(bFirst.getIndex(), operands);
+        }
         return MapEventGraph.union(operands);
     }
 
     static MutableEventGraph intersection(EventGraph... operands) {
+        if (operands.length > 0 && operands[0] instanceof BitSetEventGraph bFirst) {
+            return BitSetEventGraph.intersection(bFirst.getIndex(), operands);
+        }
         return MapEventGraph.intersection(operands);
     }
 
     static MutableEventGraph difference(EventGraph minuend, EventGraph subtrahend) {
+        if (minuend instanceof BitSetEventGraph bMinuend) {
+            return BitSetEventGraph.difference(bMinuend.getIndex(), minuend, subtrahend);
+        }
         return MapEventGraph.difference(minuend, subtrahend);
     }
 }
@@ -1,6 +1,7 @@
 package com.dat3m.dartagnan.encoding;
 
 import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.EventGraphImplementation;
 import com.dat3m.dartagnan.configuration.RelationAnalysisMethod;
 import com.dat3m.dartagnan.encoding.EncodingContext;
 import com.dat3m.dartagnan.encoding.WmmEncoder;
@@ -163,6 +164,30 @@ public class RelationAnalysisTest {
             performStaticWmmAnalyses(nativeTask, nativeContext, nativeTask.getConfig());
             RelationAnalysis nativeRa = nativeContext.get(RelationAnalysis.class);
 
+            // Native analysis on bitset graphs
+            Context bitsetContext = Context.create();
+            Configuration bitsetConfig = Configuration.builder()
+                    .setOption(ALIAS_METHOD, FIELD_SENSITIVE.asStringOption())
+                    .setOption(ENABLE_EXTENDED_RELATION_ANALYSIS, "false")
+                    .setOption(RELATION_ANALYSIS_GRAPHS, EventGraphImplementation.BITSET.toString())
+                    .build();
+            VerificationTask bitsetTask = createTask(program, wmm, bitsetConfig);
+            performStaticProgramAnalyses(bitsetTask, bitsetContext, bitsetTask.getConfig());
+            performStaticWmmAnalyses(bitsetTask, bitsetContext, bitsetTask.getConfig());
+            RelationAnalysis bitsetRa = bitsetContext.get(RelationAnalysis.class);
+
+            // Native analysis with parallel strata
+            Context parallelContext = Context.create();
+            Configuration parallelConfig = Configuration.builder()
+                    .setOption(ALIAS_METHOD, FIELD_SENSITIVE.asStringOption())
+                    .setOption(ENABLE_EXTENDED_RELATION_ANALYSIS, "false")
+                    .setOption(RELATION_ANALYSIS_PARALLELISM, "4")
+                    .build();
+            VerificationTask parallelTask = createTask(program, wmm, parallelConfig);
+            performStaticProgramAnalyses(parallelTask, parallelContext, parallelTask.getConfig());
+            performStaticWmmAnalyses(parallelTask, parallelContext, parallelTask.getConfig());
+            RelationAnalysis parallelRa = parallelContext.get(RelationAnalysis.class);
+
             // Lazy analysis
             Context lazyContext = Context.create();
             Configuration lazyConfig = Configuration.builder()
@@ -180,14 +205,25 @@ public class RelationAnalysisTest {
                         lazyRa.getKnowledge(relation).getMaySet());
                 assertEquals(nativeRa.getKnowledge(relation).getMustSet(),
                         lazyRa.getKnowledge(relation).getMustSet());
+                assertEquals(nativeRa.getKnowledge(relation).getMaySet(),
+                        bitsetRa.getKnowledge(relation).getMaySet());
+                assertEquals(nativeRa.getKnowledge(relation).getMustSet(),
+                        bitsetRa.getKnowledge(relation).getMustSet());
+                assertEquals(nativeRa.getKnowledge(relation).getMaySet(),
+                        parallelRa.getKnowledge(relation).getMaySet());
+                assertEquals(nativeRa.getKnowledge(relation).getMustSet(),
+                        parallelRa.getKnowledge(relation).getMustSet());
             }
 
             // Generate and assert encode sets
             WmmEncoder nativeEncoder = WmmEncoder.withContext(EncodingContext.of(nativeTask, nativeContext, ctx.getFormulaManager()));
             WmmEncoder lazyEncoder = WmmEncoder.withContext(EncodingContext.of(lazyTask, lazyContext, ctx.getFormulaManager()));
+            WmmEncoder bitsetEncoder = WmmEncoder.withContext(EncodingContext.of(bitsetTask, bitsetContext, ctx.getFormulaManager()));
             for (Relation relation : nativeTask.getMemoryModel().getRelations()) {
                 assertEquals(nativeEncoder.encodeSets.get(relation),
                         lazyEncoder.encodeSets.get(relation));
+                assertEquals(nativeEncoder.encodeSets.get(relation),
+                        bitsetEncoder.encodeSets.get(relation));
             }
         }
     }
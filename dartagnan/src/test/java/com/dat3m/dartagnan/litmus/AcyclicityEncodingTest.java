@@ -0,0 +1,98 @@
+package com.dat3m.dartagnan.litmus;
+
+import com.dat3m.dartagnan.configuration.AcyclicityEncoding;
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.encoding.ProverWithTracker;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.utils.ResourceHelper;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.utils.TestHelper;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.AssumeSolver;
+import com.dat3m.dartagnan.verification.solving.RefinementSolver;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.*;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static org.junit.Assert.assertEquals;
+
+/*
+    Checks that every acyclicity encoding yields the expected results on a sample of the C11 litmus tests.
+ */
+@RunWith(Parameterized.class)
+public class AcyclicityEncodingTest {
+
+    private static final int NUM_TESTS = 24;
+
+    private final AcyclicityEncoding encoding;
+
+    @Parameterized.Parameters(name = "{index}: {0}")
+    public static Iterable<Object[]> data() {
+        return Arrays.stream(AcyclicityEncoding.values()).map(e -> new Object[]{e}).toList();
+    }
+
+    public AcyclicityEncodingTest(AcyclicityEncoding encoding) {
+        this.encoding = encoding;
+    }
+
+    @Test(timeout = 300000)
+    public void test() throws Exception {
+        final Map<String, Result> expectedResults = ResourceHelper.getExpectedResults("C11", "");
+        final Set<String> skip = ResourceHelper.getSkipSet();
+        final List<String> candidates = expectedResults.keySet().stream()
+                .filter(path -> !skip.contains(path))
+                .sorted()
+                .toList();
+        final int stride = Math.max(1, candidates.size() / NUM_TESTS);
+        final List<String> paths = IntStream.range(0, candidates.size())
+                .filter(i -> i % stride == 0)
+                .mapToObj(candidates::get)
+                .limit(NUM_TESTS)
+                .toList();
+        for (String path : paths) {
+            assertEquals(path, expectedResults.get(path), run(createTask(path)));
+        }
+    }
+
+    private VerificationTask createTask(String path) throws Exception {
+        final Program program = new ProgramParser().parse(new File(path));
+        final Wmm wmm = new ParserCat().parse(new File(getRootPath("cat/c11.cat")));
+        final Configuration config = Configuration.builder()
+                .setOption(INITIALIZE_REGISTERS, "true")
+                .setOption(USE_INTEGERS, "true")
+                .setOption(ACYCLICITY_ENCODING, encoding.asStringOption())
+                .build();
+        return VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(Arch.C11)
+                .withBound(1)
+                .build(program, wmm, EnumSet.of(Property.PROGRAM_SPEC));
+    }
+
+    private Result run(VerificationTask task) throws Exception {
+        try (SolverContext ctx = TestHelper.createContext();
+             ProverWithTracker prover = new ProverWithTracker(ctx, "", ProverOptions.GENERATE_MODELS)) {
+            // Lazy acyclicity is only sound (and only taken) under refinement
+            return encoding == AcyclicityEncoding.LAZY ?
+                    RefinementSolver.run(ctx, prover, task).getResult() :
+                    AssumeSolver.run(ctx, prover, task).getResult();
+        }
+    }
+}
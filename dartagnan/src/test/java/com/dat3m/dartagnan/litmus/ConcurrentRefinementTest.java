@@ -0,0 +1,101 @@
+package com.dat3m.dartagnan.litmus;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.encoding.ProverWithTracker;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.utils.ResourceHelper;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.utils.TestHelper;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.RefinementSolver;
+import com.dat3m.dartagnan.wmm.Wmm;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.java_smt.api.SolverContext;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.INITIALIZE_REGISTERS;
+import static com.dat3m.dartagnan.configuration.OptionNames.USE_INTEGERS;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static org.junit.Assert.assertEquals;
+
+/*
+    Stress test for running several RefinementSolver (and thus CAAT) instances concurrently in one JVM.
+ */
+public class ConcurrentRefinementTest {
+
+    private static final int NUM_TESTS = 64;
+    private static final int NUM_THREADS = 8;
+
+    @Test(timeout = 300000)
+    public void testConcurrentRefinement() throws Exception {
+        final Map<String, Result> expectedResults = ResourceHelper.getExpectedResults("ARM8", "");
+        final Set<String> skip = ResourceHelper.getSkipSet();
+        final List<String> candidates = expectedResults.keySet().stream()
+                .filter(path -> !skip.contains(path))
+                .sorted()
+                .toList();
+        // Spread the sample over all test categories
+        final int stride = Math.max(1, candidates.size() / NUM_TESTS);
+        final List<String> paths = IntStream.range(0, candidates.size())
+                .filter(i -> i % stride == 0)
+                .mapToObj(candidates::get)
+                .limit(NUM_TESTS)
+                .toList();
+
+        final List<VerificationTask> tasks = new ArrayList<>();
+        for (String path : paths) {
+            tasks.add(createTask(path));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            final List<Future<Result>> results = new ArrayList<>();
+            for (VerificationTask task : tasks) {
+                results.add(executor.submit(() -> runRefinement(task)));
+            }
+            for (int i = 0; i < paths.size(); i++) {
+                assertEquals(paths.get(i), expectedResults.get(paths.get(i)), results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private VerificationTask createTask(String path) throws Exception {
+        final Program program = new ProgramParser().parse(new File(path));
+        final Wmm wmm = new ParserCat().parse(new File(getRootPath("cat/aarch64.cat")));
+        final Configuration config = Configuration.builder()
+                .setOption(INITIALIZE_REGISTERS, "true")
+                .setOption(USE_INTEGERS, "true")
+                .build();
+        return VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(Arch.ARM8)
+                .withBound(1)
+                .build(program, wmm, EnumSet.of(Property.PROGRAM_SPEC));
+    }
+
+    private Result runRefinement(VerificationTask task) throws Exception {
+        try (SolverContext ctx = TestHelper.createContext();
+             ProverWithTracker prover = new ProverWithTracker(ctx, "", ProverOptions.GENERATE_MODELS)) {
+            return RefinementSolver.run(ctx, prover, task).getResult();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.dat3m.dartagnan.llvm;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.OptionNames;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.verification.solving.AssumeSolver;
+import com.dat3m.dartagnan.verification.solving.ModelChecker;
+import com.dat3m.dartagnan.verification.solving.RefinementSolver;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static com.dat3m.dartagnan.configuration.Arch.*;
+import static com.dat3m.dartagnan.utils.Result.*;
+import static org.junit.Assert.*;
+
+@RunWith(Parameterized.class)
+public class AssertionCheckTest extends AbstractCTest {
+
+    // Per-assertion results in program order, if the test checks them.
+    private final List<Result> expectedAssertionResults;
+
+    public AssertionCheckTest(String name, Arch target, Result expected, List<Result> expectedAssertionResults) {
+        super(name, target, expected);
+        this.expectedAssertionResults = expectedAssertionResults;
+    }
+
+    @Override
+    protected Configuration getConfiguration() throws InvalidConfigurationException {
+        return Configuration.builder()
+                .setOption(OptionNames.USE_INTEGERS, "true")
+                .setOption(OptionNames.CHECK_ASSERTIONS_INDIVIDUALLY, "true")
+                .build();
+    }
+
+    @Override
+    protected long getTimeout() {
+        return 60000;
+    }
+
+    @Parameterized.Parameters(name = "{index}: {0}, target={1}")
+    public static Iterable<Object[]> data() throws IOException {
+        return Arrays.asList(new Object[][]{
+                {"locks/ttas", TSO, UNKNOWN, null},
+                {"locks/ttas-acq2rx", ARM8, FAIL, null},
+                {"locks/ticketlock", TSO, PASS, null},
+                {"locks/ticketlock-acq2rx", POWER, FAIL, null},
+                {"locks/spinlock", POWER, PASS, null},
+                {"locks/spinlock-acq2rx", ARM8, FAIL, null},
+                // The first assertion is protected by message passing, the second one fails.
+                {"miscellaneous/MP_two_assertions", ARM8, FAIL, List.of(PASS, FAIL)},
+        });
+    }
+
+    @Test
+    public void testAssume() throws Exception {
+        AssumeSolver s = AssumeSolver.run(contextProvider.get(), proverProvider.get(), taskProvider.get());
+        assertEquals(expected, s.getResult());
+        assertAssertionResults(s);
+    }
+
+    @Test
+    public void testRefinement() throws Exception {
+        RefinementSolver s = RefinementSolver.run(contextProvider.get(), proverProvider.get(), taskProvider.get());
+        assertEquals(expected, s.getResult());
+        assertAssertionResults(s);
+    }
+
+    private void assertAssertionResults(ModelChecker checker) {
+        final Collection<Result> results = checker.getAssertionResults().values();
+        assertFalse(results.isEmpty());
+        // Assertions without violations are UNKNOWN if the bounds are reachable, even if others fail
+        assertEquals(expected == FAIL, results.contains(FAIL));
+        if (expected != FAIL) {
+            assertTrue(results.stream().allMatch(expected::equals));
+        }
+        if (expectedAssertionResults != null) {
+            // Results are ordered by when they were found, so we sort them by program order.
+            assertEquals(expectedAssertionResults, checker.getAssertionResults().entrySet().stream()
+                    .sorted(Comparator.comparingInt(e -> e.getKey().getGlobalId()))
+                    .map(Map.Entry::getValue)
+                    .toList());
+        }
+    }
+}
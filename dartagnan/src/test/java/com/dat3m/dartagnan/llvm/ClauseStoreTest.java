@@ -0,0 +1,116 @@
+package com.dat3m.dartagnan.llvm;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.OptionNames;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.encoding.ProverWithTracker;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.utils.rules.Provider;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.RefinementSolver;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.dat3m.dartagnan.configuration.Arch.*;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getTestResourcePath;
+import static com.dat3m.dartagnan.utils.Result.*;
+import static org.junit.Assert.*;
+
+@RunWith(Parameterized.class)
+public class ClauseStoreTest extends AbstractCTest {
+
+    private static Path storeDirectory;
+
+    private final String model;
+
+    public ClauseStoreTest(String name, Arch target, String model, Result expected) {
+        super(name, target, expected);
+        this.model = model;
+    }
+
+    @BeforeClass
+    public static void createStore() throws IOException {
+        storeDirectory = Files.createTempDirectory("dat3m-clauses");
+    }
+
+    @AfterClass
+    public static void deleteStore() throws IOException {
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(storeDirectory);
+    }
+
+    @Override
+    protected Configuration getConfiguration() throws InvalidConfigurationException {
+        return Configuration.builder()
+                .setOption(OptionNames.USE_INTEGERS, "true")
+                .setOption(OptionNames.CLAUSE_STORE, storeDirectory.toString())
+                .build();
+    }
+
+    @Override
+    protected Provider<String> getProgramPathProvider() {
+        return () -> getTestResourcePath("locks/" + name + ".ll");
+    }
+
+    @Override
+    protected long getTimeout() {
+        return 60000;
+    }
+
+    @Parameterized.Parameters(name = "{index}: {0}, target={1}")
+    public static Iterable<Object[]> data() throws IOException {
+        return Arrays.asList(new Object[][]{
+                {"ttas", TSO, "tso", UNKNOWN},
+                {"ticketlock", ARM8, "aarch64", PASS},
+                {"spinlock-acq2rx", ARM8, "aarch64", FAIL},
+        });
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+        RefinementSolver first = RefinementSolver.run(contextProvider.get(), proverProvider.get(), taskProvider.get());
+        assertEquals(expected, first.getResult());
+        final List<Path> stored;
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            stored = files.filter(f -> f.getFileName().toString().startsWith(name + ".ll-")).toList();
+        }
+        assertEquals(1, stored.size());
+        assertTrue(Files.readAllLines(stored.get(0)).stream().anyMatch(line -> line.startsWith("C\t")));
+
+        // A second run on a fresh copy of the same program pre-asserts the stored clauses.
+        final VerificationTask task = VerificationTask.builder()
+                .withConfig(getConfiguration())
+                .withTarget(target)
+                .withBound(1)
+                .withProgressModel(progressModelProvider.get())
+                .build(new ProgramParser().parse(new File(filePathProvider.get())),
+                        new ParserCat().parse(new File(getRootPath("cat/" + model + ".cat"))),
+                        EnumSet.of(Property.PROGRAM_SPEC));
+        try (ProverWithTracker prover = new ProverWithTracker(contextProvider.get(), "", SolverContext.ProverOptions.GENERATE_MODELS)) {
+            RefinementSolver second = RefinementSolver.run(contextProvider.get(), prover, task);
+            assertEquals(expected, second.getResult());
+        }
+    }
+}
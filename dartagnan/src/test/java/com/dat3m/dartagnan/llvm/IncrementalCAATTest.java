@@ -0,0 +1,72 @@
+package com.dat3m.dartagnan.llvm;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.OptionNames;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.utils.rules.Provider;
+import com.dat3m.dartagnan.verification.solving.RefinementSolver;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.dat3m.dartagnan.configuration.Arch.*;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getTestResourcePath;
+import static com.dat3m.dartagnan.utils.Result.*;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class IncrementalCAATTest extends AbstractCTest {
+
+    public IncrementalCAATTest(String name, Arch target, Result expected) {
+        super(name, target, expected);
+    }
+
+    @Override
+    protected Configuration getConfiguration() throws InvalidConfigurationException {
+        return Configuration.builder()
+                .setOption(OptionNames.USE_INTEGERS, "true")
+                .setOption(OptionNames.INCREMENTAL_CAAT, "true")
+                .build();
+    }
+
+    @Override
+    protected Provider<String> getProgramPathProvider() {
+        return () -> getTestResourcePath("locks/" + name + ".ll");
+    }
+
+    @Override
+    protected long getTimeout() {
+        return 60000;
+    }
+
+    @Parameterized.Parameters(name = "{index}: {0}, target={1}")
+    public static Iterable<Object[]> data() throws IOException {
+        return Arrays.asList(new Object[][]{
+                {"ttas", TSO, UNKNOWN},
+                {"ttas-acq2rx", ARM8, FAIL},
+                {"ticketlock", TSO, PASS},
+                {"ticketlock", ARM8, PASS},
+                {"ticketlock-acq2rx", POWER, FAIL},
+                {"ticketlock-rel2rx", RISCV, FAIL},
+                {"spinlock", POWER, PASS},
+                {"spinlock-acq2rx", ARM8, FAIL},
+                {"seqlock", ARM8, PASS},
+                {"seqlock", POWER, PASS},
+                {"pthread_mutex", RISCV, PASS},
+                {"clh_mutex-acq2rx", ARM8, FAIL},
+                {"ticket_awnsb_mutex", POWER, PASS},
+                {"ticket_awnsb_mutex-acq2rx", RISCV, FAIL},
+        });
+    }
+
+    @Test
+    public void testRefinement() throws Exception {
+        RefinementSolver s = RefinementSolver.run(contextProvider.get(), proverProvider.get(), taskProvider.get());
+        assertEquals(expected, s.getResult());
+    }
+}
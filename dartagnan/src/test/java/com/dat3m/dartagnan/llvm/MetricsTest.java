@@ -0,0 +1,108 @@
+package com.dat3m.dartagnan.llvm;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.OptionNames;
+import com.dat3m.dartagnan.utils.Metrics;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.utils.rules.Provider;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.AssumeSolver;
+import com.dat3m.dartagnan.verification.solving.RefinementSolver;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.dat3m.dartagnan.configuration.Arch.ARM8;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getTestResourcePath;
+import static com.dat3m.dartagnan.utils.Result.PASS;
+import static org.junit.Assert.*;
+
+@RunWith(Parameterized.class)
+public class MetricsTest extends AbstractCTest {
+
+    public MetricsTest(String name, Arch target, Result expected) {
+        super(name, target, expected);
+    }
+
+    @Override
+    protected Configuration getConfiguration() throws InvalidConfigurationException {
+        return Configuration.builder()
+                .setOption(OptionNames.USE_INTEGERS, "true")
+                .build();
+    }
+
+    @Override
+    protected Provider<String> getProgramPathProvider() {
+        return () -> getTestResourcePath("locks/" + name + ".ll");
+    }
+
+    @Override
+    protected long getTimeout() {
+        return 60000;
+    }
+
+    @Parameterized.Parameters(name = "{index}: {0}, target={1}")
+    public static Iterable<Object[]> data() throws IOException {
+        return Arrays.asList(new Object[][]{
+                {"ticketlock", ARM8, PASS},
+        });
+    }
+
+    @Test
+    public void testAssume() throws Exception {
+        final VerificationTask task = taskProvider.get();
+        assertEquals(expected, AssumeSolver.run(contextProvider.get(), proverProvider.get(), task).getResult());
+        assertPhases(task.getMetrics(), Metrics.Phase.PROCESSING, Metrics.Phase.ANALYSIS, Metrics.Phase.ENCODING);
+        assertWritable(task.getMetrics());
+    }
+
+    @Test
+    public void testRefinement() throws Exception {
+        final VerificationTask task = taskProvider.get();
+        assertEquals(expected, RefinementSolver.run(contextProvider.get(), proverProvider.get(), task).getResult());
+        // Encoding metrics of the baseline model are recorded in the original task.
+        assertPhases(task.getMetrics(), Metrics.Phase.PROCESSING, Metrics.Phase.ANALYSIS, Metrics.Phase.ENCODING,
+                Metrics.Phase.REFINEMENT);
+        assertWritable(task.getMetrics());
+    }
+
+    private void assertPhases(Metrics metrics, Metrics.Phase... phases) {
+        final List<Metrics.Entry> entries = metrics.getEntries();
+        final Set<Metrics.Phase> recorded = entries.stream().map(Metrics.Entry::phase).collect(Collectors.toSet());
+        assertTrue(recorded.containsAll(Arrays.asList(phases)));
+        assertTrue(entries.stream().anyMatch(e -> e.name().equals("RelationAnalysis") && e.metric().equals(Metrics.TIME)));
+        assertTrue(entries.stream().anyMatch(e -> e.name().equals("rf") && e.metric().equals(Metrics.ENCODE_SET_SIZE)));
+        // Times are only recorded in one unit.
+        assertTrue(entries.stream().map(Metrics.Entry::metric).filter(m -> m.contains("time")).allMatch(Metrics.TIME::equals));
+    }
+
+    private void assertWritable(Metrics metrics) throws IOException {
+        final File json = File.createTempFile("dat3m-metrics", ".json");
+        final File csv = File.createTempFile("dat3m-metrics", ".csv");
+        try {
+            metrics.write(json, Metrics.Format.JSON);
+            final List<String> jsonLines = Files.readAllLines(json.toPath());
+            assertEquals("[", jsonLines.get(0));
+            assertEquals("]", jsonLines.get(jsonLines.size() - 1));
+            assertEquals(metrics.getEntries().size() + 2, jsonLines.size());
+
+            metrics.write(csv, Metrics.Format.CSV);
+            final List<String> csvLines = Files.readAllLines(csv.toPath());
+            assertEquals("phase,name,metric,value", csvLines.get(0));
+            assertEquals(metrics.getEntries().size() + 1, csvLines.size());
+        } finally {
+            json.delete();
+            csv.delete();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.dat3m.dartagnan.others.expression;
+
+import com.dat3m.dartagnan.expression.Expression;
+import com.dat3m.dartagnan.expression.ExpressionFactory;
+import com.dat3m.dartagnan.expression.type.IntegerType;
+import com.dat3m.dartagnan.expression.type.TypeFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExpressionFactoryTest {
+
+    private static final TypeFactory types = TypeFactory.getInstance();
+    private static final ExpressionFactory expressions = ExpressionFactory.getInstance();
+
+    @Test
+    public void testHashConsing() {
+        final ExpressionFactory hashConsing = ExpressionFactory.newHashConsingInstance();
+        assertTrue(hashConsing.isHashConsing());
+        final Expression first = makeExpression(hashConsing);
+        final Expression second = makeExpression(hashConsing);
+        assertSame(first, second);
+        assertSame(first.getOperands().get(0), second.getOperands().get(0));
+
+        // Other factories are not affected.
+        assertFalse(expressions.isHashConsing());
+        final Expression third = makeExpression(expressions);
+        assertNotSame(first, third);
+        assertNotSame(third, makeExpression(expressions));
+        assertEquals(first, third);
+        assertEquals(first.hashCode(), third.hashCode());
+        assertNotSame(first, makeExpression(ExpressionFactory.newHashConsingInstance()));
+    }
+
+    private Expression makeExpression(ExpressionFactory expressions) {
+        final IntegerType type = types.getIntegerType(32);
+        final Expression sum = expressions.makeAdd(expressions.makeValue(1, type), expressions.makeValue(2, type));
+        return expressions.makeITE(expressions.makeLT(sum, expressions.makeValue(3, type), true),
+                sum, expressions.makeZero(type));
+    }
+}
@@ -671,6 +671,11 @@ public class AnalysisTest {
                 assertTrue(a.mustAlias(x, y));
                 break;
         }
+        // Aliasing events must share a bucket.
+        if (a.mayAlias(x, y)) {
+            assertTrue(a.getBuckets(List.of(y)).getCandidates(x).contains(y));
+            assertTrue(a.getBuckets(List.of(x)).getCandidates(y).contains(x));
+        }
     }
 
     /*
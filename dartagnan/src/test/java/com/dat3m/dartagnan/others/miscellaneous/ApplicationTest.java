@@ -1,16 +1,26 @@
 package com.dat3m.dartagnan.others.miscellaneous;
 
 import com.dat3m.dartagnan.Dartagnan;
+import com.dat3m.dartagnan.GlobalSettings;
 import org.junit.Test;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.List;
+
 import static com.dat3m.dartagnan.configuration.Method.*;
 import static com.dat3m.dartagnan.configuration.OptionNames.*;
 import static com.dat3m.dartagnan.configuration.Property.DATARACEFREEDOM;
 import static com.dat3m.dartagnan.configuration.Property.PROGRAM_SPEC;
 import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
 import static com.dat3m.dartagnan.utils.ResourceHelper.getTestResourcePath;
+import static com.dat3m.dartagnan.utils.Result.PASS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ApplicationTest {
 
@@ -28,6 +38,25 @@ public class ApplicationTest {
                 Solvers.Z3.toString()));
     }
 
+    @Test
+    public void Online() throws Exception {
+        Dartagnan.main(createAndFillOptions(PROGRAM_SPEC.asStringOption(),
+                ONLINE.asStringOption(),
+                Solvers.Z3.toString()));
+
+        // The verdicts of these tests depend on relations that are only known after CAAT refinement.
+        for (String test : List.of("CO/MP+dmb.syss", "Fence2/LB+dmb.ld+dmb.st", "Fence2/LB+dmb.ld+dmb.sy")) {
+            assertEquals(test, runLitmus(test, LAZY.asStringOption()), runLitmus(test, ONLINE.asStringOption()));
+        }
+    }
+
+    @Test
+    public void Portfolio() throws Exception {
+        Dartagnan.main(createAndFillOptions(PROGRAM_SPEC.asStringOption(),
+                PORTFOLIO.asStringOption(),
+                Solvers.Z3.toString()));
+    }
+
     @Test
     public void Races() throws Exception {
         Dartagnan.main(createAndFillOptions(DATARACEFREEDOM.asStringOption(),
@@ -35,6 +64,26 @@ public class ApplicationTest {
                 Solvers.Z3.toString()));
     }
 
+    @Test
+    public void IterativeBounds() throws Exception {
+        final File boundsFile = new File(GlobalSettings.getOrCreateOutputDirectory(), "iterative-bounds.csv");
+        boundsFile.delete();
+        final String[] options = {
+                getTestResourcePath("locks/ttas.ll"),
+                getRootPath("cat/svcomp.cat"),
+                String.format("--%s=%s", BOUND, 1),
+                String.format("--%s=%s", BOUNDS_ITERATIVE, true),
+                String.format("--%s=%s", BOUNDS_LOAD_PATH, boundsFile.getPath()),
+                String.format("--%s=%s", BOUNDS_SAVE_PATH, boundsFile.getPath()),
+                String.format("--%s=%s", METHOD, LAZY.asStringOption())
+        };
+
+        // With bound 1 the result is UNKNOWN, so a verdict needs increased bounds.
+        assertTrue(runWithOutput(options).lines().anyMatch(PASS.name()::equals));
+        assertTrue(Files.readAllLines(boundsFile.toPath()).stream()
+                .anyMatch(line -> Integer.parseInt(line.split(",")[1]) > 1));
+    }
+
     @Test
     public void Validation() throws Exception {
         String[] options = new String[3];
@@ -96,6 +145,30 @@ public class ApplicationTest {
                 "unsupported-solver"));
     }
 
+    private String runWithOutput(String[] options) throws Exception {
+        final PrintStream stdout = System.out;
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            Dartagnan.main(options);
+        } finally {
+            System.setOut(stdout);
+        }
+        return output.toString();
+    }
+
+    // Returns whether the condition of the test holds ("Ok") or not ("No").
+    private String runLitmus(String test, String method) throws Exception {
+        final String[] options = {
+                getRootPath("litmus/AARCH64/" + test + ".litmus"),
+                getRootPath("cat/aarch64.cat"),
+                String.format("--%s=%s", METHOD, method)
+        };
+        return runWithOutput(options).lines()
+                .filter(line -> line.equals("Ok") || line.equals("No"))
+                .findFirst().orElseThrow();
+    }
+
     private String[] createAndFillOptions(String property, String method, String solver) {
         String[] dartagnanOptions = new String[6];
 
@@ -0,0 +1,57 @@
+package com.dat3m.dartagnan.others.miscellaneous;
+
+import com.dat3m.dartagnan.DartagnanBatch;
+import com.dat3m.dartagnan.GlobalSettings;
+import com.dat3m.dartagnan.utils.Result;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.dat3m.dartagnan.configuration.OptionNames.BATCH_OUTPUT;
+import static com.dat3m.dartagnan.configuration.OptionNames.BATCH_THREADS;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getExpectedResults;
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static com.dat3m.dartagnan.utils.Result.FAIL;
+import static com.dat3m.dartagnan.utils.Result.PASS;
+import static org.junit.Assert.assertEquals;
+
+public class BatchTest {
+
+    private static final String DIRECTORY = "litmus/AARCH64/POPL16";
+
+    @Test
+    public void allTestsOfDirectory() throws Exception {
+        final String output = GlobalSettings.getOrCreateOutputDirectory() + "/batch-test-results.csv";
+        DartagnanBatch.main(new String[]{
+                getRootPath(DIRECTORY),
+                getRootPath("cat/aarch64.cat"),
+                String.format("--%s=%s", BATCH_OUTPUT, output),
+                String.format("--%s=%s", BATCH_THREADS, 2)
+        });
+
+        // Every test of the directory gets a conclusive line with the expected result.
+        final Map<Path, Result> expected = new HashMap<>();
+        getExpectedResults("ARM8", "").forEach((path, result) -> {
+            if (path.startsWith(getRootPath(DIRECTORY))) {
+                expected.put(normalize(path), result);
+            }
+        });
+        final Map<Path, Result> actual = new HashMap<>();
+        final List<String> lines = Files.readAllLines(Path.of(output));
+        for (String line : lines) {
+            final String[] entry = line.split(",");
+            actual.put(normalize(entry[0]), entry[1].equals("1") ? PASS : FAIL);
+        }
+        assertEquals(new File(getRootPath(DIRECTORY)).list().length, lines.size());
+        assertEquals(expected, actual);
+    }
+
+    private static Path normalize(String path) {
+        return Path.of(path).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,77 @@
+package com.dat3m.dartagnan.others.miscellaneous;
+
+import com.dat3m.dartagnan.configuration.Arch;
+import com.dat3m.dartagnan.configuration.OptionNames;
+import com.dat3m.dartagnan.configuration.Property;
+import com.dat3m.dartagnan.encoding.ProverWithTracker;
+import com.dat3m.dartagnan.parsers.cat.ParserCat;
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.utils.Result;
+import com.dat3m.dartagnan.verification.VerificationTask;
+import com.dat3m.dartagnan.verification.solving.RefinementSolver;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.java_smt.api.SolverContext;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.dat3m.dartagnan.utils.ResourceHelper.getTestResourcePath;
+import static com.dat3m.dartagnan.utils.Result.FAIL;
+import static com.dat3m.dartagnan.utils.Result.PASS;
+import static com.dat3m.dartagnan.utils.TestHelper.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClauseStoreEditTest {
+
+    // In the original program, the last write of P0 must alias the read before it, which violates the memory model.
+    // The edited program adds a thread that changes the pointer, so P0 may write to another location.
+    // Reasons stored for the original program must not carry over the must-alias knowledge to the edited one,
+    // even though P0 itself is unchanged.
+    @Test
+    public void editOfAnotherThread() throws Exception {
+        final Path storeDirectory = Files.createTempDirectory("dat3m-clauses");
+        try {
+            assertEquals(FAIL, run("clauses/original/RW+ptr.litmus", storeDirectory));
+            assertTrue(readClauses(storeDirectory).stream().anyMatch(line -> line.startsWith("C\t")));
+            assertEquals(PASS, run("clauses/edited/RW+ptr.litmus", storeDirectory));
+        } finally {
+            try (Stream<Path> files = Files.list(storeDirectory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(storeDirectory);
+        }
+    }
+
+    private Result run(String program, Path storeDirectory) throws Exception {
+        final Configuration config = Configuration.builder()
+                .setOption(OptionNames.CLAUSE_STORE, storeDirectory.toString())
+                .build();
+        final VerificationTask task = VerificationTask.builder()
+                .withConfig(config)
+                .withTarget(Arch.LKMM)
+                .withBound(1)
+                .build(new ProgramParser().parse(new File(getTestResourcePath(program))),
+                        new ParserCat().parse(new File(getTestResourcePath("clauses/no-write-after-read.cat"))),
+                        EnumSet.of(Property.PROGRAM_SPEC));
+        try (SolverContext ctx = createContext();
+             ProverWithTracker prover = new ProverWithTracker(ctx, "", SolverContext.ProverOptions.GENERATE_MODELS)) {
+            return RefinementSolver.run(ctx, prover, task).getResult();
+        }
+    }
+
+    private List<String> readClauses(Path storeDirectory) throws Exception {
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            final List<Path> stored = files.toList();
+            assertEquals(1, stored.size());
+            return Files.readAllLines(stored.get(0));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.dat3m.dartagnan.others.program;
+
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.Thread;
+import com.dat3m.dartagnan.program.event.Event;
+import com.dat3m.dartagnan.program.event.EventFactory;
+import com.dat3m.dartagnan.program.event.MemoryEvent;
+import com.dat3m.dartagnan.program.event.core.Label;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static org.junit.Assert.*;
+
+public class EventCacheTest {
+
+    @Test
+    public void testInvalidation() throws Exception {
+        final Program program = new ProgramParser().parse(new File(getRootPath("litmus/C11/manual/IRIW-sc-sc-acq-sc-acq-sc.litmus")));
+        final Thread thread = program.getThreads().get(0);
+        final List<Event> events = program.getThreadEvents();
+        final List<MemoryEvent> memoryEvents = program.getThreadEvents(MemoryEvent.class);
+        assertFalse(memoryEvents.isEmpty());
+
+        // Results are shared and unmodifiable
+        assertThrows(UnsupportedOperationException.class, events::clear);
+        assertThrows(UnsupportedOperationException.class, () -> memoryEvents.remove(0));
+        assertSame(events, program.getThreadEvents());
+        assertSame(memoryEvents, program.getThreadEvents(MemoryEvent.class));
+
+        // Insertions
+        final long version = program.getVersion();
+        final Label label = EventFactory.newLabel("cached");
+        thread.getEntry().insertAfter(label);
+        assertNotEquals(version, program.getVersion());
+        assertTrue(program.getThreadEvents().contains(label));
+        assertTrue(thread.getEvents().contains(label));
+        assertEquals(List.of(label), program.getThreadEvents(Label.class).stream().filter(l -> l == label).toList());
+
+        // Deletions
+        label.tryDelete();
+        assertFalse(program.getThreadEvents().contains(label));
+        assertFalse(thread.getEvents(Label.class).contains(label));
+
+        // Replacements
+        final MemoryEvent memoryEvent = memoryEvents.get(0);
+        final Label replacement = EventFactory.newLabel("replacement");
+        memoryEvent.replaceBy(replacement);
+        assertFalse(program.getThreadEvents(MemoryEvent.class).contains(memoryEvent));
+        assertTrue(program.getThreadEvents().contains(replacement));
+        assertEquals(program.getThreads().stream().flatMap(t -> t.getEntry().getSuccessors().stream()).toList(),
+                program.getThreadEvents());
+    }
+}
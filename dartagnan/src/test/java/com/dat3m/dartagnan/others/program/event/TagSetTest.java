@@ -0,0 +1,95 @@
+package com.dat3m.dartagnan.others.program.event;
+
+import com.dat3m.dartagnan.parsers.program.ProgramParser;
+import com.dat3m.dartagnan.program.Program;
+import com.dat3m.dartagnan.program.event.Event;
+import com.dat3m.dartagnan.program.event.Tag;
+import com.dat3m.dartagnan.program.event.TagInterner;
+import com.dat3m.dartagnan.program.event.TagSet;
+import com.dat3m.dartagnan.program.filter.Filter;
+import com.dat3m.dartagnan.program.filter.FilterIndex;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static com.dat3m.dartagnan.utils.ResourceHelper.getRootPath;
+import static org.junit.Assert.*;
+
+public class TagSetTest {
+
+    @Test
+    public void testSetOperations() {
+        final TagSet tags = new TagSet();
+        assertTrue(tags.add(Tag.WRITE));
+        assertTrue(tags.add(Tag.MEMORY));
+        assertTrue(tags.add(Tag.C11.MO_RELEASE));
+        assertFalse(tags.add(Tag.WRITE));
+        assertEquals(3, tags.size());
+        assertTrue(tags.contains(Tag.MEMORY));
+        assertFalse(tags.contains(Tag.READ));
+        assertFalse(tags.contains("never-used-tag"));
+        assertEquals(List.of(Tag.C11.MO_RELEASE, Tag.MEMORY, Tag.WRITE).stream().sorted().toList(),
+                List.copyOf(tags));
+        assertEquals(Set.of(Tag.WRITE, Tag.MEMORY, Tag.C11.MO_RELEASE), tags);
+
+        assertTrue(tags.containsAll(TagSet.ofKnown(Tag.WRITE, Tag.MEMORY)));
+        final TagSet other = new TagSet();
+        other.addAll(List.of(Tag.WRITE, Tag.READ));
+        assertFalse(tags.containsAll(other));
+        assertTrue(tags.containsAll(List.of(Tag.WRITE)));
+        assertNull(TagSet.ofKnown(Tag.WRITE, "never-used-tag"));
+
+        final TagSet copy = tags.copy();
+        assertTrue(tags.remove(Tag.MEMORY));
+        assertFalse(tags.remove(Tag.MEMORY));
+        assertEquals(2, tags.size());
+        assertTrue(copy.contains(Tag.MEMORY));
+
+        final Iterator<String> iterator = copy.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().equals(Tag.WRITE)) {
+                iterator.remove();
+            }
+        }
+        assertEquals(Set.of(Tag.MEMORY, Tag.C11.MO_RELEASE), copy);
+        copy.removeAll(Set.of(Tag.MEMORY, Tag.C11.MO_RELEASE));
+        assertTrue(copy.isEmpty());
+
+        // Queries do not intern tags
+        assertEquals(-1, TagInterner.lookup("never-used-tag"));
+    }
+
+    @Test
+    public void testFilterIndex() throws Exception {
+        final Program program = new ProgramParser().parse(new File(getRootPath("litmus/C11/manual/IRIW-sc-sc-acq-sc-acq-sc.litmus")));
+        final FilterIndex index = program.getFilterIndex();
+        final List<Filter> filters = List.of(
+                Filter.byTag(Tag.READ),
+                Filter.byTag(Tag.WRITE),
+                Filter.byTag("never-used-tag"),
+                Filter.union(Filter.byTag(Tag.READ), Filter.byTag(Tag.WRITE)),
+                Filter.intersection(Filter.byTag(Tag.MEMORY), Filter.byTag(Tag.C11.MO_SC)),
+                Filter.difference(Filter.byTag(Tag.MEMORY), Filter.byTag(Tag.INIT))
+        );
+        for (Filter filter : filters) {
+            assertEquals(program.getThreadEvents().stream().filter(filter::apply).toList(), index.apply(filter));
+        }
+
+        // Changes to tags invalidate the index
+        final Filter sc = Filter.byTag(Tag.C11.MO_SC);
+        final List<Event> scEvents = index.apply(sc);
+        assertFalse(scEvents.isEmpty());
+        scEvents.get(0).removeTags(Tag.C11.MO_SC);
+        assertEquals(scEvents.subList(1, scEvents.size()), index.apply(sc));
+
+        // Tags of events of other programs do not change the tag version
+        final Program other = new ProgramParser().parse(new File(getRootPath("litmus/C11/manual/IRIW-sc-sc-acq-sc-acq-sc.litmus")));
+        final long version = program.getTagVersion();
+        other.getThreadEvents().get(0).addTags(Tag.C11.MO_SC);
+        assertEquals(version, program.getTagVersion());
+        assertEquals(-1, TagInterner.lookup("never-used-tag"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.dat3m.dartagnan.others.solver.caat;
+
+import com.dat3m.dartagnan.solver.caat.domain.GenericDomain;
+import com.dat3m.dartagnan.solver.caat.misc.EdgeDirection;
+import com.dat3m.dartagnan.solver.caat.misc.EdgeHashMap;
+import com.dat3m.dartagnan.solver.caat.misc.PathAlgorithm;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.Edge;
+import com.dat3m.dartagnan.solver.caat.predicates.relationGraphs.base.SimpleGraph;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class SimpleGraphTest {
+
+    @Test
+    public void testEdgeHashMapAgainstHashMap() {
+        final Random random = new Random(42);
+        final EdgeHashMap map = new EdgeHashMap();
+        final Map<Edge, Edge> expected = new HashMap<>();
+        for (int step = 0; step < 20000; step++) {
+            final int id1 = random.nextInt(64);
+            final int id2 = random.nextInt(64);
+            final Edge edge = new Edge(id1, id2, step, 0);
+            if (random.nextInt(3) == 0) {
+                assertSame(expected.remove(edge), map.remove(id1, id2));
+            } else {
+                assertSame(expected.putIfAbsent(edge, edge), map.putIfAbsent(edge));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int id1 = 0; id1 < 64; id1++) {
+            for (int id2 = 0; id2 < 64; id2++) {
+                assertSame(expected.get(new Edge(id1, id2)), map.get(id1, id2));
+            }
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0, 0));
+    }
+
+    @Test
+    public void testBacktracking() {
+        final SimpleGraph graph = new SimpleGraph();
+        graph.initializeToDomain(new GenericDomain<>(IntStream.range(0, 10).boxed().toList()));
+        for (int i = 0; i < 9; i++) {
+            assertTrue(graph.add(new Edge(i, i + 1, i, 0)));
+        }
+        assertFalse(graph.add(new Edge(3, 4, 7, 0)));
+        assertEquals(3, graph.getById(3, 4).getTime());
+
+        graph.backtrackTo(4);
+        assertEquals(5, graph.size());
+        assertTrue(graph.containsById(4, 5));
+        assertFalse(graph.containsById(5, 6));
+        assertNull(graph.getById(8, 9));
+        assertEquals(Set.of(new Edge(0, 1), new Edge(1, 2), new Edge(2, 3), new Edge(3, 4), new Edge(4, 5)),
+                graph.edgeStream().collect(Collectors.toSet()));
+        assertEquals(0, graph.size(5, EdgeDirection.OUTGOING));
+
+        assertTrue(graph.add(new Edge(5, 0, 5, 0)));
+        PathAlgorithm.ensureCapacity(10);
+        final List<Edge> path = PathAlgorithm.findShortestPath(graph, 2, 1);
+        assertEquals(List.of(new Edge(2, 3), new Edge(3, 4), new Edge(4, 5), new Edge(5, 0), new Edge(0, 1)), path);
+        assertTrue(PathAlgorithm.findShortestPath(graph, 6, 0).isEmpty());
+    }
+}
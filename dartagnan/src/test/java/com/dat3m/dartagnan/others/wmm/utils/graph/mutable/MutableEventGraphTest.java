@@ -2,6 +2,8 @@ package com.dat3m.dartagnan.others.wmm.utils.graph.mutable;
 
 import com.dat3m.dartagnan.program.event.Event;
 import com.dat3m.dartagnan.program.event.core.Skip;
+import com.dat3m.dartagnan.wmm.utils.graph.mutable.BitSetEventGraph;
+import com.dat3m.dartagnan.wmm.utils.graph.mutable.EventIndex;
 import com.dat3m.dartagnan.wmm.utils.graph.mutable.MapEventGraph;
 import com.dat3m.dartagnan.wmm.utils.graph.mutable.MutableEventGraph;
 import org.junit.Test;
@@ -10,15 +12,26 @@ import org.junit.runners.Parameterized;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
 
 @RunWith(Parameterized.class)
 public class MutableEventGraphTest {
 
+    // Bitset-based graphs require all events to be indexed upfront
+    private static final List<Event> events = IntStream.range(0, 16).mapToObj(i -> {
+        Event e = new Skip();
+        e.setGlobalId(i);
+        return e;
+    }).toList();
+    private static final EventIndex index = EventIndex.of(events);
+
     private final Class<?> cls;
+    private int nextEvent = 0;
 
     public MutableEventGraphTest(Class<?> cls) {
         this.cls = cls;
@@ -28,14 +41,15 @@ public class MutableEventGraphTest {
     public static Iterable<Object[]> data() throws IOException {
         return Arrays.asList(new Object[][]{
                 {MapEventGraph.class},
+                {BitSetEventGraph.class},
         });
     }
 
     @Test
     public void testAddEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
         MutableEventGraph eventGraph = makeEventGraph(cls, Map.of());
 
         // when
@@ -51,8 +65,8 @@ public class MutableEventGraphTest {
     @Test
     public void testAddNonEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
         MutableEventGraph eventGraph = makeEventGraph(cls, Map.of(
                 e1, Set.of(e2)
         ));
@@ -71,8 +85,8 @@ public class MutableEventGraphTest {
     @Test
     public void testAddRepeated() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
         MutableEventGraph eventGraph = makeEventGraph(cls, Map.of(
                 e1, Set.of(e2)
         ));
@@ -95,8 +109,8 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
         MutableEventGraph eventGraph = makeEventGraph(cls, Map.of());
 
         // when
@@ -112,8 +126,8 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveNonEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
         MutableEventGraph eventGraph = makeEventGraph(cls, Map.of(
                 e1, Set.of(e2),
                 e2, Set.of(e1)
@@ -133,8 +147,8 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveNonEmptyAllEdges() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
         MutableEventGraph eventGraph = makeEventGraph(cls, Map.of(
                 e1, Set.of(e2),
                 e2, Set.of(e1)
@@ -156,8 +170,8 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveRepeated() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
         MutableEventGraph eventGraph = makeEventGraph(cls, Map.of(
                 e1, Set.of(e2),
                 e2, Set.of(e1)
@@ -181,9 +195,9 @@ public class MutableEventGraphTest {
     @Test
     public void testAddAllDisjoint() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -215,9 +229,9 @@ public class MutableEventGraphTest {
     @Test
     public void testAddAllPartial() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -248,9 +262,9 @@ public class MutableEventGraphTest {
     @Test
     public void testAddAllOverlapping() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -280,9 +294,9 @@ public class MutableEventGraphTest {
     @Test
     public void testAddAllLeftEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of());
@@ -310,9 +324,9 @@ public class MutableEventGraphTest {
     @Test
     public void testAddAllRightEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -337,9 +351,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveAllOverlapping() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -367,9 +381,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveAllPartial() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -398,9 +412,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveAllDisjoint() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -430,9 +444,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveAllEmptied() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -462,9 +476,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveAllLeftEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of());
@@ -489,9 +503,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveAllRightEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -516,9 +530,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRetainAllOverlappingSubset() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -547,9 +561,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRetainAllOverlappingSuperset() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -582,9 +596,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRetainAllPartial() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -612,9 +626,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRetainAllEmptied() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -639,9 +653,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRetainAllLeftEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of());
@@ -666,9 +680,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRetainAllRightEmpty() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph first = makeEventGraph(cls, Map.of(
@@ -690,9 +704,9 @@ public class MutableEventGraphTest {
     @Test
     public void testAddRangeEvent() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         MutableEventGraph eventGraph = makeEventGraph(cls, Map.of(
                 e1, Set.of(e2),
@@ -717,9 +731,9 @@ public class MutableEventGraphTest {
     @Test
     public void testRemoveIf() {
         // given
-        Event e1 = new Skip();
-        Event e2 = new Skip();
-        Event e3 = new Skip();
+        Event e1 = newEvent();
+        Event e2 = newEvent();
+        Event e3 = newEvent();
 
         // when
         MutableEventGraph eventGraph = makeEventGraph(cls, Map.of(
@@ -748,10 +762,19 @@ public class MutableEventGraphTest {
         assertTrue(eventGraph.isEmpty());
     }
 
+    private Event newEvent() {
+        return events.get(nextEvent++);
+    }
+
     private MutableEventGraph makeEventGraph(Class<?> cls, Map<Event, Set<Event>> data) {
         if (cls.isAssignableFrom(MapEventGraph.class)) {
             return new MapEventGraph(data);
         }
+        if (cls.isAssignableFrom(BitSetEventGraph.class)) {
+            BitSetEventGraph eventGraph = new BitSetEventGraph(index);
+            data.forEach(eventGraph::addRange);
+            return eventGraph;
+        }
         throw new RuntimeException("Cannot resolve constructor for class " + cls.getSimpleName());
     }
 }
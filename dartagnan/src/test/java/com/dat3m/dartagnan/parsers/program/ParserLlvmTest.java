@@ -0,0 +1,68 @@
+package com.dat3m.dartagnan.parsers.program;
+
+import com.dat3m.dartagnan.program.Function;
+import com.dat3m.dartagnan.program.Program;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParserLlvmTest {
+
+    private static final String LIBRARY = """
+            @table = global ptr @fromGlobal
+            declare i32 @pthread_create(ptr, ptr, ptr, ptr)
+            define i32 @callee() {
+              ret i32 0
+            }
+            define ptr @worker(ptr %0) {
+              %2 = call i32 @callee()
+              ret ptr null
+            }
+            define i32 @fromGlobal() {
+              ret i32 1
+            }
+            define i32 @unreachable() {
+              %1 = call i32 @alsoUnreachable()
+              ret i32 %1
+            }
+            define i32 @alsoUnreachable() {
+              %1 = call i32 @unreachable()
+              ret i32 %1
+            }
+            """;
+
+    @Test
+    public void testUnreachableDefinitionsAreSkipped() {
+        final Program program = parse(LIBRARY + """
+                define i32 @main() {
+                  %1 = alloca ptr
+                  %2 = call i32 @pthread_create(ptr %1, ptr null, ptr @worker, ptr null)
+                  ret i32 0
+                }
+                """);
+        assertEquals(Set.of("main", "worker", "callee", "fromGlobal", "pthread_create"), getFunctionNames(program));
+        program.getFunctions().stream()
+                .filter(f -> !f.getName().equals("pthread_create"))
+                .forEach(f -> assertTrue(f.getName(), f.hasBody()));
+    }
+
+    @Test
+    public void testAllDefinitionsWithoutEntryPoint() {
+        final Program program = parse(LIBRARY);
+        assertEquals(Set.of("worker", "callee", "fromGlobal", "unreachable", "alsoUnreachable", "pthread_create"),
+                getFunctionNames(program));
+    }
+
+    private static Program parse(String source) {
+        return new ParserLlvm().parse(CharStreams.fromString(source));
+    }
+
+    private static Set<String> getFunctionNames(Program program) {
+        return program.getFunctions().stream().map(Function::getName).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,73 @@
+package com.dat3m.dartagnan.parsers.program.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompilationCacheTest {
+
+    private Path directory;
+    private File input;
+    private File output;
+    private int compilations;
+
+    @Before
+    public void createFiles() throws IOException {
+        directory = Files.createTempDirectory("dat3m-cache-test");
+        input = directory.resolve("input.c").toFile();
+        output = directory.resolve("output.ll").toFile();
+        Files.writeString(input.toPath(), "int main() { return 0; }");
+    }
+
+    @After
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void hit() throws Exception {
+        // Every run has its own cache object, but they share the directory.
+        assertEquals("compiled 1", compile("-O0"));
+        assertEquals("compiled 1", compile("-O0"));
+        assertEquals(1, compilations);
+    }
+
+    @Test
+    public void changedInput() throws Exception {
+        assertEquals("compiled 1", compile("-O0"));
+        Files.writeString(input.toPath(), "int main() { return 1; }");
+        assertEquals("compiled 2", compile("-O0"));
+        assertEquals("compiled 2", compile("-O0"));
+        assertEquals(2, compilations);
+    }
+
+    @Test
+    public void changedSettings() throws Exception {
+        assertEquals("compiled 1", compile("-O0"));
+        assertEquals("compiled 2", compile("-O1"));
+        assertEquals(2, compilations);
+    }
+
+    private String compile(String settings) throws Exception {
+        final CompilationCache cache = new CompilationCache(directory.resolve("cache").toFile());
+        final File result = cache.getOrCompile(input, settings, output, () -> {
+            final File compiled = directory.resolve("compiled.ll").toFile();
+            Files.writeString(compiled.toPath(), "compiled " + ++compilations);
+            return compiled;
+        });
+        return Files.readString(result.toPath());
+    }
+}
@@ -2,11 +2,10 @@ package com.dat3m.dartagnan.utils;
 
 import static com.dat3m.dartagnan.configuration.OptionNames.PHANTOM_REFERENCES;
 
+import com.dat3m.dartagnan.encoding.SolverContexts;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
-import org.sosy_lab.common.log.BasicLogManager;
-import org.sosy_lab.java_smt.SolverContextFactory;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 import org.sosy_lab.java_smt.api.SolverContext;
 
@@ -25,10 +24,6 @@ public class TestHelper {
                 .setOption(PHANTOM_REFERENCES, "true")
                 .build() :
             Configuration.defaultConfiguration();
-        return SolverContextFactory.createSolverContext(
-                config,
-                BasicLogManager.create(config),
-                notifier,
-                solver);
+        return SolverContexts.create(config, notifier, solver);
     }
 }
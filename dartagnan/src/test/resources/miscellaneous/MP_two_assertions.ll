@@ -0,0 +1,60 @@
+; ModuleID = 'benchmarks/miscellaneous/MP_two_assertions.c'
+source_filename = "benchmarks/miscellaneous/MP_two_assertions.c"
+target datalayout = "e-m:e-p270:32:32-p271:32:32-p272:64:64-i64:64-f80:128-n8:16:32:64-S128"
+target triple = "x86_64-pc-linux-gnu"
+
+%union.pthread_attr_t = type { i64, [48 x i8] }
+
+@data = dso_local global i32 0, align 4
+@flag = dso_local global i32 0, align 4
+@.str = private unnamed_addr constant [56 x i8] c"atomic_load_explicit(&data, memory_order_relaxed) == 42\00", align 1
+@.str.1 = private unnamed_addr constant [45 x i8] c"benchmarks/miscellaneous/MP_two_assertions.c\00", align 1
+@__PRETTY_FUNCTION__.main = private unnamed_addr constant [11 x i8] c"int main()\00", align 1
+@.str.2 = private unnamed_addr constant [7 x i8] c"r == 1\00", align 1
+
+; Function Attrs: noinline nounwind uwtable
+define dso_local i8* @producer(i8* noundef %0) #0 {
+  store atomic i32 42, i32* @data monotonic, align 4
+  store atomic i32 1, i32* @flag release, align 4
+  ret i8* null
+}
+
+; Function Attrs: noinline nounwind uwtable
+define dso_local i32 @main() #0 {
+  %1 = alloca i64, align 8
+  %2 = call i32 @pthread_create(i64* noundef nonnull %1, %union.pthread_attr_t* noundef null, i8* (i8*)* noundef nonnull @producer, i8* noundef null) #3
+  %3 = load atomic i32, i32* @flag acquire, align 4
+  %4 = icmp eq i32 %3, 1
+  br i1 %4, label %5, label %10
+
+5:                                                ; preds = %0
+  %6 = load atomic i32, i32* @data monotonic, align 4
+  %7 = icmp eq i32 %6, 42
+  br i1 %7, label %9, label %8
+
+8:                                                ; preds = %5
+  call void @__assert_fail(i8* noundef getelementptr inbounds ([56 x i8], [56 x i8]* @.str, i64 0, i64 0), i8* noundef getelementptr inbounds ([45 x i8], [45 x i8]* @.str.1, i64 0, i64 0), i32 noundef 22, i8* noundef getelementptr inbounds ([11 x i8], [11 x i8]* @__PRETTY_FUNCTION__.main, i64 0, i64 0)) #4
+  unreachable
+
+9:                                                ; preds = %5
+  br label %11
+
+10:                                               ; preds = %0
+  call void @__assert_fail(i8* noundef getelementptr inbounds ([7 x i8], [7 x i8]* @.str.2, i64 0, i64 0), i8* noundef getelementptr inbounds ([45 x i8], [45 x i8]* @.str.1, i64 0, i64 0), i32 noundef 25, i8* noundef getelementptr inbounds ([11 x i8], [11 x i8]* @__PRETTY_FUNCTION__.main, i64 0, i64 0)) #4
+  unreachable
+
+11:                                               ; preds = %9
+  ret i32 0
+}
+
+; Function Attrs: nounwind
+declare i32 @pthread_create(i64* noundef, %union.pthread_attr_t* noundef, i8* (i8*)* noundef, i8* noundef) #1
+
+; Function Attrs: noreturn nounwind
+declare void @__assert_fail(i8* noundef, i8* noundef, i32 noundef, i8* noundef) #2
+
+attributes #0 = { noinline nounwind uwtable "frame-pointer"="all" "min-legal-vector-width"="0" "no-trapping-math"="true" "stack-protector-buffer-size"="8" "target-cpu"="x86-64" "target-features"="+cx8,+fxsr,+mmx,+sse,+sse2,+x87" "tune-cpu"="generic" }
+attributes #1 = { nounwind "frame-pointer"="all" "no-trapping-math"="true" "stack-protector-buffer-size"="8" "target-cpu"="x86-64" "target-features"="+cx8,+fxsr,+mmx,+sse,+sse2,+x87" "tune-cpu"="generic" }
+attributes #2 = { noreturn nounwind "frame-pointer"="all" "no-trapping-math"="true" "stack-protector-buffer-size"="8" "target-cpu"="x86-64" "target-features"="+cx8,+fxsr,+mmx,+sse,+sse2,+x87" "tune-cpu"="generic" }
+attributes #3 = { nounwind }
+attributes #4 = { noreturn nounwind }
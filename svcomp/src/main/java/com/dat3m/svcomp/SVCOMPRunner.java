@@ -101,48 +101,48 @@ public class SVCOMPRunner extends BaseOptions {
         int bound = witness.hasAttributed(UNROLLBOUND.toString()) ? parseInt(witness.getAttributed(UNROLLBOUND.toString())) : 1;
 
         String output = "UNKNOWN";
-        while(output.equals("UNKNOWN")) {
-            ArrayList<String> cmd = new ArrayList<>();
-            cmd.add("java");
-            cmd.add("-Dlog4j.configurationFile=" + System.getenv().get("DAT3M_HOME") + "/dartagnan/src/main/resources/log4j2.xml");
-            cmd.add("-DLOGNAME=" + Files.getNameWithoutExtension(programPath));
-            cmd.addAll(Arrays.asList("-jar", System.getenv().get("DAT3M_HOME") + "/dartagnan/target/dartagnan.jar"));
-            cmd.add(fileModel.toString());
-            cmd.add(programPath);
-            cmd.add("svcomp.properties");
-            cmd.add("--bound.load=" + boundsFilePath);
-            cmd.add("--bound.save=" + boundsFilePath);
-            cmd.add(String.format("--%s=%s", PROPERTY, r.property.asStringOption()));
-            cmd.add(String.format("--%s=%s", BOUND, bound));
-            cmd.add(String.format("--%s=%s", WITNESS_ORIGINAL_PROGRAM_PATH, programPath));
-            cmd.addAll(filterOptions(config));
-
-            ProcessBuilder processBuilder = new ProcessBuilder(cmd);
-            try {
-                Process proc = processBuilder.start();
-                BufferedReader read = new BufferedReader(new InputStreamReader(proc.getInputStream()));
-                proc.waitFor();
-                while(read.ready()) {
-                    String next = read.readLine();
-                    // This is now the last line in the console.
-                    // We avoid updating the output
-                    if(next.contains("Total verification time:")) {
-                        break;
-                    }
-                    output = next;
-                    System.out.println(output);
+        ArrayList<String> cmd = new ArrayList<>();
+        cmd.add("java");
+        cmd.add("-Dlog4j.configurationFile=" + System.getenv().get("DAT3M_HOME") + "/dartagnan/src/main/resources/log4j2.xml");
+        cmd.add("-DLOGNAME=" + Files.getNameWithoutExtension(programPath));
+        cmd.addAll(Arrays.asList("-jar", System.getenv().get("DAT3M_HOME") + "/dartagnan/target/dartagnan.jar"));
+        cmd.add(fileModel.toString());
+        cmd.add(programPath);
+        cmd.add("svcomp.properties");
+        cmd.add("--bound.load=" + boundsFilePath);
+        cmd.add("--bound.save=" + boundsFilePath);
+        cmd.add(String.format("--%s=%s", PROPERTY, r.property.asStringOption()));
+        cmd.add(String.format("--%s=%s", BOUND, bound));
+        // Increase the bounds within the same process until the result is conclusive.
+        cmd.add(String.format("--%s=true", BOUNDS_ITERATIVE));
+        cmd.add(String.format("--%s=%s", WITNESS_ORIGINAL_PROGRAM_PATH, programPath));
+        cmd.addAll(filterOptions(config));
+
+        ProcessBuilder processBuilder = new ProcessBuilder(cmd);
+        try {
+            Process proc = processBuilder.start();
+            BufferedReader read = new BufferedReader(new InputStreamReader(proc.getInputStream()));
+            proc.waitFor();
+            while(read.ready()) {
+                String next = read.readLine();
+                // This is now the last line in the console.
+                // We avoid updating the output
+                if(next.contains("Total verification time:")) {
+                    break;
                 }
-                if(proc.exitValue() == 1) {
-                    BufferedReader error = new BufferedReader(new InputStreamReader(proc.getErrorStream()));
-                    while(error.ready()) {
-                        System.out.println(error.readLine());
-                    }
-                    System.exit(0);
+                output = next;
+                System.out.println(output);
+            }
+            if(proc.exitValue() == 1) {
+                BufferedReader error = new BufferedReader(new InputStreamReader(proc.getErrorStream()));
+                while(error.ready()) {
+                    System.out.println(error.readLine());
                 }
-            } catch(Exception e) {
-                System.out.println(e.getMessage());
                 System.exit(0);
             }
+        } catch(Exception e) {
+            System.out.println(e.getMessage());
+            System.exit(0);
         }
     }
     
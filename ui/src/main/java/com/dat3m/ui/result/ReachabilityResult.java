@@ -11,12 +11,11 @@ import com.dat3m.dartagnan.verification.solving.RefinementSolver;
 import com.dat3m.dartagnan.witness.WitnessType;
 import com.dat3m.dartagnan.wmm.Wmm;
 import com.dat3m.dartagnan.encoding.ProverWithTracker;
+import com.dat3m.dartagnan.encoding.SolverContexts;
 import com.dat3m.ui.utils.UiOptions;
 import com.dat3m.ui.utils.Utils;
 import org.sosy_lab.common.ShutdownManager;
 import org.sosy_lab.common.configuration.Configuration;
-import org.sosy_lab.common.log.BasicLogManager;
-import org.sosy_lab.java_smt.SolverContextFactory;
 import org.sosy_lab.java_smt.api.SolverContext;
 import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
 
@@ -86,16 +85,14 @@ public class ReachabilityResult {
             final Configuration solverConfig = Configuration.builder()
                     .setOption(PHANTOM_REFERENCES, "true")
                     .build();
-            try (SolverContext ctx = SolverContextFactory.createSolverContext(
-                    solverConfig,
-                    BasicLogManager.create(solverConfig),
-                    sdm.getNotifier(),
-                    options.solver());
+            try (SolverContext ctx = SolverContexts.create(solverConfig, sdm.getNotifier(), options.solver());
                     ProverWithTracker prover = new ProverWithTracker(ctx, "", ProverOptions.GENERATE_MODELS)) {
 
                 final ModelChecker modelChecker; modelChecker = switch (options.method()) {
                     case EAGER -> AssumeSolver.run(ctx, prover, task);
                     case LAZY -> RefinementSolver.run(ctx, prover, task);
+                    case ONLINE -> RefinementSolver.runOnline(ctx, prover, task);
+                    case PORTFOLIO -> throw new UnsupportedOperationException("Portfolio solving is only supported in the console.");
                 };
                 // Verification ended, we can interrupt the timeout Thread
                 t.interrupt();